@@ -913,7 +913,7 @@ public class RunnerBuilder {
           GraphQLContextType.CHAIN_ID, protocolSchedule.getChainId().map(UInt256::valueOf));
       final GraphQL graphQL;
       try {
-        graphQL = GraphQLProvider.buildGraphQL(fetchers);
+        graphQL = GraphQLProvider.buildGraphQL(fetchers, metricsSystem);
       } catch (final IOException ioe) {
         throw new RuntimeException(ioe);
       }
@@ -1066,6 +1066,7 @@ public class RunnerBuilder {
         dataDir,
         pidPath,
         autoLogBloomCaching ? blockchainQueries.getTransactionLogBloomCacher() : Optional.empty(),
+        blockchainQueries.getTransactionLogIndexer(),
         context.getBlockchain());
   }
 
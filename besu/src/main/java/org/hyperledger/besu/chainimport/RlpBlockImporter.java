@@ -31,33 +31,61 @@ import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
 import org.hyperledger.besu.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
-import org.hyperledger.besu.ethereum.util.RawBlockIterator;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.util.MappedBlockRlpIterator;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.services.pipeline.Pipeline;
+import org.hyperledger.besu.services.pipeline.PipelineBuilder;
 
 import java.io.Closeable;
 import java.io.IOException;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Stopwatch;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.tuweni.bytes.Bytes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-/** Tool for importing rlp-encoded block data from files. */
+/**
+ * Tool for importing rlp-encoded block data from files.
+ *
+ * <p>The blocks are imported by a pipeline. The file is memory mapped and split into the encoded
+ * blocks, which are decoded in parallel. The headers are validated against their parent in the
+ * file, and the transaction senders recovered, in parallel as well. The state the blocks access is
+ * preloaded ahead of the execution, and the blocks are finally executed and persisted one at a
+ * time, in the order of the file.
+ */
 public class RlpBlockImporter implements Closeable {
   private static final Logger LOG = LoggerFactory.getLogger(RlpBlockImporter.class);
 
-  private final Semaphore blockBacklog = new Semaphore(2);
+  private static final int PARALLELISM = Math.max(2, Runtime.getRuntime().availableProcessors());
+  private static final int BUFFER_SIZE = 4 * PARALLELISM;
+
+  private final ExecutorService pipelineExecutor =
+      Executors.newCachedThreadPool(
+          new ThreadFactoryBuilder().setNameFormat("RlpBlockImporter-pipeline-%d").build());
+  private final ExecutorService workerExecutor =
+      Executors.newFixedThreadPool(
+          PARALLELISM, new ThreadFactoryBuilder().setNameFormat("RlpBlockImporter-%d").build());
 
-  private final ExecutorService validationExecutor = Executors.newCachedThreadPool();
-  private final ExecutorService importExecutor = Executors.newSingleThreadExecutor();
+  private final LabelledMetric<Counter> pipelineCounter;
+  private final LabelledMetric<Counter> stageTimeCounter;
+  private final Counter importedBlocksCounter;
+  private final Counter importedGasCounter;
 
   private long cumulativeGas;
   private long segmentGas;
@@ -65,6 +93,43 @@ public class RlpBlockImporter implements Closeable {
   private final Stopwatch segmentTimer = Stopwatch.createUnstarted();
   private static final long SEGMENT_SIZE = 1000;
 
+  /** Instantiates a new Rlp block importer which does not export metrics. */
+  public RlpBlockImporter() {
+    this(new NoOpMetricsSystem());
+  }
+
+  /**
+   * Instantiates a new Rlp block importer.
+   *
+   * @param metricsSystem the metrics system the progress and throughput of the import are exported
+   *     to
+   */
+  public RlpBlockImporter(final MetricsSystem metricsSystem) {
+    pipelineCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "rlp_block_import_pipeline_processed_total",
+            "Number of blocks processed by each block import pipeline stage",
+            "step",
+            "action");
+    stageTimeCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "rlp_block_import_stage_time_micros_total",
+            "Time spent processing blocks by each block import pipeline stage",
+            "step");
+    importedBlocksCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "rlp_block_import_blocks_total",
+            "Number of blocks imported from RLP files");
+    importedGasCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "rlp_block_import_gas_used_total",
+            "Gas used by the blocks imported from RLP files");
+  }
+
   /**
    * Imports blocks that are stored as concatenated RLP sections in the given file into Besu's block
    * storage.
@@ -102,102 +167,81 @@ public class RlpBlockImporter implements Closeable {
     final ProtocolSchedule protocolSchedule = besuController.getProtocolSchedule();
     final ProtocolContext context = besuController.getProtocolContext();
     final MutableBlockchain blockchain = context.getBlockchain();
-    int count = 0;
+    final AtomicInteger count = new AtomicInteger();
     final BlockHeaderFunctions blockHeaderFunctions =
         ScheduleBasedBlockHeaderFunctions.create(protocolSchedule);
-    try (final RawBlockIterator iterator = new RawBlockIterator(blocks, blockHeaderFunctions)) {
-      BlockHeader previousHeader = null;
-      CompletableFuture<Void> previousBlockFuture = null;
-      final AtomicReference<Throwable> threadedException = new AtomicReference<>();
-      while (iterator.hasNext()) {
-        final Block block = iterator.next();
-        final BlockHeader header = block.getHeader();
-        final long blockNumber = header.getNumber();
-        if (blockNumber == BlockHeader.GENESIS_BLOCK_NUMBER
-            || blockNumber < startBlock
-            || blockNumber >= endBlock) {
-          continue;
-        }
-        if (blockchain.contains(header.getHash())) {
-          continue;
-        }
-        if (previousHeader == null) {
-          previousHeader = lookupPreviousHeader(blockchain, header);
-        }
-        final ProtocolSpec protocolSpec = protocolSchedule.getByBlockHeader(header);
-        final BlockHeader lastHeader = previousHeader;
-
-        final CompletableFuture<Void> validationFuture =
-            CompletableFuture.runAsync(
-                () -> validateBlock(protocolSpec, context, lastHeader, header, skipPowValidation),
-                validationExecutor);
-
-        final CompletableFuture<Void> extractingFuture =
-            CompletableFuture.runAsync(() -> extractSignatures(block));
-
-        final CompletableFuture<Void> calculationFutures;
-        if (previousBlockFuture == null) {
-          calculationFutures = extractingFuture;
-        } else {
-          calculationFutures = CompletableFuture.allOf(extractingFuture, previousBlockFuture);
-        }
-
-        try {
-          do {
-            final Throwable t = (Exception) threadedException.get();
-            if (t != null) {
-              throw new RuntimeException("Error importing block " + header.getNumber(), t);
-            }
-          } while (!blockBacklog.tryAcquire(1, SECONDS));
-        } catch (final InterruptedException e) {
-          LOG.error("Interrupted adding to backlog.", e);
-          break;
-        }
-        previousBlockFuture =
-            validationFuture.runAfterBothAsync(
-                calculationFutures,
-                () -> evaluateBlock(context, block, header, protocolSpec, skipPowValidation),
-                importExecutor);
-        previousBlockFuture.exceptionally(
-            exception -> {
-              threadedException.set(exception);
-              return null;
-            });
-
-        ++count;
-        previousHeader = header;
-      }
-      if (previousBlockFuture != null) {
-        previousBlockFuture.join();
-      }
+    try (final MappedBlockRlpIterator iterator = new MappedBlockRlpIterator(blocks)) {
+      final Pipeline<Bytes> pipeline =
+          PipelineBuilder.createPipelineFrom(
+                  "readBlocks", iterator, BUFFER_SIZE, pipelineCounter, false, "rlpBlockImport")
+              .thenProcessAsyncOrdered(
+                  "decodeBlocks",
+                  rlp ->
+                      supplyAsync(
+                          "decodeBlocks",
+                          () -> Block.readFrom(RLP.input(rlp), blockHeaderFunctions)),
+                  PARALLELISM)
+              .thenFlatMap(
+                  "selectBlocks",
+                  new BlockSelector(blockchain, protocolSchedule, startBlock, endBlock),
+                  BUFFER_SIZE)
+              .thenProcessAsyncOrdered(
+                  "validateBlocks",
+                  pendingBlock ->
+                      supplyAsync(
+                          "validateBlocks",
+                          () -> validateBlock(context, pendingBlock, skipPowValidation)),
+                  PARALLELISM)
+              .thenProcess(
+                  "preloadState",
+                  pendingBlock -> {
+                    context.getWorldStateArchive().preLoadBlockState(pendingBlock.block());
+                    return pendingBlock;
+                  })
+              .andFinishWith(
+                  "importBlocks",
+                  pendingBlock -> {
+                    timed(
+                        "importBlocks",
+                        () -> {
+                          evaluateBlock(context, pendingBlock, skipPowValidation);
+                          return null;
+                        });
+                    count.incrementAndGet();
+                  });
+      pipeline.start(pipelineExecutor).join();
       logProgress(blockchain.getChainHeadBlockNumber());
       return new RlpBlockImporter.ImportResult(
-          blockchain.getChainHead().getTotalDifficulty(), count);
+          blockchain.getChainHead().getTotalDifficulty(), count.get());
     }
   }
 
-  private void extractSignatures(final Block block) {
-    final List<CompletableFuture<Void>> futures =
-        new ArrayList<>(block.getBody().getTransactions().size());
-    for (final Transaction tx : block.getBody().getTransactions()) {
-      futures.add(CompletableFuture.runAsync(tx::getSender, validationExecutor));
-    }
-    for (final CompletableFuture<Void> future : futures) {
-      future.join();
+  private <T> CompletableFuture<T> supplyAsync(final String stageName, final Supplier<T> task) {
+    return CompletableFuture.supplyAsync(() -> timed(stageName, task), workerExecutor);
+  }
+
+  private <T> T timed(final String stageName, final Supplier<T> task) {
+    final long start = System.nanoTime();
+    try {
+      return task.get();
+    } finally {
+      stageTimeCounter
+          .labels(stageName)
+          .inc(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
     }
   }
 
-  private void validateBlock(
-      final ProtocolSpec protocolSpec,
+  private PendingBlock validateBlock(
       final ProtocolContext context,
-      final BlockHeader previousHeader,
-      final BlockHeader header,
+      final PendingBlock pendingBlock,
       final boolean skipPowValidation) {
-    final BlockHeaderValidator blockHeaderValidator = protocolSpec.getBlockHeaderValidator();
+    final BlockHeader header = pendingBlock.block().getHeader();
+    final BlockHeaderValidator blockHeaderValidator =
+        pendingBlock.protocolSpec().getBlockHeaderValidator();
     final boolean validHeader =
         blockHeaderValidator.validateHeader(
             header,
-            previousHeader,
+            pendingBlock.parentHeader(),
             context,
             skipPowValidation
                 ? HeaderValidationMode.LIGHT_DETACHED_ONLY
@@ -205,18 +249,20 @@ public class RlpBlockImporter implements Closeable {
     if (!validHeader) {
       throw new IllegalStateException("Invalid header at block number " + header.getNumber() + ".");
     }
+    pendingBlock.block().getBody().getTransactions().forEach(Transaction::getSender);
+    return pendingBlock;
   }
 
   private void evaluateBlock(
       final ProtocolContext context,
-      final Block block,
-      final BlockHeader header,
-      final ProtocolSpec protocolSpec,
+      final PendingBlock pendingBlock,
       final boolean skipPowValidation) {
+    final Block block = pendingBlock.block();
+    final BlockHeader header = block.getHeader();
     try {
       cumulativeTimer.start();
       segmentTimer.start();
-      final BlockImporter blockImporter = protocolSpec.getBlockImporter();
+      final BlockImporter blockImporter = pendingBlock.protocolSpec().getBlockImporter();
       final BlockImportResult blockImported =
           blockImporter.importBlock(
               context,
@@ -229,11 +275,12 @@ public class RlpBlockImporter implements Closeable {
         throw new IllegalStateException(
             "Invalid block at block number " + header.getNumber() + ".");
       }
+      importedBlocksCounter.inc();
+      importedGasCounter.inc(header.getGasUsed());
     } finally {
-      blockBacklog.release();
       cumulativeTimer.stop();
       segmentTimer.stop();
-      final long thisGas = block.getHeader().getGasUsed();
+      final long thisGas = header.getGasUsed();
       cumulativeGas += thisGas;
       segmentGas += thisGas;
       if (header.getNumber() % SEGMENT_SIZE == 0) {
@@ -256,34 +303,84 @@ public class RlpBlockImporter implements Closeable {
     segmentTimer.reset();
   }
 
-  private BlockHeader lookupPreviousHeader(
-      final MutableBlockchain blockchain, final BlockHeader header) {
-    return blockchain
-        .getBlockHeader(header.getParentHash())
-        .orElseThrow(
-            () ->
-                new IllegalStateException(
-                    String.format(
-                        "Block %s does not connect to the existing chain. Current chain head %s",
-                        header.getNumber(), blockchain.getChainHeadBlockNumber())));
-  }
-
   @Override
   public void close() {
-    validationExecutor.shutdownNow();
+    pipelineExecutor.shutdownNow();
     try {
       //noinspection ResultOfMethodCallIgnored
-      validationExecutor.awaitTermination(5, SECONDS);
+      pipelineExecutor.awaitTermination(5, SECONDS);
     } catch (final Exception e) {
-      LOG.error("Error shutting down validatorExecutor.", e);
+      LOG.error("Error shutting down pipelineExecutor.", e);
     }
 
-    importExecutor.shutdownNow();
+    workerExecutor.shutdownNow();
     try {
       //noinspection ResultOfMethodCallIgnored
-      importExecutor.awaitTermination(5, SECONDS);
+      workerExecutor.awaitTermination(5, SECONDS);
     } catch (final Exception e) {
-      LOG.error("Error shutting down importExecutor", e);
+      LOG.error("Error shutting down workerExecutor.", e);
+    }
+  }
+
+  /**
+   * A block to import, with the header of its parent, which is the previous block of the file or
+   * the head of the chain the import starts from.
+   */
+  private record PendingBlock(Block block, BlockHeader parentHeader, ProtocolSpec protocolSpec) {}
+
+  /**
+   * Skips the blocks outside the imported range or already in the chain, and links each block to
+   * be imported to its parent header. The blocks are selected in the order of the file by a single
+   * thread.
+   */
+  private static class BlockSelector implements Function<Block, Stream<PendingBlock>> {
+    private final MutableBlockchain blockchain;
+    private final ProtocolSchedule protocolSchedule;
+    private final long startBlock;
+    private final long endBlock;
+    private BlockHeader previousHeader;
+
+    BlockSelector(
+        final MutableBlockchain blockchain,
+        final ProtocolSchedule protocolSchedule,
+        final long startBlock,
+        final long endBlock) {
+      this.blockchain = blockchain;
+      this.protocolSchedule = protocolSchedule;
+      this.startBlock = startBlock;
+      this.endBlock = endBlock;
+    }
+
+    @Override
+    public Stream<PendingBlock> apply(final Block block) {
+      final BlockHeader header = block.getHeader();
+      final long blockNumber = header.getNumber();
+      if (blockNumber == BlockHeader.GENESIS_BLOCK_NUMBER
+          || blockNumber < startBlock
+          || blockNumber >= endBlock) {
+        return Stream.empty();
+      }
+      if (blockchain.contains(header.getHash())) {
+        return Stream.empty();
+      }
+      if (previousHeader == null) {
+        previousHeader = lookupPreviousHeader(header);
+      }
+      final PendingBlock pendingBlock =
+          new PendingBlock(block, previousHeader, protocolSchedule.getByBlockHeader(header));
+      previousHeader = header;
+      return Stream.of(pendingBlock);
+    }
+
+    private BlockHeader lookupPreviousHeader(final BlockHeader header) {
+      return blockchain
+          .getBlockHeader(header.getParentHash())
+          .orElseThrow(
+              () ->
+                  new IllegalStateException(
+                      String.format(
+                          "Block %s does not connect to the existing chain. Current chain head %s",
+                          header.getNumber(), blockchain.getChainHeadBlockNumber())));
     }
   }
 
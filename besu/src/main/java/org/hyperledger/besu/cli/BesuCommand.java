@@ -125,6 +125,7 @@ import org.hyperledger.besu.ethereum.api.tls.TlsConfiguration;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.MiningParameters;
 import org.hyperledger.besu.ethereum.core.PrivacyParameters;
+import org.hyperledger.besu.ethereum.eth.manager.MonitoredExecutors;
 import org.hyperledger.besu.ethereum.eth.sync.SyncMode;
 import org.hyperledger.besu.ethereum.eth.sync.SynchronizerConfiguration;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfiguration;
@@ -142,10 +143,14 @@ import org.hyperledger.besu.ethereum.permissioning.SmartContractPermissioningCon
 import org.hyperledger.besu.ethereum.privacy.storage.keyvalue.PrivacyKeyValueStorageProvider;
 import org.hyperledger.besu.ethereum.privacy.storage.keyvalue.PrivacyKeyValueStorageProviderBuilder;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
+import org.hyperledger.besu.ethereum.storage.keyvalue.CodeAnalysisKeyValueStorage;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueStorageProvider;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueStorageProviderBuilder;
+import org.hyperledger.besu.ethereum.vm.MetricsEvmProfilerRecorder;
 import org.hyperledger.besu.ethereum.worldstate.PrunerConfiguration;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.internal.EvmProfiler;
 import org.hyperledger.besu.evm.precompile.AbstractAltBnPrecompiledContract;
 import org.hyperledger.besu.evm.precompile.BigIntegerModularExponentiationPrecompiledContract;
 import org.hyperledger.besu.evm.precompile.KZGPointEvalPrecompiledContract;
@@ -1057,6 +1062,12 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
           "How deep a chain reorganization must be in order for it to be logged (default: ${DEFAULT-VALUE})")
   private final Long reorgLoggingThreshold = 6L;
 
+  @Option(
+      names = {"--cache-last-blocks"},
+      description =
+          "Specifies the number of last blocks whose headers, bodies, receipts and total difficulty are kept in memory (default: ${DEFAULT-VALUE})")
+  private final Integer numberOfBlocksToCache = 0;
+
   // Miner options group
   @CommandLine.ArgGroup(validate = false, heading = "@|bold Miner Options|@%n")
   MinerOptionGroup minerOptionGroup = new MinerOptionGroup();
@@ -1296,6 +1307,14 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
       arity = "1")
   private final Boolean autoLogBloomCachingEnabled = true;
 
+  @Option(
+      names = {"--Xlog-index-enabled"},
+      description =
+          "Maintain a persistent index of log addresses and topics to serve eth_getLogs (default: ${DEFAULT-VALUE})",
+      hidden = true,
+      arity = "1")
+  private final Boolean logIndexEnabled = false;
+
   @Option(
       names = {"--override-genesis-config"},
       paramLabel = "NAME=VALUE",
@@ -1913,6 +1932,8 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
     ensureValidPeerBoundParams();
     validateRpcOptionsParams();
     validateChainDataPruningParams();
+    validateCacheLastBlocksParams();
+    validateEvmProfilerParams();
     validatePostMergeCheckpointBlockRequirements();
     p2pTLSConfigOptions.checkP2PTLSOptionsDependencies(logger, commandLine);
     pkiBlockCreationOptions.checkPkiBlockCreationOptionsDependencies(logger, commandLine);
@@ -2101,6 +2122,21 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
     }
   }
 
+  private void validateCacheLastBlocksParams() {
+    if (numberOfBlocksToCache < 0) {
+      throw new ParameterException(
+          this.commandLine, "--cache-last-blocks must be greater than or equal to 0");
+    }
+  }
+
+  private void validateEvmProfilerParams() {
+    if (unstableEvmOptions.getProfilerSampleRate() < 0) {
+      throw new ParameterException(
+          this.commandLine,
+          EvmOptions.PROFILER_SAMPLE_RATE + " must be greater than or equal to 0");
+    }
+  }
+
   private GenesisConfigOptions readGenesisConfigOptions() {
 
     try {
@@ -2332,6 +2368,10 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
                 .posBlockCreationMaxTime(unstableMiningOptions.getPosBlockCreationMaxTime())
                 .posBlockCreationRepetitionMinDuration(
                     unstableMiningOptions.getPosBlockCreationRepetitionMinDuration())
+                .posIncrementalBlockCreationEnabled(
+                    unstableMiningOptions.isPosIncrementalBlockCreationEnabled())
+                .posBlockCreationParallelCandidates(
+                    unstableMiningOptions.getPosBlockCreationParallelCandidates())
                 .build())
         .transactionPoolConfiguration(buildTransactionPoolConfiguration())
         .nodeKey(new NodeKey(securityModule()))
@@ -2352,7 +2392,8 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
                 .orElse(GasLimitCalculator.constant()))
         .requiredBlocks(requiredBlocks)
         .reorgLoggingThreshold(reorgLoggingThreshold)
-        .evmConfiguration(unstableEvmOptions.toDomainObject())
+        .cacheLastBlocks(numberOfBlocksToCache)
+        .evmConfiguration(buildEvmConfiguration(storageProvider))
         .dataStorageConfiguration(dataStorageOptions.toDomainObject())
         .maxPeers(p2PDiscoveryOptionGroup.maxPeers)
         .lowerBoundPeers(peersLowerBound)
@@ -2457,6 +2498,11 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
     jsonRpcConfiguration.setTlsConfiguration(rpcHttpTlsConfiguration());
     jsonRpcConfiguration.setHttpTimeoutSec(unstableRPCOptions.getHttpTimeoutSec());
     jsonRpcConfiguration.setMaxBatchSize(jsonRPCHttpOptionGroup.rpcHttpMaxBatchSize);
+    jsonRpcConfiguration.setBatchConcurrency(unstableRPCOptions.getHttpBatchConcurrency());
+    jsonRpcConfiguration.setMaxBatchPendingResponses(
+        unstableRPCOptions.getHttpBatchMaxPendingResponses());
+    jsonRpcConfiguration.setVirtualThreadsEnabled(
+        unstableRPCOptions.isHttpVirtualThreadsEnabled());
     jsonRpcConfiguration.setMaxRequestContentLength(
         jsonRPCHttpOptionGroup.rpcHttpMaxRequestContentLength);
     return jsonRpcConfiguration;
@@ -2670,6 +2716,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
         .gasPricePercentile(apiGasPricePercentile)
         .gasPriceMin(minTransactionGasPrice.toLong())
         .gasPriceMax(apiGasPriceMax)
+        .logIndexEnabled(logIndexEnabled)
         .build();
   }
 
@@ -3015,6 +3062,27 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
         .build();
   }
 
+  private EvmConfiguration buildEvmConfiguration(final StorageProvider storageProvider) {
+    EvmConfiguration evmConfiguration = unstableEvmOptions.toDomainObject();
+    final int profilerSampleRate = unstableEvmOptions.getProfilerSampleRate();
+    if (profilerSampleRate > 0) {
+      evmConfiguration =
+          evmConfiguration.withProfiler(
+              new EvmProfiler(
+                  profilerSampleRate, new MetricsEvmProfilerRecorder(metricsSystem.get())));
+    }
+    if (unstableEvmOptions.isCodeAnalysisPersistenceEnabled()) {
+      evmConfiguration =
+          evmConfiguration.withCodeAnalysisStorage(
+              new CodeAnalysisKeyValueStorage(
+                  storageProvider.getStorageBySegmentIdentifier(
+                      KeyValueSegmentIdentifier.CODE_ANALYSIS),
+                  MonitoredExecutors.newSingleThreadExecutor(
+                      CodeAnalysisKeyValueStorage.class.getSimpleName(), metricsSystem.get())));
+    }
+    return evmConfiguration;
+  }
+
   private TransactionPoolConfiguration buildTransactionPoolConfiguration() {
     return unstableTransactionPoolOptions
         .toDomainObject()
@@ -3557,6 +3625,9 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
     if (!unstableChainPruningOptions.getChainDataPruningEnabled()) {
       rocksDBPlugin.addIgnorableSegmentIdentifier(KeyValueSegmentIdentifier.CHAIN_PRUNER_STATE);
     }
+    if (!unstableEvmOptions.isCodeAnalysisPersistenceEnabled()) {
+      rocksDBPlugin.addIgnorableSegmentIdentifier(KeyValueSegmentIdentifier.CODE_ANALYSIS);
+    }
   }
 
   private void validatePostMergeCheckpointBlockRequirements() {
@@ -36,6 +36,9 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
   private static final String BONSAI_STORAGE_FORMAT_MAX_LAYERS_TO_LOAD =
       "--bonsai-historical-block-limit";
 
+  private static final String BONSAI_PARALLEL_TX_PROCESSING_ENABLED =
+      "--Xbonsai-parallel-tx-processing-enabled";
+
   // Use Bonsai DB
   @Option(
       names = {DATA_STORAGE_FORMAT},
@@ -52,6 +55,15 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
       arity = "1")
   private final Long bonsaiMaxLayersToLoad = DEFAULT_BONSAI_MAX_LAYERS_TO_LOAD;
 
+  @Option(
+      names = {BONSAI_PARALLEL_TX_PROCESSING_ENABLED},
+      hidden = true,
+      description =
+          "Execute the transactions of a block in parallel with BONSAI, falling back to sequential"
+              + " execution on conflict (default: ${DEFAULT-VALUE}).",
+      arity = "1")
+  private final Boolean bonsaiParallelTxProcessingEnabled = false;
+
   /**
    * Create data storage options.
    *
@@ -66,6 +78,7 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
     return ImmutableDataStorageConfiguration.builder()
         .dataStorageFormat(dataStorageFormat)
         .bonsaiMaxLayersToLoad(bonsaiMaxLayersToLoad)
+        .bonsaiParallelTxProcessingEnabled(bonsaiParallelTxProcessingEnabled)
         .build();
   }
 
@@ -75,7 +88,9 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
         DATA_STORAGE_FORMAT,
         dataStorageFormat.toString(),
         BONSAI_STORAGE_FORMAT_MAX_LAYERS_TO_LOAD,
-        bonsaiMaxLayersToLoad.toString());
+        bonsaiMaxLayersToLoad.toString(),
+        BONSAI_PARALLEL_TX_PROCESSING_ENABLED,
+        bonsaiParallelTxProcessingEnabled.toString());
   }
 
   /**
@@ -29,6 +29,13 @@ public class EvmOptions implements CLIOptions<EvmConfiguration> {
   /** The constant JUMPDEST_CACHE_WEIGHT. */
   public static final String JUMPDEST_CACHE_WEIGHT = "--Xevm-jumpdest-cache-weight-kb";
 
+  /** The constant PROFILER_SAMPLE_RATE. */
+  public static final String PROFILER_SAMPLE_RATE = "--Xevm-profiler-sample-rate";
+
+  /** The constant CODE_ANALYSIS_PERSISTENCE_ENABLED. */
+  public static final String CODE_ANALYSIS_PERSISTENCE_ENABLED =
+      "--Xevm-code-analysis-persistence-enabled";
+
   /**
    * Create evm options.
    *
@@ -51,6 +58,49 @@ public class EvmOptions implements CLIOptions<EvmConfiguration> {
   private Long jumpDestCacheWeightKilobytes =
       32_000L; // 10k contracts, (25k max contract size / 8 bit) + 32byte hash
 
+  @SuppressWarnings({"FieldCanBeFinal", "FieldMayBeFinal"})
+  @CommandLine.Option(
+      names = {PROFILER_SAMPLE_RATE},
+      description =
+          "Profile one in this many EVM frames and precompile calls, exporting opcode and "
+              + "precompile timings as metrics. Sampled frames skip the basic block fast path, "
+              + "so their opcode timings are slightly higher. 0 disables the profiler "
+              + "(default: ${DEFAULT-VALUE})",
+      paramLabel = "<INTEGER>",
+      hidden = true,
+      arity = "1")
+  private Integer profilerSampleRate = 0;
+
+  @SuppressWarnings({"FieldCanBeFinal", "FieldMayBeFinal"})
+  @CommandLine.Option(
+      names = {CODE_ANALYSIS_PERSISTENCE_ENABLED},
+      description =
+          "Persist the jump destination analysis and EOF validation of contracts in the database, "
+              + "and warm it up at startup from the contracts called by the recent blocks "
+              + "(default: ${DEFAULT-VALUE})",
+      paramLabel = "<Boolean>",
+      hidden = true,
+      arity = "0..1")
+  private Boolean codeAnalysisPersistenceEnabled = false;
+
+  /**
+   * Whether the code analysis is persisted in the database.
+   *
+   * @return true if the code analysis is persisted
+   */
+  public boolean isCodeAnalysisPersistenceEnabled() {
+    return codeAnalysisPersistenceEnabled;
+  }
+
+  /**
+   * Gets one in how many frames the EVM profiler samples.
+   *
+   * @return the sample rate, 0 if the profiler is disabled
+   */
+  public int getProfilerSampleRate() {
+    return profilerSampleRate;
+  }
+
   @Override
   public EvmConfiguration toDomainObject() {
     return new EvmConfiguration(jumpDestCacheWeightKilobytes);
@@ -58,6 +108,9 @@ public class EvmOptions implements CLIOptions<EvmConfiguration> {
 
   @Override
   public List<String> getCLIOptions() {
-    return Arrays.asList(JUMPDEST_CACHE_WEIGHT);
+    return Arrays.asList(
+        JUMPDEST_CACHE_WEIGHT,
+        PROFILER_SAMPLE_RATE + "=" + profilerSampleRate,
+        CODE_ANALYSIS_PERSISTENCE_ENABLED + "=" + codeAnalysisPersistenceEnabled);
   }
 }
@@ -77,6 +77,26 @@ public class MiningOptions {
   private final Long posBlockCreationRepetitionMinDuration =
       DEFAULT_POS_BLOCK_CREATION_REPETITION_MIN_DURATION;
 
+  @SuppressWarnings({"FieldCanBeFinal", "FieldMayBeFinal"})
+  @CommandLine.Option(
+      hidden = true,
+      names = {"--Xpos-block-creation-incremental-enabled"},
+      description =
+          "Keep the transactions of the best PoS block proposal between repetitions and only append"
+              + " the newly arrived ones, instead of rebuilding the proposal from scratch (default: ${DEFAULT-VALUE})",
+      paramLabel = "<Boolean>",
+      arity = "0..1")
+  private Boolean posIncrementalBlockCreationEnabled = false;
+
+  @CommandLine.Option(
+      hidden = true,
+      names = {"--Xpos-block-creation-parallel-candidates"},
+      description =
+          "Number of the best pending transactions executed speculatively in parallel when a PoS"
+              + " block proposal is created, requires --Xbonsai-parallel-tx-processing-enabled."
+              + " 0 to disable (default: ${DEFAULT-VALUE})")
+  private final Integer posBlockCreationParallelCandidates = 0;
+
   /**
    * Create mining options.
    *
@@ -148,4 +168,22 @@ public class MiningOptions {
   public Long getPosBlockCreationRepetitionMinDuration() {
     return posBlockCreationRepetitionMinDuration;
   }
+
+  /**
+   * Whether PoS block proposals are built incrementally.
+   *
+   * @return true if PoS block proposals are built incrementally
+   */
+  public boolean isPosIncrementalBlockCreationEnabled() {
+    return posIncrementalBlockCreationEnabled;
+  }
+
+  /**
+   * Gets the number of pending transactions executed in parallel by the PoS block creation.
+   *
+   * @return the number of parallel candidates, 0 if disabled
+   */
+  public int getPosBlockCreationParallelCandidates() {
+    return posBlockCreationParallelCandidates;
+  }
 }
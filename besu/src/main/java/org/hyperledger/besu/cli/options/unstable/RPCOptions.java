@@ -15,6 +15,7 @@
 package org.hyperledger.besu.cli.options.unstable;
 
 import org.hyperledger.besu.ethereum.api.handlers.TimeoutOptions;
+import org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcConfiguration;
 
 import picocli.CommandLine;
 
@@ -35,6 +36,32 @@ public class RPCOptions {
       arity = "1")
   private final Long wsTimeoutSec = TimeoutOptions.defaultOptions().getTimeoutSeconds();
 
+  @CommandLine.Option(
+      hidden = true,
+      names = {"--Xhttp-batch-concurrency"},
+      description =
+          "Number of requests of a single HTTP JSON-RPC batch executed at the same time, 1 executes them one after the other (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Integer httpBatchConcurrency = JsonRpcConfiguration.DEFAULT_BATCH_CONCURRENCY;
+
+  @CommandLine.Option(
+      hidden = true,
+      names = {"--Xhttp-batch-max-pending-responses"},
+      description =
+          "Maximum number of responses of a single HTTP JSON-RPC batch held in memory while waiting to be written in order (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Integer httpBatchMaxPendingResponses =
+      JsonRpcConfiguration.DEFAULT_MAX_BATCH_PENDING_RESPONSES;
+
+  @CommandLine.Option(
+      hidden = true,
+      names = {"--Xhttp-virtual-threads-enabled"},
+      description =
+          "Execute HTTP JSON-RPC requests on virtual threads instead of the worker pool, when supported by the JVM (default: ${DEFAULT-VALUE})",
+      arity = "0..1")
+  private final Boolean httpVirtualThreadsEnabled =
+      JsonRpcConfiguration.DEFAULT_VIRTUAL_THREADS_ENABLED;
+
   /**
    * Create rpc options.
    *
@@ -61,4 +88,31 @@ public class RPCOptions {
   public Long getWsTimeoutSec() {
     return wsTimeoutSec;
   }
+
+  /**
+   * Gets the number of requests of a HTTP batch executed at the same time.
+   *
+   * @return the HTTP batch concurrency
+   */
+  public Integer getHttpBatchConcurrency() {
+    return httpBatchConcurrency;
+  }
+
+  /**
+   * Gets the maximum number of pending responses of a HTTP batch.
+   *
+   * @return the maximum number of pending responses
+   */
+  public Integer getHttpBatchMaxPendingResponses() {
+    return httpBatchMaxPendingResponses;
+  }
+
+  /**
+   * Whether HTTP JSON-RPC requests are executed on virtual threads.
+   *
+   * @return true if virtual threads are enabled
+   */
+  public Boolean isHttpVirtualThreadsEnabled() {
+    return httpVirtualThreadsEnabled;
+  }
 }
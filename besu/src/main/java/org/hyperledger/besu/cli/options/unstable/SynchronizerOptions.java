@@ -47,6 +47,8 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
       "--Xsynchronizer-transactions-parallelism";
   private static final String COMPUTATION_PARALLELISM_FLAG =
       "--Xsynchronizer-computation-parallelism";
+  private static final String VIRTUAL_THREADS_ENABLED_FLAG =
+      "--Xsynchronizer-virtual-threads-enabled";
   private static final String PIVOT_DISTANCE_FROM_HEAD_FLAG =
       "--Xsynchronizer-fast-sync-pivot-distance";
   private static final String FULL_VALIDATION_RATE_FLAG =
@@ -82,6 +84,9 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
   private static final String SNAP_FLAT_DB_HEALING_ENABLED_FLAG =
       "--Xsnapsync-synchronizer-flat-db-healing-enabled";
 
+  private static final String SNAP_ADAPTIVE_REQUEST_SIZING_ENABLED_FLAG =
+      "--Xsnapsync-adaptive-request-sizing-enabled";
+
   private static final String CHECKPOINT_POST_MERGE_FLAG = "--Xcheckpoint-post-merge-enabled";
 
   /**
@@ -176,6 +181,15 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
           "Number of threads to make available for bulk hash computations during downloads (default: # of processors)")
   private int computationParallelism = Runtime.getRuntime().availableProcessors();
 
+  @CommandLine.Option(
+      names = VIRTUAL_THREADS_ENABLED_FLAG,
+      hidden = true,
+      paramLabel = "<Boolean>",
+      description =
+          "Run the sync workers and the services on virtual threads, when supported by the JVM (default: ${DEFAULT-VALUE})",
+      arity = "0..1")
+  private Boolean virtualThreadsEnabled = SynchronizerConfiguration.DEFAULT_VIRTUAL_THREADS_ENABLED;
+
   @CommandLine.Option(
       names = PIVOT_DISTANCE_FROM_HEAD_FLAG,
       hidden = true,
@@ -318,6 +332,16 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
   private Boolean snapsyncFlatDbHealingEnabled =
       SnapSyncConfiguration.DEFAULT_IS_FLAT_DB_HEALING_ENABLED;
 
+  @CommandLine.Option(
+      names = SNAP_ADAPTIVE_REQUEST_SIZING_ENABLED_FLAG,
+      hidden = true,
+      paramLabel = "<Boolean>",
+      description =
+          "Size the snap sync requests according to the throughput of each peer, and split the account ranges the peers fail to serve (default: ${DEFAULT-VALUE})",
+      arity = "0..1")
+  private Boolean snapsyncAdaptiveRequestSizingEnabled =
+      SnapSyncConfiguration.DEFAULT_IS_ADAPTIVE_REQUEST_SIZING_ENABLED;
+
   @CommandLine.Option(
       names = {CHECKPOINT_POST_MERGE_FLAG},
       hidden = true,
@@ -364,6 +388,7 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
     options.downloaderParallelism = config.getDownloaderParallelism();
     options.transactionsParallelism = config.getTransactionsParallelism();
     options.computationParallelism = config.getComputationParallelism();
+    options.virtualThreadsEnabled = config.isVirtualThreadsEnabled();
     options.fastSyncPivotDistance = config.getFastSyncPivotDistance();
     options.fastSyncFullValidationRate = config.getFastSyncFullValidationRate();
     options.worldStateHashCountPerRequest = config.getWorldStateHashCountPerRequest();
@@ -387,6 +412,8 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
         config.getSnapSyncConfiguration().getLocalFlatStorageCountToHealPerRequest();
     options.snapsyncFlatDbHealingEnabled =
         config.getSnapSyncConfiguration().isFlatDbHealingEnabled();
+    options.snapsyncAdaptiveRequestSizingEnabled =
+        config.getSnapSyncConfiguration().isAdaptiveRequestSizingEnabled();
     options.checkpointPostMergeSyncEnabled = config.isCheckpointPostMergeEnabled();
     return options;
   }
@@ -403,6 +430,7 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
     builder.downloaderParallelism(downloaderParallelism);
     builder.transactionsParallelism(transactionsParallelism);
     builder.computationParallelism(computationParallelism);
+    builder.virtualThreadsEnabled(virtualThreadsEnabled);
     builder.fastSyncPivotDistance(fastSyncPivotDistance);
     builder.fastSyncFullValidationRate(fastSyncFullValidationRate);
     builder.worldStateHashCountPerRequest(worldStateHashCountPerRequest);
@@ -420,6 +448,7 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
             .localFlatAccountCountToHealPerRequest(snapsyncFlatAccountHealedCountPerRequest)
             .localFlatStorageCountToHealPerRequest(snapsyncFlatStorageHealedCountPerRequest)
             .isFlatDbHealingEnabled(snapsyncFlatDbHealingEnabled)
+            .isAdaptiveRequestSizingEnabled(snapsyncAdaptiveRequestSizingEnabled)
             .build());
     builder.checkpointPostMergeEnabled(checkpointPostMergeSyncEnabled);
 
@@ -448,6 +477,7 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
             OptionParser.format(transactionsParallelism),
             COMPUTATION_PARALLELISM_FLAG,
             OptionParser.format(computationParallelism),
+            VIRTUAL_THREADS_ENABLED_FLAG + "=" + virtualThreadsEnabled,
             PIVOT_DISTANCE_FROM_HEAD_FLAG,
             OptionParser.format(fastSyncPivotDistance),
             FULL_VALIDATION_RATE_FLAG,
@@ -471,7 +501,8 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
             SNAP_BYTECODE_COUNT_PER_REQUEST_FLAG,
             OptionParser.format(snapsyncBytecodeCountPerRequest),
             SNAP_TRIENODE_COUNT_PER_REQUEST_FLAG,
-            OptionParser.format(snapsyncTrieNodeCountPerRequest));
+            OptionParser.format(snapsyncTrieNodeCountPerRequest),
+            SNAP_ADAPTIVE_REQUEST_SIZING_ENABLED_FLAG + "=" + snapsyncAdaptiveRequestSizingEnabled);
     if (isSnapsyncFlatDbHealingEnabled()) {
       value.addAll(
           Arrays.asList(
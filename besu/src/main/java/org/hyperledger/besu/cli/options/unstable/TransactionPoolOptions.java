@@ -48,6 +48,8 @@ public class TransactionPoolOptions
       "--Xlayered-tx-pool-max-prioritized";
   private static final String LAYERED_TX_POOL_MAX_FUTURE_BY_SENDER =
       "--Xlayered-tx-pool-max-future-by-sender";
+  private static final String TX_INGESTION_PIPELINE_ENABLED_FLAG =
+      "--Xtx-ingestion-pipeline-enabled";
 
   @CommandLine.Option(
       names = {STRICT_TX_REPLAY_PROTECTION_ENABLED_FLAG},
@@ -117,6 +119,16 @@ public class TransactionPoolOptions
   private int layeredTxPoolMaxFutureBySender =
       TransactionPoolConfiguration.DEFAULT_MAX_FUTURE_BY_SENDER;
 
+  @CommandLine.Option(
+      names = {TX_INGESTION_PIPELINE_ENABLED_FLAG},
+      paramLabel = "<Boolean>",
+      hidden = true,
+      description =
+          "Process incoming transaction messages with a staged pipeline that recovers senders and pre-validates transactions in parallel (default: ${DEFAULT-VALUE})",
+      arity = "0..1")
+  private Boolean txIngestionPipelineEnabled =
+      TransactionPoolConfiguration.DEFAULT_TX_INGESTION_PIPELINE_ENABLED;
+
   private TransactionPoolOptions() {}
 
   /**
@@ -144,6 +156,7 @@ public class TransactionPoolOptions
     options.layeredTxPoolLayerMaxCapacity = config.getPendingTransactionsLayerMaxCapacityBytes();
     options.layeredTxPoolMaxPrioritized = config.getMaxPrioritizedTransactions();
     options.layeredTxPoolMaxFutureBySender = config.getMaxFutureBySender();
+    options.txIngestionPipelineEnabled = config.getTxIngestionPipelineEnabled();
     return options;
   }
 
@@ -162,7 +175,8 @@ public class TransactionPoolOptions
         .layeredTxPoolEnabled(layeredTxPoolEnabled)
         .pendingTransactionsLayerMaxCapacityBytes(layeredTxPoolLayerMaxCapacity)
         .maxPrioritizedTransactions(layeredTxPoolMaxPrioritized)
-        .maxFutureBySender(layeredTxPoolMaxFutureBySender);
+        .maxFutureBySender(layeredTxPoolMaxFutureBySender)
+        .txIngestionPipelineEnabled(txIngestionPipelineEnabled);
   }
 
   @Override
@@ -179,6 +193,7 @@ public class TransactionPoolOptions
         LAYERED_TX_POOL_MAX_PRIORITIZED,
         OptionParser.format(layeredTxPoolMaxPrioritized),
         LAYERED_TX_POOL_MAX_FUTURE_BY_SENDER,
-        OptionParser.format(layeredTxPoolMaxFutureBySender));
+        OptionParser.format(layeredTxPoolMaxFutureBySender),
+        TX_INGESTION_PIPELINE_ENABLED_FLAG + "=" + txIngestionPipelineEnabled);
   }
 }
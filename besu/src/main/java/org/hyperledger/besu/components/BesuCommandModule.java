@@ -45,7 +45,7 @@ public class BesuCommandModule {
     final BesuCommand besuCommand =
         new BesuCommand(
             besuComponent,
-            RlpBlockImporter::new,
+            () -> new RlpBlockImporter(besuComponent.getObservableMetricsSystem()),
             JsonBlockImporter::new,
             RlpBlockExporter::new,
             new RunnerBuilder(),
@@ -47,6 +47,7 @@ import org.hyperledger.besu.ethereum.core.Difficulty;
 import org.hyperledger.besu.ethereum.core.MiningParameters;
 import org.hyperledger.besu.ethereum.core.PrivacyParameters;
 import org.hyperledger.besu.ethereum.core.Synchronizer;
+import org.hyperledger.besu.ethereum.core.TransactionSenderRecovery;
 import org.hyperledger.besu.ethereum.eth.EthProtocol;
 import org.hyperledger.besu.ethereum.eth.EthProtocolConfiguration;
 import org.hyperledger.besu.ethereum.eth.SnapProtocol;
@@ -76,8 +77,10 @@ import org.hyperledger.besu.ethereum.eth.sync.state.SyncState;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfiguration;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolFactory;
+import org.hyperledger.besu.ethereum.mainnet.CodeAnalysisWarmer;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelizedConcurrentTransactionProcessor;
 import org.hyperledger.besu.ethereum.p2p.config.NetworkingConfiguration;
 import org.hyperledger.besu.ethereum.p2p.config.SubProtocolConfiguration;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
@@ -163,6 +166,8 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
   protected Map<Long, Hash> requiredBlocks = Collections.emptyMap();
   /** The Reorg logging threshold. */
   protected long reorgLoggingThreshold;
+  /** The Number of blocks to cache. */
+  protected int numberOfBlocksToCache = 0;
   /** The Data storage configuration. */
   protected DataStorageConfiguration dataStorageConfiguration =
       DataStorageConfiguration.DEFAULT_CONFIG;
@@ -433,6 +438,17 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     return this;
   }
 
+  /**
+   * Number of last blocks whose data is cached in memory by the blockchain.
+   *
+   * @param numberOfBlocksToCache the number of blocks to cache
+   * @return the besu controller builder
+   */
+  public BesuControllerBuilder cacheLastBlocks(final Integer numberOfBlocksToCache) {
+    this.numberOfBlocksToCache = numberOfBlocksToCache;
+    return this;
+  }
+
   /**
    * Data storage configuration besu controller builder.
    *
@@ -577,7 +593,8 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
             blockchainStorage,
             metricsSystem,
             reorgLoggingThreshold,
-            dataDirectory.toString());
+            dataDirectory.toString(),
+            numberOfBlocksToCache);
 
     final CachedMerkleTrieLoader cachedMerkleTrieLoader =
         besuComponent
@@ -607,7 +624,7 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
               mergeContext -> {
                 mergeContext.setIsChainPruningEnabled(true);
               });
-      final ChainDataPruner chainDataPruner = createChainPruner(blockchainStorage);
+      final ChainDataPruner chainDataPruner = createChainPruner(blockchainStorage, blockchain);
       blockchain.observeBlockAdded(chainDataPruner);
       LOG.info(
           "Chain data pruning enabled with recent blocks retained to be: "
@@ -665,9 +682,22 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
         new EthScheduler(
             syncConfig.getDownloaderParallelism(),
             syncConfig.getTransactionsParallelism(),
+            EthScheduler.TX_WORKER_CAPACITY,
             syncConfig.getComputationParallelism(),
+            syncConfig.isVirtualThreadsEnabled(),
             metricsSystem);
 
+    if (evmConfiguration.getCodeAnalysisStorage().isPresent()) {
+      final CodeAnalysisWarmer codeAnalysisWarmer =
+          new CodeAnalysisWarmer(
+              blockchain,
+              worldStateArchive,
+              protocolSchedule,
+              CodeAnalysisWarmer.DEFAULT_BLOCKS,
+              CodeAnalysisWarmer.DEFAULT_CONTRACTS);
+      scheduler.scheduleComputationTask(codeAnalysisWarmer::warmUp);
+    }
+
     final GenesisConfigOptions configOptions =
         genesisConfig.getConfigOptions(genesisConfigOverrides);
 
@@ -685,7 +715,16 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
                   .build());
     }
 
-    final EthContext ethContext = new EthContext(ethPeers, ethMessages, snapMessages, scheduler);
+    final int senderRecoveryThreads = Runtime.getRuntime().availableProcessors();
+    final TransactionSenderRecovery transactionSenderRecovery =
+        new TransactionSenderRecovery(
+            MonitoredExecutors.newFixedThreadPool(
+                TransactionSenderRecovery.class.getSimpleName(),
+                senderRecoveryThreads,
+                senderRecoveryThreads,
+                metricsSystem));
+    final EthContext ethContext =
+        new EthContext(ethPeers, ethMessages, snapMessages, scheduler, transactionSenderRecovery);
     final boolean fullSyncDisabled = !SyncMode.isFullSync(syncConfig.getSyncMode());
     final SyncState syncState = new SyncState(blockchain, ethPeers, fullSyncDisabled, checkpoint);
 
@@ -755,7 +794,14 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
         createAdditionalJsonRpcMethodFactory(protocolContext);
 
     final List<Closeable> closeables = new ArrayList<>();
+    closeables.add(transactionSenderRecovery);
     closeables.add(protocolContext.getWorldStateArchive());
+    // written in the background, closed before the storage to write the queued analyses
+    evmConfiguration
+        .getCodeAnalysisStorage()
+        .filter(Closeable.class::isInstance)
+        .map(Closeable.class::cast)
+        .ifPresent(closeables::add);
     closeables.add(storageProvider);
     if (privacyParameters.getPrivateStorageProvider() != null) {
       closeables.add(privacyParameters.getPrivateStorageProvider());
@@ -1052,7 +1098,17 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
             Optional.of(dataStorageConfiguration.getBonsaiMaxLayersToLoad()),
             cachedMerkleTrieLoader,
             metricsSystem,
-            besuComponent.map(BesuComponent::getBesuPluginContext).orElse(null));
+            besuComponent.map(BesuComponent::getBesuPluginContext).orElse(null),
+            dataStorageConfiguration.getBonsaiParallelTxProcessingEnabled()
+                ? Optional.of(
+                    new ParallelizedConcurrentTransactionProcessor(
+                        MonitoredExecutors.newFixedThreadPool(
+                            ParallelizedConcurrentTransactionProcessor.class.getSimpleName(),
+                            Runtime.getRuntime().availableProcessors(),
+                            Runtime.getRuntime().availableProcessors(),
+                            metricsSystem),
+                        metricsSystem))
+                : Optional.empty());
 
       case FOREST:
       default:
@@ -1062,9 +1118,11 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     }
   }
 
-  private ChainDataPruner createChainPruner(final BlockchainStorage blockchainStorage) {
+  private ChainDataPruner createChainPruner(
+      final BlockchainStorage blockchainStorage, final MutableBlockchain blockchain) {
     return new ChainDataPruner(
         blockchainStorage,
+        blockchain,
         new ChainDataPrunerStorage(
             storageProvider.getStorageBySegmentIdentifier(
                 KeyValueSegmentIdentifier.CHAIN_PRUNER_STATE)),
@@ -4818,6 +4818,48 @@ public class BesuCommandTest extends CommandTestAbstract {
         .contains("Unknown options in TOML configuration file: invalid_option, invalid_option2");
   }
 
+  @Test
+  public void cacheLastBlocksOptionShouldWork() {
+    parseCommand("--cache-last-blocks", "512");
+
+    verify(mockControllerBuilder).cacheLastBlocks(512);
+    verify(mockControllerBuilder).build();
+
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
+  }
+
+  @Test
+  public void cacheLastBlocksIsDisabledByDefault() {
+    parseCommand();
+
+    verify(mockControllerBuilder).cacheLastBlocks(0);
+    verify(mockControllerBuilder).build();
+
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
+  }
+
+  @Test
+  public void cacheLastBlocksMustNotBeNegative() {
+    parseCommand("--cache-last-blocks", "-1");
+
+    verifyNoInteractions(mockRunnerBuilder);
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8))
+        .contains("--cache-last-blocks must be greater than or equal to 0");
+  }
+
+  @Test
+  public void evmProfilerSampleRateMustNotBeNegative() {
+    parseCommand("--Xevm-profiler-sample-rate", "-1");
+
+    verifyNoInteractions(mockRunnerBuilder);
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8))
+        .contains("--Xevm-profiler-sample-rate must be greater than or equal to 0");
+  }
+
   @Test
   public void targetGasLimitIsEnabledWhenSpecified() {
     parseCommand("--target-gas-limit=10000000");
@@ -5523,6 +5565,34 @@ public class BesuCommandTest extends CommandTestAbstract {
   }
 
   private long getPosBlockCreationMaxTimeValue() {
+    return getMiningParameters().getPosBlockCreationMaxTime();
+  }
+
+  @Test
+  public void posIncrementalBlockCreationDisabledByDefault() {
+    parseCommand();
+    assertThat(getMiningParameters().isPosIncrementalBlockCreationEnabled()).isFalse();
+  }
+
+  @Test
+  public void posIncrementalBlockCreationOption() {
+    parseCommand("--Xpos-block-creation-incremental-enabled");
+    assertThat(getMiningParameters().isPosIncrementalBlockCreationEnabled()).isTrue();
+  }
+
+  @Test
+  public void posBlockCreationParallelCandidatesDisabledByDefault() {
+    parseCommand();
+    assertThat(getMiningParameters().getPosBlockCreationParallelCandidates()).isZero();
+  }
+
+  @Test
+  public void posBlockCreationParallelCandidatesOption() {
+    parseCommand("--Xpos-block-creation-parallel-candidates", "16");
+    assertThat(getMiningParameters().getPosBlockCreationParallelCandidates()).isEqualTo(16);
+  }
+
+  private MiningParameters getMiningParameters() {
     final ArgumentCaptor<MiningParameters> miningArg =
         ArgumentCaptor.forClass(MiningParameters.class);
 
@@ -5531,7 +5601,7 @@ public class BesuCommandTest extends CommandTestAbstract {
 
     assertThat(commandOutput.toString(UTF_8)).isEmpty();
     assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
-    return miningArg.getValue().getPosBlockCreationMaxTime();
+    return miningArg.getValue();
   }
 
   @Test
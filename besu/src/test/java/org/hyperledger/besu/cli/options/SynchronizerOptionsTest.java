@@ -67,6 +67,7 @@ public class SynchronizerOptionsTest
         .downloaderParallelism(SynchronizerConfiguration.DEFAULT_DOWNLOADER_PARALLELISM + 2)
         .transactionsParallelism(SynchronizerConfiguration.DEFAULT_TRANSACTIONS_PARALLELISM + 2)
         .computationParallelism(SynchronizerConfiguration.DEFAULT_COMPUTATION_PARALLELISM + 2)
+        .virtualThreadsEnabled(!SynchronizerConfiguration.DEFAULT_VIRTUAL_THREADS_ENABLED)
         .snapSyncConfiguration(
             ImmutableSnapSyncConfiguration.builder()
                 .pivotBlockWindowValidity(
@@ -78,6 +79,8 @@ public class SynchronizerOptionsTest
                 .storageCountPerRequest(SnapSyncConfiguration.DEFAULT_STORAGE_COUNT_PER_REQUEST + 2)
                 .bytecodeCountPerRequest(
                     SnapSyncConfiguration.DEFAULT_BYTECODE_COUNT_PER_REQUEST + 2)
+                .isAdaptiveRequestSizingEnabled(
+                    !SnapSyncConfiguration.DEFAULT_IS_ADAPTIVE_REQUEST_SIZING_ENABLED)
                 .build());
   }
 
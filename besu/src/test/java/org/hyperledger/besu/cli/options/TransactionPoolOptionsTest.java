@@ -125,7 +125,8 @@ public class TransactionPoolOptionsTest
         .pendingTransactionsLayerMaxCapacityBytes(
             defaultValue.getPendingTransactionsLayerMaxCapacityBytes())
         .maxPrioritizedTransactions(defaultValue.getMaxPrioritizedTransactions())
-        .maxFutureBySender(defaultValue.getMaxFutureBySender());
+        .maxFutureBySender(defaultValue.getMaxFutureBySender())
+        .txIngestionPipelineEnabled(defaultValue.getTxIngestionPipelineEnabled());
   }
 
   @Override
@@ -139,7 +140,8 @@ public class TransactionPoolOptionsTest
         .layeredTxPoolEnabled(true)
         .pendingTransactionsLayerMaxCapacityBytes(1_000_000L)
         .maxPrioritizedTransactions(1000)
-        .maxFutureBySender(10);
+        .maxFutureBySender(10)
+        .txIngestionPipelineEnabled(true);
   }
 
   @Override
@@ -69,6 +69,48 @@ class MergeBlockCreator extends AbstractBlockCreator {
       final Address miningBeneficiary,
       final BlockHeader parentHeader,
       final Optional<Address> depositContractAddress) {
+    this(
+        coinbase,
+        targetGasLimitSupplier,
+        extraDataCalculator,
+        transactionPool,
+        protocolContext,
+        protocolSchedule,
+        minTransactionGasPrice,
+        miningBeneficiary,
+        parentHeader,
+        depositContractAddress,
+        0);
+  }
+
+  /**
+   * Instantiates a new Merge block creator.
+   *
+   * @param coinbase the coinbase
+   * @param targetGasLimitSupplier the target gas limit supplier
+   * @param extraDataCalculator the extra data calculator
+   * @param transactionPool the pending transactions
+   * @param protocolContext the protocol context
+   * @param protocolSchedule the protocol schedule
+   * @param minTransactionGasPrice the min transaction gas price
+   * @param miningBeneficiary the mining beneficiary
+   * @param parentHeader the parent header
+   * @param depositContractAddress the deposit contract address
+   * @param parallelTransactionCandidates the number of pending transactions executed in parallel
+   *     during the selection, 0 to disable
+   */
+  public MergeBlockCreator(
+      final Address coinbase,
+      final Supplier<Optional<Long>> targetGasLimitSupplier,
+      final ExtraDataCalculator extraDataCalculator,
+      final TransactionPool transactionPool,
+      final ProtocolContext protocolContext,
+      final ProtocolSchedule protocolSchedule,
+      final Wei minTransactionGasPrice,
+      final Address miningBeneficiary,
+      final BlockHeader parentHeader,
+      final Optional<Address> depositContractAddress,
+      final int parallelTransactionCandidates) {
     super(
         miningBeneficiary,
         __ -> miningBeneficiary,
@@ -80,7 +122,8 @@ class MergeBlockCreator extends AbstractBlockCreator {
         minTransactionGasPrice,
         TRY_FILL_BLOCK,
         parentHeader,
-        depositContractAddress);
+        depositContractAddress,
+        parallelTransactionCandidates);
   }
 
   /**
@@ -107,6 +150,22 @@ class MergeBlockCreator extends AbstractBlockCreator {
         false);
   }
 
+  /**
+   * Create block on top of the transactions selected by the previous call, only executing the
+   * pending transactions that were not selected yet, and return block creation result.
+   *
+   * @param random the random
+   * @param timestamp the timestamp
+   * @param withdrawals optional list of withdrawals
+   * @return the block creation result
+   */
+  public BlockCreationResult createBlockIncrementally(
+      final Bytes32 random, final long timestamp, final Optional<List<Withdrawal>> withdrawals) {
+
+    return createBlockIncrementally(
+        Optional.of(Collections.emptyList()), withdrawals, Optional.of(random), timestamp, false);
+  }
+
   @Override
   public BlockCreationResult createBlock(
       final Optional<List<Transaction>> maybeTransactions,
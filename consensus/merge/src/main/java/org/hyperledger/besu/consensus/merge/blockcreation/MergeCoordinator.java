@@ -139,7 +139,8 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
                 this.miningParameters.getMinTransactionGasPrice(),
                 address.or(miningParameters::getCoinbase).orElse(Address.ZERO),
                 parentHeader,
-                depositContractAddress);
+                depositContractAddress,
+                this.miningParameters.getPosBlockCreationParallelCandidates());
 
     this.backwardSyncContext.subscribeBadChainListener(this);
   }
@@ -337,7 +338,9 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
       final Optional<List<Withdrawal>> withdrawals) {
 
     final Supplier<BlockCreationResult> blockCreator =
-        () -> mergeBlockCreator.createBlock(Optional.empty(), random, timestamp, withdrawals);
+        miningParameters.isPosIncrementalBlockCreationEnabled()
+            ? () -> mergeBlockCreator.createBlockIncrementally(random, timestamp, withdrawals)
+            : () -> mergeBlockCreator.createBlock(Optional.empty(), random, timestamp, withdrawals);
 
     LOG.debug(
         "Block creation started for payload id {}, remaining time is {}ms",
@@ -345,7 +348,14 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
         miningParameters.getPosBlockCreationMaxTime());
 
     blockBuilderExecutor
-        .buildProposal(() -> retryBlockCreationUntilUseful(payloadIdentifier, blockCreator))
+        .buildProposal(
+            () -> {
+              try {
+                retryBlockCreationUntilUseful(payloadIdentifier, blockCreator);
+              } finally {
+                mergeBlockCreator.discardIncrementalState();
+              }
+            })
         .orTimeout(miningParameters.getPosBlockCreationMaxTime(), TimeUnit.MILLISECONDS)
         .whenComplete(
             (unused, throwable) -> {
@@ -443,6 +453,9 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
       if (resultBest.causedBy().isPresent()) {
         LOG.warn("caused by", resultBest.cause.get());
       }
+      // do not keep building on top of the transactions of an invalid block
+      Optional.ofNullable(blockCreationTasks.get(payloadIdentifier))
+          .ifPresent(task -> task.blockCreator.discardIncrementalState());
     }
   }
 
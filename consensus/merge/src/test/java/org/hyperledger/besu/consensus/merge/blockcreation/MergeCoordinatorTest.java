@@ -19,6 +19,7 @@ import static org.assertj.core.api.Assertions.fail;
 import static org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider.createInMemoryBlockchain;
 import static org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider.createInMemoryWorldStateArchive;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeast;
@@ -26,10 +27,12 @@ import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -44,6 +47,8 @@ import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.BlockProcessingResult;
+import org.hyperledger.besu.ethereum.BlockValidator;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.chain.BadBlockManager;
 import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
@@ -98,6 +103,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Answers;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -1188,6 +1194,145 @@ public class MergeCoordinatorTest implements MergeGenesisConfigHelper {
     return mockCoordinator;
   }
 
+  @Test
+  public void incrementalBlockCreationShouldBuildTheSameBlocksAsFullBlockCreation() {
+    final BlockHeader parentHeader = genesisState.getBlock().getHeader();
+    final long timestamp = System.currentTimeMillis() / 1000;
+    final Bytes32 prevRandao = Bytes32.random();
+    final MergeBlockCreator incrementalBlockCreator = createMergeBlockCreator(parentHeader);
+
+    long nonce = 0;
+    for (final int newTransactions : List.of(1, 2, 1)) {
+      for (int i = 0; i < newTransactions; i++) {
+        transactions.addLocalTransaction(createTransaction(nonce++), Optional.empty());
+      }
+
+      final Block incrementalBlock =
+          incrementalBlockCreator
+              .createBlockIncrementally(prevRandao, timestamp, EMPTY_WITHDRAWALS)
+              .getBlock();
+      final Block fullBlock =
+          createMergeBlockCreator(parentHeader)
+              .createBlock(Optional.empty(), prevRandao, timestamp, EMPTY_WITHDRAWALS)
+              .getBlock();
+
+      assertThat(incrementalBlock.getBody().getTransactions())
+          .hasSize((int) nonce)
+          .containsExactlyElementsOf(fullBlock.getBody().getTransactions());
+      assertThat(incrementalBlock.getHeader().getStateRoot())
+          .isEqualTo(fullBlock.getHeader().getStateRoot());
+      assertThat(incrementalBlock.getHeader().getReceiptsRoot())
+          .isEqualTo(fullBlock.getHeader().getReceiptsRoot());
+      assertThat(incrementalBlock.getHeader().getGasUsed())
+          .isEqualTo(fullBlock.getHeader().getGasUsed());
+      assertThat(incrementalBlock.getHash()).isEqualTo(fullBlock.getHash());
+    }
+    incrementalBlockCreator.discardIncrementalState();
+  }
+
+  @Test
+  public void invalidIncrementalBlockShouldDiscardTheIncrementalState()
+      throws InterruptedException, ExecutionException {
+    final BlockValidator blockValidator = mock(BlockValidator.class);
+    when(blockValidator.validateAndProcessBlock(
+            any(), any(), any(), any(), anyBoolean(), anyBoolean()))
+        .thenReturn(new BlockProcessingResult("invalid proposal"));
+    doAnswer(
+            invocation -> {
+              final ProtocolSpec spec = spy((ProtocolSpec) invocation.callRealMethod());
+              doReturn(blockValidator).when(spec).getBlockValidator();
+              return spec;
+            })
+        .when(protocolSchedule)
+        .getByBlockHeader(any(BlockHeader.class));
+    transactions.addLocalTransaction(createTransaction(0), Optional.empty());
+
+    final List<MergeBlockCreator> blockCreators = new ArrayList<>();
+    final MergeCoordinator incrementalCoordinator = createIncrementalCoordinator(blockCreators);
+    final PayloadIdentifier payloadId =
+        incrementalCoordinator.preparePayload(
+            genesisState.getBlock().getHeader(),
+            System.currentTimeMillis() / 1000,
+            Bytes32.ZERO,
+            suggestedFeeRecipient,
+            EMPTY_WITHDRAWALS);
+    final MergeBlockCreator blockCreator = blockCreators.get(0);
+    verify(blockCreator, timeout(5000).atLeast(2))
+        .createBlockIncrementally(any(), anyLong(), any());
+    incrementalCoordinator.finalizeProposalById(payloadId);
+    blockCreationTask.get();
+
+    // the second repetition does not build on top of the transactions of the invalid block
+    final InOrder inOrder = inOrder(blockCreator);
+    inOrder.verify(blockCreator).createBlockIncrementally(any(), anyLong(), any());
+    inOrder.verify(blockCreator).discardIncrementalState();
+    inOrder.verify(blockCreator).createBlockIncrementally(any(), anyLong(), any());
+  }
+
+  @Test
+  public void newPayloadShouldDiscardTheIncrementalStateOfThePreviousPayload()
+      throws InterruptedException, ExecutionException {
+    transactions.addLocalTransaction(createTransaction(0), Optional.empty());
+    final List<MergeBlockCreator> blockCreators = new ArrayList<>();
+    final MergeCoordinator incrementalCoordinator = createIncrementalCoordinator(blockCreators);
+    final long timestamp = System.currentTimeMillis() / 1000;
+
+    incrementalCoordinator.preparePayload(
+        genesisState.getBlock().getHeader(),
+        timestamp,
+        Bytes32.ZERO,
+        suggestedFeeRecipient,
+        EMPTY_WITHDRAWALS);
+    final CompletableFuture<Void> previousBlockCreationTask = blockCreationTask;
+    final MergeBlockCreator previousBlockCreator = blockCreators.get(0);
+    verify(previousBlockCreator, timeout(5000)).createBlockIncrementally(any(), anyLong(), any());
+
+    // a new parent always comes with a new payload, which cancels the previous block creation
+    final PayloadIdentifier payloadId =
+        incrementalCoordinator.preparePayload(
+            genesisState.getBlock().getHeader(),
+            timestamp + 1,
+            Bytes32.ZERO,
+            suggestedFeeRecipient,
+            EMPTY_WITHDRAWALS);
+    previousBlockCreationTask.get();
+
+    verify(previousBlockCreator, atLeastOnce()).discardIncrementalState();
+    assertThat(blockCreators).hasSize(2);
+    incrementalCoordinator.finalizeProposalById(payloadId);
+    blockCreationTask.get();
+  }
+
+  private MergeCoordinator createIncrementalCoordinator(
+      final List<MergeBlockCreator> blockCreators) {
+    doReturn(true).when(miningParameters).isPosIncrementalBlockCreationEnabled();
+    return new MergeCoordinator(
+        protocolContext,
+        protocolSchedule,
+        proposalBuilderExecutor,
+        miningParameters,
+        backwardSyncContext,
+        (parentHeader, address) -> {
+          final MergeBlockCreator blockCreator = spy(createMergeBlockCreator(parentHeader));
+          blockCreators.add(blockCreator);
+          return blockCreator;
+        });
+  }
+
+  private MergeBlockCreator createMergeBlockCreator(final BlockHeader parentHeader) {
+    return new MergeBlockCreator(
+        suggestedFeeRecipient,
+        () -> Optional.of(30000000L),
+        parent -> Bytes.EMPTY,
+        transactionPool,
+        protocolContext,
+        protocolSchedule,
+        miningParameters.getMinTransactionGasPrice(),
+        suggestedFeeRecipient,
+        parentHeader,
+        Optional.empty());
+  }
+
   private Transaction createTransaction(final long transactionNumber) {
     return new TransactionTestFixture()
         .value(Wei.of(transactionNumber + 1))
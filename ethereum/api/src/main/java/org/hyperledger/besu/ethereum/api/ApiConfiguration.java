@@ -42,6 +42,11 @@ public abstract class ApiConfiguration {
     return 500_000_000_000L; // 500 GWei
   }
 
+  @Value.Default
+  public Boolean getLogIndexEnabled() {
+    return false;
+  }
+
   @Value.Derived
   public double getGasPriceFraction() {
     return getGasPricePercentile() / 100.0;
@@ -0,0 +1,236 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.graphql;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.api.query.BlockWithMetadata;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.api.query.TransactionWithMetadata;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.evm.account.Account;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.apache.tuweni.units.bigints.UInt256;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderOptions;
+import org.dataloader.DataLoaderRegistry;
+import org.dataloader.Try;
+
+/**
+ * The request scoped data loaders of the GraphQL resolvers.
+ *
+ * <p>The nested fields of a query, for example the receipts of the transactions of a range of
+ * blocks or the accounts touched by these transactions, are not resolved one at a time but queued
+ * in the data loaders, which are dispatched once per level of the query. Each batch reads a value
+ * only once per request, the bodies and receipts of its blocks with a single multi get, and the
+ * accounts and storage slots with a single world state per block.
+ */
+public class GraphQLDataLoaders {
+
+  /** Blocks with their metadata by hash. */
+  public static final String BLOCKS = "blocks";
+
+  /** Block bodies by block hash. */
+  public static final String BLOCK_BODIES = "blockBodies";
+
+  /** Transaction receipts of a block by block hash. */
+  public static final String RECEIPTS = "receipts";
+
+  /** Accounts by block number and address, see {@link AccountKey}. */
+  public static final String ACCOUNTS = "accounts";
+
+  /** Storage values by block number, address and slot, see {@link StorageKey}. */
+  public static final String STORAGE = "storage";
+
+  /**
+   * The key of an account at a given block.
+   *
+   * @param blockNumber the number of the block whose world state is read
+   * @param address the address of the account
+   */
+  public record AccountKey(long blockNumber, Address address) {}
+
+  /**
+   * The key of a storage slot at a given block.
+   *
+   * @param blockNumber the number of the block whose world state is read
+   * @param address the address of the account
+   * @param slot the storage slot
+   */
+  public record StorageKey(long blockNumber, Address address, UInt256 slot) {}
+
+  private GraphQLDataLoaders() {}
+
+  /**
+   * Create the data loaders of a single request.
+   *
+   * @param blockchainQueries the blockchain queries the values are read from
+   * @return the registry of the data loaders
+   */
+  public static DataLoaderRegistry create(final BlockchainQueries blockchainQueries) {
+    return create(blockchainQueries, DataLoaderOptions.newOptions());
+  }
+
+  /**
+   * Create data loaders which load each value as soon as it is requested, for the resolvers
+   * called outside a request.
+   *
+   * @param blockchainQueries the blockchain queries the values are read from
+   * @return the registry of the data loaders
+   */
+  public static DataLoaderRegistry createUnbatched(final BlockchainQueries blockchainQueries) {
+    return create(blockchainQueries, DataLoaderOptions.newOptions().setBatchingEnabled(false));
+  }
+
+  private static DataLoaderRegistry create(
+      final BlockchainQueries blockchainQueries, final DataLoaderOptions options) {
+    final DataLoaderRegistry registry = new DataLoaderRegistry();
+    registry.register(
+        BLOCKS,
+        DataLoaderFactory
+            .<Hash, Optional<BlockWithMetadata<TransactionWithMetadata, Hash>>>newDataLoader(
+                hashes -> loadEach(hashes, hash -> blockchainQueries.blockByHash(hash)), options));
+    registry.register(
+        BLOCK_BODIES,
+        DataLoaderFactory.<Hash, Optional<BlockBody>>newDataLoader(
+            hashes ->
+                loadBatched(
+                    hashes, batch -> blockchainQueries.getBlockchain().getBlockBodies(batch)),
+            options));
+    registry.register(
+        RECEIPTS,
+        DataLoaderFactory.<Hash, Optional<List<TransactionReceipt>>>newDataLoader(
+            hashes ->
+                loadBatched(
+                    hashes,
+                    batch -> blockchainQueries.getBlockchain().getTxReceiptsForBlocks(batch)),
+            options));
+    registry.register(
+        ACCOUNTS,
+        DataLoaderFactory.<AccountKey, Optional<Account>>newDataLoaderWithTry(
+            keys -> CompletableFuture.completedFuture(loadAccounts(blockchainQueries, keys)),
+            options));
+    registry.register(
+        STORAGE,
+        DataLoaderFactory.<StorageKey, UInt256>newDataLoaderWithTry(
+            keys -> CompletableFuture.completedFuture(loadStorage(blockchainQueries, keys)),
+            options));
+    return registry;
+  }
+
+  private static <K, V> CompletableFuture<List<V>> loadEach(
+      final List<K> keys, final Function<K, V> loader) {
+    final Map<K, V> values = new HashMap<>();
+    keys.forEach(key -> values.computeIfAbsent(key, loader));
+    return CompletableFuture.completedFuture(keys.stream().map(values::get).toList());
+  }
+
+  private static <K, V> CompletableFuture<List<V>> loadBatched(
+      final List<K> keys, final Function<List<K>, List<V>> loader) {
+    final List<K> distinctKeys = new ArrayList<>(new LinkedHashSet<>(keys));
+    final List<V> distinctValues = loader.apply(distinctKeys);
+    final Map<K, V> values = new HashMap<>();
+    for (int i = 0; i < distinctKeys.size(); i++) {
+      values.put(distinctKeys.get(i), distinctValues.get(i));
+    }
+    return CompletableFuture.completedFuture(keys.stream().map(values::get).toList());
+  }
+
+  private static List<Try<Optional<Account>>> loadAccounts(
+      final BlockchainQueries blockchainQueries, final List<AccountKey> keys) {
+    final Map<AccountKey, Try<Optional<Account>>> accounts = new HashMap<>();
+    groupByBlock(keys, AccountKey::blockNumber)
+        .forEach(
+            (blockNumber, blockKeys) -> {
+              final Optional<Map<AccountKey, Optional<Account>>> blockAccounts =
+                  blockchainQueries.getAndMapWorldState(
+                      blockNumber,
+                      ws -> {
+                        final Map<AccountKey, Optional<Account>> values = new HashMap<>();
+                        blockKeys.forEach(
+                            key -> values.put(key, Optional.ofNullable(ws.get(key.address()))));
+                        return Optional.of(values);
+                      });
+              blockKeys.forEach(
+                  key ->
+                      accounts.put(
+                          key,
+                          blockAccounts
+                              .map(values -> Try.succeeded(values.get(key)))
+                              .orElseGet(() -> Try.failed(worldStateNotAvailable(blockNumber)))));
+            });
+    return keys.stream().map(accounts::get).toList();
+  }
+
+  private static List<Try<UInt256>> loadStorage(
+      final BlockchainQueries blockchainQueries, final List<StorageKey> keys) {
+    final Map<StorageKey, Try<UInt256>> slots = new HashMap<>();
+    groupByBlock(keys, StorageKey::blockNumber)
+        .forEach(
+            (blockNumber, blockKeys) -> {
+              final Optional<Map<StorageKey, UInt256>> blockSlots =
+                  blockchainQueries.getAndMapWorldState(
+                      blockNumber,
+                      ws -> {
+                        final Map<StorageKey, UInt256> values = new HashMap<>();
+                        final Map<Address, Optional<Account>> accounts = new HashMap<>();
+                        blockKeys.forEach(
+                            key ->
+                                values.put(
+                                    key,
+                                    accounts
+                                        .computeIfAbsent(
+                                            key.address(),
+                                            address -> Optional.ofNullable(ws.get(address)))
+                                        .map(account -> account.getStorageValue(key.slot()))
+                                        .orElse(UInt256.ZERO)));
+                        return Optional.of(values);
+                      });
+              blockKeys.forEach(
+                  key ->
+                      slots.put(
+                          key,
+                          blockSlots
+                              .map(values -> Try.succeeded(values.get(key)))
+                              .orElseGet(() -> Try.failed(worldStateNotAvailable(blockNumber)))));
+            });
+    return keys.stream().map(slots::get).toList();
+  }
+
+  private static <K> Map<Long, List<K>> groupByBlock(
+      final List<K> keys, final Function<K, Long> blockNumber) {
+    final Map<Long, List<K>> keysByBlock = new LinkedHashMap<>();
+    keys.forEach(
+        key ->
+            keysByBlock.computeIfAbsent(blockNumber.apply(key), __ -> new ArrayList<>()).add(key));
+    return keysByBlock;
+  }
+
+  private static NoSuchElementException worldStateNotAvailable(final long blockNumber) {
+    return new NoSuchElementException("World state not available for block " + blockNumber);
+  }
+}
@@ -26,6 +26,7 @@ import org.hyperledger.besu.ethereum.api.graphql.internal.response.GraphQLRespon
 import org.hyperledger.besu.ethereum.api.graphql.internal.response.GraphQLSuccessResponse;
 import org.hyperledger.besu.ethereum.api.handlers.IsAliveHandler;
 import org.hyperledger.besu.ethereum.api.handlers.TimeoutOptions;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.util.NetworkUtility;
 
@@ -402,12 +403,15 @@ public class GraphQLHttpService {
     contextMap.put(
         GraphQLContextType.IS_ALIVE_HANDLER,
         new IsAliveHandler(scheduler, config.getHttpTimeoutSec()));
+    final BlockchainQueries blockchainQueries =
+        (BlockchainQueries) graphQlContextMap.get(GraphQLContextType.BLOCKCHAIN_QUERIES);
     final ExecutionInput executionInput =
         ExecutionInput.newExecutionInput()
             .query(requestJson)
             .operationName(operationName)
             .variables(variables)
             .graphQLContext(contextMap)
+            .dataLoaderRegistry(GraphQLProvider.buildDataLoaderRegistry(blockchainQueries))
             .build();
     final ExecutionResult result = graphQL.execute(executionInput);
     final Map<String, Object> toSpecificationResult = result.toSpecification();
@@ -15,6 +15,12 @@
 package org.hyperledger.besu.ethereum.api.graphql;
 
 import org.hyperledger.besu.ethereum.api.graphql.internal.Scalars;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 
 import java.io.IOException;
 import java.net.URL;
@@ -24,12 +30,15 @@ import com.google.common.io.Resources;
 import graphql.GraphQL;
 import graphql.analysis.FieldComplexityEnvironment;
 import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.QueryComplexityInfo;
+import graphql.execution.AbortExecutionException;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.idl.RuntimeWiring;
 import graphql.schema.idl.SchemaGenerator;
 import graphql.schema.idl.SchemaParser;
 import graphql.schema.idl.TypeDefinitionRegistry;
 import graphql.schema.idl.TypeRuntimeWiring;
+import org.dataloader.DataLoaderRegistry;
 
 public class GraphQLProvider {
 
@@ -39,16 +48,75 @@ public class GraphQLProvider {
 
   public static GraphQL buildGraphQL(final GraphQLDataFetchers graphQLDataFetchers)
       throws IOException {
+    return buildGraphQL(graphQLDataFetchers, new NoOpMetricsSystem());
+  }
+
+  public static GraphQL buildGraphQL(
+      final GraphQLDataFetchers graphQLDataFetchers, final MetricsSystem metricsSystem)
+      throws IOException {
     final URL url = Resources.getResource("schema.graphqls");
     final String sdl = Resources.toString(url, Charsets.UTF_8);
     final GraphQLSchema graphQLSchema = buildSchema(sdl, graphQLDataFetchers);
     return GraphQL.newGraphQL(graphQLSchema)
-        .instrumentation(
-            new MaxQueryComplexityInstrumentation(
-                MAX_COMPLEXITY, GraphQLProvider::calculateFieldCost))
+        .instrumentation(buildMaxQueryComplexityInstrumentation(metricsSystem))
         .build();
   }
 
+  /**
+   * Build the data loaders of a single request, which batch the loading of the nested fields of
+   * the query. The registry must not be shared between requests.
+   *
+   * @param blockchainQueries the blockchain queries the values are read from
+   * @return the registry of the request data loaders
+   */
+  public static DataLoaderRegistry buildDataLoaderRegistry(
+      final BlockchainQueries blockchainQueries) {
+    return GraphQLDataLoaders.create(blockchainQueries);
+  }
+
+  private static MaxQueryComplexityInstrumentation buildMaxQueryComplexityInstrumentation(
+      final MetricsSystem metricsSystem) {
+    final LabelledMetric<Counter> queriesCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.RPC,
+            "graphql_queries_total",
+            "Count of GraphQL queries by complexity range",
+            "complexity");
+    final Counter complexityCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.RPC,
+            "graphql_query_complexity_total",
+            "Sum of the complexity of the GraphQL queries");
+    // the complexity is only reported above the maximum, so a maximum of 0 reports every query,
+    // which is recorded and then aborted only if it is above MAX_COMPLEXITY
+    return new MaxQueryComplexityInstrumentation(
+        0,
+        GraphQLProvider::calculateFieldCost,
+        (final QueryComplexityInfo info) -> {
+          queriesCounter.labels(complexityRange(info.getComplexity())).inc();
+          complexityCounter.inc(info.getComplexity());
+          return info.getComplexity() > MAX_COMPLEXITY;
+        }) {
+      @Override
+      protected AbortExecutionException mkAbortException(
+          final int totalComplexity, final int maxComplexity) {
+        return super.mkAbortException(totalComplexity, MAX_COMPLEXITY);
+      }
+    };
+  }
+
+  private static String complexityRange(final int complexity) {
+    if (complexity > MAX_COMPLEXITY) {
+      return "rejected";
+    } else if (complexity > MAX_COMPLEXITY / 2) {
+      return "high";
+    } else if (complexity > MAX_COMPLEXITY / 10) {
+      return "medium";
+    } else {
+      return "low";
+    }
+  }
+
   private static GraphQLSchema buildSchema(
       final String sdl, final GraphQLDataFetchers graphQLDataFetchers) {
     final TypeDefinitionRegistry typeRegistry = new SchemaParser().parse(sdl);
@@ -16,12 +16,15 @@ package org.hyperledger.besu.ethereum.api.graphql.internal.pojoadapter;
 
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.api.graphql.GraphQLDataLoaders;
+import org.hyperledger.besu.ethereum.api.graphql.GraphQLDataLoaders.StorageKey;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.bonsai.BonsaiAccount;
 import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.account.AccountState;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import graphql.schema.DataFetchingEnvironment;
 import org.apache.tuweni.bytes.Bytes;
@@ -80,20 +83,24 @@ public class AccountAdapter extends AdapterBase {
     }
   }
 
-  public Bytes32 getStorage(final DataFetchingEnvironment environment) {
+  public CompletableFuture<Bytes32> getStorage(final DataFetchingEnvironment environment) {
     final BlockchainQueries query = getBlockchainQueries(environment);
     final Bytes32 slot = environment.getArgument("slot");
 
     if (account.get() instanceof BonsaiAccount) {
-      return query
-          .getAndMapWorldState(
-              blockNumber.orElse(query.headBlockNumber()),
-              ws -> Optional.of((Bytes32) ws.get(address).getStorageValue(UInt256.fromBytes(slot))))
-          .get();
+      // the slots of all the accounts of the request are read from one world state per block
+      final CompletableFuture<UInt256> value =
+          load(
+              environment,
+              GraphQLDataLoaders.STORAGE,
+              new StorageKey(
+                  blockNumber.orElse(query.headBlockNumber()), address, UInt256.fromBytes(slot)));
+      return value.thenApply(Bytes32.class::cast);
     } else {
-      return account
-          .map(a -> (Bytes32) a.getStorageValue(UInt256.fromBytes(slot)))
-          .orElse(Bytes32.ZERO);
+      return CompletableFuture.completedFuture(
+          account
+              .map(a -> (Bytes32) a.getStorageValue(UInt256.fromBytes(slot)))
+              .orElse(Bytes32.ZERO));
     }
   }
 }
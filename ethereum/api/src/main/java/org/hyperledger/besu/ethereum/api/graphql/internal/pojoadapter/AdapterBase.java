@@ -15,12 +15,28 @@
 package org.hyperledger.besu.ethereum.api.graphql.internal.pojoadapter;
 
 import org.hyperledger.besu.ethereum.api.graphql.GraphQLContextType;
+import org.hyperledger.besu.ethereum.api.graphql.GraphQLDataLoaders;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 
+import java.util.concurrent.CompletableFuture;
+
 import graphql.schema.DataFetchingEnvironment;
+import org.dataloader.DataLoader;
 
 abstract class AdapterBase {
   BlockchainQueries getBlockchainQueries(final DataFetchingEnvironment environment) {
     return environment.getGraphQlContext().get(GraphQLContextType.BLOCKCHAIN_QUERIES);
   }
+
+  <K, V> CompletableFuture<V> load(
+      final DataFetchingEnvironment environment, final String dataLoaderName, final K key) {
+    DataLoader<K, V> dataLoader = environment.getDataLoader(dataLoaderName);
+    if (dataLoader == null) {
+      // not resolved as part of a request, load the value right away
+      dataLoader =
+          GraphQLDataLoaders.createUnbatched(getBlockchainQueries(environment))
+              .getDataLoader(dataLoaderName);
+    }
+    return dataLoader.load(key);
+  }
 }
@@ -18,10 +18,13 @@ import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.api.graphql.GraphQLContextType;
+import org.hyperledger.besu.ethereum.api.graphql.GraphQLDataLoaders;
+import org.hyperledger.besu.ethereum.api.graphql.GraphQLDataLoaders.AccountKey;
 import org.hyperledger.besu.ethereum.api.query.BlockWithMetadata;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.api.query.LogsQuery;
 import org.hyperledger.besu.ethereum.api.query.TransactionWithMetadata;
+import org.hyperledger.besu.ethereum.core.BlockBody;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Difficulty;
 import org.hyperledger.besu.ethereum.core.LogWithMetadata;
@@ -31,6 +34,7 @@ import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 import org.hyperledger.besu.ethereum.transaction.CallParameter;
 import org.hyperledger.besu.ethereum.transaction.TransactionSimulator;
+import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.log.LogTopic;
 import org.hyperledger.besu.evm.tracing.OperationTracer;
 
@@ -39,6 +43,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
 import com.google.common.primitives.Longs;
@@ -56,12 +61,12 @@ public class BlockAdapterBase extends AdapterBase {
     this.header = header;
   }
 
-  public Optional<NormalBlockAdapter> getParent(final DataFetchingEnvironment environment) {
-    final BlockchainQueries query = getBlockchainQueries(environment);
+  public CompletableFuture<Optional<NormalBlockAdapter>> getParent(
+      final DataFetchingEnvironment environment) {
     final Hash parentHash = header.getParentHash();
-    final Optional<BlockWithMetadata<TransactionWithMetadata, Hash>> block =
-        query.blockByHash(parentHash);
-    return block.map(NormalBlockAdapter::new);
+    final CompletableFuture<Optional<BlockWithMetadata<TransactionWithMetadata, Hash>>> block =
+        load(environment, GraphQLDataLoaders.BLOCKS, parentHash);
+    return block.thenApply(maybeBlock -> maybeBlock.map(NormalBlockAdapter::new));
   }
 
   public Bytes32 getHash() {
@@ -86,19 +91,26 @@ public class BlockAdapterBase extends AdapterBase {
     return header.getReceiptsRoot();
   }
 
-  public AdapterBase getMiner(final DataFetchingEnvironment environment) {
+  public CompletableFuture<AdapterBase> getMiner(final DataFetchingEnvironment environment) {
 
-    final BlockchainQueries query = getBlockchainQueries(environment);
     long blockNumber = header.getNumber();
     final Long bn = environment.getArgument("block");
     if (bn != null) {
       blockNumber = bn;
     }
 
-    return query
-        .getAndMapWorldState(blockNumber, ws -> Optional.ofNullable(ws.get(header.getCoinbase())))
-        .map(account -> (AdapterBase) new AccountAdapter(account))
-        .orElseGet(() -> new EmptyAccountAdapter(header.getCoinbase()));
+    final CompletableFuture<Optional<Account>> account =
+        load(
+            environment,
+            GraphQLDataLoaders.ACCOUNTS,
+            new AccountKey(blockNumber, header.getCoinbase()));
+    return account
+        .exceptionally(__ -> Optional.empty())
+        .thenApply(
+            maybeAccount ->
+                maybeAccount
+                    .map(miner -> (AdapterBase) new AccountAdapter(miner))
+                    .orElseGet(() -> new EmptyAccountAdapter(header.getCoinbase())));
   }
 
   public Bytes getExtraData() {
@@ -141,14 +153,13 @@ public class BlockAdapterBase extends AdapterBase {
     return header.getNumber();
   }
 
-  public AccountAdapter getAccount(final DataFetchingEnvironment environment) {
-    final BlockchainQueries query = getBlockchainQueries(environment);
+  public CompletableFuture<AccountAdapter> getAccount(final DataFetchingEnvironment environment) {
     final long bn = header.getNumber();
     final Address address = environment.getArgument("address");
-    return query
-        .getAndMapWorldState(
-            bn, ws -> Optional.of(new AccountAdapter(ws.get(address), Optional.of(bn))))
-        .get();
+    final CompletableFuture<Optional<Account>> account =
+        load(environment, GraphQLDataLoaders.ACCOUNTS, new AccountKey(bn, address));
+    return account.thenApply(
+        maybeAccount -> new AccountAdapter(maybeAccount.orElse(null), Optional.of(bn)));
   }
 
   public List<LogAdapter> getLogs(final DataFetchingEnvironment environment) {
@@ -264,33 +275,38 @@ public class BlockAdapterBase extends AdapterBase {
     return rlpOutput.encoded();
   }
 
-  Bytes getRaw(final DataFetchingEnvironment environment) {
-    final BlockchainQueries query = getBlockchainQueries(environment);
-    return query
-        .getBlockchain()
-        .getBlockBody(header.getBlockHash())
-        .map(
-            blockBody -> {
-              final BytesValueRLPOutput rlpOutput = new BytesValueRLPOutput();
-              blockBody.writeWrappedBodyTo(rlpOutput);
-              return rlpOutput.encoded();
-            })
-        .orElse(Bytes.EMPTY);
+  CompletableFuture<Bytes> getRaw(final DataFetchingEnvironment environment) {
+    return loadBody(environment)
+        .thenApply(
+            maybeBody ->
+                maybeBody
+                    .map(
+                        blockBody -> {
+                          final BytesValueRLPOutput rlpOutput = new BytesValueRLPOutput();
+                          blockBody.writeWrappedBodyTo(rlpOutput);
+                          return rlpOutput.encoded();
+                        })
+                    .orElse(Bytes.EMPTY));
   }
 
   Optional<Bytes32> getWithdrawalsRoot() {
     return header.getWithdrawalsRoot().map(Function.identity());
   }
 
-  Optional<List<WithdrawalAdapter>> getWithdrawals(final DataFetchingEnvironment environment) {
-    final BlockchainQueries query = getBlockchainQueries(environment);
-    return query
-        .getBlockchain()
-        .getBlockBody(header.getBlockHash())
-        .flatMap(
-            blockBody ->
-                blockBody
-                    .getWithdrawals()
-                    .map(wl -> wl.stream().map(WithdrawalAdapter::new).toList()));
+  CompletableFuture<Optional<List<WithdrawalAdapter>>> getWithdrawals(
+      final DataFetchingEnvironment environment) {
+    return loadBody(environment)
+        .thenApply(
+            maybeBody ->
+                maybeBody.flatMap(
+                    blockBody ->
+                        blockBody
+                            .getWithdrawals()
+                            .map(wl -> wl.stream().map(WithdrawalAdapter::new).toList())));
+  }
+
+  private CompletableFuture<Optional<BlockBody>> loadBody(
+      final DataFetchingEnvironment environment) {
+    return load(environment, GraphQLDataLoaders.BLOCK_BODIES, header.getBlockHash());
   }
 }
@@ -15,14 +15,18 @@
 package org.hyperledger.besu.ethereum.api.graphql.internal.pojoadapter;
 
 import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.api.graphql.GraphQLDataLoaders;
+import org.hyperledger.besu.ethereum.api.graphql.GraphQLDataLoaders.AccountKey;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.api.query.TransactionWithMetadata;
 import org.hyperledger.besu.ethereum.core.LogWithMetadata;
+import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.log.LogTopic;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import graphql.schema.DataFetchingEnvironment;
 import org.apache.tuweni.bytes.Bytes;
@@ -55,17 +59,18 @@ public class LogAdapter extends AdapterBase {
     return tran.map(TransactionAdapter::new).orElseThrow();
   }
 
-  public AccountAdapter getAccount(final DataFetchingEnvironment environment) {
-    final BlockchainQueries query = getBlockchainQueries(environment);
+  public CompletableFuture<AccountAdapter> getAccount(final DataFetchingEnvironment environment) {
     long blockNumber = logWithMetadata.getBlockNumber();
     final Long bn = environment.getArgument("block");
     if (bn != null) {
       blockNumber = bn;
     }
 
-    return query
-        .getAndMapWorldState(
-            blockNumber, ws -> Optional.of(new AccountAdapter(ws.get(logWithMetadata.getLogger()))))
-        .get();
+    final CompletableFuture<Optional<Account>> account =
+        load(
+            environment,
+            GraphQLDataLoaders.ACCOUNTS,
+            new AccountKey(blockNumber, logWithMetadata.getLogger()));
+    return account.thenApply(maybeAccount -> new AccountAdapter(maybeAccount.orElse(null)));
   }
 }
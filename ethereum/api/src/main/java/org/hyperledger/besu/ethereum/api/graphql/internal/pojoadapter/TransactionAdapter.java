@@ -17,17 +17,21 @@ package org.hyperledger.besu.ethereum.api.graphql.internal.pojoadapter;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.api.graphql.GraphQLDataLoaders;
+import org.hyperledger.besu.ethereum.api.graphql.GraphQLDataLoaders.AccountKey;
+import org.hyperledger.besu.ethereum.api.query.BlockWithMetadata;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.api.query.TransactionReceiptWithMetadata;
 import org.hyperledger.besu.ethereum.api.query.TransactionWithMetadata;
-import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.LogWithMetadata;
 import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.evm.account.Account;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import javax.annotation.Nonnull;
 
 import graphql.schema.DataFetchingEnvironment;
@@ -36,25 +40,44 @@ import org.apache.tuweni.bytes.Bytes;
 @SuppressWarnings("unused") // reflected by GraphQL
 public class TransactionAdapter extends AdapterBase {
   private final TransactionWithMetadata transactionWithMetadata;
-  private Optional<TransactionReceiptWithMetadata> transactionReceiptWithMetadata;
 
   public TransactionAdapter(final @Nonnull TransactionWithMetadata transactionWithMetadata) {
     this.transactionWithMetadata = transactionWithMetadata;
   }
 
-  private Optional<TransactionReceiptWithMetadata> getReceipt(
+  private CompletableFuture<Optional<TransactionReceiptWithMetadata>> getReceipt(
       final DataFetchingEnvironment environment) {
-    if (transactionReceiptWithMetadata == null) {
-      final BlockchainQueries query = getBlockchainQueries(environment);
-      final Transaction transaction = transactionWithMetadata.getTransaction();
-      if (transaction == null) {
-        transactionReceiptWithMetadata = Optional.empty();
-      } else {
-        transactionReceiptWithMetadata =
-            query.transactionReceiptByTransactionHash(transaction.getHash());
-      }
+    final Transaction transaction = transactionWithMetadata.getTransaction();
+    final Optional<Hash> maybeBlockHash = transactionWithMetadata.getBlockHash();
+    final Optional<Integer> maybeIndex = transactionWithMetadata.getTransactionIndex();
+    if (transaction == null || maybeBlockHash.isEmpty() || maybeIndex.isEmpty()) {
+      return CompletableFuture.completedFuture(Optional.empty());
     }
-    return transactionReceiptWithMetadata;
+
+    // the receipts of the whole block are loaded once for all its transactions
+    final Hash blockHash = maybeBlockHash.get();
+    final int index = maybeIndex.get();
+    final CompletableFuture<Optional<List<TransactionReceipt>>> blockReceipts =
+        load(environment, GraphQLDataLoaders.RECEIPTS, blockHash);
+    return blockReceipts.thenApply(
+        maybeReceipts ->
+            maybeReceipts.map(
+                receipts -> {
+                  final TransactionReceipt receipt = receipts.get(index);
+                  long gasUsed = receipt.getCumulativeGasUsed();
+                  if (index > 0) {
+                    gasUsed = gasUsed - receipts.get(index - 1).getCumulativeGasUsed();
+                  }
+                  return TransactionReceiptWithMetadata.create(
+                      receipt,
+                      transaction,
+                      transaction.getHash(),
+                      index,
+                      gasUsed,
+                      transactionWithMetadata.getBaseFee(),
+                      blockHash,
+                      transactionWithMetadata.getBlockNumber().orElseThrow());
+                }));
   }
 
   public Hash getHash() {
@@ -73,37 +96,39 @@ public class TransactionAdapter extends AdapterBase {
     return transactionWithMetadata.getTransactionIndex();
   }
 
-  public AccountAdapter getFrom(final DataFetchingEnvironment environment) {
+  public CompletableFuture<AccountAdapter> getFrom(final DataFetchingEnvironment environment) {
     final BlockchainQueries query = getBlockchainQueries(environment);
     Long blockNumber = environment.getArgument("block");
     if (blockNumber == null) {
       blockNumber = transactionWithMetadata.getBlockNumber().orElseGet(query::headBlockNumber);
     }
-    return query
-        .getAndMapWorldState(
-            blockNumber,
-            mutableWorldState ->
-                Optional.of(
-                    new AccountAdapter(
-                        mutableWorldState.get(
-                            transactionWithMetadata.getTransaction().getSender()))))
-        .get();
-  }
-
-  public Optional<AccountAdapter> getTo(final DataFetchingEnvironment environment) {
+    final CompletableFuture<Optional<Account>> account =
+        load(
+            environment,
+            GraphQLDataLoaders.ACCOUNTS,
+            new AccountKey(blockNumber, transactionWithMetadata.getTransaction().getSender()));
+    return account.thenApply(maybeAccount -> new AccountAdapter(maybeAccount.orElse(null)));
+  }
+
+  public CompletableFuture<Optional<AccountAdapter>> getTo(
+      final DataFetchingEnvironment environment) {
     final BlockchainQueries query = getBlockchainQueries(environment);
     Long blockNumber = environment.getArgument("block");
     if (blockNumber == null) {
       blockNumber = transactionWithMetadata.getBlockNumber().orElseGet(query::headBlockNumber);
     }
 
-    return query.getAndMapWorldState(
-        blockNumber,
-        ws ->
-            transactionWithMetadata
-                .getTransaction()
-                .getTo()
-                .map(address -> new AccountAdapter(address, ws.get(address))));
+    final Optional<Address> maybeTo = transactionWithMetadata.getTransaction().getTo();
+    if (maybeTo.isEmpty()) {
+      return CompletableFuture.completedFuture(Optional.empty());
+    }
+    final Address address = maybeTo.get();
+    final CompletableFuture<Optional<Account>> account =
+        load(environment, GraphQLDataLoaders.ACCOUNTS, new AccountKey(blockNumber, address));
+    return account
+        .thenApply(
+            maybeAccount -> Optional.of(new AccountAdapter(address, maybeAccount.orElse(null))))
+        .exceptionally(__ -> Optional.empty());
   }
 
   public Wei getValue() {
@@ -122,14 +147,21 @@ public class TransactionAdapter extends AdapterBase {
     return transactionWithMetadata.getTransaction().getMaxFeePerGas();
   }
 
-  public Optional<Wei> getEffectiveGasPrice(final DataFetchingEnvironment environment) {
+  public CompletableFuture<Optional<Wei>> getEffectiveGasPrice(
+      final DataFetchingEnvironment environment) {
     return getReceipt(environment)
-        .map(rwm -> rwm.getTransaction().getEffectiveGasPrice(rwm.getBaseFee()));
+        .thenApply(
+            receipt ->
+                receipt.map(rwm -> rwm.getTransaction().getEffectiveGasPrice(rwm.getBaseFee())));
   }
 
-  public Optional<Wei> getEffectiveTip(final DataFetchingEnvironment environment) {
+  public CompletableFuture<Optional<Wei>> getEffectiveTip(
+      final DataFetchingEnvironment environment) {
     return getReceipt(environment)
-        .map(rwm -> rwm.getTransaction().getEffectivePriorityFeePerGas(rwm.getBaseFee()));
+        .thenApply(
+            receipt ->
+                receipt.map(
+                    rwm -> rwm.getTransaction().getEffectivePriorityFeePerGas(rwm.getBaseFee())));
   }
 
   public Long getGas() {
@@ -140,59 +172,69 @@ public class TransactionAdapter extends AdapterBase {
     return transactionWithMetadata.getTransaction().getPayload();
   }
 
-  public Optional<NormalBlockAdapter> getBlock(final DataFetchingEnvironment environment) {
-    return transactionWithMetadata
-        .getBlockHash()
-        .flatMap(blockHash -> getBlockchainQueries(environment).blockByHash(blockHash))
-        .map(NormalBlockAdapter::new);
+  public CompletableFuture<Optional<NormalBlockAdapter>> getBlock(
+      final DataFetchingEnvironment environment) {
+    final Optional<Hash> maybeBlockHash = transactionWithMetadata.getBlockHash();
+    if (maybeBlockHash.isEmpty()) {
+      return CompletableFuture.completedFuture(Optional.empty());
+    }
+    final CompletableFuture<Optional<BlockWithMetadata<TransactionWithMetadata, Hash>>> block =
+        load(environment, GraphQLDataLoaders.BLOCKS, maybeBlockHash.get());
+    return block.thenApply(maybeBlock -> maybeBlock.map(NormalBlockAdapter::new));
   }
 
-  public Optional<Long> getStatus(final DataFetchingEnvironment environment) {
+  public CompletableFuture<Optional<Long>> getStatus(final DataFetchingEnvironment environment) {
     return getReceipt(environment)
-        .map(TransactionReceiptWithMetadata::getReceipt)
-        .flatMap(
-            receipt ->
-                receipt.getStatus() == -1
-                    ? Optional.empty()
-                    : Optional.of((long) receipt.getStatus()));
+        .thenApply(
+            maybeReceipt ->
+                maybeReceipt
+                    .map(TransactionReceiptWithMetadata::getReceipt)
+                    .flatMap(
+                        receipt ->
+                            receipt.getStatus() == -1
+                                ? Optional.empty()
+                                : Optional.of((long) receipt.getStatus())));
   }
 
-  public Optional<Long> getGasUsed(final DataFetchingEnvironment environment) {
-    return getReceipt(environment).map(TransactionReceiptWithMetadata::getGasUsed);
+  public CompletableFuture<Optional<Long>> getGasUsed(final DataFetchingEnvironment environment) {
+    return getReceipt(environment)
+        .thenApply(receipt -> receipt.map(TransactionReceiptWithMetadata::getGasUsed));
   }
 
-  public Optional<Long> getCumulativeGasUsed(final DataFetchingEnvironment environment) {
-    return getReceipt(environment).map(rpt -> rpt.getReceipt().getCumulativeGasUsed());
+  public CompletableFuture<Optional<Long>> getCumulativeGasUsed(
+      final DataFetchingEnvironment environment) {
+    return getReceipt(environment)
+        .thenApply(receipt -> receipt.map(rpt -> rpt.getReceipt().getCumulativeGasUsed()));
   }
 
-  public Optional<AccountAdapter> getCreatedContract(final DataFetchingEnvironment environment) {
+  public CompletableFuture<Optional<AccountAdapter>> getCreatedContract(
+      final DataFetchingEnvironment environment) {
     final boolean contractCreated = transactionWithMetadata.getTransaction().isContractCreation();
     if (contractCreated) {
       final Optional<Address> addr = transactionWithMetadata.getTransaction().contractAddress();
 
       if (addr.isPresent()) {
-        final BlockchainQueries query = getBlockchainQueries(environment);
         final Optional<Long> txBlockNumber = transactionWithMetadata.getBlockNumber();
         final Optional<Long> bn = Optional.ofNullable(environment.getArgument("block"));
         if (txBlockNumber.isEmpty() && bn.isEmpty()) {
-          return Optional.empty();
+          return CompletableFuture.completedFuture(Optional.empty());
         }
         final long blockNumber = bn.orElseGet(txBlockNumber::get);
-        return query.getAndMapWorldState(
-            blockNumber, ws -> Optional.of(new AccountAdapter(ws.get(addr.get()))));
+        final CompletableFuture<Optional<Account>> account =
+            load(environment, GraphQLDataLoaders.ACCOUNTS, new AccountKey(blockNumber, addr.get()));
+        return account
+            .thenApply(maybeAccount -> Optional.of(new AccountAdapter(maybeAccount.orElse(null))))
+            .exceptionally(__ -> Optional.empty());
       }
     }
-    return Optional.empty();
+    return CompletableFuture.completedFuture(Optional.empty());
   }
 
-  public List<LogAdapter> getLogs(final DataFetchingEnvironment environment) {
+  public CompletableFuture<List<LogAdapter>> getLogs(final DataFetchingEnvironment environment) {
     final BlockchainQueries query = getBlockchainQueries(environment);
-    final Hash hash = transactionWithMetadata.getTransaction().getHash();
-
-    final Optional<BlockHeader> maybeBlockHeader =
-        transactionWithMetadata.getBlockNumber().flatMap(query::getBlockHeaderByNumber);
 
-    if (maybeBlockHeader.isEmpty()) {
+    final Optional<Hash> maybeBlockHash = transactionWithMetadata.getBlockHash();
+    if (maybeBlockHash.isEmpty()) {
       throw new RuntimeException(
           "Cannot get block ("
               + transactionWithMetadata.getBlockNumber()
@@ -200,18 +242,38 @@ public class TransactionAdapter extends AdapterBase {
               + transactionWithMetadata.getTransaction().getHash());
     }
 
-    final Optional<TransactionReceiptWithMetadata> maybeTransactionReceiptWithMetadata =
-        query.transactionReceiptByTransactionHash(hash);
-    final List<LogAdapter> results = new ArrayList<>();
-    if (maybeTransactionReceiptWithMetadata.isPresent()) {
-      final List<LogWithMetadata> logs =
-          query.matchingLogs(
-              maybeBlockHeader.get().getBlockHash(), transactionWithMetadata, () -> true);
-      for (final LogWithMetadata log : logs) {
-        results.add(new LogAdapter(log));
-      }
+    final Optional<Integer> maybeIndex = transactionWithMetadata.getTransactionIndex();
+    if (maybeIndex.isEmpty()) {
+      return CompletableFuture.completedFuture(List.of());
     }
-    return results;
+
+    // the logs are built from the receipts of the block, loaded once for all its transactions
+    final Hash blockHash = maybeBlockHash.get();
+    final int index = maybeIndex.get();
+    final CompletableFuture<Optional<List<TransactionReceipt>>> blockReceipts =
+        load(environment, GraphQLDataLoaders.RECEIPTS, blockHash);
+    return blockReceipts.thenApply(
+        maybeReceipts ->
+            maybeReceipts
+                .map(
+                    receipts -> {
+                      int logIndexOffset = 0;
+                      for (int i = 0; i < index; i++) {
+                        logIndexOffset += receipts.get(i).getLogsList().size();
+                      }
+                      return LogWithMetadata.generate(
+                              logIndexOffset,
+                              receipts.get(index),
+                              transactionWithMetadata.getBlockNumber().orElseThrow(),
+                              blockHash,
+                              transactionWithMetadata.getTransaction().getHash(),
+                              index,
+                              !query.getBlockchain().blockIsOnCanonicalChain(blockHash))
+                          .stream()
+                          .map(LogAdapter::new)
+                          .toList();
+                    })
+                .orElse(List.of()));
   }
 
   public List<AccessListEntryAdapter> getAccessList() {
@@ -228,13 +290,16 @@ public class TransactionAdapter extends AdapterBase {
     return Optional.of(rlpOutput.encoded());
   }
 
-  public Optional<Bytes> getRawReceipt(final DataFetchingEnvironment environment) {
+  public CompletableFuture<Optional<Bytes>> getRawReceipt(
+      final DataFetchingEnvironment environment) {
     return getReceipt(environment)
-        .map(
-            receipt -> {
-              final BytesValueRLPOutput rlpOutput = new BytesValueRLPOutput();
-              receipt.getReceipt().writeTo(rlpOutput);
-              return rlpOutput.encoded();
-            });
+        .thenApply(
+            maybeReceipt ->
+                maybeReceipt.map(
+                    receipt -> {
+                      final BytesValueRLPOutput rlpOutput = new BytesValueRLPOutput();
+                      receipt.getReceipt().writeTo(rlpOutput);
+                      return rlpOutput.encoded();
+                    }));
   }
 }
@@ -24,10 +24,17 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcError;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponseType;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.google.common.util.concurrent.MoreExecutors;
 import io.opentelemetry.api.trace.Tracer;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.json.JsonArray;
@@ -35,12 +42,45 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.RoutingContext;
 
 public class JsonRpcArrayExecutor extends AbstractJsonRpcExecutor {
+  private final Executor batchExecutor;
+  private final OperationTimer batchTimer;
+
   public JsonRpcArrayExecutor(
       final JsonRpcExecutor jsonRpcExecutor,
       final Tracer tracer,
       final RoutingContext ctx,
       final JsonRpcConfiguration jsonRpcConfiguration) {
+    this(
+        jsonRpcExecutor,
+        tracer,
+        ctx,
+        jsonRpcConfiguration,
+        MoreExecutors.directExecutor(),
+        NoOpMetricsSystem.NO_OP_OPERATION_TIMER);
+  }
+
+  /**
+   * Creates a new JsonRpcArrayExecutor.
+   *
+   * @param jsonRpcExecutor The executor used to process the JSON RPC requests.
+   * @param tracer The tracer used for monitoring and debugging purposes.
+   * @param ctx The context of the routing, containing information about the HTTP request and
+   *     response.
+   * @param jsonRpcConfiguration The configuration for JSON RPC operations
+   * @param batchExecutor The executor running the requests of the batch, when the configured batch
+   *     concurrency is more than 1
+   * @param batchTimer The timer measuring the time taken to process the whole batch
+   */
+  public JsonRpcArrayExecutor(
+      final JsonRpcExecutor jsonRpcExecutor,
+      final Tracer tracer,
+      final RoutingContext ctx,
+      final JsonRpcConfiguration jsonRpcConfiguration,
+      final Executor batchExecutor,
+      final OperationTimer batchTimer) {
     super(jsonRpcExecutor, tracer, ctx, jsonRpcConfiguration);
+    this.batchExecutor = batchExecutor;
+    this.batchTimer = batchTimer;
   }
 
   /**
@@ -65,20 +105,78 @@ public class JsonRpcArrayExecutor extends AbstractJsonRpcExecutor {
   /**
    * Executes a batch of RPC requests.
    *
+   * <p>Responses are always written in the order of the requests. When the batch concurrency is
+   * more than 1, up to that many requests run at the same time and each response is streamed as
+   * soon as the responses of all the requests before it have been written.
+   *
    * @param rpcRequestBatch the batch of RPC requests.
    * @param streamer the JsonResponseStreamer to use.
    */
   public void executeRpcRequestBatch(
       final JsonArray rpcRequestBatch, final JsonResponseStreamer streamer) throws IOException {
+    final OperationTimer.TimingContext timingContext = batchTimer.startTimer();
     try (JsonGenerator generator = getJsonObjectMapper().getFactory().createGenerator(streamer)) {
       generator.writeStartArray();
-      for (int i = 0; i < rpcRequestBatch.size(); i++) {
-        JsonRpcResponse response = processMaybeRequest(rpcRequestBatch.getValue(i));
-        if (response.getType() != JsonRpcResponseType.NONE) {
-          generator.writeObject(response);
+      if (jsonRpcConfiguration.getBatchConcurrency() > 1 && rpcRequestBatch.size() > 1) {
+        executeConcurrently(rpcRequestBatch, generator);
+      } else {
+        for (int i = 0; i < rpcRequestBatch.size(); i++) {
+          writeResponse(generator, processMaybeRequest(rpcRequestBatch.getValue(i)));
         }
       }
       generator.writeEndArray();
+    } finally {
+      timingContext.stopTimer();
+    }
+  }
+
+  /**
+   * Executes the requests of the batch on the batch executor. The requests are spread over as many
+   * lanes as the batch concurrency, the requests of a lane running one after the other, so a batch
+   * never occupies more threads than its concurrency. Requests are only submitted while the number
+   * of responses not yet written is below the limit of pending responses.
+   */
+  private void executeConcurrently(final JsonArray rpcRequestBatch, final JsonGenerator generator)
+      throws IOException {
+    final int concurrency = jsonRpcConfiguration.getBatchConcurrency();
+    final int maxPending =
+        Math.max(concurrency, jsonRpcConfiguration.getMaxBatchPendingResponses());
+    final CompletableFuture<?>[] lanes = new CompletableFuture<?>[concurrency];
+    final ArrayDeque<CompletableFuture<JsonRpcResponse>> pending = new ArrayDeque<>(maxPending);
+    int next = 0;
+    while (next < rpcRequestBatch.size() || !pending.isEmpty()) {
+      while (next < rpcRequestBatch.size() && pending.size() < maxPending) {
+        final Object maybeRequest = rpcRequestBatch.getValue(next);
+        final int lane = next % concurrency;
+        final CompletableFuture<?> previous =
+            lanes[lane] == null ? CompletableFuture.completedFuture(null) : lanes[lane];
+        final CompletableFuture<JsonRpcResponse> response =
+            previous
+                .handle((result, error) -> null)
+                .thenApplyAsync(ignored -> processMaybeRequest(maybeRequest), batchExecutor);
+        lanes[lane] = response;
+        pending.add(response);
+        next++;
+      }
+      writeResponse(generator, awaitResponse(pending.poll()));
+    }
+  }
+
+  private static JsonRpcResponse awaitResponse(final CompletableFuture<JsonRpcResponse> response) {
+    try {
+      return response.join();
+    } catch (final CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private static void writeResponse(final JsonGenerator generator, final JsonRpcResponse response)
+      throws IOException {
+    if (response.getType() != JsonRpcResponseType.NONE) {
+      generator.writeObject(response);
     }
   }
 
@@ -38,6 +38,9 @@ public class JsonRpcConfiguration {
   public static final int DEFAULT_MAX_ACTIVE_CONNECTIONS = 80;
   public static final int DEFAULT_MAX_BATCH_SIZE = 1024;
   public static final long DEFAULT_MAX_REQUEST_CONTENT_LENGTH = 5 * 1024 * 1024; // 5MB
+  public static final int DEFAULT_BATCH_CONCURRENCY = 1;
+  public static final int DEFAULT_MAX_BATCH_PENDING_RESPONSES = 128;
+  public static final boolean DEFAULT_VIRTUAL_THREADS_ENABLED = false;
 
   private boolean enabled;
   private int port;
@@ -55,6 +58,9 @@ public class JsonRpcConfiguration {
   private int maxActiveConnections;
   private int maxBatchSize;
   private long maxRequestContentLength;
+  private int batchConcurrency;
+  private int maxBatchPendingResponses;
+  private boolean virtualThreadsEnabled;
 
   public static JsonRpcConfiguration createDefault() {
     final JsonRpcConfiguration config = new JsonRpcConfiguration();
@@ -66,6 +72,9 @@ public class JsonRpcConfiguration {
     config.setMaxActiveConnections(DEFAULT_MAX_ACTIVE_CONNECTIONS);
     config.setMaxBatchSize(DEFAULT_MAX_BATCH_SIZE);
     config.setMaxRequestContentLength(DEFAULT_MAX_REQUEST_CONTENT_LENGTH);
+    config.setBatchConcurrency(DEFAULT_BATCH_CONCURRENCY);
+    config.setMaxBatchPendingResponses(DEFAULT_MAX_BATCH_PENDING_RESPONSES);
+    config.setVirtualThreadsEnabled(DEFAULT_VIRTUAL_THREADS_ENABLED);
     return config;
   }
 
@@ -212,6 +221,9 @@ public class JsonRpcConfiguration {
         .add("httpTimeoutSec", httpTimeoutSec)
         .add("maxActiveConnections", maxActiveConnections)
         .add("maxBatchSize", maxBatchSize)
+        .add("batchConcurrency", batchConcurrency)
+        .add("maxBatchPendingResponses", maxBatchPendingResponses)
+        .add("virtualThreadsEnabled", virtualThreadsEnabled)
         .toString();
   }
 
@@ -233,7 +245,10 @@ public class JsonRpcConfiguration {
         && Objects.equals(hostsAllowlist, that.hostsAllowlist)
         && Objects.equals(authenticationCredentialsFile, that.authenticationCredentialsFile)
         && Objects.equals(authenticationPublicKeyFile, that.authenticationPublicKeyFile)
-        && maxBatchSize == that.maxBatchSize;
+        && maxBatchSize == that.maxBatchSize
+        && batchConcurrency == that.batchConcurrency
+        && maxBatchPendingResponses == that.maxBatchPendingResponses
+        && virtualThreadsEnabled == that.virtualThreadsEnabled;
   }
 
   @Override
@@ -248,7 +263,10 @@ public class JsonRpcConfiguration {
         authenticationEnabled,
         authenticationCredentialsFile,
         authenticationPublicKeyFile,
-        maxBatchSize);
+        maxBatchSize,
+        batchConcurrency,
+        maxBatchPendingResponses,
+        virtualThreadsEnabled);
   }
 
   public int getMaxActiveConnections() {
@@ -274,4 +292,45 @@ public class JsonRpcConfiguration {
   public void setMaxRequestContentLength(final long maxRequestContentLength) {
     this.maxRequestContentLength = maxRequestContentLength;
   }
+
+  /**
+   * The number of requests of a single batch that may be executed at the same time.
+   *
+   * @return the batch concurrency, 1 executes the requests of a batch one after the other
+   */
+  public int getBatchConcurrency() {
+    return batchConcurrency;
+  }
+
+  public void setBatchConcurrency(final int batchConcurrency) {
+    this.batchConcurrency = batchConcurrency;
+  }
+
+  /**
+   * The maximum number of responses of a single batch that are held in memory, waiting for the
+   * responses of the requests that precede them to be written.
+   *
+   * @return the maximum number of pending responses of a batch
+   */
+  public int getMaxBatchPendingResponses() {
+    return maxBatchPendingResponses;
+  }
+
+  public void setMaxBatchPendingResponses(final int maxBatchPendingResponses) {
+    this.maxBatchPendingResponses = maxBatchPendingResponses;
+  }
+
+  /**
+   * Whether the requests are executed on virtual threads instead of the Vert.x worker pool. Only
+   * effective on JVMs supporting virtual threads.
+   *
+   * @return true if the requests are executed on virtual threads
+   */
+  public boolean isVirtualThreadsEnabled() {
+    return virtualThreadsEnabled;
+  }
+
+  public void setVirtualThreadsEnabled(final boolean virtualThreadsEnabled) {
+    this.virtualThreadsEnabled = virtualThreadsEnabled;
+  }
 }
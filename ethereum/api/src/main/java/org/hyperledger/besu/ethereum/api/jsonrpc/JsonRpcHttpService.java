@@ -32,6 +32,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.exception.Logging403Er
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
 import org.hyperledger.besu.ethereum.api.tls.TlsClientAuthConfiguration;
 import org.hyperledger.besu.ethereum.api.tls.TlsConfiguration;
+import org.hyperledger.besu.ethereum.eth.manager.MonitoredExecutors;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.metrics.opentelemetry.OpenTelemetrySystem;
 import org.hyperledger.besu.nat.NatMethod;
@@ -44,6 +45,7 @@ import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 import org.hyperledger.besu.util.ExceptionUtils;
 import org.hyperledger.besu.util.NetworkUtility;
+import org.hyperledger.besu.util.VirtualThreads;
 
 import java.net.InetSocketAddress;
 import java.nio.file.Path;
@@ -51,12 +53,15 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.StringJoiner;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.Nullable;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Splitter;
 import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.MoreExecutors;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.baggage.propagation.W3CBaggagePropagator;
 import io.opentelemetry.api.trace.Span;
@@ -127,6 +132,9 @@ public class JsonRpcHttpService {
   private final NatService natService;
   private final Path dataDir;
   private final LabelledMetric<OperationTimer> requestTimer;
+  private final OperationTimer batchRequestTimer;
+  private final Optional<ExecutorService> batchExecutor;
+  private final Optional<ExecutorService> requestExecutor;
   private TracerProvider tracerProvider;
   private Tracer tracer;
   private final int maxActiveConnections;
@@ -195,7 +203,21 @@ public class JsonRpcHttpService {
         "Total no of active rpc http connections",
         activeConnectionsCount::intValue);
 
+    batchRequestTimer =
+        metricsSystem.createTimer(
+            BesuMetricCategory.RPC,
+            "batch_request_time",
+            "Time taken to process a JSON-RPC batch request");
+
     validateConfig(config);
+    this.batchExecutor =
+        config.getBatchConcurrency() > 1
+            ? Optional.of(createBatchExecutor(config, metricsSystem))
+            : Optional.empty();
+    this.requestExecutor =
+        config.isVirtualThreadsEnabled()
+            ? createVirtualThreadRequestExecutor(metricsSystem)
+            : Optional.empty();
     this.config = config;
     this.vertx = vertx;
     this.natService = natService;
@@ -209,7 +231,36 @@ public class JsonRpcHttpService {
     }
   }
 
+  private static ExecutorService createBatchExecutor(
+      final JsonRpcConfiguration config, final MetricsSystem metricsSystem) {
+    // shared by all the batches, a batch never has more requests submitted at the same time than
+    // the batch concurrency, so the queue holds the requests of all the connections
+    return MonitoredExecutors.newBoundedThreadPool(
+        JsonRpcHttpService.class.getSimpleName() + "-Batch",
+        config.getBatchConcurrency(),
+        config.getBatchConcurrency(),
+        config.getBatchConcurrency() * config.getMaxActiveConnections(),
+        metricsSystem);
+  }
+
+  private static Optional<ExecutorService> createVirtualThreadRequestExecutor(
+      final MetricsSystem metricsSystem) {
+    if (!VirtualThreads.isSupported()) {
+      LOG.warn(
+          "Virtual threads are not supported by this JVM, JSON-RPC requests are executed on the worker pool");
+      return Optional.empty();
+    }
+    return Optional.of(
+        MonitoredExecutors.newVirtualThreadPerTaskExecutor(
+            JsonRpcHttpService.class.getSimpleName() + "-Requests", metricsSystem));
+  }
+
   private void validateConfig(final JsonRpcConfiguration config) {
+    checkArgument(
+        config.getBatchConcurrency() >= 1, "Invalid batch concurrency, must be at least 1.");
+    checkArgument(
+        config.getMaxBatchPendingResponses() >= 1,
+        "Invalid max batch pending responses, must be at least 1.");
     checkArgument(
         config.getPort() == 0 || NetworkUtility.isValidPort(config.getPort()),
         "Invalid port configuration.");
@@ -258,13 +309,16 @@ public class JsonRpcHttpService {
                 }
 
                 httpServer = null;
+                shutdownExecutors();
                 resultFuture.completeExceptionally(getFailureException(res.cause()));
               });
     } catch (final JsonRpcServiceException tlsException) {
       httpServer = null;
+      shutdownExecutors();
       resultFuture.completeExceptionally(tlsException);
     } catch (final VertxException listenException) {
       httpServer = null;
+      shutdownExecutors();
       resultFuture.completeExceptionally(
           new JsonRpcServiceException(
               String.format(
@@ -341,8 +395,9 @@ public class JsonRpcHttpService {
         .handler(HandlerFactory.jsonRpcParser())
         .handler(
             HandlerFactory.timeout(new TimeoutOptions(config.getHttpTimeoutSec()), rpcMethods));
+    final Handler<RoutingContext> jsonRpcExecutorHandler;
     if (authenticationService.isPresent()) {
-      mainRoute.blockingHandler(
+      jsonRpcExecutorHandler =
           HandlerFactory.jsonRpcExecutor(
               new JsonRpcExecutor(
                   new AuthenticatedJsonRpcProcessor(
@@ -352,18 +407,33 @@ public class JsonRpcHttpService {
                       config.getNoAuthRpcApis()),
                   rpcMethods),
               tracer,
-              config),
-          false);
+              config,
+              batchExecutor.isPresent() ? batchExecutor.get() : MoreExecutors.directExecutor(),
+              batchRequestTimer);
     } else {
-      mainRoute.blockingHandler(
+      jsonRpcExecutorHandler =
           HandlerFactory.jsonRpcExecutor(
               new JsonRpcExecutor(
                   new TimedJsonRpcProcessor(
                       new TracedJsonRpcProcessor(new BaseJsonRpcProcessor()), requestTimer),
                   rpcMethods),
               tracer,
-              config),
-          false);
+              config,
+              batchExecutor.isPresent() ? batchExecutor.get() : MoreExecutors.directExecutor(),
+              batchRequestTimer);
+    }
+    if (requestExecutor.isPresent()) {
+      final ExecutorService executor = requestExecutor.get();
+      mainRoute.handler(
+          ctx -> {
+            try {
+              executor.execute(() -> jsonRpcExecutorHandler.handle(ctx));
+            } catch (final RejectedExecutionException e) {
+              ctx.fail(503, e);
+            }
+          });
+    } else {
+      mainRoute.blockingHandler(jsonRpcExecutorHandler, false);
     }
 
     if (authenticationService.isPresent()) {
@@ -535,12 +605,14 @@ public class JsonRpcHttpService {
 
   public CompletableFuture<?> stop() {
     if (httpServer == null) {
+      shutdownExecutors();
       return CompletableFuture.completedFuture(null);
     }
 
     final CompletableFuture<?> resultFuture = new CompletableFuture<>();
     httpServer.close(
         res -> {
+          shutdownExecutors();
           if (res.failed()) {
             resultFuture.completeExceptionally(res.cause());
           } else {
@@ -551,6 +623,11 @@ public class JsonRpcHttpService {
     return resultFuture;
   }
 
+  private void shutdownExecutors() {
+    batchExecutor.ifPresent(ExecutorService::shutdown);
+    requestExecutor.ifPresent(ExecutorService::shutdown);
+  }
+
   public InetSocketAddress socketAddress() {
     if (httpServer == null) {
       return EMPTY_SOCKET_ADDRESS;
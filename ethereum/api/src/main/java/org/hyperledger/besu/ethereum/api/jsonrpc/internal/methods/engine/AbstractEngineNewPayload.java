@@ -229,6 +229,9 @@ public abstract class AbstractEngineNewPayload extends ExecutionEngineJsonRpcMet
       return respondWith(reqId, blockParam, null, SYNCING);
     }
 
+    // start loading the state accessed by the block while it is validated
+    protocolContext.getWorldStateArchive().preLoadBlockState(block);
+
     // TODO: post-merge cleanup
     if (requireTerminalPoWBlockValidation()
         && !mergeContext.get().isCheckpointPostMergeSync()
@@ -15,6 +15,8 @@
 package org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription;
 
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.JsonRpcResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.logs.LogsSubscription;
+import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.logs.LogsSubscriptionIndex;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.logs.PrivateLogsSubscription;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.request.SubscribeRequest;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.request.SubscriptionType;
@@ -56,6 +58,7 @@ public class SubscriptionManager extends AbstractVerticle implements PrivateTran
   private final AtomicLong subscriptionCounter = new AtomicLong(0);
   private final Map<Long, Subscription> subscriptions = new ConcurrentHashMap<>();
   private final SubscriptionBuilder subscriptionBuilder = new SubscriptionBuilder();
+  private final LogsSubscriptionIndex logsSubscriptionIndex = new LogsSubscriptionIndex();
   private final LabelledMetric<Counter> subscribeCounter;
   private final LabelledMetric<Counter> unsubscribeCounter;
   private final List<PrivateTransactionEvent> privateTransactionEvents = new ArrayList<>();
@@ -94,6 +97,9 @@ public class SubscriptionManager extends AbstractVerticle implements PrivateTran
     final Subscription subscription =
         subscriptionBuilder.build(subscriptionId, request.getConnectionId(), request);
     subscriptions.put(subscription.getSubscriptionId(), subscription);
+    if (subscription instanceof LogsSubscription logsSubscription) {
+      logsSubscriptionIndex.add(logsSubscription);
+    }
 
     return subscription.getSubscriptionId();
   }
@@ -117,6 +123,9 @@ public class SubscriptionManager extends AbstractVerticle implements PrivateTran
   private void destroySubscription(final long subscriptionId) {
     final Subscription removed = subscriptions.remove(subscriptionId);
     if (removed != null) {
+      if (removed instanceof LogsSubscription logsSubscription) {
+        logsSubscriptionIndex.remove(logsSubscription);
+      }
       unsubscribeCounter.labels(removed.getSubscriptionType().getCode()).inc();
     }
   }
@@ -138,6 +147,16 @@ public class SubscriptionManager extends AbstractVerticle implements PrivateTran
     return subscriptions.get(subscriptionId);
   }
 
+  /**
+   * Get the index of the logs subscriptions, which is kept up to date as subscriptions are added
+   * and removed.
+   *
+   * @return the logs subscription index
+   */
+  public LogsSubscriptionIndex getLogsSubscriptionIndex() {
+    return logsSubscriptionIndex;
+  }
+
   public <T> List<T> subscriptionsOfType(final SubscriptionType type, final Class<T> clazz) {
     return subscriptions.values().stream()
         .filter(subscription -> subscription.isType(type))
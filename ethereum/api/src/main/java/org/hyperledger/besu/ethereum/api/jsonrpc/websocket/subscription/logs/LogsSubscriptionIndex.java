@@ -0,0 +1,145 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.logs;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.api.query.LogsQuery;
+import org.hyperledger.besu.evm.log.Log;
+import org.hyperledger.besu.evm.log.LogTopic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An inverted index of the logs subscriptions, used to find the subscriptions a log could match
+ * without evaluating the filter of every subscription.
+ *
+ * <p>A subscription filtering on addresses is indexed by each of its addresses. A subscription
+ * matching any address is indexed by the topics of its first topic position that is not a
+ * wildcard, and a subscription with neither is a candidate for every log. The index only narrows
+ * down the candidates, which still have to be matched against their filter.
+ */
+public class LogsSubscriptionIndex {
+
+  private final Map<Address, Set<LogsSubscription>> byAddress = new ConcurrentHashMap<>();
+  private final Map<TopicKey, Set<LogsSubscription>> byTopic = new ConcurrentHashMap<>();
+  private final Set<LogsSubscription> unindexed = ConcurrentHashMap.newKeySet();
+
+  private record TopicKey(int position, LogTopic topic) {}
+
+  public void add(final LogsSubscription subscription) {
+    final LogsQuery logsQuery = subscription.getFilterParameter().getLogsQuery();
+    if (!logsQuery.getAddresses().isEmpty()) {
+      logsQuery.getAddresses().stream()
+          .filter(Objects::nonNull)
+          .forEach(address -> addTo(byAddress, address, subscription));
+    } else {
+      final int position = firstTopicPosition(logsQuery);
+      if (position < 0) {
+        unindexed.add(subscription);
+      } else {
+        logsQuery.getTopics().get(position).stream()
+            .filter(Objects::nonNull)
+            .forEach(topic -> addTo(byTopic, new TopicKey(position, topic), subscription));
+      }
+    }
+  }
+
+  public void remove(final LogsSubscription subscription) {
+    final LogsQuery logsQuery = subscription.getFilterParameter().getLogsQuery();
+    if (!logsQuery.getAddresses().isEmpty()) {
+      logsQuery.getAddresses().stream()
+          .filter(Objects::nonNull)
+          .forEach(address -> removeFrom(byAddress, address, subscription));
+    } else {
+      final int position = firstTopicPosition(logsQuery);
+      if (position < 0) {
+        unindexed.remove(subscription);
+      } else {
+        logsQuery.getTopics().get(position).stream()
+            .filter(Objects::nonNull)
+            .forEach(topic -> removeFrom(byTopic, new TopicKey(position, topic), subscription));
+      }
+    }
+  }
+
+  /**
+   * Get the subscriptions the log could match. Each subscription is returned at most once.
+   *
+   * @param log the log
+   * @return the candidate subscriptions
+   */
+  public List<LogsSubscription> candidates(final Log log) {
+    final List<LogsSubscription> candidates = new ArrayList<>(unindexed);
+    final Set<LogsSubscription> addressSubscriptions = byAddress.get(log.getLogger());
+    if (addressSubscriptions != null) {
+      candidates.addAll(addressSubscriptions);
+    }
+    final List<LogTopic> topics = log.getTopics();
+    for (int position = 0; position < topics.size(); position++) {
+      final Set<LogsSubscription> topicSubscriptions =
+          byTopic.get(new TopicKey(position, topics.get(position)));
+      if (topicSubscriptions != null) {
+        candidates.addAll(topicSubscriptions);
+      }
+    }
+    return candidates;
+  }
+
+  public boolean isEmpty() {
+    return byAddress.isEmpty() && byTopic.isEmpty() && unindexed.isEmpty();
+  }
+
+  private static int firstTopicPosition(final LogsQuery logsQuery) {
+    final List<List<LogTopic>> topics = logsQuery.getTopics();
+    for (int position = 0; position < topics.size(); position++) {
+      if (!topics.get(position).contains(null)) {
+        // an empty position matches no log, the subscription is then left out of the index
+        return position;
+      }
+    }
+    return -1;
+  }
+
+  private static <K> void addTo(
+      final Map<K, Set<LogsSubscription>> index,
+      final K key,
+      final LogsSubscription subscription) {
+    index.compute(
+        key,
+        (__, subscriptions) -> {
+          final Set<LogsSubscription> updated =
+              subscriptions == null ? ConcurrentHashMap.newKeySet() : subscriptions;
+          updated.add(subscription);
+          return updated;
+        });
+  }
+
+  private static <K> void removeFrom(
+      final Map<K, Set<LogsSubscription>> index,
+      final K key,
+      final LogsSubscription subscription) {
+    index.computeIfPresent(
+        key,
+        (__, subscriptions) -> {
+          subscriptions.remove(subscription);
+          return subscriptions.isEmpty() ? null : subscriptions;
+        });
+  }
+}
@@ -15,15 +15,18 @@
 package org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.logs;
 
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.FilterParameter;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.JsonRpcResult;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.LogResult;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.SubscriptionManager;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.request.SubscriptionType;
+import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.response.SharedJsonRpcResult;
 import org.hyperledger.besu.ethereum.api.query.LogsQuery;
 import org.hyperledger.besu.ethereum.api.query.PrivacyQueries;
 import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.LogWithMetadata;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
 
@@ -41,20 +44,33 @@ public class LogsSubscriptionService implements Consumer<LogWithMetadata> {
 
   @Override
   public void accept(final LogWithMetadata logWithMetadata) {
-    subscriptionManager.subscriptionsOfType(SubscriptionType.LOGS, LogsSubscription.class).stream()
-        .filter(
-            logsSubscription -> {
-              final FilterParameter filterParameter = logsSubscription.getFilterParameter();
-              final long blockNumber = logWithMetadata.getBlockNumber();
-              return filterParameter
-                          .getFromBlock()
-                          .getNumber()
-                          .orElse(BlockHeader.GENESIS_BLOCK_NUMBER)
-                      <= blockNumber
-                  && filterParameter.getToBlock().getNumber().orElse(Long.MAX_VALUE) >= blockNumber
-                  && filterParameter.getLogsQuery().matches(logWithMetadata);
-            })
-        .forEach(logsSubscription -> sendLogToSubscription(logWithMetadata, logsSubscription));
+    final List<LogsSubscription> matchingSubscriptions =
+        subscriptionManager.getLogsSubscriptionIndex().candidates(logWithMetadata).stream()
+            .filter(
+                logsSubscription -> {
+                  final FilterParameter filterParameter = logsSubscription.getFilterParameter();
+                  final long blockNumber = logWithMetadata.getBlockNumber();
+                  return filterParameter
+                              .getFromBlock()
+                              .getNumber()
+                              .orElse(BlockHeader.GENESIS_BLOCK_NUMBER)
+                          <= blockNumber
+                      && filterParameter.getToBlock().getNumber().orElse(Long.MAX_VALUE)
+                          >= blockNumber
+                      && filterParameter.getLogsQuery().matches(logWithMetadata);
+                })
+            .toList();
+    if (matchingSubscriptions.isEmpty()) {
+      return;
+    }
+    // a log sent to several subscriptions is only encoded once
+    final JsonRpcResult logResult =
+        matchingSubscriptions.size() == 1
+            ? new LogResult(logWithMetadata)
+            : new SharedJsonRpcResult(new LogResult(logWithMetadata));
+    matchingSubscriptions.forEach(
+        logsSubscription ->
+            subscriptionManager.sendMessage(logsSubscription.getSubscriptionId(), logResult));
   }
 
   public void checkPrivateLogs(final BlockAddedEvent event) {
@@ -0,0 +1,48 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.response;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.JsonRpcResult;
+
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.google.common.base.Suppliers;
+import io.vertx.core.json.Json;
+
+/**
+ * A result sent to several subscriptions. It is encoded once, and the encoded JSON is written as is
+ * into the response of each subscription.
+ */
+public class SharedJsonRpcResult implements JsonRpcResult {
+
+  private final JsonRpcResult result;
+  private final Supplier<RawValue> encodedResult;
+
+  public SharedJsonRpcResult(final JsonRpcResult result) {
+    this.result = result;
+    this.encodedResult = Suppliers.memoize(() -> new RawValue(Json.encode(result)));
+  }
+
+  public JsonRpcResult getResult() {
+    return result;
+  }
+
+  @JsonValue
+  public RawValue getEncodedResult() {
+    return encodedResult.get();
+  }
+}
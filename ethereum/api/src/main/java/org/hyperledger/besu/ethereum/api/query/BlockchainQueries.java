@@ -23,6 +23,7 @@ import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.api.ApiConfiguration;
 import org.hyperledger.besu.ethereum.api.ImmutableApiConfiguration;
 import org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher;
+import org.hyperledger.besu.ethereum.api.query.cache.TransactionLogIndexer;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.chain.TransactionLocation;
 import org.hyperledger.besu.ethereum.core.Block;
@@ -67,6 +68,7 @@ public class BlockchainQueries {
   private final Blockchain blockchain;
   private final Optional<Path> cachePath;
   private final Optional<TransactionLogBloomCacher> transactionLogBloomCacher;
+  private final Optional<TransactionLogIndexer> transactionLogIndexer;
   private final Optional<EthScheduler> ethScheduler;
   private final ApiConfiguration apiConfig;
 
@@ -109,6 +111,10 @@ public class BlockchainQueries {
             ? Optional.of(
                 new TransactionLogBloomCacher(blockchain, cachePath.get(), scheduler.get()))
             : Optional.empty();
+    this.transactionLogIndexer =
+        (cachePath.isPresent() && scheduler.isPresent() && apiConfig.getLogIndexEnabled())
+            ? Optional.of(new TransactionLogIndexer(blockchain, cachePath.get(), scheduler.get()))
+            : Optional.empty();
     this.apiConfig = apiConfig;
   }
 
@@ -124,6 +130,10 @@ public class BlockchainQueries {
     return transactionLogBloomCacher;
   }
 
+  public Optional<TransactionLogIndexer> getTransactionLogIndexer() {
+    return transactionLogIndexer;
+  }
+
   /**
    * Retrieves the header hash of the block at the given height in the canonical chain.
    *
@@ -668,6 +678,52 @@ public class BlockchainQueries {
       final long toBlockNumber,
       final LogsQuery query,
       final Supplier<Boolean> isQueryAlive) {
+    if (transactionLogIndexer.isEmpty() || !TransactionLogIndexer.canFilter(query)) {
+      return matchingLogsBloom(fromBlockNumber, toBlockNumber, query, isQueryAlive);
+    }
+    try {
+      final TransactionLogIndexer indexer = transactionLogIndexer.get();
+      final List<LogWithMetadata> result = new ArrayList<>();
+      for (long step = fromBlockNumber;
+          step <= toBlockNumber;
+          step = TransactionLogIndexer.segmentEnd(step) + 1) {
+        final long segmentTo = Math.min(toBlockNumber, TransactionLogIndexer.segmentEnd(step));
+        BackendQuery.stopIfExpired(isQueryAlive);
+        final Optional<List<Long>> blockNumbers =
+            indexer.matchingBlockNumbers(step, segmentTo, query);
+        if (blockNumbers.isPresent()) {
+          result.addAll(matchingLogsIndexed(blockNumbers.get(), query, isQueryAlive));
+        } else {
+          // segments that are not indexed yet are searched using the log blooms
+          result.addAll(matchingLogsBloom(step, segmentTo, query, isQueryAlive));
+        }
+      }
+      return result;
+    } catch (final Exception e) {
+      throw new IllegalStateException("Error retrieving matching logs", e);
+    }
+  }
+
+  private List<LogWithMetadata> matchingLogsIndexed(
+      final List<Long> blockNumbers, final LogsQuery query, final Supplier<Boolean> isQueryAlive)
+      throws Exception {
+    final List<LogWithMetadata> result = new ArrayList<>();
+    for (final long blockNumber : blockNumbers) {
+      BackendQuery.stopIfExpired(isQueryAlive);
+      final Optional<Hash> blockHash = blockchain.getBlockHashByNumber(blockNumber);
+      if (blockHash.isEmpty()) {
+        break;
+      }
+      result.addAll(matchingLogs(blockHash.get(), query, isQueryAlive));
+    }
+    return result;
+  }
+
+  private List<LogWithMetadata> matchingLogsBloom(
+      final long fromBlockNumber,
+      final long toBlockNumber,
+      final LogsQuery query,
+      final Supplier<Boolean> isQueryAlive) {
     try {
       final List<LogWithMetadata> result = new ArrayList<>();
       final long startSegment = fromBlockNumber / BLOCKS_PER_BLOOM_CACHE;
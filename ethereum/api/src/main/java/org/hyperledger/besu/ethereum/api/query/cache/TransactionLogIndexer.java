@@ -0,0 +1,615 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.api.query.LogsQuery;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.evm.log.Log;
+import org.hyperledger.besu.evm.log.LogTopic;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent inverted index of the logs of the canonical chain.
+ *
+ * <p>The chain is split into segments of {@link #BLOCKS_PER_LOG_INDEX} blocks. For each segment the
+ * index maps every log address, and every log topic at its position, to the sorted list of the
+ * blocks of the segment containing a matching log. Unlike the log blooms, the index has no false
+ * positives, so a logs query only loads the receipts of the blocks that actually contain a matching
+ * log.
+ *
+ * <p>The segment containing the chain head is kept in memory and updated as blocks are added, it is
+ * written to a file once complete. The files of older segments are built in the background from the
+ * stored receipts. The segment files are only written and deleted by a single thread, in the order
+ * of the chain events, so a reorg never races with the writing of a segment it invalidates.
+ */
+public class TransactionLogIndexer {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TransactionLogIndexer.class);
+
+  public static final int BLOCKS_PER_LOG_INDEX = 10_000;
+
+  private static final int VERSION = 1;
+  private static final int HEADER_LENGTH = 2 * Integer.BYTES;
+  private static final int KEY_LENGTH = 1 + Bytes32.SIZE;
+  private static final int KEY_ENTRY_LENGTH = KEY_LENGTH + Long.BYTES + Integer.BYTES;
+  private static final byte ADDRESS_KEY = 0;
+
+  private final Blockchain blockchain;
+  private final Path cacheDir;
+  private final EthScheduler scheduler;
+  private final Executor segmentFileExecutor;
+
+  private final AtomicBoolean catchingUp = new AtomicBoolean();
+  private volatile boolean stopped;
+  private OptionalLong blockAddedSubscriptionId = OptionalLong.empty();
+
+  // the segment being filled, guarded by this
+  private long currentSegment = -1;
+  private long indexedUpTo = -1;
+  private Map<Bytes, Postings> currentPostings = new HashMap<>();
+
+  public TransactionLogIndexer(
+      final Blockchain blockchain, final Path cacheDir, final EthScheduler scheduler) {
+    this(
+        blockchain,
+        cacheDir,
+        scheduler,
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat(TransactionLogIndexer.class.getSimpleName() + "-%d")
+                .build()));
+  }
+
+  @VisibleForTesting
+  TransactionLogIndexer(
+      final Blockchain blockchain,
+      final Path cacheDir,
+      final EthScheduler scheduler,
+      final Executor segmentFileExecutor) {
+    this.blockchain = blockchain;
+    this.cacheDir = cacheDir;
+    this.scheduler = scheduler;
+    this.segmentFileExecutor = segmentFileExecutor;
+  }
+
+  /** Start indexing the blocks added to the chain and build the missing segment files. */
+  public void start() {
+    LOG.info("Starting transaction log indexer.");
+    try {
+      Files.createDirectories(cacheDir);
+    } catch (final IOException e) {
+      LOG.error("Unable to create the log index directory {}", cacheDir, e);
+      return;
+    }
+    stopped = false;
+    synchronized (this) {
+      resetCurrentSegment(blockchain.getChainHeadBlockNumber() / BLOCKS_PER_LOG_INDEX);
+    }
+    blockAddedSubscriptionId = OptionalLong.of(blockchain.observeBlockAdded(this::onBlockAdded));
+    scheduleCatchUp();
+    scheduler.scheduleFutureTask(
+        () -> segmentFileExecutor.execute(this::buildMissingSegments), Duration.ofMinutes(1));
+  }
+
+  public void stop() {
+    LOG.info("Shutting down transaction log indexer.");
+    stopped = true;
+    blockAddedSubscriptionId.ifPresent(blockchain::removeObserver);
+  }
+
+  /**
+   * Whether the index can narrow down the blocks matching the query, which requires the query to
+   * constrain the address or at least one topic.
+   *
+   * @param query the logs query
+   * @return true if the index is useful for this query
+   */
+  public static boolean canFilter(final LogsQuery query) {
+    return !keyGroups(query).isEmpty();
+  }
+
+  /**
+   * The last block of the index segment containing the given block.
+   *
+   * @param blockNumber the block number
+   * @return the last block number of its segment
+   */
+  public static long segmentEnd(final long blockNumber) {
+    return (blockNumber / BLOCKS_PER_LOG_INDEX + 1) * BLOCKS_PER_LOG_INDEX - 1;
+  }
+
+  /**
+   * Find the blocks of a range containing logs that match the query. The range must be within a
+   * single index segment.
+   *
+   * @param fromBlockNumber the first block of the range
+   * @param toBlockNumber the last block of the range
+   * @param query the logs query
+   * @return the matching block numbers in increasing order, or empty if the segment is not indexed
+   */
+  public Optional<List<Long>> matchingBlockNumbers(
+      final long fromBlockNumber, final long toBlockNumber, final LogsQuery query) {
+    final List<List<Bytes>> keyGroups = keyGroups(query);
+    final long segment = fromBlockNumber / BLOCKS_PER_LOG_INDEX;
+    if (keyGroups.isEmpty() || segment != toBlockNumber / BLOCKS_PER_LOG_INDEX) {
+      return Optional.empty();
+    }
+    final Optional<int[]> offsets =
+        matchingOffsetsInMemory(segment, toBlockNumber, keyGroups)
+            .or(() -> matchingOffsetsInFile(segment, keyGroups));
+    return offsets.map(
+        matching -> {
+          final long segmentStart = segment * BLOCKS_PER_LOG_INDEX;
+          final List<Long> blockNumbers = new ArrayList<>();
+          for (final int offset : matching) {
+            final long blockNumber = segmentStart + offset;
+            if (blockNumber >= fromBlockNumber && blockNumber <= toBlockNumber) {
+              blockNumbers.add(blockNumber);
+            }
+          }
+          return blockNumbers;
+        });
+  }
+
+  private synchronized Optional<int[]> matchingOffsetsInMemory(
+      final long segment, final long toBlockNumber, final List<List<Bytes>> keyGroups) {
+    if (segment != currentSegment
+        || indexedUpTo < Math.min(toBlockNumber, blockchain.getChainHeadBlockNumber())) {
+      return Optional.empty();
+    }
+    int[] matching = null;
+    for (final List<Bytes> keyGroup : keyGroups) {
+      int[] union = new int[0];
+      for (final Bytes key : keyGroup) {
+        final Postings postings = currentPostings.get(key);
+        if (postings != null) {
+          union = union(union, postings.toArray());
+        }
+      }
+      matching = matching == null ? union : intersection(matching, union);
+    }
+    return Optional.of(matching);
+  }
+
+  private Optional<int[]> matchingOffsetsInFile(
+      final long segment, final List<List<Bytes>> keyGroups) {
+    synchronized (this) {
+      // only completed segments are read from file, the later files are deleted after a reorg
+      if (segment >= currentSegment) {
+        return Optional.empty();
+      }
+    }
+    final Path segmentFile = segmentFile(segment);
+    if (!Files.isRegularFile(segmentFile)) {
+      return Optional.empty();
+    }
+    try (final FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.READ)) {
+      final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.getInt(0) != VERSION) {
+        return Optional.empty();
+      }
+      int[] matching = null;
+      for (final List<Bytes> keyGroup : keyGroups) {
+        int[] union = new int[0];
+        for (final Bytes key : keyGroup) {
+          union = union(union, readPostings(buffer, key));
+        }
+        matching = matching == null ? union : intersection(matching, union);
+      }
+      return Optional.of(matching);
+    } catch (final IOException | RuntimeException e) {
+      LOG.debug("Unable to read log index segment {}", segmentFile, e);
+      return Optional.empty();
+    }
+  }
+
+  private void onBlockAdded(final BlockAddedEvent event) {
+    if (!event.isNewCanonicalHead()) {
+      return;
+    }
+    final BlockHeader header = event.getBlock().getHeader();
+    synchronized (this) {
+      if (event.getEventType() == BlockAddedEvent.EventType.CHAIN_REORG) {
+        blockchain
+            .getBlockHeader(event.getCommonAncestorHash())
+            .ifPresent(ancestor -> rollbackTo(ancestor.getNumber()));
+      }
+      if (header.getNumber() == indexedUpTo + 1
+          && blockchain
+              .getBlockHashByNumber(indexedUpTo)
+              .map(header.getParentHash()::equals)
+              .orElse(indexedUpTo < 0)) {
+        indexBlock(header.getNumber(), event.getTransactionReceipts());
+        return;
+      }
+    }
+    scheduleCatchUp();
+  }
+
+  private void scheduleCatchUp() {
+    if (catchingUp.compareAndSet(false, true)) {
+      scheduler.scheduleComputationTask(
+          () -> {
+            try {
+              catchUp();
+            } finally {
+              catchingUp.set(false);
+            }
+            return null;
+          });
+    }
+  }
+
+  private void catchUp() {
+    while (!stopped) {
+      final long next;
+      synchronized (this) {
+        if (indexedUpTo >= blockchain.getChainHeadBlockNumber()) {
+          return;
+        }
+        next = indexedUpTo + 1;
+      }
+      final Optional<Hash> blockHash = blockchain.getBlockHashByNumber(next);
+      final Optional<List<TransactionReceipt>> receipts =
+          blockHash.flatMap(blockchain::getTxReceipts);
+      if (receipts.isEmpty()) {
+        return;
+      }
+      synchronized (this) {
+        // skip the block if the chain was reorganized in the meantime
+        if (indexedUpTo + 1 == next && blockHash.equals(blockchain.getBlockHashByNumber(next))) {
+          indexBlock(next, receipts.get());
+        }
+      }
+    }
+  }
+
+  private void rollbackTo(final long ancestorNumber) {
+    if (ancestorNumber >= indexedUpTo) {
+      return;
+    }
+    final long ancestorSegment = (ancestorNumber + 1) / BLOCKS_PER_LOG_INDEX;
+    if (ancestorSegment == currentSegment) {
+      final int maxOffset = (int) (ancestorNumber - currentSegment * BLOCKS_PER_LOG_INDEX);
+      currentPostings.values().forEach(postings -> postings.truncate(maxOffset));
+      currentPostings.values().removeIf(Postings::isEmpty);
+      indexedUpTo = ancestorNumber;
+    } else {
+      // the reorg goes back to a completed segment, it is indexed again from its start
+      final long lastCompletedSegment = currentSegment - 1;
+      segmentFileExecutor.execute(
+          () -> {
+            for (long segment = ancestorSegment; segment <= lastCompletedSegment; segment++) {
+              deleteSegmentFile(segment);
+            }
+          });
+      resetCurrentSegment(ancestorSegment);
+    }
+  }
+
+  private void resetCurrentSegment(final long segment) {
+    currentSegment = segment;
+    indexedUpTo = segment * BLOCKS_PER_LOG_INDEX - 1;
+    currentPostings = new HashMap<>();
+  }
+
+  private void indexBlock(final long blockNumber, final List<TransactionReceipt> receipts) {
+    final long segment = blockNumber / BLOCKS_PER_LOG_INDEX;
+    if (segment != currentSegment) {
+      // the current segment is complete, write it in the background
+      final long completedSegment = currentSegment;
+      final Map<Bytes, Postings> completedPostings = currentPostings;
+      segmentFileExecutor.execute(() -> writeSegmentFile(completedSegment, completedPostings));
+      resetCurrentSegment(segment);
+    }
+    addBlock(currentPostings, (int) (blockNumber - segment * BLOCKS_PER_LOG_INDEX), receipts);
+    indexedUpTo = blockNumber;
+  }
+
+  @VisibleForTesting
+  void buildMissingSegments() {
+    final long lastSegment;
+    synchronized (this) {
+      lastSegment = currentSegment - 1;
+    }
+    for (long segment = lastSegment; segment >= 0 && !stopped; segment--) {
+      if (!Files.isRegularFile(segmentFile(segment))) {
+        buildSegment(segment);
+      }
+    }
+  }
+
+  private void buildSegment(final long segment) {
+    LOG.debug("Building log index segment {}", segment);
+    final Map<Bytes, Postings> postings = new HashMap<>();
+    final long segmentStart = segment * BLOCKS_PER_LOG_INDEX;
+    for (int offset = 0; offset < BLOCKS_PER_LOG_INDEX; offset++) {
+      if (stopped) {
+        return;
+      }
+      final Optional<List<TransactionReceipt>> receipts =
+          blockchain.getBlockHashByNumber(segmentStart + offset).flatMap(blockchain::getTxReceipts);
+      if (receipts.isEmpty()) {
+        return;
+      }
+      addBlock(postings, offset, receipts.get());
+    }
+    writeSegmentFile(segment, postings);
+  }
+
+  private static void addBlock(
+      final Map<Bytes, Postings> postings,
+      final int offset,
+      final List<TransactionReceipt> receipts) {
+    for (final TransactionReceipt receipt : receipts) {
+      for (final Log log : receipt.getLogs()) {
+        postings.computeIfAbsent(addressKey(log.getLogger()), key -> new Postings()).add(offset);
+        final List<LogTopic> topics = log.getTopics();
+        for (int position = 0; position < topics.size(); position++) {
+          postings
+              .computeIfAbsent(topicKey(position, topics.get(position)), key -> new Postings())
+              .add(offset);
+        }
+      }
+    }
+  }
+
+  private void writeSegmentFile(final long segment, final Map<Bytes, Postings> postings) {
+    final List<Bytes> keys = new ArrayList<>(postings.keySet());
+    keys.sort((a, b) -> Arrays.compareUnsigned(a.toArrayUnsafe(), b.toArrayUnsafe()));
+    final Path segmentFile = segmentFile(segment);
+    final Path tempFile = cacheDir.resolve(segmentFile.getFileName() + ".tmp");
+    try {
+      final ByteArrayOutputStream encodedPostings = new ByteArrayOutputStream();
+      final long[] postingsOffsets = new long[keys.size()];
+      for (int i = 0; i < keys.size(); i++) {
+        postingsOffsets[i] = encodedPostings.size();
+        postings.get(keys.get(i)).writeTo(encodedPostings);
+      }
+      try (final DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+        out.writeInt(VERSION);
+        out.writeInt(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+          out.write(keys.get(i).toArrayUnsafe());
+          out.writeLong(postingsOffsets[i]);
+          out.writeInt(postings.get(keys.get(i)).size());
+        }
+        encodedPostings.writeTo(out);
+      }
+      Files.move(
+          tempFile,
+          segmentFile,
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+      LOG.debug("Wrote log index segment {} with {} keys", segment, keys.size());
+    } catch (final IOException e) {
+      LOG.error("Unable to write log index segment {}", segmentFile, e);
+    }
+  }
+
+  private void deleteSegmentFile(final long segment) {
+    try {
+      Files.deleteIfExists(segmentFile(segment));
+    } catch (final IOException e) {
+      LOG.error("Unable to delete log index segment {}", segment, e);
+    }
+  }
+
+  @VisibleForTesting
+  Path segmentFile(final long segment) {
+    return cacheDir.resolve("logIndex-" + segment + ".cache");
+  }
+
+  private static int[] readPostings(final ByteBuffer buffer, final Bytes key) {
+    final int keyCount = buffer.getInt(Integer.BYTES);
+    final byte[] candidate = new byte[KEY_LENGTH];
+    final byte[] searched = key.toArrayUnsafe();
+    int low = 0;
+    int high = keyCount - 1;
+    while (low <= high) {
+      final int middle = (low + high) >>> 1;
+      final int entry = HEADER_LENGTH + middle * KEY_ENTRY_LENGTH;
+      buffer.get(entry, candidate);
+      final int comparison = Arrays.compareUnsigned(candidate, searched);
+      if (comparison < 0) {
+        low = middle + 1;
+      } else if (comparison > 0) {
+        high = middle - 1;
+      } else {
+        final long postingsStart = (long) HEADER_LENGTH + (long) keyCount * KEY_ENTRY_LENGTH;
+        final int position = (int) (postingsStart + buffer.getLong(entry + KEY_LENGTH));
+        final int count = buffer.getInt(entry + KEY_LENGTH + Long.BYTES);
+        return Postings.read(buffer.duplicate().position(position), count);
+      }
+    }
+    return new int[0];
+  }
+
+  private static List<List<Bytes>> keyGroups(final LogsQuery query) {
+    final List<List<Bytes>> keyGroups = new ArrayList<>();
+    if (!query.getAddresses().isEmpty()) {
+      keyGroups.add(
+          query.getAddresses().stream().map(TransactionLogIndexer::addressKey).toList());
+    }
+    final List<List<LogTopic>> topics = query.getTopics();
+    for (int position = 0; position < topics.size(); position++) {
+      final List<LogTopic> topicsAtPosition = topics.get(position);
+      if (topicsAtPosition.isEmpty() || topicsAtPosition.contains(null)) {
+        continue;
+      }
+      final List<Bytes> keyGroup = new ArrayList<>();
+      for (final LogTopic topic : topicsAtPosition) {
+        keyGroup.add(topicKey(position, topic));
+      }
+      keyGroups.add(keyGroup);
+    }
+    return keyGroups;
+  }
+
+  private static Bytes addressKey(final Address address) {
+    return key(ADDRESS_KEY, address);
+  }
+
+  private static Bytes topicKey(final int position, final LogTopic topic) {
+    return key((byte) (position + 1), topic);
+  }
+
+  private static Bytes key(final byte type, final Bytes value) {
+    final byte[] key = new byte[KEY_LENGTH];
+    key[0] = type;
+    value.copyTo(key, 1);
+    return Bytes.wrap(key);
+  }
+
+  private static int[] union(final int[] left, final int[] right) {
+    final int[] result = new int[left.length + right.length];
+    int i = 0;
+    int j = 0;
+    int size = 0;
+    while (i < left.length || j < right.length) {
+      final int next;
+      if (j == right.length || (i < left.length && left[i] < right[j])) {
+        next = left[i++];
+      } else if (i == left.length || right[j] < left[i]) {
+        next = right[j++];
+      } else {
+        next = left[i++];
+        j++;
+      }
+      result[size++] = next;
+    }
+    return Arrays.copyOf(result, size);
+  }
+
+  private static int[] intersection(final int[] left, final int[] right) {
+    final int[] result = new int[Math.min(left.length, right.length)];
+    int i = 0;
+    int j = 0;
+    int size = 0;
+    while (i < left.length && j < right.length) {
+      if (left[i] < right[j]) {
+        i++;
+      } else if (right[j] < left[i]) {
+        j++;
+      } else {
+        result[size++] = left[i++];
+        j++;
+      }
+    }
+    return Arrays.copyOf(result, size);
+  }
+
+  /** The increasing block offsets of a segment containing a key, delta encoded as varints. */
+  private static class Postings {
+    private int[] offsets = new int[4];
+    private int size;
+
+    void add(final int offset) {
+      if (size > 0 && offsets[size - 1] == offset) {
+        return;
+      }
+      if (size == offsets.length) {
+        offsets = Arrays.copyOf(offsets, size * 2);
+      }
+      offsets[size++] = offset;
+    }
+
+    void truncate(final int maxOffset) {
+      while (size > 0 && offsets[size - 1] > maxOffset) {
+        size--;
+      }
+    }
+
+    boolean isEmpty() {
+      return size == 0;
+    }
+
+    int size() {
+      return size;
+    }
+
+    int[] toArray() {
+      return Arrays.copyOf(offsets, size);
+    }
+
+    void writeTo(final ByteArrayOutputStream out) {
+      int previous = 0;
+      for (int i = 0; i < size; i++) {
+        int delta = offsets[i] - previous;
+        previous = offsets[i];
+        while ((delta & ~0x7f) != 0) {
+          out.write((delta & 0x7f) | 0x80);
+          delta >>>= 7;
+        }
+        out.write(delta);
+      }
+    }
+
+    static int[] read(final ByteBuffer buffer, final int count) {
+      final int[] offsets = new int[count];
+      int previous = 0;
+      for (int i = 0; i < count; i++) {
+        int delta = 0;
+        int shift = 0;
+        byte b;
+        do {
+          b = buffer.get();
+          delta |= (b & 0x7f) << shift;
+          shift += 7;
+        } while ((b & 0x80) != 0);
+        previous += delta;
+        offsets[i] = previous;
+      }
+      return offsets;
+    }
+  }
+}
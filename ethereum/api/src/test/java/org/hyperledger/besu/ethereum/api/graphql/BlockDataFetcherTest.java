@@ -76,10 +76,10 @@ public class BlockDataFetcherTest extends AbstractDataFetcherTest {
 
     final Optional<NormalBlockAdapter> maybeBlock = fetcher.get(environment);
     assertThat(maybeBlock).isPresent();
-    assertThat(maybeBlock.get().getMiner(environment)).isNotNull();
-    assertThat(((EmptyAccountAdapter) maybeBlock.get().getMiner(environment)).getBalance())
+    assertThat(maybeBlock.get().getMiner(environment).join()).isNotNull();
+    assertThat(((EmptyAccountAdapter) maybeBlock.get().getMiner(environment).join()).getBalance())
         .isGreaterThanOrEqualTo(Wei.ZERO);
-    assertThat(((EmptyAccountAdapter) maybeBlock.get().getMiner(environment)).getAddress())
+    assertThat(((EmptyAccountAdapter) maybeBlock.get().getMiner(environment).join()).getAddress())
         .isEqualTo(testAddress);
   }
 }
@@ -0,0 +1,151 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.graphql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.api.graphql.GraphQLDataLoaders.AccountKey;
+import org.hyperledger.besu.ethereum.api.graphql.GraphQLDataLoaders.StorageKey;
+import org.hyperledger.besu.ethereum.api.query.BlockWithMetadata;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.api.query.TransactionWithMetadata;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.evm.account.Account;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class GraphQLDataLoadersTest {
+
+  private static final Address ADDRESS_1 = Address.fromHexString("0x01");
+  private static final Address ADDRESS_2 = Address.fromHexString("0x02");
+
+  @Mock private BlockchainQueries blockchainQueries;
+  @Mock private Blockchain blockchain;
+  @Mock private MutableWorldState worldState;
+  @Mock private Account account;
+
+  @Test
+  public void blocksAreLoadedOncePerBatch() {
+    final Hash hash = Hash.hash(Bytes.of(1));
+    final BlockWithMetadata<TransactionWithMetadata, Hash> block =
+        new BlockWithMetadata<>(null, null, null, null, 0);
+    when(blockchainQueries.blockByHash(hash)).thenReturn(Optional.of(block));
+
+    final DataLoaderRegistry registry = GraphQLDataLoaders.create(blockchainQueries);
+    final DataLoader<Hash, Optional<BlockWithMetadata<TransactionWithMetadata, Hash>>> blocks =
+        registry.getDataLoader(GraphQLDataLoaders.BLOCKS);
+    final var first = blocks.load(hash);
+    final var second = blocks.load(hash);
+    verify(blockchainQueries, never()).blockByHash(any());
+
+    registry.dispatchAll();
+
+    assertThat(first.join()).contains(block);
+    assertThat(second.join()).contains(block);
+    verify(blockchainQueries, times(1)).blockByHash(hash);
+  }
+
+  @Test
+  public void receiptsOfABatchAreReadTogether() {
+    final Hash hash1 = Hash.hash(Bytes.of(1));
+    final Hash hash2 = Hash.hash(Bytes.of(2));
+    final List<TransactionReceipt> receipts1 = List.of();
+    when(blockchainQueries.getBlockchain()).thenReturn(blockchain);
+    when(blockchain.getTxReceiptsForBlocks(List.of(hash1, hash2)))
+        .thenReturn(List.of(Optional.of(receipts1), Optional.empty()));
+
+    final DataLoaderRegistry registry = GraphQLDataLoaders.create(blockchainQueries);
+    final DataLoader<Hash, Optional<List<TransactionReceipt>>> receipts =
+        registry.getDataLoader(GraphQLDataLoaders.RECEIPTS);
+    final var first = receipts.load(hash1);
+    final var second = receipts.load(hash2);
+    final var firstAgain = receipts.load(hash1);
+
+    registry.dispatchAll();
+
+    assertThat(first.join()).containsSame(receipts1);
+    assertThat(second.join()).isEmpty();
+    assertThat(firstAgain.join()).containsSame(receipts1);
+    verify(blockchain, times(1)).getTxReceiptsForBlocks(List.of(hash1, hash2));
+    verify(blockchain, never()).getTxReceipts(any());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void accountsAndStorageOfABlockShareOneWorldState() {
+    when(blockchainQueries.getAndMapWorldState(anyLong(), any(Function.class)))
+        .thenAnswer(
+            invocation ->
+                ((Function<MutableWorldState, Optional<?>>) invocation.getArgument(1))
+                    .apply(worldState));
+    when(worldState.get(ADDRESS_1)).thenReturn(account);
+    when(account.getStorageValue(UInt256.ONE)).thenReturn(UInt256.valueOf(42));
+
+    final DataLoaderRegistry registry = GraphQLDataLoaders.create(blockchainQueries);
+    final DataLoader<AccountKey, Optional<Account>> accounts =
+        registry.getDataLoader(GraphQLDataLoaders.ACCOUNTS);
+    final DataLoader<StorageKey, UInt256> storage =
+        registry.getDataLoader(GraphQLDataLoaders.STORAGE);
+    final CompletableFuture<Optional<Account>> existing =
+        accounts.load(new AccountKey(1, ADDRESS_1));
+    final CompletableFuture<Optional<Account>> missing =
+        accounts.load(new AccountKey(1, ADDRESS_2));
+    final CompletableFuture<UInt256> slot = storage.load(new StorageKey(1, ADDRESS_1, UInt256.ONE));
+    final CompletableFuture<UInt256> emptySlot =
+        storage.load(new StorageKey(1, ADDRESS_2, UInt256.ONE));
+
+    registry.dispatchAll();
+
+    assertThat(existing.join()).contains(account);
+    assertThat(missing.join()).isEmpty();
+    assertThat(slot.join()).isEqualTo(UInt256.valueOf(42));
+    assertThat(emptySlot.join()).isEqualTo(UInt256.ZERO);
+    verify(blockchainQueries, times(2)).getAndMapWorldState(anyLong(), any(Function.class));
+  }
+
+  @Test
+  public void accountsFailWhenTheWorldStateIsNotAvailable() {
+    when(blockchainQueries.getAndMapWorldState(anyLong(), any())).thenReturn(Optional.empty());
+
+    final DataLoaderRegistry registry = GraphQLDataLoaders.createUnbatched(blockchainQueries);
+    final DataLoader<AccountKey, Optional<Account>> accounts =
+        registry.getDataLoader(GraphQLDataLoaders.ACCOUNTS);
+
+    assertThat(accounts.load(new AccountKey(1, ADDRESS_1))).isCompletedExceptionally();
+  }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcError;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+
+import java.util.StringJoiner;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.junit.After;
+import org.junit.Test;
+
+public class BatchConcurrencyJsonRpcHttpServiceTest extends JsonRpcHttpServiceTestBase {
+
+  private static final int BATCH_SIZE = 10;
+
+  private void initBatchConcurrency(final int rpcBatchConcurrency) throws Exception {
+    maxBatchSize = BATCH_SIZE;
+    batchConcurrency = rpcBatchConcurrency;
+    initServerAndClient();
+  }
+
+  @After
+  public void resetBatchConcurrency() {
+    batchConcurrency = JsonRpcConfiguration.DEFAULT_BATCH_CONCURRENCY;
+    rpcMethods.remove(InFlightTrackingMethod.NAME);
+  }
+
+  @Test
+  public void shouldExecuteUpToBatchConcurrencyRequestsAtTheSameTime() throws Exception {
+    initBatchConcurrency(3);
+    // every request waits until 3 requests are running, so the batch only completes in time when
+    // they run concurrently, and no more than 3 of them must ever be running together
+    final InFlightTrackingMethod method = new InFlightTrackingMethod(3);
+    rpcMethods.put(InFlightTrackingMethod.NAME, method);
+
+    assertResponsesInRequestOrder(executeTrackedBatch());
+    assertThat(method.maxInFlight()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldExecuteRequestsOneAfterTheOtherWithoutBatchConcurrency() throws Exception {
+    initBatchConcurrency(1);
+    final InFlightTrackingMethod method = new InFlightTrackingMethod(1);
+    rpcMethods.put(InFlightTrackingMethod.NAME, method);
+
+    assertResponsesInRequestOrder(executeTrackedBatch());
+    assertThat(method.maxInFlight()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldReturnResponsesInRequestOrder() throws Exception {
+    initBatchConcurrency(4);
+
+    // Create a batch request with an invalid request in the middle
+    final StringJoiner batch = new StringJoiner(",", "[", "]");
+    for (int id = 0; id < BATCH_SIZE - 1; id++) {
+      if (id == 4) {
+        batch.add("5");
+      }
+      batch.add("{\"jsonrpc\":\"2.0\",\"id\":" + id + ",\"method\":\"web3_clientVersion\"}");
+    }
+    final RequestBody body = RequestBody.create(batch.toString(), JSON);
+
+    try (final Response resp = client.newCall(buildPostRequest(body)).execute()) {
+      assertThat(resp.code()).isEqualTo(200);
+      final JsonArray json = new JsonArray(resp.body().string());
+      assertThat(json.size()).isEqualTo(BATCH_SIZE);
+      int id = 0;
+      for (int i = 0; i < json.size(); i++) {
+        final JsonObject response = json.getJsonObject(i);
+        if (i == 4) {
+          final JsonRpcError expectedError = JsonRpcError.INVALID_REQUEST;
+          testHelper.assertValidJsonRpcError(
+              response, null, expectedError.getCode(), expectedError.getMessage());
+        } else {
+          testHelper.assertValidJsonRpcResult(response, id++);
+          assertThat(response.getString("result")).isEqualTo(CLIENT_VERSION);
+        }
+      }
+    }
+  }
+
+  private JsonArray executeTrackedBatch() throws Exception {
+    final StringJoiner batch = new StringJoiner(",", "[", "]");
+    for (int id = 0; id < BATCH_SIZE; id++) {
+      batch.add(
+          "{\"jsonrpc\":\"2.0\",\"id\":"
+              + id
+              + ",\"method\":\""
+              + InFlightTrackingMethod.NAME
+              + "\"}");
+    }
+    final RequestBody body = RequestBody.create(batch.toString(), JSON);
+
+    try (final Response resp = client.newCall(buildPostRequest(body)).execute()) {
+      assertThat(resp.code()).isEqualTo(200);
+      return new JsonArray(resp.body().string());
+    }
+  }
+
+  private void assertResponsesInRequestOrder(final JsonArray json) {
+    assertThat(json.size()).isEqualTo(BATCH_SIZE);
+    for (int id = 0; id < json.size(); id++) {
+      final JsonObject response = json.getJsonObject(id);
+      testHelper.assertValidJsonRpcResult(response, id);
+      assertThat(response.getInteger("result")).isEqualTo(id);
+    }
+  }
+
+  /**
+   * Records the highest number of requests running at the same time. Each request waits for the
+   * expected number of requests to be running before completing.
+   */
+  private static class InFlightTrackingMethod implements JsonRpcMethod {
+    static final String NAME = "test_inFlightTracking";
+
+    private final CountDownLatch expectedInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    InFlightTrackingMethod(final int expectedInFlight) {
+      this.expectedInFlight = new CountDownLatch(expectedInFlight);
+    }
+
+    @Override
+    public String getName() {
+      return NAME;
+    }
+
+    @Override
+    public JsonRpcResponse response(final JsonRpcRequestContext request) {
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      try {
+        expectedInFlight.countDown();
+        expectedInFlight.await(10, TimeUnit.SECONDS);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        inFlight.decrementAndGet();
+      }
+      return new JsonRpcSuccessResponse(
+          request.getRequest().getId(), Integer.parseInt(request.getRequest().getId().toString()));
+    }
+
+    int maxInFlight() {
+      return maxInFlight.get();
+    }
+  }
+}
@@ -89,6 +89,9 @@ public class JsonRpcHttpServiceTestBase {
   protected static final NatService natService = new NatService(Optional.empty());
   protected static int maxConnections = 80;
   protected static int maxBatchSize = 10;
+  protected static int batchConcurrency = JsonRpcConfiguration.DEFAULT_BATCH_CONCURRENCY;
+  protected static boolean virtualThreadsEnabled =
+      JsonRpcConfiguration.DEFAULT_VIRTUAL_THREADS_ENABLED;
 
   public static void initServerAndClient() throws Exception {
     peerDiscoveryMock = mock(P2PNetwork.class);
@@ -174,6 +177,8 @@ public class JsonRpcHttpServiceTestBase {
     config.setHostsAllowlist(Collections.singletonList("*"));
     config.setMaxActiveConnections(maxConnections);
     config.setMaxBatchSize(maxBatchSize);
+    config.setBatchConcurrency(batchConcurrency);
+    config.setVirtualThreadsEnabled(virtualThreadsEnabled);
     return config;
   }
 
@@ -0,0 +1,91 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class VirtualThreadsJsonRpcHttpServiceTest extends JsonRpcHttpServiceTestBase {
+
+  @BeforeClass
+  public static void initVirtualThreads() throws Exception {
+    virtualThreadsEnabled = true;
+    initServerAndClient();
+  }
+
+  @AfterClass
+  public static void resetVirtualThreads() {
+    virtualThreadsEnabled = JsonRpcConfiguration.DEFAULT_VIRTUAL_THREADS_ENABLED;
+  }
+
+  @Test
+  public void shouldExecuteConcurrentRequests() throws Exception {
+    final List<CompletableFuture<Void>> responses = new ArrayList<>();
+    for (int id = 0; id < 50; id++) {
+      final int requestId = id;
+      responses.add(
+          CompletableFuture.runAsync(
+              () -> {
+                final RequestBody body =
+                    RequestBody.create(
+                        "{\"jsonrpc\":\"2.0\",\"id\":"
+                            + requestId
+                            + ",\"method\":\"web3_clientVersion\"}",
+                        JSON);
+                try (final Response resp = client.newCall(buildPostRequest(body)).execute()) {
+                  assertThat(resp.code()).isEqualTo(200);
+                  final JsonObject json = new JsonObject(resp.body().string());
+                  testHelper.assertValidJsonRpcResult(json, requestId);
+                  assertThat(json.getString("result")).isEqualTo(CLIENT_VERSION);
+                } catch (final Exception e) {
+                  throw new RuntimeException(e);
+                }
+              }));
+    }
+    CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new))
+        .get(30, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void shouldExecuteBatchRequest() throws Exception {
+    final StringJoiner batch = new StringJoiner(",", "[", "]");
+    for (int id = 0; id < maxBatchSize; id++) {
+      batch.add("{\"jsonrpc\":\"2.0\",\"id\":" + id + ",\"method\":\"web3_clientVersion\"}");
+    }
+    final RequestBody body = RequestBody.create(batch.toString(), JSON);
+
+    try (final Response resp = client.newCall(buildPostRequest(body)).execute()) {
+      assertThat(resp.code()).isEqualTo(200);
+      final JsonArray json = new JsonArray(resp.body().string());
+      assertThat(json.size()).isEqualTo(maxBatchSize);
+      for (int i = 0; i < json.size(); i++) {
+        testHelper.assertValidJsonRpcResult(json.getJsonObject(i), i);
+      }
+    }
+  }
+}
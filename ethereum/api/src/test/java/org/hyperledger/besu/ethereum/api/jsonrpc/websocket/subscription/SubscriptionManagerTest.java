@@ -18,6 +18,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.catchThrowable;
 
+import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.BlockParameter;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.FilterParameter;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.blockheaders.NewBlockHeadersSubscription;
@@ -28,11 +29,13 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.request.
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.request.UnsubscribeRequest;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.syncing.SyncingSubscription;
 import org.hyperledger.besu.ethereum.privacy.PrivateTransactionEvent;
+import org.hyperledger.besu.evm.log.Log;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 
 import java.util.List;
 import java.util.UUID;
 
+import org.apache.tuweni.bytes.Bytes;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -205,6 +208,34 @@ public class SubscriptionManagerTest {
     assertThat(thrown).isInstanceOf(SubscriptionNotFoundException.class);
   }
 
+  @Test
+  public void logsSubscriptionIndexShouldFollowSubscriptions() {
+    final Address address = Address.fromHexString("0x01");
+    final FilterParameter filterParameter =
+        new FilterParameter(
+            BlockParameter.LATEST,
+            BlockParameter.LATEST,
+            null,
+            null,
+            List.of(address),
+            null,
+            null,
+            null,
+            null);
+    final Long subscriptionId =
+        subscriptionManager.subscribe(
+            new SubscribeRequest(SubscriptionType.LOGS, filterParameter, null, CONNECTION_ID));
+    final Log log = new Log(address, Bytes.EMPTY, List.of());
+
+    assertThat(subscriptionManager.getLogsSubscriptionIndex().candidates(log))
+        .extracting(Subscription::getSubscriptionId)
+        .containsExactly(subscriptionId);
+
+    subscriptionManager.unsubscribe(new UnsubscribeRequest(subscriptionId, CONNECTION_ID));
+
+    assertThat(subscriptionManager.getLogsSubscriptionIndex().candidates(log)).isEmpty();
+  }
+
   @Test
   public void shouldUnsubscribeIfUserRemovedFromPrivacyGroup() {
     final String enclavePublicKey = "C1bVtMxLCUHmBVHXoZzzBgPbW/wj5axDpW9X8l91SGo=";
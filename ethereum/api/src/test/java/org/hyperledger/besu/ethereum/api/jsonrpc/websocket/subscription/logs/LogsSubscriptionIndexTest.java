@@ -0,0 +1,120 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.logs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.BlockParameter;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.FilterParameter;
+import org.hyperledger.besu.evm.log.Log;
+import org.hyperledger.besu.evm.log.LogTopic;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.Test;
+
+public class LogsSubscriptionIndexTest {
+
+  private static final Address ADDRESS_1 = Address.fromHexString("0x01");
+  private static final Address ADDRESS_2 = Address.fromHexString("0x02");
+  private static final LogTopic TOPIC_1 = LogTopic.of(Bytes.repeat((byte) 1, 32));
+  private static final LogTopic TOPIC_2 = LogTopic.of(Bytes.repeat((byte) 2, 32));
+
+  private final AtomicLong nextSubscriptionId = new AtomicLong();
+  private final LogsSubscriptionIndex index = new LogsSubscriptionIndex();
+
+  @Test
+  public void subscriptionsAreCandidatesForTheirAddresses() {
+    final LogsSubscription subscription =
+        createSubscription(List.of(ADDRESS_1, ADDRESS_2), Collections.emptyList());
+    index.add(subscription);
+
+    assertThat(index.candidates(log(ADDRESS_1))).containsExactly(subscription);
+    assertThat(index.candidates(log(ADDRESS_2))).containsExactly(subscription);
+    assertThat(index.candidates(log(Address.fromHexString("0x03")))).isEmpty();
+  }
+
+  @Test
+  public void subscriptionsWithoutAddressAreCandidatesForTheirFirstSpecificTopic() {
+    final LogsSubscription subscription =
+        createSubscription(
+            Collections.emptyList(),
+            List.of(Arrays.asList((LogTopic) null), List.of(TOPIC_1, TOPIC_2)));
+    index.add(subscription);
+
+    assertThat(index.candidates(log(ADDRESS_1, TOPIC_2, TOPIC_1))).containsExactly(subscription);
+    assertThat(index.candidates(log(ADDRESS_1, TOPIC_1, TOPIC_2))).containsExactly(subscription);
+    assertThat(index.candidates(log(ADDRESS_1, TOPIC_1))).isEmpty();
+  }
+
+  @Test
+  public void wildcardSubscriptionsAreCandidatesForEveryLog() {
+    final LogsSubscription wildcard =
+        createSubscription(Collections.emptyList(), Collections.emptyList());
+    final LogsSubscription byAddress =
+        createSubscription(List.of(ADDRESS_1), Collections.emptyList());
+    index.add(wildcard);
+    index.add(byAddress);
+
+    assertThat(index.candidates(log(ADDRESS_1))).containsExactlyInAnyOrder(wildcard, byAddress);
+    assertThat(index.candidates(log(ADDRESS_2))).containsExactly(wildcard);
+  }
+
+  @Test
+  public void removedSubscriptionsAreNoLongerCandidates() {
+    final LogsSubscription byAddress =
+        createSubscription(List.of(ADDRESS_1), Collections.emptyList());
+    final LogsSubscription byTopic =
+        createSubscription(Collections.emptyList(), List.of(List.of(TOPIC_1)));
+    final LogsSubscription wildcard =
+        createSubscription(Collections.emptyList(), Collections.emptyList());
+    index.add(byAddress);
+    index.add(byTopic);
+    index.add(wildcard);
+
+    index.remove(byAddress);
+    index.remove(byTopic);
+    index.remove(wildcard);
+
+    assertThat(index.candidates(log(ADDRESS_1, TOPIC_1))).isEmpty();
+    assertThat(index.isEmpty()).isTrue();
+  }
+
+  private Log log(final Address address, final LogTopic... topics) {
+    return new Log(address, Bytes.EMPTY, List.of(topics));
+  }
+
+  private LogsSubscription createSubscription(
+      final List<Address> addresses, final List<List<LogTopic>> logTopics) {
+    return new LogsSubscription(
+        nextSubscriptionId.incrementAndGet(),
+        "conn",
+        new FilterParameter(
+            BlockParameter.LATEST,
+            BlockParameter.LATEST,
+            null,
+            null,
+            addresses,
+            logTopics,
+            null,
+            null,
+            null));
+  }
+}
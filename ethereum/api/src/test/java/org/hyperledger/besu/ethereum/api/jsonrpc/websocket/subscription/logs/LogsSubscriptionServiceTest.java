@@ -17,6 +17,7 @@ package org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.logs;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -25,9 +26,11 @@ import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.BlockParameter;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.FilterParameter;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.JsonRpcResult;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.LogResult;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.Quantity;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.SubscriptionManager;
+import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.response.SharedJsonRpcResult;
 import org.hyperledger.besu.ethereum.api.query.PrivacyQueries;
 import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
 import org.hyperledger.besu.ethereum.core.Block;
@@ -70,6 +73,7 @@ public class LogsSubscriptionServiceTest {
 
   private LogsSubscriptionService logsSubscriptionService;
   private final AtomicLong nextSubscriptionId = new AtomicLong();
+  private final LogsSubscriptionIndex logsSubscriptionIndex = new LogsSubscriptionIndex();
 
   @Mock private SubscriptionManager subscriptionManager;
 
@@ -77,6 +81,9 @@ public class LogsSubscriptionServiceTest {
 
   @Before
   public void before() {
+    lenient()
+        .when(subscriptionManager.getLogsSubscriptionIndex())
+        .thenReturn(logsSubscriptionIndex);
     logsSubscriptionService =
         new LogsSubscriptionService(subscriptionManager, Optional.of(privacyQueries));
     blockchain.observeLogs(logsSubscriptionService);
@@ -258,17 +265,22 @@ public class LogsSubscriptionServiceTest {
     registerSubscriptions(subscriptions);
     blockchain.appendBlock(blockWithReceipts.getBlock(), blockWithReceipts.getReceipts());
 
+    final List<JsonRpcResult> sentResults = new ArrayList<>();
     for (LogsSubscription subscription : subscriptions) {
-      final ArgumentCaptor<LogResult> captor = ArgumentCaptor.forClass(LogResult.class);
+      final ArgumentCaptor<JsonRpcResult> captor = ArgumentCaptor.forClass(JsonRpcResult.class);
       verify(subscriptionManager)
           .sendMessage(eq(subscription.getSubscriptionId()), captor.capture());
 
-      final List<LogResult> logResults = captor.getAllValues();
+      final List<JsonRpcResult> logResults = captor.getAllValues();
 
       assertThat(logResults).hasSize(1);
-      final LogResult result = logResults.get(0);
+      assertThat(logResults.get(0)).isInstanceOf(SharedJsonRpcResult.class);
+      final LogResult result = (LogResult) ((SharedJsonRpcResult) logResults.get(0)).getResult();
       assertLogResultMatches(result, block, receipts, txIndex, logIndex, 3, false);
+      sentResults.add(logResults.get(0));
     }
+    // the same result, encoded once, is shared by all the subscriptions
+    assertThat(sentResults).allMatch(result -> result == sentResults.get(0));
   }
 
   @Test
@@ -446,6 +458,7 @@ public class LogsSubscriptionServiceTest {
   }
 
   private void registerSubscriptions(final List<LogsSubscription> subscriptions) {
+    subscriptions.forEach(logsSubscriptionIndex::add);
     when(subscriptionManager.subscriptionsOfType(any(), any()))
         .thenReturn(Lists.newArrayList(subscriptions));
   }
@@ -0,0 +1,230 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogIndexer.BLOCKS_PER_LOG_INDEX;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.api.query.LogsQuery;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.BlockAddedObserver;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.evm.log.Log;
+import org.hyperledger.besu.evm.log.LogTopic;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TransactionLogIndexerTest {
+
+  private static final Address ADDRESS_A = Address.fromHexString("0x123456");
+  private static final Address ADDRESS_B = Address.fromHexString("0x654321");
+  private static final LogTopic TOPIC_0 = LogTopic.fromHexString("0x01");
+  private static final LogTopic TOPIC_1 = LogTopic.fromHexString("0x02");
+
+  @Rule public TemporaryFolder cacheDir = new TemporaryFolder();
+
+  @Mock Blockchain blockchain;
+  @Mock EthScheduler scheduler;
+  private final List<Runnable> pendingFileUpdates = new ArrayList<>();
+  private TransactionLogIndexer indexer;
+
+  @SuppressWarnings("unchecked")
+  @Before
+  public void setup() {
+    lenient()
+        .when(scheduler.scheduleComputationTask(any(Supplier.class)))
+        .thenAnswer(
+            invocation -> {
+              invocation.getArgument(0, Supplier.class).get();
+              return null;
+            });
+    lenient()
+        .when(blockchain.getBlockHashByNumber(anyLong()))
+        .thenAnswer(invocation -> Optional.of(blockHash(invocation.getArgument(0, Long.class))));
+    indexer =
+        new TransactionLogIndexer(
+            blockchain, cacheDir.getRoot().toPath(), scheduler, pendingFileUpdates::add);
+  }
+
+  @Test
+  public void shouldIndexBlocksUpToChainHead() {
+    mockChain(
+        5,
+        Map.of(
+            2L, List.of(new Log(ADDRESS_A, Bytes.EMPTY, List.of(TOPIC_0))),
+            4L, List.of(new Log(ADDRESS_B, Bytes.EMPTY, List.of(TOPIC_0, TOPIC_1)))));
+
+    indexer.start();
+
+    assertThat(indexer.matchingBlockNumbers(0, 5, addressQuery(ADDRESS_A))).contains(List.of(2L));
+    assertThat(indexer.matchingBlockNumbers(0, 5, topicsQuery(List.of(TOPIC_0))))
+        .contains(List.of(2L, 4L));
+    assertThat(indexer.matchingBlockNumbers(0, 3, topicsQuery(List.of(TOPIC_0))))
+        .contains(List.of(2L));
+    assertThat(
+            indexer.matchingBlockNumbers(
+                0,
+                5,
+                new LogsQuery(
+                    List.of(ADDRESS_A, ADDRESS_B),
+                    List.of(Collections.<LogTopic>singletonList(null), List.of(TOPIC_1)))))
+        .contains(List.of(4L));
+    assertThat(indexer.matchingBlockNumbers(0, 5, topicsQuery(List.of(TOPIC_1))))
+        .contains(List.of());
+  }
+
+  @Test
+  public void shouldNotFilterUnconstrainedQueries() {
+    mockChain(5, Map.of());
+
+    indexer.start();
+
+    assertThat(indexer.matchingBlockNumbers(0, 5, new LogsQuery(List.of(), List.of()))).isEmpty();
+    assertThat(TransactionLogIndexer.canFilter(new LogsQuery(List.of(), List.of()))).isFalse();
+    assertThat(TransactionLogIndexer.canFilter(addressQuery(ADDRESS_A))).isTrue();
+  }
+
+  @Test
+  public void shouldWriteCompletedSegmentsToFile() {
+    final long head = BLOCKS_PER_LOG_INDEX + 1;
+    mockChain(
+        head,
+        Map.of(
+            7L, List.of(new Log(ADDRESS_A, Bytes.EMPTY, List.of(TOPIC_0))),
+            BLOCKS_PER_LOG_INDEX - 1L, List.of(new Log(ADDRESS_A, Bytes.EMPTY, List.of())),
+            head, List.of(new Log(ADDRESS_A, Bytes.EMPTY, List.of()))));
+
+    indexer.start();
+    assertThat(indexer.matchingBlockNumbers(0, 100, addressQuery(ADDRESS_A))).isEmpty();
+
+    indexer.buildMissingSegments();
+
+    assertThat(Files.isRegularFile(indexer.segmentFile(0))).isTrue();
+    assertThat(
+            indexer.matchingBlockNumbers(0, BLOCKS_PER_LOG_INDEX - 1, addressQuery(ADDRESS_A)))
+        .contains(List.of(7L, BLOCKS_PER_LOG_INDEX - 1L));
+    assertThat(indexer.matchingBlockNumbers(5, 10, topicsQuery(List.of(TOPIC_0))))
+        .contains(List.of(7L));
+    assertThat(indexer.matchingBlockNumbers(BLOCKS_PER_LOG_INDEX, head, addressQuery(ADDRESS_A)))
+        .contains(List.of(head));
+  }
+
+  @Test
+  public void shouldDeleteSegmentWrittenBeforeReorg() {
+    final long head = BLOCKS_PER_LOG_INDEX - 1;
+    mockChain(head, Map.of(3L, List.of(new Log(ADDRESS_A, Bytes.EMPTY, List.of()))));
+    indexer.start();
+    final ArgumentCaptor<BlockAddedObserver> observer =
+        ArgumentCaptor.forClass(BlockAddedObserver.class);
+    verify(blockchain).observeBlockAdded(observer.capture());
+
+    // completing the segment queues the writing of its file
+    observer
+        .getValue()
+        .onBlockAdded(
+            BlockAddedEvent.createForHeadAdvancement(
+                block(head + 1), List.of(), List.of(receipt(List.of()))));
+    assertThat(pendingFileUpdates).hasSize(1);
+
+    // a reorg back to block 5 replaces the blocks containing logs of ADDRESS_A
+    when(blockchain.getBlockHeader(blockHash(5)))
+        .thenReturn(Optional.of(new BlockHeaderTestFixture().number(5).buildHeader()));
+    mockChain(6, Map.of());
+    observer
+        .getValue()
+        .onBlockAdded(
+            BlockAddedEvent.createForChainReorg(
+                block(6),
+                List.of(),
+                List.of(),
+                List.of(receipt(List.of())),
+                List.of(),
+                blockHash(5)));
+
+    assertThat(indexer.matchingBlockNumbers(0, 6, addressQuery(ADDRESS_A))).contains(List.of());
+
+    // the file of the old chain is deleted once written, not before
+    pendingFileUpdates.forEach(Runnable::run);
+    assertThat(Files.exists(indexer.segmentFile(0))).isFalse();
+    assertThat(indexer.matchingBlockNumbers(0, 6, addressQuery(ADDRESS_A))).contains(List.of());
+  }
+
+  private void mockChain(final long head, final Map<Long, List<Log>> logsByBlock) {
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(head);
+    lenient()
+        .when(blockchain.getTxReceipts(any(Hash.class)))
+        .thenAnswer(
+            invocation -> {
+              final long number = invocation.getArgument(0, Hash.class).slice(24).toLong();
+              if (number > head) {
+                return Optional.empty();
+              }
+              final List<Log> logs = logsByBlock.getOrDefault(number, List.of());
+              return Optional.of(List.of(receipt(logs)));
+            });
+  }
+
+  private static Block block(final long number) {
+    return new Block(
+        new BlockHeaderTestFixture().number(number).parentHash(blockHash(number - 1)).buildHeader(),
+        BlockBody.empty());
+  }
+
+  private static TransactionReceipt receipt(final List<Log> logs) {
+    return new TransactionReceipt(1, 21_000, logs, Optional.empty());
+  }
+
+  private static Hash blockHash(final long number) {
+    return Hash.wrap(Bytes32.leftPad(Bytes.ofUnsignedLong(number)));
+  }
+
+  private static LogsQuery addressQuery(final Address address) {
+    return new LogsQuery(List.of(address), List.of());
+  }
+
+  private static LogsQuery topicsQuery(final List<LogTopic> firstTopics) {
+    return new LogsQuery(List.of(), List.of(firstTopics));
+  }
+}
@@ -47,6 +47,7 @@ import org.hyperledger.besu.ethereum.mainnet.WithdrawalsProcessor;
 import org.hyperledger.besu.ethereum.mainnet.feemarket.BaseFeeMarket;
 import org.hyperledger.besu.ethereum.mainnet.feemarket.FeeMarket;
 import org.hyperledger.besu.evm.account.EvmAccount;
+import org.hyperledger.besu.evm.worldstate.StackedUpdater;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 import org.hyperledger.besu.plugin.services.exception.StorageException;
 import org.hyperledger.besu.plugin.services.securitymodule.SecurityModuleException;
@@ -87,9 +88,12 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
   private final Double minBlockOccupancyRatio;
   protected final BlockHeader parentHeader;
   private final Optional<Address> depositContractAddress;
+  private final int parallelTransactionCandidates;
 
   private final AtomicBoolean isCancelled = new AtomicBoolean(false);
 
+  private IncrementalBlockState incrementalBlockState;
+
   protected AbstractBlockCreator(
       final Address coinbase,
       final MiningBeneficiaryCalculator miningBeneficiaryCalculator,
@@ -102,6 +106,39 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
       final Double minBlockOccupancyRatio,
       final BlockHeader parentHeader,
       final Optional<Address> depositContractAddress) {
+    this(
+        coinbase,
+        miningBeneficiaryCalculator,
+        targetGasLimitSupplier,
+        extraDataCalculator,
+        transactionPool,
+        protocolContext,
+        protocolSchedule,
+        minTransactionGasPrice,
+        minBlockOccupancyRatio,
+        parentHeader,
+        depositContractAddress,
+        0);
+  }
+
+  /**
+   * Same as the other constructor, in addition the given number of the best pending transactions
+   * are executed speculatively in parallel when the transactions of a block are selected, if the
+   * world state supports it.
+   */
+  protected AbstractBlockCreator(
+      final Address coinbase,
+      final MiningBeneficiaryCalculator miningBeneficiaryCalculator,
+      final Supplier<Optional<Long>> targetGasLimitSupplier,
+      final ExtraDataCalculator extraDataCalculator,
+      final TransactionPool transactionPool,
+      final ProtocolContext protocolContext,
+      final ProtocolSchedule protocolSchedule,
+      final Wei minTransactionGasPrice,
+      final Double minBlockOccupancyRatio,
+      final BlockHeader parentHeader,
+      final Optional<Address> depositContractAddress,
+      final int parallelTransactionCandidates) {
     this.coinbase = coinbase;
     this.miningBeneficiaryCalculator = miningBeneficiaryCalculator;
     this.targetGasLimitSupplier = targetGasLimitSupplier;
@@ -113,6 +150,7 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
     this.minBlockOccupancyRatio = minBlockOccupancyRatio;
     this.parentHeader = parentHeader;
     this.depositContractAddress = depositContractAddress;
+    this.parallelTransactionCandidates = parallelTransactionCandidates;
     blockHeaderFunctions = ScheduleBasedBlockHeaderFunctions.create(protocolSchedule);
   }
 
@@ -160,6 +198,71 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
       final Optional<Bytes32> maybePrevRandao,
       final long timestamp,
       boolean rewardCoinbase) {
+    return createBlock(
+        maybeTransactions,
+        maybeOmmers,
+        maybeWithdrawals,
+        maybePrevRandao,
+        timestamp,
+        rewardCoinbase,
+        false);
+  }
+
+  /**
+   * Create a block on top of the transactions selected by the previous call to this method, so
+   * only the pending transactions that were not selected yet are executed. The transactions are
+   * selected again from scratch when the header of the block changes, or when the pending
+   * transactions would not be selected in the same order, see {@link
+   * IncrementalBlockState#canBeExtended}.
+   *
+   * <p>The state kept between the calls must be released with {@link #discardIncrementalState()}
+   * once the block creation is over.
+   *
+   * @param maybeOmmers the ommers of the block
+   * @param maybeWithdrawals the withdrawals of the block
+   * @param maybePrevRandao the prevRandao of the block
+   * @param timestamp the timestamp of the block
+   * @param rewardCoinbase whether the block reward is paid to the coinbase
+   * @return the block creation result
+   */
+  protected BlockCreationResult createBlockIncrementally(
+      final Optional<List<BlockHeader>> maybeOmmers,
+      final Optional<List<Withdrawal>> maybeWithdrawals,
+      final Optional<Bytes32> maybePrevRandao,
+      final long timestamp,
+      final boolean rewardCoinbase) {
+    try {
+      return createBlock(
+          Optional.empty(),
+          maybeOmmers,
+          maybeWithdrawals,
+          maybePrevRandao,
+          timestamp,
+          rewardCoinbase,
+          true);
+    } catch (final RuntimeException ex) {
+      // the kept state could have been left halfway through the selection
+      discardIncrementalState();
+      throw ex;
+    }
+  }
+
+  /** Release the state kept by {@link #createBlockIncrementally}, if any. */
+  public void discardIncrementalState() {
+    if (incrementalBlockState != null) {
+      incrementalBlockState.close();
+      incrementalBlockState = null;
+    }
+  }
+
+  private BlockCreationResult createBlock(
+      final Optional<List<Transaction>> maybeTransactions,
+      final Optional<List<BlockHeader>> maybeOmmers,
+      final Optional<List<Withdrawal>> maybeWithdrawals,
+      final Optional<Bytes32> maybePrevRandao,
+      final long timestamp,
+      final boolean rewardCoinbase,
+      final boolean incremental) {
 
     try (final MutableWorldState disposableWorldState = duplicateWorldStateAtParent()) {
       final ProtocolSpec newProtocolSpec =
@@ -180,13 +283,20 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
 
       throwIfStopped();
       final TransactionSelectionResults transactionResults =
-          selectTransactions(
-              processableBlockHeader,
-              disposableWorldState,
-              maybeTransactions,
-              miningBeneficiary,
-              dataGasPrice,
-              newProtocolSpec);
+          incremental
+              ? selectTransactionsIncrementally(
+                  processableBlockHeader,
+                  disposableWorldState,
+                  miningBeneficiary,
+                  dataGasPrice,
+                  newProtocolSpec)
+              : selectTransactions(
+                  processableBlockHeader,
+                  disposableWorldState,
+                  maybeTransactions,
+                  miningBeneficiary,
+                  dataGasPrice,
+                  newProtocolSpec);
 
       transactionResults.logSelectionStats();
 
@@ -307,28 +417,15 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
       final Wei dataGasPrice,
       final ProtocolSpec protocolSpec)
       throws RuntimeException {
-    final MainnetTransactionProcessor transactionProcessor = protocolSpec.getTransactionProcessor();
-
-    final AbstractBlockProcessor.TransactionReceiptFactory transactionReceiptFactory =
-        protocolSpec.getTransactionReceiptFactory();
-
     final BlockTransactionSelector selector =
-        new BlockTransactionSelector(
-            transactionProcessor,
-            protocolContext.getBlockchain(),
-            disposableWorldState,
-            transactionPool,
+        createTransactionSelector(
             processableBlockHeader,
-            transactionReceiptFactory,
-            minTransactionGasPrice,
-            minBlockOccupancyRatio,
-            isCancelled::get,
+            disposableWorldState,
+            null,
+            new TransactionSelectionResults(),
             miningBeneficiary,
             dataGasPrice,
-            protocolSpec.getFeeMarket(),
-            protocolSpec.getGasCalculator(),
-            protocolSpec.getGasLimitCalculator(),
-            protocolContext.getTransactionSelectorFactory());
+            protocolSpec);
 
     if (transactions.isPresent()) {
       return selector.evaluateTransactions(transactions.get());
@@ -337,6 +434,75 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
     }
   }
 
+  private TransactionSelectionResults selectTransactionsIncrementally(
+      final ProcessableBlockHeader processableBlockHeader,
+      final MutableWorldState disposableWorldState,
+      final Address miningBeneficiary,
+      final Wei dataGasPrice,
+      final ProtocolSpec protocolSpec) {
+    if (incrementalBlockState != null
+        && !incrementalBlockState.canBeExtended(
+            processableBlockHeader, transactionPool.getPendingTransactions())) {
+      LOG.debug(
+          "Selecting the transactions of block {} from scratch", parentHeader.getNumber() + 1);
+      discardIncrementalState();
+    }
+    if (incrementalBlockState == null) {
+      incrementalBlockState =
+          new IncrementalBlockState(duplicateWorldStateAtParent(), processableBlockHeader);
+    }
+
+    // select on a copy, the previous results are referenced by the blocks already created
+    final TransactionSelectionResults transactionResults =
+        createTransactionSelector(
+                processableBlockHeader,
+                incrementalBlockState.getWorldState(),
+                incrementalBlockState.getTransactionsLayer(),
+                incrementalBlockState.getTransactionResults().copy(),
+                miningBeneficiary,
+                dataGasPrice,
+                protocolSpec)
+            .buildTransactionListForBlock();
+    incrementalBlockState.setTransactionResults(transactionResults);
+
+    incrementalBlockState.applyTransactionsTo(disposableWorldState);
+    return transactionResults;
+  }
+
+  private BlockTransactionSelector createTransactionSelector(
+      final ProcessableBlockHeader processableBlockHeader,
+      final MutableWorldState worldState,
+      final StackedUpdater<?, ?> transactionsLayer,
+      final TransactionSelectionResults transactionResults,
+      final Address miningBeneficiary,
+      final Wei dataGasPrice,
+      final ProtocolSpec protocolSpec) {
+    final MainnetTransactionProcessor transactionProcessor = protocolSpec.getTransactionProcessor();
+
+    final AbstractBlockProcessor.TransactionReceiptFactory transactionReceiptFactory =
+        protocolSpec.getTransactionReceiptFactory();
+
+    return new BlockTransactionSelector(
+        transactionProcessor,
+        protocolContext.getBlockchain(),
+        worldState,
+        transactionPool,
+        processableBlockHeader,
+        transactionReceiptFactory,
+        minTransactionGasPrice,
+        minBlockOccupancyRatio,
+        isCancelled::get,
+        miningBeneficiary,
+        dataGasPrice,
+        protocolSpec.getFeeMarket(),
+        protocolSpec.getGasCalculator(),
+        protocolSpec.getGasLimitCalculator(),
+        protocolContext.getTransactionSelectorFactory(),
+        transactionsLayer,
+        transactionResults,
+        parallelTransactionCandidates);
+  }
+
   private MutableWorldState duplicateWorldStateAtParent() {
     final Hash parentStateRoot = parentHeader.getStateRoot();
     return protocolContext
@@ -15,9 +15,12 @@
 package org.hyperledger.besu.ethereum.blockcreation;
 
 import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.TransactionType;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.GasLimitCalculator;
+import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.LogsWrapper;
 import org.hyperledger.besu.ethereum.core.MutableWorldState;
@@ -30,12 +33,14 @@ import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
 import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
 import org.hyperledger.besu.ethereum.mainnet.ValidationResult;
 import org.hyperledger.besu.ethereum.mainnet.feemarket.FeeMarket;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelizedConcurrentTransactionProcessor;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 import org.hyperledger.besu.ethereum.transaction.TransactionInvalidReason;
 import org.hyperledger.besu.ethereum.vm.BlockHashLookup;
 import org.hyperledger.besu.ethereum.vm.CachingBlockHashLookup;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
 import org.hyperledger.besu.evm.log.Log;
+import org.hyperledger.besu.evm.worldstate.StackedUpdater;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 import org.hyperledger.besu.plugin.data.TransactionSelectionResult;
 import org.hyperledger.besu.plugin.services.txselection.TransactionSelector;
@@ -44,10 +49,12 @@ import org.hyperledger.besu.plugin.services.txselection.TransactionSelectorFacto
 import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -81,6 +88,7 @@ public class BlockTransactionSelector {
 
   public static class TransactionSelectionResults {
     private final List<Transaction> transactions = Lists.newArrayList();
+    private final Set<Hash> transactionHashes = new HashSet<>();
     private final Map<TransactionType, List<Transaction>> transactionsByType =
         new EnumMap<>(TransactionType.class);
     private final List<TransactionReceipt> receipts = Lists.newArrayList();
@@ -95,6 +103,7 @@ public class BlockTransactionSelector {
         final long gasUsed,
         final long dataGasUsed) {
       transactions.add(transaction);
+      transactionHashes.add(transaction.getHash());
       transactionsByType
           .computeIfAbsent(transaction.getType(), type -> new ArrayList<>())
           .add(transaction);
@@ -120,6 +129,29 @@ public class BlockTransactionSelector {
       return transactions;
     }
 
+    boolean isSelected(final Transaction transaction) {
+      return transactionHashes.contains(transaction.getHash());
+    }
+
+    /**
+     * Copy the selected transactions and their receipts, so more transactions can be appended
+     * without changing the blocks already built from these results.
+     *
+     * @return a copy of these results, without the selection stats and the invalid transactions
+     */
+    TransactionSelectionResults copy() {
+      final TransactionSelectionResults copy = new TransactionSelectionResults();
+      copy.transactions.addAll(transactions);
+      copy.transactionHashes.addAll(transactionHashes);
+      transactionsByType.forEach(
+          (type, typeTransactions) ->
+              copy.transactionsByType.put(type, new ArrayList<>(typeTransactions)));
+      copy.receipts.addAll(receipts);
+      copy.cumulativeGasUsed = cumulativeGasUsed;
+      copy.cumulativeDataGasUsed = cumulativeDataGasUsed;
+      return copy;
+    }
+
     public List<Transaction> getTransactionsByType(final TransactionType type) {
       return transactionsByType.getOrDefault(type, List.of());
     }
@@ -216,6 +248,7 @@ public class BlockTransactionSelector {
   private final ProcessableBlockHeader processableBlockHeader;
   private final Blockchain blockchain;
   private final MutableWorldState worldState;
+  private final StackedUpdater<?, ?> transactionsLayer;
   private final TransactionPool transactionPool;
   private final AbstractBlockProcessor.TransactionReceiptFactory transactionReceiptFactory;
   private final Address miningBeneficiary;
@@ -225,8 +258,10 @@ public class BlockTransactionSelector {
   private final GasLimitCalculator gasLimitCalculator;
   private final TransactionSelector transactionSelector;
 
-  private final TransactionSelectionResults transactionSelectionResults =
-      new TransactionSelectionResults();
+  private final TransactionSelectionResults transactionSelectionResults;
+  private final int parallelCandidates;
+  private final Map<Hash, Integer> candidateLocations = new HashMap<>();
+  private ParallelizedConcurrentTransactionProcessor.BlockExecution candidatesExecution;
 
   public BlockTransactionSelector(
       final MainnetTransactionProcessor transactionProcessor,
@@ -244,9 +279,59 @@ public class BlockTransactionSelector {
       final GasCalculator gasCalculator,
       final GasLimitCalculator gasLimitCalculator,
       final Optional<TransactionSelectorFactory> transactionSelectorFactory) {
+    this(
+        transactionProcessor,
+        blockchain,
+        worldState,
+        transactionPool,
+        processableBlockHeader,
+        transactionReceiptFactory,
+        minTransactionGasPrice,
+        minBlockOccupancyRatio,
+        isCancelled,
+        miningBeneficiary,
+        dataGasPrice,
+        feeMarket,
+        gasCalculator,
+        gasLimitCalculator,
+        transactionSelectorFactory,
+        null,
+        new TransactionSelectionResults(),
+        0);
+  }
+
+  /*
+  Used by the incremental block creation: the selected transactions are committed to the given
+  layer on top of the world state, instead of the world state itself, and appended to the given
+  results, whose transactions are skipped when offered again by the transaction pool.
+  When parallelCandidates is at least 2, that many of the best pending transactions are executed
+  speculatively before the selection starts, see startParallelCandidatesExecution.
+   */
+  BlockTransactionSelector(
+      final MainnetTransactionProcessor transactionProcessor,
+      final Blockchain blockchain,
+      final MutableWorldState worldState,
+      final TransactionPool transactionPool,
+      final ProcessableBlockHeader processableBlockHeader,
+      final AbstractBlockProcessor.TransactionReceiptFactory transactionReceiptFactory,
+      final Wei minTransactionGasPrice,
+      final Double minBlockOccupancyRatio,
+      final Supplier<Boolean> isCancelled,
+      final Address miningBeneficiary,
+      final Wei dataGasPrice,
+      final FeeMarket feeMarket,
+      final GasCalculator gasCalculator,
+      final GasLimitCalculator gasLimitCalculator,
+      final Optional<TransactionSelectorFactory> transactionSelectorFactory,
+      final StackedUpdater<?, ?> transactionsLayer,
+      final TransactionSelectionResults transactionSelectionResults,
+      final int parallelCandidates) {
     this.transactionProcessor = transactionProcessor;
     this.blockchain = blockchain;
     this.worldState = worldState;
+    this.transactionsLayer = transactionsLayer;
+    this.transactionSelectionResults = transactionSelectionResults;
+    this.parallelCandidates = parallelCandidates;
     this.transactionPool = transactionPool;
     this.processableBlockHeader = processableBlockHeader;
     this.transactionReceiptFactory = transactionReceiptFactory;
@@ -273,12 +358,26 @@ public class BlockTransactionSelector {
         .setMessage("Transaction pool stats {}")
         .addArgument(transactionPool::logStats)
         .log();
-    transactionPool.selectTransactions(
-        pendingTransaction -> {
-          final var res = evaluateTransaction(pendingTransaction);
-          transactionSelectionResults.addSelectionResult(res);
-          return res;
-        });
+    startParallelCandidatesExecution();
+    try {
+      transactionPool.selectTransactions(
+          pendingTransaction -> {
+            if (transactionSelectionResults.isSelected(pendingTransaction)) {
+              // already selected by a previous round of an incremental block creation
+              return TransactionSelectionResult.SELECTED;
+            }
+            final var res = evaluateTransaction(pendingTransaction);
+            transactionSelectionResults.addSelectionResult(res);
+            return res;
+          });
+    } finally {
+      if (candidatesExecution != null) {
+        // the speculative executions read the world state, which is closed after the selection
+        candidatesExecution.close();
+        candidatesExecution = null;
+        candidateLocations.clear();
+      }
+    }
     LOG.atTrace()
         .setMessage("Transaction selection result result {}")
         .addArgument(transactionSelectionResults::toTraceLog)
@@ -286,6 +385,56 @@ public class BlockTransactionSelector {
     return transactionSelectionResults;
   }
 
+  /*
+  Execute the best pending transactions speculatively, in parallel, against the state at the start
+  of the block. When the selection reaches one of them, its result is reused if it did not touch
+  anything modified by the transactions selected before it, otherwise it is executed again.
+  Only possible on a Bonsai world state without pending changes, when the parallel transaction
+  processing is enabled, and not for the incremental block creation, whose transactions are
+  committed to a layer the speculative executions do not see.
+   */
+  private void startParallelCandidatesExecution() {
+    if (parallelCandidates < 2
+        || transactionsLayer != null
+        || !(worldState instanceof BonsaiWorldState)) {
+      return;
+    }
+    final BonsaiWorldState bonsaiWorldState = (BonsaiWorldState) worldState;
+    if (((BonsaiWorldStateUpdateAccumulator) bonsaiWorldState.updater())
+        .isAccumulatorStateChanged()) {
+      return;
+    }
+    final Optional<ParallelizedConcurrentTransactionProcessor> maybeProcessor =
+        bonsaiWorldState.getArchive().getParallelizedTransactionProcessor();
+    if (maybeProcessor.isEmpty()) {
+      return;
+    }
+
+    // peek at the candidates in the order they will be offered to the selection
+    final List<Transaction> candidates =
+        transactionPool.getTransactionsToSelect(parallelCandidates);
+    if (candidates.size() < 2) {
+      return;
+    }
+    for (int i = 0; i < candidates.size(); i++) {
+      candidateLocations.put(candidates.get(i).getHash(), i);
+    }
+    candidatesExecution =
+        maybeProcessor
+            .get()
+            .runAsyncBlock(
+                transactionProcessor,
+                blockchain,
+                bonsaiWorldState,
+                processableBlockHeader,
+                candidates,
+                miningBeneficiary,
+                dataGasPrice,
+                false,
+                TransactionValidationParams.mining());
+    LOG.trace("Started the speculative execution of {} candidates", candidates.size());
+  }
+
   /**
    * Evaluate the given transactions and return the result of that evaluation.
    *
@@ -336,21 +485,32 @@ public class BlockTransactionSelector {
       return TransactionSelectionResult.DATA_PRICE_BELOW_CURRENT_MIN;
     }
 
-    final WorldUpdater worldStateUpdater = worldState.updater();
+    final WorldUpdater worldStateUpdater =
+        transactionsLayer == null ? worldState.updater() : transactionsLayer.updater();
     final BlockHashLookup blockHashLookup =
         new CachingBlockHashLookup(processableBlockHeader, blockchain);
 
+    final Integer candidateLocation =
+        candidatesExecution == null ? null : candidateLocations.get(transaction.getHash());
+    final Optional<TransactionProcessingResult> maybeSpeculativeResult =
+        candidateLocation == null
+            ? Optional.empty()
+            : candidatesExecution.findConflictFreeResult(
+                worldState, miningBeneficiary, candidateLocation);
+
     final TransactionProcessingResult effectiveResult =
-        transactionProcessor.processTransaction(
-            blockchain,
-            worldStateUpdater,
-            processableBlockHeader,
-            transaction,
-            miningBeneficiary,
-            blockHashLookup,
-            false,
-            TransactionValidationParams.mining(),
-            dataGasPrice);
+        maybeSpeculativeResult.orElseGet(
+            () ->
+                transactionProcessor.processTransaction(
+                    blockchain,
+                    worldStateUpdater,
+                    processableBlockHeader,
+                    transaction,
+                    miningBeneficiary,
+                    blockHashLookup,
+                    false,
+                    TransactionValidationParams.mining(),
+                    dataGasPrice));
 
     if (!effectiveResult.isInvalid()) {
 
@@ -373,7 +533,14 @@ public class BlockTransactionSelector {
 
       if (txSelectionResult.equals(TransactionSelectionResult.SELECTED)) {
 
+        if (maybeSpeculativeResult.isPresent()) {
+          candidatesExecution.importConflictFreeResult(
+              worldState, miningBeneficiary, candidateLocation);
+        }
         worldStateUpdater.commit();
+        if (transactionsLayer != null) {
+          transactionsLayer.markTransactionBoundary();
+        }
         final TransactionReceipt receipt =
             transactionReceiptFactory.create(
                 transaction.getType(), effectiveResult, worldState, cumulativeGasUsed);
@@ -0,0 +1,194 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.blockcreation;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.blockcreation.BlockTransactionSelector.TransactionSelectionResults;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+import org.hyperledger.besu.evm.account.Account;
+import org.hyperledger.besu.evm.account.MutableAccount;
+import org.hyperledger.besu.evm.worldstate.StackedUpdater;
+import org.hyperledger.besu.evm.worldstate.UpdateTrackingAccount;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The state kept between the calls of an incremental block creation: a copy of the world state at
+ * the parent block, a layer on top of it with the changes of the transactions selected so far, and
+ * the results of that selection.
+ *
+ * <p>The layer is never committed to the world state, so new transactions can be executed on top of
+ * it by the following calls. To compute the state root of a block, the net changes of the layer are
+ * written to a fresh copy of the parent world state, without executing the transactions again.
+ *
+ * <p>The receipts are created against the world state of the parent block, so this must not be
+ * used to create blocks whose receipts contain an intermediate state root.
+ */
+class IncrementalBlockState implements AutoCloseable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(IncrementalBlockState.class);
+
+  private final MutableWorldState worldState;
+  private final StackedUpdater<?, ?> transactionsLayer;
+  private final ProcessableBlockHeader processableBlockHeader;
+  private TransactionSelectionResults transactionResults = new TransactionSelectionResults();
+
+  IncrementalBlockState(
+      final MutableWorldState worldState, final ProcessableBlockHeader processableBlockHeader) {
+    this.worldState = worldState;
+    this.transactionsLayer = (StackedUpdater<?, ?>) worldState.updater().updater();
+    this.processableBlockHeader = processableBlockHeader;
+  }
+
+  MutableWorldState getWorldState() {
+    return worldState;
+  }
+
+  StackedUpdater<?, ?> getTransactionsLayer() {
+    return transactionsLayer;
+  }
+
+  TransactionSelectionResults getTransactionResults() {
+    return transactionResults;
+  }
+
+  void setTransactionResults(final TransactionSelectionResults transactionResults) {
+    this.transactionResults = transactionResults;
+  }
+
+  /**
+   * Whether a full selection would still start with the transactions selected so far. That is not
+   * the case when the parent or the header of the block changed, when a selected transaction has
+   * been replaced in the pool, or when a pending transaction pays a higher priority fee than the
+   * cheapest selected one but does not fit in the gas left in the block.
+   *
+   * @param header the header of the block being created
+   * @param pendingTransactions the transactions currently in the pool
+   * @return true if the pending transactions can be appended to the selected ones
+   */
+  boolean canBeExtended(
+      final ProcessableBlockHeader header,
+      final Collection<PendingTransaction> pendingTransactions) {
+    if (!Objects.equals(header.getParentHash(), processableBlockHeader.getParentHash())
+        || header.getGasLimit() != processableBlockHeader.getGasLimit()
+        || header.getTimestamp() != processableBlockHeader.getTimestamp()
+        || !Objects.equals(header.getCoinbase(), processableBlockHeader.getCoinbase())
+        || !Objects.equals(header.getPrevRandao(), processableBlockHeader.getPrevRandao())
+        || !Objects.equals(header.getBaseFee(), processableBlockHeader.getBaseFee())) {
+      return false;
+    }
+
+    final List<Transaction> selectedTransactions = transactionResults.getTransactions();
+    if (selectedTransactions.isEmpty()) {
+      return true;
+    }
+
+    final Optional<Wei> baseFee = header.getBaseFee();
+    final Map<Address, Long> maxSelectedNonceBySender = new HashMap<>();
+    Wei minSelectedPriorityFee = null;
+    for (final Transaction transaction : selectedTransactions) {
+      maxSelectedNonceBySender.merge(transaction.getSender(), transaction.getNonce(), Math::max);
+      final Wei priorityFee = transaction.getEffectivePriorityFeePerGas(baseFee);
+      if (minSelectedPriorityFee == null || priorityFee.compareTo(minSelectedPriorityFee) < 0) {
+        minSelectedPriorityFee = priorityFee;
+      }
+    }
+
+    final long remainingGas = header.getGasLimit() - transactionResults.getCumulativeGasUsed();
+    for (final PendingTransaction pendingTransaction : pendingTransactions) {
+      final Transaction transaction = pendingTransaction.getTransaction();
+      if (transactionResults.isSelected(transaction)) {
+        continue;
+      }
+      final Long maxSelectedNonce = maxSelectedNonceBySender.get(pendingTransaction.getSender());
+      if (maxSelectedNonce != null && pendingTransaction.getNonce() <= maxSelectedNonce) {
+        LOG.atTrace()
+            .setMessage("Selected transaction replaced by {}")
+            .addArgument(transaction::toTraceLog)
+            .log();
+        return false;
+      }
+      if (transaction.getGasLimit() > remainingGas
+          && transaction.getEffectivePriorityFeePerGas(baseFee).compareTo(minSelectedPriorityFee)
+              > 0) {
+        LOG.atTrace()
+            .setMessage("Transaction {} pays more than the selected ones but does not fit")
+            .addArgument(transaction::toTraceLog)
+            .log();
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Write the net changes of the selected transactions to the given world state, which must be at
+   * the same block as the one this state was created from.
+   *
+   * @param target the world state at the parent block
+   */
+  void applyTransactionsTo(final MutableWorldState target) {
+    final Collection<? extends Account> updatedAccounts = transactionsLayer.getTouchedAccounts();
+
+    // deletions first, including the accounts created again after being deleted, whose storage
+    // must not be kept
+    final WorldUpdater deletionsUpdater = target.updater();
+    transactionsLayer.getDeletedAccountAddresses().forEach(deletionsUpdater::deleteAccount);
+    for (final Account updatedAccount : updatedAccounts) {
+      if (((UpdateTrackingAccount<?>) updatedAccount).getWrappedAccount() == null) {
+        deletionsUpdater.deleteAccount(updatedAccount.getAddress());
+      }
+    }
+    deletionsUpdater.commit();
+
+    final WorldUpdater updater = target.updater();
+    for (final Account updatedAccount : updatedAccounts) {
+      final UpdateTrackingAccount<?> update = (UpdateTrackingAccount<?>) updatedAccount;
+      final MutableAccount account = updater.getOrCreate(update.getAddress()).getMutable();
+      account.setNonce(update.getNonce());
+      account.setBalance(update.getBalance());
+      if (update.codeWasUpdated()) {
+        account.setCode(update.getCode());
+      }
+      if (update.getStorageWasCleared()) {
+        account.clearStorage();
+      }
+      update.getUpdatedStorage().forEach(account::setStorageValue);
+    }
+    updater.commit();
+  }
+
+  @Override
+  public void close() {
+    try {
+      worldState.close();
+    } catch (final Exception e) {
+      LOG.debug("Failed to close the world state of the incremental block creation", e);
+    }
+  }
+}
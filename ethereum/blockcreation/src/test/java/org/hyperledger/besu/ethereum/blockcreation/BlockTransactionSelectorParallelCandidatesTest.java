@@ -0,0 +1,314 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.blockcreation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider.createInMemoryBlockchain;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.config.GenesisAllocation;
+import org.hyperledger.besu.config.GenesisConfigFile;
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SECPPrivateKey;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.blockcreation.BlockTransactionSelector.TransactionSelectionResults;
+import org.hyperledger.besu.ethereum.bonsai.BonsaiWorldStateProvider;
+import org.hyperledger.besu.ethereum.bonsai.cache.CachedMerkleTrieLoader;
+import org.hyperledger.besu.ethereum.bonsai.storage.BonsaiWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.chain.GenesisState;
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderBuilder;
+import org.hyperledger.besu.ethereum.core.Difficulty;
+import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
+import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool;
+import org.hyperledger.besu.ethereum.mainnet.MainnetProtocolSchedule;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelizedConcurrentTransactionProcessor;
+import org.hyperledger.besu.ethereum.worldstate.DataStorageFormat;
+import org.hyperledger.besu.evm.account.Account;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.data.TransactionSelectionResult;
+import org.hyperledger.besu.plugin.services.txselection.TransactionSelectorFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BlockTransactionSelectorParallelCandidatesTest {
+  private static final GenesisConfigFile GENESIS_CONFIG = GenesisConfigFile.development();
+  private static final Address MINING_BENEFICIARY = Address.fromHexString("0x1000");
+  private static final Address RECIPIENT_1 = Address.fromHexString("0x2000");
+  private static final Address RECIPIENT_2 = Address.fromHexString("0x3000");
+  private static final Wei TRANSFER_VALUE = Wei.of(1_000);
+  private static final int PARALLEL_CANDIDATES = 4;
+
+  private final ProtocolSchedule protocolSchedule =
+      MainnetProtocolSchedule.fromConfig(GENESIS_CONFIG.getConfigOptions());
+  private final GenesisState genesisState =
+      GenesisState.fromConfig(GENESIS_CONFIG, protocolSchedule);
+  private final MutableBlockchain blockchain = createInMemoryBlockchain(genesisState.getBlock());
+  private final BlockHeader parentHeader = blockchain.getChainHeadHeader();
+  private final ProtocolSpec protocolSpec = protocolSchedule.getByBlockHeader(parentHeader);
+  private final ProcessableBlockHeader blockHeader =
+      BlockHeaderBuilder.create()
+          .parentHash(parentHeader.getHash())
+          .coinbase(MINING_BENEFICIARY)
+          .difficulty(Difficulty.ONE)
+          .number(parentHeader.getNumber() + 1)
+          .gasLimit(30_000_000L)
+          .timestamp(parentHeader.getTimestamp() + 1)
+          .baseFee(Wei.of(7))
+          .buildProcessableBlockHeader();
+  private final List<KeyPair> senders =
+      GENESIS_CONFIG
+          .streamAllocations()
+          .map(GenesisAllocation::getPrivateKey)
+          .flatMap(Optional::stream)
+          .map(
+              privateKey ->
+                  SignatureAlgorithmFactory.getInstance()
+                      .createKeyPair(
+                          SECPPrivateKey.create(Bytes32.fromHexString(privateKey), "ECDSA")))
+          .toList();
+
+  private final TransactionPool transactionPool = mock(TransactionPool.class);
+  private final AtomicInteger speculativeExecutions = new AtomicInteger();
+  private final List<Transaction> sequentialExecutions = new CopyOnWriteArrayList<>();
+  private final List<BonsaiWorldStateProvider> archives = new ArrayList<>();
+  private MainnetTransactionProcessor transactionProcessor;
+  private List<Transaction> pendingTransactions = List.of();
+  private int expectedSpeculativeExecutions;
+
+  @BeforeEach
+  void setup() {
+    transactionProcessor = spy(protocolSpec.getTransactionProcessor());
+    doAnswer(
+            invocation -> {
+              if (Thread.currentThread()
+                  .getName()
+                  .startsWith(ParallelizedConcurrentTransactionProcessor.class.getSimpleName())) {
+                speculativeExecutions.incrementAndGet();
+              } else {
+                sequentialExecutions.add(invocation.getArgument(3));
+              }
+              return invocation.callRealMethod();
+            })
+        .when(transactionProcessor)
+        .processTransaction(
+            any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+
+    when(transactionPool.getTransactionsToSelect(anyInt()))
+        .thenAnswer(
+            invocation ->
+                pendingTransactions.subList(
+                    0, Math.min(invocation.getArgument(0), pendingTransactions.size())));
+    doAnswer(
+            invocation -> {
+              // once every candidate is claimed by a worker, the selection waits for the
+              // speculative results instead of executing the candidates itself
+              await().until(() -> speculativeExecutions.get() == expectedSpeculativeExecutions);
+              final PendingTransactions.TransactionSelector selector = invocation.getArgument(0);
+              for (final Transaction transaction : pendingTransactions) {
+                if (selector.evaluateTransaction(transaction).stop()) {
+                  break;
+                }
+              }
+              return null;
+            })
+        .when(transactionPool)
+        .selectTransactions(any());
+  }
+
+  @AfterEach
+  void closeArchives() {
+    archives.forEach(BonsaiWorldStateProvider::close);
+  }
+
+  @Test
+  void parallelSelectionIsIdenticalToSequentialSelection() {
+    final List<Transaction> transactions = transactionsWithConflicts();
+    final BonsaiWorldState sequentialWorldState = createWorldState();
+    final TransactionSelectionResults sequentialResults =
+        selectTransactions(sequentialWorldState, transactions, 0, Optional.empty());
+
+    final BonsaiWorldState parallelWorldState = createWorldState();
+    final TransactionSelectionResults parallelResults =
+        selectTransactions(
+            parallelWorldState, transactions, PARALLEL_CANDIDATES, Optional.empty());
+
+    assertThat(parallelResults.getTransactions()).containsExactlyElementsOf(transactions);
+    assertThat(parallelResults.getTransactions()).isEqualTo(sequentialResults.getTransactions());
+    assertThat(parallelResults.getReceipts()).isEqualTo(sequentialResults.getReceipts());
+    assertThat(parallelResults.getCumulativeGasUsed())
+        .isEqualTo(sequentialResults.getCumulativeGasUsed());
+    assertThat(parallelWorldState.frontierRootHash())
+        .isEqualTo(sequentialWorldState.frontierRootHash());
+  }
+
+  @Test
+  void candidatesArePeekedWithoutRunningTheSelectionOfThePool() {
+    selectTransactions(
+        createWorldState(), transactionsWithConflicts(), PARALLEL_CANDIDATES, Optional.empty());
+
+    verify(transactionPool).getTransactionsToSelect(PARALLEL_CANDIDATES);
+    verify(transactionPool, times(1)).selectTransactions(any());
+  }
+
+  @Test
+  void candidateConflictingWithSelectedTransactionIsExecutedAgain() {
+    final List<Transaction> transactions = transactionsWithConflicts();
+
+    selectTransactions(createWorldState(), transactions, PARALLEL_CANDIDATES, Optional.empty());
+
+    // the 3rd transfer pays the recipient of the 1st one, the 4th one follows the nonce of the 1st
+    // one, the speculative results of the others are reused
+    assertThat(sequentialExecutions).containsExactly(transactions.get(2), transactions.get(3));
+  }
+
+  @Test
+  void speculativeStateOfRejectedCandidateIsDropped() {
+    final Transaction selected = transfer(0, 0, RECIPIENT_1);
+    final Transaction rejected = transfer(1, 0, RECIPIENT_2);
+    final Transaction sameRecipientAsRejected = transfer(2, 0, RECIPIENT_2);
+    final TransactionSelectorFactory transactionSelectorFactory =
+        () ->
+            (tx, s, logs, cg) ->
+                tx.equals(rejected)
+                    ? TransactionSelectionResult.invalidTransient("rejected")
+                    : TransactionSelectionResult.SELECTED;
+
+    final BonsaiWorldState worldState = createWorldState();
+    final TransactionSelectionResults results =
+        selectTransactions(
+            worldState,
+            List.of(selected, rejected, sameRecipientAsRejected),
+            PARALLEL_CANDIDATES,
+            Optional.of(transactionSelectorFactory));
+
+    assertThat(results.getTransactions()).containsExactly(selected, sameRecipientAsRejected);
+    final Account rejectedSender = worldState.updater().get(rejected.getSender());
+    assertThat(rejectedSender.getNonce()).isZero();
+    assertThat(worldState.updater().get(RECIPIENT_2).getBalance()).isEqualTo(TRANSFER_VALUE);
+    // the recipient was not modified by the rejected candidate, so no conflict is detected
+    assertThat(sequentialExecutions).isEmpty();
+  }
+
+  private List<Transaction> transactionsWithConflicts() {
+    return List.of(
+        transfer(0, 0, RECIPIENT_1),
+        transfer(1, 0, RECIPIENT_2),
+        transfer(2, 0, RECIPIENT_1),
+        transfer(0, 1, RECIPIENT_2));
+  }
+
+  private TransactionSelectionResults selectTransactions(
+      final BonsaiWorldState worldState,
+      final List<Transaction> transactions,
+      final int parallelCandidates,
+      final Optional<TransactionSelectorFactory> transactionSelectorFactory) {
+    pendingTransactions = transactions;
+    speculativeExecutions.set(0);
+    sequentialExecutions.clear();
+    expectedSpeculativeExecutions =
+        parallelCandidates < 2 ? 0 : Math.min(parallelCandidates, transactions.size());
+    return new BlockTransactionSelector(
+            transactionProcessor,
+            blockchain,
+            worldState,
+            transactionPool,
+            blockHeader,
+            protocolSpec.getTransactionReceiptFactory(),
+            Wei.ZERO,
+            0.8,
+            () -> false,
+            MINING_BENEFICIARY,
+            Wei.ZERO,
+            protocolSpec.getFeeMarket(),
+            protocolSpec.getGasCalculator(),
+            protocolSpec.getGasLimitCalculator(),
+            transactionSelectorFactory,
+            null,
+            new TransactionSelectionResults(),
+            parallelCandidates)
+        .buildTransactionListForBlock();
+  }
+
+  private BonsaiWorldState createWorldState() {
+    final BonsaiWorldStateProvider archive =
+        new BonsaiWorldStateProvider(
+            (BonsaiWorldStateKeyValueStorage)
+                new InMemoryKeyValueStorageProvider()
+                    .createWorldStateStorage(DataStorageFormat.BONSAI),
+            blockchain,
+            Optional.empty(),
+            new CachedMerkleTrieLoader(new NoOpMetricsSystem()),
+            new NoOpMetricsSystem(),
+            null,
+            Optional.of(
+                new ParallelizedConcurrentTransactionProcessor(
+                    Executors.newFixedThreadPool(
+                        PARALLEL_CANDIDATES,
+                        new ThreadFactoryBuilder()
+                            .setNameFormat(
+                                ParallelizedConcurrentTransactionProcessor.class.getSimpleName()
+                                    + "-%d")
+                            .build()),
+                    new NoOpMetricsSystem())));
+    archives.add(archive);
+    final BonsaiWorldState worldState = (BonsaiWorldState) archive.getMutable();
+    genesisState.writeStateTo(worldState);
+    return worldState;
+  }
+
+  private Transaction transfer(final int senderIndex, final long nonce, final Address recipient) {
+    final KeyPair sender = senders.get(senderIndex);
+    return new TransactionTestFixture()
+        .sender(Address.extract(Hash.hash(sender.getPublicKey().getEncodedBytes())))
+        .to(Optional.of(recipient))
+        .value(TRANSFER_VALUE)
+        .gasPrice(Wei.of(10))
+        .gasLimit(21_000L)
+        .nonce(nonce)
+        .createTransaction(sender);
+  }
+}
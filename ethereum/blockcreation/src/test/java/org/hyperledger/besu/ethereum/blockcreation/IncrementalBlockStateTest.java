@@ -0,0 +1,207 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.blockcreation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.blockcreation.BlockTransactionSelector.TransactionSelectionResults;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+import org.hyperledger.besu.evm.account.MutableAccount;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.jupiter.api.Test;
+
+class IncrementalBlockStateTest {
+  private static final Address ACCOUNT_1 = Address.fromHexString("0x1");
+  private static final Address ACCOUNT_2 = Address.fromHexString("0x2");
+  private static final Address ACCOUNT_3 = Address.fromHexString("0x3");
+  private static final long GAS_LIMIT = 100_000L;
+  private static final KeyPair KEYS_1 = SignatureAlgorithmFactory.getInstance().generateKeyPair();
+  private static final KeyPair KEYS_2 = SignatureAlgorithmFactory.getInstance().generateKeyPair();
+
+  private final BlockHeader header =
+      new BlockHeaderTestFixture().gasLimit(GAS_LIMIT).baseFeePerGas(Wei.of(10)).buildHeader();
+
+  @Test
+  void appliedChangesHaveTheSameStateRootAsExecutedTransactions() {
+    final IncrementalBlockState state = new IncrementalBlockState(createParentWorldState(), header);
+    executeTransactions(state.getTransactionsLayer());
+    final MutableWorldState target = createParentWorldState();
+    state.applyTransactionsTo(target);
+
+    final MutableWorldState expected = createParentWorldState();
+    final WorldUpdater updater = expected.updater();
+    executeTransactions(updater);
+    updater.commit();
+
+    assertThat(target.rootHash()).isEqualTo(expected.rootHash());
+    assertThat(target.get(ACCOUNT_2).getStorageValue(UInt256.ONE)).isEqualTo(UInt256.ZERO);
+  }
+
+  @Test
+  void layerIsNotCommittedToTheParentWorldState() {
+    final MutableWorldState parent = createParentWorldState();
+    final IncrementalBlockState state = new IncrementalBlockState(parent, header);
+    executeTransactions(state.getTransactionsLayer());
+
+    assertThat(parent.rootHash()).isEqualTo(createParentWorldState().rootHash());
+  }
+
+  @Test
+  void canBeExtendedWithCheaperTransactions() {
+    final Transaction selected = transaction(KEYS_1, 0, 20, 60_000);
+    final IncrementalBlockState state = stateWithSelected(selected);
+
+    final List<PendingTransaction> pending =
+        List.of(remote(selected), remote(transaction(KEYS_2, 0, 15, 60_000)));
+
+    assertThat(state.canBeExtended(header, pending)).isTrue();
+  }
+
+  @Test
+  void canBeExtendedWithHigherPayingTransactionsThatFit() {
+    final Transaction selected = transaction(KEYS_1, 0, 20, 60_000);
+    final IncrementalBlockState state = stateWithSelected(selected);
+
+    final List<PendingTransaction> pending =
+        List.of(remote(selected), remote(transaction(KEYS_2, 0, 50, 30_000)));
+
+    assertThat(state.canBeExtended(header, pending)).isTrue();
+  }
+
+  @Test
+  void cannotBeExtendedWhenHigherPayingTransactionDoesNotFit() {
+    final Transaction selected = transaction(KEYS_1, 0, 20, 60_000);
+    final IncrementalBlockState state = stateWithSelected(selected);
+
+    final List<PendingTransaction> pending =
+        List.of(remote(selected), remote(transaction(KEYS_2, 0, 50, 60_000)));
+
+    assertThat(state.canBeExtended(header, pending)).isFalse();
+  }
+
+  @Test
+  void cannotBeExtendedWhenSelectedTransactionIsReplaced() {
+    final Transaction selected = transaction(KEYS_1, 0, 20, 60_000);
+    final IncrementalBlockState state = stateWithSelected(selected);
+
+    final List<PendingTransaction> pending = List.of(remote(transaction(KEYS_1, 0, 30, 21_000)));
+
+    assertThat(state.canBeExtended(header, pending)).isFalse();
+  }
+
+  @Test
+  void cannotBeExtendedWhenHeaderChanges() {
+    final IncrementalBlockState state = stateWithSelected(transaction(KEYS_1, 0, 20, 60_000));
+    final BlockHeader otherHeader =
+        new BlockHeaderTestFixture()
+            .gasLimit(GAS_LIMIT * 2)
+            .baseFeePerGas(Wei.of(10))
+            .buildHeader();
+
+    assertThat(state.canBeExtended(otherHeader, List.of())).isFalse();
+  }
+
+  @Test
+  void cannotBeExtendedWhenParentChanges() {
+    final IncrementalBlockState state = stateWithSelected(transaction(KEYS_1, 0, 20, 60_000));
+    final BlockHeader otherParentHeader =
+        new BlockHeaderTestFixture()
+            .parentHash(Hash.ZERO)
+            .gasLimit(GAS_LIMIT)
+            .baseFeePerGas(Wei.of(10))
+            .buildHeader();
+
+    assertThat(otherParentHeader.getParentHash()).isNotEqualTo(header.getParentHash());
+    assertThat(state.canBeExtended(otherParentHeader, List.of())).isFalse();
+  }
+
+  private IncrementalBlockState stateWithSelected(final Transaction selected) {
+    final TransactionSelectionResults results = mock(TransactionSelectionResults.class);
+    when(results.getTransactions()).thenReturn(List.of(selected));
+    when(results.getCumulativeGasUsed()).thenReturn(selected.getGasLimit());
+    when(results.isSelected(selected)).thenReturn(true);
+
+    final IncrementalBlockState state = new IncrementalBlockState(createParentWorldState(), header);
+    state.setTransactionResults(results);
+    return state;
+  }
+
+  private static MutableWorldState createParentWorldState() {
+    final MutableWorldState worldState = InMemoryKeyValueStorageProvider.createInMemoryWorldState();
+    final WorldUpdater updater = worldState.updater();
+    final MutableAccount account1 = updater.createAccount(ACCOUNT_1, 0, Wei.of(100)).getMutable();
+    account1.setCode(Bytes.fromHexString("0x6001"));
+    account1.setStorageValue(UInt256.ONE, UInt256.ONE);
+    final MutableAccount account2 = updater.createAccount(ACCOUNT_2, 3, Wei.of(200)).getMutable();
+    account2.setStorageValue(UInt256.ONE, UInt256.valueOf(2));
+    updater.commit();
+    worldState.persist(null);
+    return worldState;
+  }
+
+  private static void executeTransactions(final WorldUpdater worldUpdater) {
+    final WorldUpdater first = worldUpdater.updater();
+    final MutableAccount account1 = first.getAccount(ACCOUNT_1).getMutable();
+    account1.incrementNonce();
+    account1.decrementBalance(Wei.of(10));
+    account1.setStorageValue(UInt256.ONE, UInt256.ZERO);
+    account1.setStorageValue(UInt256.valueOf(2), UInt256.valueOf(5));
+    first.createAccount(ACCOUNT_3, 0, Wei.of(10));
+    first.commit();
+
+    final WorldUpdater second = worldUpdater.updater();
+    second.deleteAccount(ACCOUNT_2);
+    second.commit();
+
+    // created again, without the storage of the deleted account
+    final WorldUpdater third = worldUpdater.updater();
+    third
+        .createAccount(ACCOUNT_2, 0, Wei.of(1))
+        .getMutable()
+        .setCode(Bytes.fromHexString("0x00"));
+    third.commit();
+  }
+
+  private static Transaction transaction(
+      final KeyPair keys, final long nonce, final long gasPrice, final long gasLimit) {
+    return new TransactionTestFixture()
+        .nonce(nonce)
+        .gasPrice(Wei.of(gasPrice))
+        .gasLimit(gasLimit)
+        .createTransaction(keys);
+  }
+
+  private static PendingTransaction remote(final Transaction transaction) {
+    return new PendingTransaction.Remote(transaction);
+  }
+}
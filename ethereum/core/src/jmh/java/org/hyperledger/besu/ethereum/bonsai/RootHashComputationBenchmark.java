@@ -0,0 +1,89 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.bonsai;
+
+import static org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider.createBonsaiInMemoryWorldStateArchive;
+import static org.mockito.Mockito.mock;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.evm.account.MutableAccount;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the root hash computation of a Bonsai world state for a synthetic accumulator.
+ *
+ * <p>The computation runs inside a fork-join pool of the given parallelism, the parallel streams
+ * used by {@link BonsaiWorldState} then run on that pool. A parallelism of 1 gives the sequential
+ * baseline.
+ */
+@State(Scope.Thread)
+public class RootHashComputationBenchmark {
+
+  @Param({"1", "4", "8"})
+  public int parallelism;
+
+  @Param({"1000", "5000"})
+  public int accounts;
+
+  @Param({"16"})
+  public int slotsPerAccount;
+
+  private ForkJoinPool forkJoinPool;
+  private BonsaiWorldState worldState;
+
+  @Setup
+  public void prepare() {
+    forkJoinPool = new ForkJoinPool(parallelism);
+    final BonsaiWorldStateProvider archive =
+        createBonsaiInMemoryWorldStateArchive(mock(Blockchain.class));
+    worldState = (BonsaiWorldState) archive.getMutable();
+
+    final WorldUpdater updater = worldState.updater();
+    for (int i = 0; i < accounts; i++) {
+      final Address address = Address.extract(Hash.hash(Bytes.ofUnsignedInt(i)));
+      final MutableAccount account = updater.createAccount(address, 1, Wei.of(i)).getMutable();
+      for (int j = 0; j < slotsPerAccount; j++) {
+        account.setStorageValue(UInt256.valueOf(j), UInt256.valueOf(i + j + 1L));
+      }
+    }
+    updater.commit();
+  }
+
+  @TearDown
+  public void cleanUp() {
+    forkJoinPool.shutdown();
+  }
+
+  @Benchmark
+  public Hash rootHash() {
+    // computes the root hash and the full write batch without persisting it
+    return forkJoinPool.submit(worldState::frontierRootHash).join();
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm.operations;
+
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.gascalculator.CancunGasCalculator;
+import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.operation.Operation;
+
+import java.util.Random;
+
+import org.apache.tuweni.bytes.Bytes32;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Base class for the benchmarks of the operations working on the operand stack only.
+ *
+ * <p>The operands are pushed once, each invocation duplicates them on top of the stack, executes
+ * the operation and drops the results, so the measured work stays on the operand stack.
+ */
+@State(Scope.Thread)
+public abstract class AbstractOperandStackOperationBenchmark {
+
+  private OperationBenchmarkHelper operationBenchmarkHelper;
+  private Operation operation;
+  private MessageFrame frame;
+  private int operandCount;
+  private int resultCount;
+
+  @Setup
+  public void prepare() throws Exception {
+    operationBenchmarkHelper = OperationBenchmarkHelper.create();
+    operation = createOperation(new CancunGasCalculator());
+    frame = operationBenchmarkHelper.createMessageFrame();
+    operandCount = operation.getStackItemsConsumed();
+    resultCount = operation.getStackItemsProduced();
+
+    final Random random = new Random(42);
+    for (int i = 0; i < operandCount; i++) {
+      frame.pushStackItem(Bytes32.random(random));
+    }
+  }
+
+  @TearDown
+  public void cleanUp() throws Exception {
+    operationBenchmarkHelper.cleanUp();
+  }
+
+  /**
+   * Create the operation to benchmark.
+   *
+   * @param gasCalculator the gas calculator
+   * @return the operation
+   */
+  protected abstract Operation createOperation(GasCalculator gasCalculator);
+
+  @Benchmark
+  public int executeOperation() {
+    for (int i = 0; i < operandCount; i++) {
+      frame.getOperandStack().dup(operandCount);
+    }
+    operation.execute(frame, null);
+    frame.popStackItems(resultCount);
+    return frame.stackSize();
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm.operations;
+
+import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.operation.AndOperation;
+import org.hyperledger.besu.evm.operation.ByteOperation;
+import org.hyperledger.besu.evm.operation.NotOperation;
+import org.hyperledger.besu.evm.operation.Operation;
+import org.hyperledger.besu.evm.operation.OrOperation;
+import org.hyperledger.besu.evm.operation.XorOperation;
+
+import org.openjdk.jmh.annotations.Param;
+
+/** Benchmarks the in place bitwise operations. */
+public class BitwiseOperationBenchmark extends AbstractOperandStackOperationBenchmark {
+
+  @Param({"AND", "OR", "XOR", "NOT", "BYTE"})
+  public String opcode;
+
+  @Override
+  protected Operation createOperation(final GasCalculator gasCalculator) {
+    return switch (opcode) {
+      case "AND" -> new AndOperation(gasCalculator);
+      case "OR" -> new OrOperation(gasCalculator);
+      case "XOR" -> new XorOperation(gasCalculator);
+      case "NOT" -> new NotOperation(gasCalculator);
+      case "BYTE" -> new ByteOperation(gasCalculator);
+      default -> throw new IllegalArgumentException("Unsupported opcode " + opcode);
+    };
+  }
+}
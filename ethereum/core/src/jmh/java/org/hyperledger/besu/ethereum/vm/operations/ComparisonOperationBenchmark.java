@@ -0,0 +1,46 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm.operations;
+
+import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.operation.EqOperation;
+import org.hyperledger.besu.evm.operation.GtOperation;
+import org.hyperledger.besu.evm.operation.IsZeroOperation;
+import org.hyperledger.besu.evm.operation.LtOperation;
+import org.hyperledger.besu.evm.operation.Operation;
+import org.hyperledger.besu.evm.operation.SGtOperation;
+import org.hyperledger.besu.evm.operation.SLtOperation;
+
+import org.openjdk.jmh.annotations.Param;
+
+/** Benchmarks the in place comparison operations. */
+public class ComparisonOperationBenchmark extends AbstractOperandStackOperationBenchmark {
+
+  @Param({"LT", "GT", "SLT", "SGT", "EQ", "ISZERO"})
+  public String opcode;
+
+  @Override
+  protected Operation createOperation(final GasCalculator gasCalculator) {
+    return switch (opcode) {
+      case "LT" -> new LtOperation(gasCalculator);
+      case "GT" -> new GtOperation(gasCalculator);
+      case "SLT" -> new SLtOperation(gasCalculator);
+      case "SGT" -> new SGtOperation(gasCalculator);
+      case "EQ" -> new EqOperation(gasCalculator);
+      case "ISZERO" -> new IsZeroOperation(gasCalculator);
+      default -> throw new IllegalArgumentException("Unsupported opcode " + opcode);
+    };
+  }
+}
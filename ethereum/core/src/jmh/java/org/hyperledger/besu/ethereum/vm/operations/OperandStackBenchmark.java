@@ -0,0 +1,77 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm.operations;
+
+import org.hyperledger.besu.evm.internal.OperandStack;
+
+import java.util.Random;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks reading the words of the operand stack as {@link Bytes}, as the operations which are
+ * not ported to the limbs do.
+ */
+@State(Scope.Thread)
+public class OperandStackBenchmark {
+
+  private static final int STACK_DEPTH = 16;
+
+  private final OperandStack stack = new OperandStack(1024);
+  private Bytes32 operand;
+
+  @Setup
+  public void prepare() {
+    final Random random = new Random(42);
+    for (int i = 0; i < STACK_DEPTH; i++) {
+      stack.push(Bytes32.random(random));
+    }
+    operand = Bytes32.random(random);
+  }
+
+  @Benchmark
+  public Bytes pushPop() {
+    stack.push(operand);
+    return stack.pop();
+  }
+
+  @Benchmark
+  public Bytes dupPop() {
+    stack.dup(STACK_DEPTH);
+    return stack.pop();
+  }
+
+  @Benchmark
+  public int getDeep() {
+    int size = 0;
+    for (int i = 0; i < STACK_DEPTH; i++) {
+      size += stack.get(i).size();
+    }
+    return size;
+  }
+
+  @Benchmark
+  public Bytes addPop() {
+    stack.dup(STACK_DEPTH);
+    stack.dup(STACK_DEPTH);
+    stack.add();
+    return stack.pop();
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm.operations;
+
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.gascalculator.CancunGasCalculator;
+import org.hyperledger.besu.evm.operation.DupOperation;
+import org.hyperledger.besu.evm.operation.Operation;
+import org.hyperledger.besu.evm.operation.SwapOperation;
+
+import java.util.Random;
+
+import org.apache.tuweni.bytes.Bytes32;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/** Benchmarks the in place DUP and SWAP operations. */
+@State(Scope.Thread)
+public class StackManipulationOperationBenchmark {
+
+  private static final int STACK_DEPTH = 17;
+
+  @Param({"DUP1", "DUP16", "SWAP1", "SWAP16"})
+  public String opcode;
+
+  private OperationBenchmarkHelper operationBenchmarkHelper;
+  private Operation operation;
+  private MessageFrame frame;
+  private int resultCount;
+
+  @Setup
+  public void prepare() throws Exception {
+    operationBenchmarkHelper = OperationBenchmarkHelper.create();
+    final CancunGasCalculator gasCalculator = new CancunGasCalculator();
+    final int index = Integer.parseInt(opcode.replaceAll("\\D", ""));
+    operation =
+        opcode.startsWith("DUP")
+            ? new DupOperation(index, gasCalculator)
+            : new SwapOperation(index, gasCalculator);
+    resultCount = operation.getStackItemsProduced() - operation.getStackItemsConsumed();
+    frame = operationBenchmarkHelper.createMessageFrame();
+
+    final Random random = new Random(42);
+    for (int i = 0; i < STACK_DEPTH; i++) {
+      frame.pushStackItem(Bytes32.random(random));
+    }
+  }
+
+  @TearDown
+  public void cleanUp() throws Exception {
+    operationBenchmarkHelper.cleanUp();
+  }
+
+  @Benchmark
+  public int executeOperation() {
+    operation.execute(frame, null);
+    if (resultCount > 0) {
+      frame.popStackItems(resultCount);
+    }
+    return frame.stackSize();
+  }
+}
@@ -27,8 +27,10 @@ import org.hyperledger.besu.ethereum.bonsai.trielog.TrieLogManager;
 import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldState;
 import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelizedConcurrentTransactionProcessor;
 import org.hyperledger.besu.ethereum.proof.WorldStateProof;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
@@ -67,6 +69,9 @@ public class BonsaiWorldStateProvider implements WorldStateArchive {
 
   private final CachedMerkleTrieLoader cachedMerkleTrieLoader;
 
+  private final Optional<ParallelizedConcurrentTransactionProcessor>
+      parallelizedTransactionProcessor;
+
   public BonsaiWorldStateProvider(
       final StorageProvider provider,
       final Blockchain blockchain,
@@ -90,6 +95,24 @@ public class BonsaiWorldStateProvider implements WorldStateArchive {
       final CachedMerkleTrieLoader cachedMerkleTrieLoader,
       final ObservableMetricsSystem metricsSystem,
       final BesuContext pluginContext) {
+    this(
+        worldStateStorage,
+        blockchain,
+        maxLayersToLoad,
+        cachedMerkleTrieLoader,
+        metricsSystem,
+        pluginContext,
+        Optional.empty());
+  }
+
+  public BonsaiWorldStateProvider(
+      final BonsaiWorldStateKeyValueStorage worldStateStorage,
+      final Blockchain blockchain,
+      final Optional<Long> maxLayersToLoad,
+      final CachedMerkleTrieLoader cachedMerkleTrieLoader,
+      final ObservableMetricsSystem metricsSystem,
+      final BesuContext pluginContext,
+      final Optional<ParallelizedConcurrentTransactionProcessor> parallelizedTransactionProcessor) {
 
     // TODO: de-dup constructors
     this.trieLogManager =
@@ -104,6 +127,7 @@ public class BonsaiWorldStateProvider implements WorldStateArchive {
     this.worldStateStorage = worldStateStorage;
     this.persistedState = new BonsaiWorldState(this, worldStateStorage);
     this.cachedMerkleTrieLoader = cachedMerkleTrieLoader;
+    this.parallelizedTransactionProcessor = parallelizedTransactionProcessor;
     blockchain
         .getBlockHeader(persistedState.worldStateBlockHash)
         .ifPresent(
@@ -123,6 +147,7 @@ public class BonsaiWorldStateProvider implements WorldStateArchive {
     this.worldStateStorage = worldStateStorage;
     this.persistedState = new BonsaiWorldState(this, worldStateStorage);
     this.cachedMerkleTrieLoader = cachedMerkleTrieLoader;
+    this.parallelizedTransactionProcessor = Optional.empty();
     blockchain
         .getBlockHeader(persistedState.worldStateBlockHash)
         .ifPresent(
@@ -286,6 +311,22 @@ public class BonsaiWorldStateProvider implements WorldStateArchive {
     return cachedMerkleTrieLoader;
   }
 
+  public Optional<ParallelizedConcurrentTransactionProcessor>
+      getParallelizedTransactionProcessor() {
+    return parallelizedTransactionProcessor;
+  }
+
+  @Override
+  public void preLoadBlockState(final Block block) {
+    // the block is executed on the state of its parent, which is not the persisted one on a fork
+    blockchain
+        .getBlockHeader(block.getHeader().getParentHash())
+        .ifPresent(
+            parentHeader ->
+                cachedMerkleTrieLoader.preLoadBlock(
+                    worldStateStorage, parentHeader.getStateRoot(), block));
+  }
+
   @Override
   public MutableWorldState getMutable() {
     return persistedState;
@@ -378,6 +419,7 @@ public class BonsaiWorldStateProvider implements WorldStateArchive {
 
   @Override
   public void close() {
+    parallelizedTransactionProcessor.ifPresent(ParallelizedConcurrentTransactionProcessor::close);
     try {
       worldStateStorage.close();
     } catch (Exception e) {
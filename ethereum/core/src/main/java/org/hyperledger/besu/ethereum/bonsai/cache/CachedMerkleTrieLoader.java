@@ -20,48 +20,264 @@ import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.StorageSlotKey;
 import org.hyperledger.besu.ethereum.bonsai.storage.BonsaiWorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.bonsai.storage.BonsaiWorldStateKeyValueStorage.BonsaiStorageSubscriber;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.Withdrawal;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.trie.CompactEncoding;
 import org.hyperledger.besu.ethereum.trie.MerkleTrie;
 import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
 import org.hyperledger.besu.ethereum.trie.patricia.StoredMerklePatriciaTrie;
+import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
+import org.hyperledger.besu.evm.AccessListEntry;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.metrics.ObservableMetricsSystem;
 import org.hyperledger.besu.metrics.prometheus.PrometheusMetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.prometheus.client.guava.cache.CacheMetricsCollector;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
 
 public class CachedMerkleTrieLoader implements BonsaiStorageSubscriber {
 
   private static final int ACCOUNT_CACHE_SIZE = 100_000;
   private static final int STORAGE_CACHE_SIZE = 200_000;
+  private static final int PRELOADED_ACCOUNT_CACHE_SIZE = 10_000;
+  private static final int PRELOADED_STORAGE_CACHE_SIZE = 20_000;
+  private static final int PRELOAD_QUEUE_CAPACITY = 16_384;
+  // most leaves of the account trie are reached within this many nibbles on mainnet
+  private static final int PREFETCH_PATH_DEPTH = 10;
   private final Cache<Bytes, Bytes> accountNodes =
       CacheBuilder.newBuilder().recordStats().maximumSize(ACCOUNT_CACHE_SIZE).build();
   private final Cache<Bytes, Bytes> storageNodes =
       CacheBuilder.newBuilder().recordStats().maximumSize(STORAGE_CACHE_SIZE).build();
+  // flat values read by the preload, keyed by the world state root they were read at, so a value is
+  // only served to a world state at the same root
+  private final Cache<Bytes, Optional<Bytes>> preloadedAccounts =
+      CacheBuilder.newBuilder().recordStats().maximumSize(PRELOADED_ACCOUNT_CACHE_SIZE).build();
+  private final Cache<Bytes, Optional<Bytes>> preloadedStorage =
+      CacheBuilder.newBuilder().recordStats().maximumSize(PRELOADED_STORAGE_CACHE_SIZE).build();
+
+  private final Executor preloadExecutor;
 
   public CachedMerkleTrieLoader(final ObservableMetricsSystem metricsSystem) {
+    this(
+        metricsSystem,
+        createPreloadExecutor(
+            Math.max(2, Runtime.getRuntime().availableProcessors()),
+            PRELOAD_QUEUE_CAPACITY,
+            metricsSystem.createCounter(
+                BesuMetricCategory.BLOCKCHAIN,
+                "preload_tasks_dropped_total",
+                "Number of state preloading tasks dropped because the preload queue was full")));
+  }
+
+  @VisibleForTesting
+  public CachedMerkleTrieLoader(
+      final ObservableMetricsSystem metricsSystem, final Executor preloadExecutor) {
+    this.preloadExecutor = preloadExecutor;
 
     CacheMetricsCollector cacheMetrics = new CacheMetricsCollector();
     cacheMetrics.addCache("accountsNodes", accountNodes);
     cacheMetrics.addCache("storageNodes", storageNodes);
+    cacheMetrics.addCache("preloadedAccounts", preloadedAccounts);
+    cacheMetrics.addCache("preloadedStorage", preloadedStorage);
     if (metricsSystem instanceof PrometheusMetricsSystem)
       ((PrometheusMetricsSystem) metricsSystem)
           .addCollector(BesuMetricCategory.BLOCKCHAIN, () -> cacheMetrics);
   }
 
+  @VisibleForTesting
+  public static Executor createPreloadExecutor(
+      final int threads, final int queueCapacity, final Counter droppedTasksCounter) {
+    // preloading is best effort, so tasks are dropped and counted instead of queuing up when I/O is
+    // saturated
+    return new ThreadPoolExecutor(
+        threads,
+        threads,
+        0L,
+        TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(queueCapacity),
+        new ThreadFactoryBuilder()
+            .setDaemon(true)
+            .setNameFormat(CachedMerkleTrieLoader.class.getSimpleName() + "-%d")
+            .build(),
+        (task, executor) -> droppedTasksCounter.inc());
+  }
+
+  /**
+   * Preload the state a block is expected to access, before it is executed. The accounts of the
+   * coinbase, the withdrawal recipients, the senders and recipients of the transactions and the
+   * entries of their access lists are read from the flat database, and their trie nodes are cached.
+   * The values read are kept for the execution when the flat database is at the state of the parent
+   * block.
+   *
+   * @param worldStateStorage the world state storage
+   * @param worldStateRootHash the state root of the parent of the block
+   * @param block the block to preload the state of
+   */
+  public void preLoadBlock(
+      final BonsaiWorldStateKeyValueStorage worldStateStorage,
+      final Hash worldStateRootHash,
+      final Block block) {
+    preloadExecutor.execute(
+        () ->
+            cacheAccountState(
+                worldStateStorage, worldStateRootHash, block.getHeader().getCoinbase()));
+    block
+        .getBody()
+        .getWithdrawals()
+        .ifPresent(
+            withdrawals ->
+                withdrawals.stream()
+                    .map(Withdrawal::getAddress)
+                    .distinct()
+                    .forEach(
+                        address ->
+                            preloadExecutor.execute(
+                                () ->
+                                    cacheAccountState(
+                                        worldStateStorage, worldStateRootHash, address))));
+    for (final Transaction transaction : block.getBody().getTransactions()) {
+      // recovering the sender is part of the task, so it is also done ahead of the execution
+      preloadExecutor.execute(
+          () -> cacheTransactionState(worldStateStorage, worldStateRootHash, transaction));
+    }
+  }
+
+  private void cacheTransactionState(
+      final BonsaiWorldStateKeyValueStorage worldStateStorage,
+      final Hash worldStateRootHash,
+      final Transaction transaction) {
+    try {
+      cacheAccountState(worldStateStorage, worldStateRootHash, transaction.getSender());
+      transaction
+          .getTo()
+          .ifPresent(to -> cacheAccountState(worldStateStorage, worldStateRootHash, to));
+      for (final AccessListEntry entry : transaction.getAccessList().orElse(List.of())) {
+        cacheAccountState(worldStateStorage, worldStateRootHash, entry.getAddress());
+        for (final Bytes32 storageKey : entry.getStorageKeys()) {
+          cacheStorageState(
+              worldStateStorage,
+              worldStateRootHash,
+              entry.getAddress(),
+              new StorageSlotKey(UInt256.fromBytes(storageKey)));
+        }
+      }
+    } catch (RuntimeException e) {
+      // ignore exception for the cache, the transaction is validated during its execution
+    }
+  }
+
+  @VisibleForTesting
+  public void cacheAccountState(
+      final BonsaiWorldStateKeyValueStorage worldStateStorage,
+      final Hash worldStateRootHash,
+      final Address account) {
+    final Hash accountHash = Hash.hash(account);
+    try {
+      final boolean isFlatStateOfRoot = isFlatStateOf(worldStateStorage, worldStateRootHash);
+      final Optional<Bytes> flatAccount = worldStateStorage.getAccount(accountHash);
+      if (isFlatStateOfRoot && isFlatStateOf(worldStateStorage, worldStateRootHash)) {
+        preloadedAccounts.put(Bytes.concatenate(worldStateRootHash, accountHash), flatAccount);
+      }
+      flatAccount
+          .map(accountValue -> StateTrieAccountValue.readFrom(RLP.input(accountValue)))
+          .ifPresent(
+              accountValue -> worldStateStorage.getCode(accountValue.getCodeHash(), accountHash));
+    } catch (MerkleTrieException e) {
+      // ignore exception for the cache
+    }
+    cacheAccountNodes(worldStateStorage, worldStateRootHash, account);
+  }
+
+  private void cacheStorageState(
+      final BonsaiWorldStateKeyValueStorage worldStateStorage,
+      final Hash worldStateRootHash,
+      final Address account,
+      final StorageSlotKey slotKey) {
+    final Hash accountHash = Hash.hash(account);
+    try {
+      final boolean isFlatStateOfRoot = isFlatStateOf(worldStateStorage, worldStateRootHash);
+      final Optional<Bytes> value =
+          worldStateStorage.getStorageValueByStorageSlotKey(accountHash, slotKey);
+      if (isFlatStateOfRoot && isFlatStateOf(worldStateStorage, worldStateRootHash)) {
+        preloadedStorage.put(
+            Bytes.concatenate(worldStateRootHash, accountHash, slotKey.getSlotHash()), value);
+      }
+    } catch (MerkleTrieException e) {
+      // ignore exception for the cache
+    }
+    cacheStorageNodes(worldStateStorage, account, slotKey);
+  }
+
+  // the flat database holds the values of the persisted state only, a value read while it is at
+  // another state must not be served for the given root
+  private static boolean isFlatStateOf(
+      final BonsaiWorldStateKeyValueStorage worldStateStorage, final Hash worldStateRootHash) {
+    return worldStateStorage.getWorldStateRootHash().filter(worldStateRootHash::equals).isPresent();
+  }
+
+  /**
+   * Gets an account of the world state at the given root, from the values kept by the preload if
+   * any.
+   *
+   * @param worldStateRootHash the root hash of the world state
+   * @param accountHash the hash of the account address
+   * @param accountLoader reads the account when it was not preloaded
+   * @return the account value
+   */
+  public Optional<Bytes> getAccount(
+      final Hash worldStateRootHash,
+      final Hash accountHash,
+      final Supplier<Optional<Bytes>> accountLoader) {
+    final Optional<Bytes> preloaded =
+        preloadedAccounts.getIfPresent(Bytes.concatenate(worldStateRootHash, accountHash));
+    return preloaded != null ? preloaded : accountLoader.get();
+  }
+
+  /**
+   * Gets a storage slot of the world state at the given root, from the values kept by the preload
+   * if any.
+   *
+   * @param worldStateRootHash the root hash of the world state
+   * @param accountHash the hash of the account address
+   * @param slotKey the storage slot
+   * @param storageValueLoader reads the slot value when it was not preloaded
+   * @return the slot value
+   */
+  public Optional<Bytes> getStorageValueByStorageSlotKey(
+      final Hash worldStateRootHash,
+      final Hash accountHash,
+      final StorageSlotKey slotKey,
+      final Supplier<Optional<Bytes>> storageValueLoader) {
+    final Optional<Bytes> preloaded =
+        preloadedStorage.getIfPresent(
+            Bytes.concatenate(worldStateRootHash, accountHash, slotKey.getSlotHash()));
+    return preloaded != null ? preloaded : storageValueLoader.get();
+  }
+
   public void preLoadAccount(
       final BonsaiWorldStateKeyValueStorage worldStateStorage,
       final Hash worldStateRootHash,
       final Address account) {
-    CompletableFuture.runAsync(
+    preloadExecutor.execute(
         () -> cacheAccountNodes(worldStateStorage, worldStateRootHash, account));
   }
 
@@ -72,6 +288,7 @@ public class CachedMerkleTrieLoader implements BonsaiStorageSubscriber {
       final Address account) {
     final long storageSubscriberId = worldStateStorage.subscribe(this);
     try {
+      prefetchNodes(worldStateStorage, accountNodes, Bytes.EMPTY, Hash.hash(account));
       final StoredMerklePatriciaTrie<Bytes, Bytes> accountTrie =
           new StoredMerklePatriciaTrie<>(
               (location, hash) -> {
@@ -94,7 +311,7 @@ public class CachedMerkleTrieLoader implements BonsaiStorageSubscriber {
       final BonsaiWorldStateKeyValueStorage worldStateStorage,
       final Address account,
       final StorageSlotKey slotKey) {
-    CompletableFuture.runAsync(() -> cacheStorageNodes(worldStateStorage, account, slotKey));
+    preloadExecutor.execute(() -> cacheStorageNodes(worldStateStorage, account, slotKey));
   }
 
   @VisibleForTesting
@@ -105,8 +322,8 @@ public class CachedMerkleTrieLoader implements BonsaiStorageSubscriber {
     final Hash accountHash = Hash.hash(account);
     final long storageSubscriberId = worldStateStorage.subscribe(this);
     try {
-      worldStateStorage
-          .getStateTrieNode(Bytes.concatenate(accountHash, Bytes.EMPTY))
+      // the first prefetched node is the root of the storage trie
+      prefetchNodes(worldStateStorage, storageNodes, accountHash, slotKey.getSlotHash())
           .ifPresent(
               storageRoot -> {
                 try {
@@ -132,6 +349,33 @@ public class CachedMerkleTrieLoader implements BonsaiStorageSubscriber {
     }
   }
 
+  /**
+   * Read the nodes stored along the path of a key with a single batched read and cache them, so the
+   * following trie walk does not have to read them one by one. The nodes are cached by hash, so a
+   * node that does not belong to the trie being walked is never used by it.
+   *
+   * @param worldStateStorage the world state storage
+   * @param nodes the cache to fill
+   * @param locationPrefix the prefix of the node locations, the account hash for storage tries
+   * @param key the key whose path is prefetched
+   * @return the node found at the root location
+   */
+  private Optional<Bytes> prefetchNodes(
+      final BonsaiWorldStateKeyValueStorage worldStateStorage,
+      final Cache<Bytes, Bytes> nodes,
+      final Bytes locationPrefix,
+      final Bytes32 key) {
+    final Bytes path = CompactEncoding.bytesToPath(key);
+    final int depth = Math.min(PREFETCH_PATH_DEPTH, path.size() - 1);
+    final List<Bytes> locations = new ArrayList<>(depth + 1);
+    for (int i = 0; i <= depth; i++) {
+      locations.add(Bytes.concatenate(locationPrefix, path.slice(0, i)));
+    }
+    final List<Optional<Bytes>> prefetched = worldStateStorage.getStateTrieNodes(locations);
+    prefetched.forEach(node -> node.ifPresent(bytes -> nodes.put(Hash.hash(bytes), bytes)));
+    return prefetched.get(0);
+  }
+
   public Optional<Bytes> getAccountStateTrieNode(
       final BonsaiWorldStateKeyValueStorage worldStateKeyValueStorage,
       final Bytes location,
@@ -24,6 +24,8 @@ import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.SnappableKeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.SnappedKeyValueStorage;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Supplier;
 
@@ -125,6 +127,13 @@ public class BonsaiSnapshotWorldStateKeyValueStorage extends BonsaiWorldStateKey
     return isClosedGet() ? Optional.empty() : super.getStateTrieNode(location);
   }
 
+  @Override
+  public List<Optional<Bytes>> getStateTrieNodes(final List<Bytes> locations) {
+    return isClosedGet()
+        ? Collections.nCopies(locations.size(), Optional.empty())
+        : super.getStateTrieNodes(locations);
+  }
+
   @Override
   public Optional<Bytes> getWorldStateRootHash() {
     return isClosedGet() ? Optional.empty() : super.getWorldStateRootHash();
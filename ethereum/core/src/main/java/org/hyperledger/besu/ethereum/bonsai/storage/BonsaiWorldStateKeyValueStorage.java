@@ -32,11 +32,13 @@ import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 import org.hyperledger.besu.util.Subscribers;
 
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
@@ -207,6 +209,20 @@ public class BonsaiWorldStateKeyValueStorage implements WorldStateStorage, AutoC
     return trieBranchStorage.get(location.toArrayUnsafe()).map(Bytes::wrap);
   }
 
+  /**
+   * Get the trie nodes stored at several locations with a single batched read.
+   *
+   * @param locations the locations of the nodes
+   * @return the nodes, in the order of the locations
+   */
+  public List<Optional<Bytes>> getStateTrieNodes(final List<Bytes> locations) {
+    return trieBranchStorage
+        .multiGet(locations.stream().map(Bytes::toArrayUnsafe).collect(Collectors.toList()))
+        .stream()
+        .map(value -> value.map(Bytes::wrap))
+        .collect(Collectors.toList());
+  }
+
   public Optional<Bytes> getWorldStateRootHash() {
     return trieBranchStorage.get(WORLD_ROOT_HASH_KEY).map(Bytes::wrap);
   }
@@ -0,0 +1,532 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.bonsai.trielog;
+
+import org.hyperledger.besu.datatypes.AccountValue;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.bonsai.BonsaiValue;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPException;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+import org.hyperledger.besu.ethereum.rlp.RLPOutput;
+import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
+import org.hyperledger.besu.plugin.services.trielogs.TrieLog;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.MutableBytes;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * A {@link TrieLogLayer} stored in the compact trie log format.
+ *
+ * <p>The format starts with the {@link #FORMAT_VERSION} byte, which can not be the first byte of
+ * the legacy RLP format, followed by the deflated RLP of the layer. The addresses of the layer are
+ * grouped in a single sorted column, followed by one entry per address holding its account, code
+ * and storage changes. The updated account fields are only written when they differ from the prior
+ * ones, the slot hashes of an address are grouped in a single column and the presence of the prior
+ * and updated slot values is kept in a flag column, so that zero and absent values are told apart.
+ *
+ * <p>The entries are only decoded when the changes of their address are accessed.
+ */
+class CompactTrieLogLayer extends TrieLogLayer {
+
+  static final byte FORMAT_VERSION = 0x01;
+
+  private static final int PRIOR_PRESENT = 1;
+  private static final int UPDATED_PRESENT = 2;
+  private static final int CLEARED = 4;
+
+  private static final int NONCE_INCREASED = 1;
+  private static final int NONCE_DECREASED = 2;
+  private static final int BALANCE_CHANGED = 4;
+  private static final int STORAGE_ROOT_CHANGED = 8;
+  private static final int CODE_HASH_CHANGED = 16;
+
+  private final byte[] addresses;
+  private final Bytes[] entries;
+  private int undecodedEntries;
+
+  private CompactTrieLogLayer(final Hash blockHash, final byte[] addresses, final Bytes[] entries) {
+    this.blockHash = blockHash;
+    this.addresses = addresses;
+    this.entries = entries;
+    this.undecodedEntries = entries.length;
+    freeze();
+  }
+
+  static boolean isCompactFormat(final byte[] bytes) {
+    return bytes.length > 0 && bytes[0] == FORMAT_VERSION;
+  }
+
+  static byte[] serialize(final TrieLog layer) {
+    layer.freeze();
+
+    final List<Address> sortedAddresses = new ArrayList<>();
+    sortedAddresses.addAll(layer.getAccountChanges().keySet());
+    layer.getCodeChanges().keySet().stream()
+        .filter(address -> !layer.getAccountChanges().containsKey(address))
+        .forEach(sortedAddresses::add);
+    layer.getStorageChanges().keySet().stream()
+        .filter(
+            address ->
+                !layer.getAccountChanges().containsKey(address)
+                    && !layer.getCodeChanges().containsKey(address))
+        .forEach(sortedAddresses::add);
+    sortedAddresses.sort((a, b) -> Arrays.compareUnsigned(a.toArrayUnsafe(), b.toArrayUnsafe()));
+
+    final BytesValueRLPOutput output = new BytesValueRLPOutput();
+    output.startList();
+    output.writeBytes(layer.getBlockHash());
+    output.writeBytes(Bytes.concatenate(sortedAddresses.toArray(Bytes[]::new)));
+    output.startList();
+    for (final Address address : sortedAddresses) {
+      output.startList();
+      final TrieLog.LogTuple<AccountValue> accountChange = layer.getAccountChanges().get(address);
+      if (accountChange == null || accountChange.isUnchanged()) {
+        output.writeNull();
+      } else {
+        writeAccountChange(accountChange, output);
+      }
+      final TrieLog.LogTuple<Bytes> codeChange = layer.getCodeChanges().get(address);
+      if (codeChange == null || codeChange.isUnchanged()) {
+        output.writeNull();
+      } else {
+        writeCodeChange(codeChange, output);
+      }
+      final Map<StorageSlotKey, TrieLog.LogTuple<UInt256>> storageChanges =
+          layer.getStorageChanges().get(address);
+      if (storageChanges == null) {
+        output.writeNull();
+      } else {
+        writeStorageChanges(storageChanges, output);
+      }
+      output.endList();
+    }
+    output.endList();
+    output.endList();
+    return deflate(output.encoded());
+  }
+
+  static CompactTrieLogLayer deserialize(final byte[] bytes) {
+    final RLPInput input = RLP.input(inflate(bytes));
+    input.enterList();
+    final Hash blockHash = Hash.wrap(input.readBytes32());
+    final byte[] addresses = input.readBytes().toArrayUnsafe();
+    final List<Bytes> entries = new ArrayList<>(addresses.length / Address.SIZE);
+    input.enterList();
+    while (!input.isEndOfCurrentList()) {
+      entries.add(input.readAsRlp().raw());
+    }
+    input.leaveList();
+    input.leaveListLenient();
+    if (entries.size() * Address.SIZE != addresses.length) {
+      throw new RLPException("Invalid trie log, addresses and entries do not match");
+    }
+    return new CompactTrieLogLayer(blockHash, addresses, entries.toArray(Bytes[]::new));
+  }
+
+  private static void writeAccountChange(
+      final TrieLog.LogTuple<AccountValue> change, final RLPOutput output) {
+    final AccountValue prior = change.getPrior();
+    final AccountValue updated = change.getUpdated();
+    output.startList();
+    output.writeIntScalar(presenceFlags(prior != null, updated != null, change.isCleared()));
+    if (prior != null) {
+      output.writeLongScalar(prior.getNonce());
+      output.writeUInt256Scalar(prior.getBalance());
+      output.writeBytes(
+          prior.getStorageRoot().equals(Hash.EMPTY_TRIE_HASH)
+              ? Bytes.EMPTY
+              : prior.getStorageRoot());
+      output.writeBytes(prior.getCodeHash().equals(Hash.EMPTY) ? Bytes.EMPTY : prior.getCodeHash());
+    }
+    if (updated != null) {
+      // the updated fields are written as a difference from the prior account, or from an empty
+      // account when it is created
+      final long priorNonce = prior == null ? 0 : prior.getNonce();
+      final Wei priorBalance = prior == null ? Wei.ZERO : prior.getBalance();
+      final Hash priorStorageRoot = prior == null ? Hash.EMPTY_TRIE_HASH : prior.getStorageRoot();
+      final Hash priorCodeHash = prior == null ? Hash.EMPTY : prior.getCodeHash();
+      int changes = 0;
+      if (updated.getNonce() > priorNonce) {
+        changes |= NONCE_INCREASED;
+      } else if (updated.getNonce() < priorNonce) {
+        changes |= NONCE_DECREASED;
+      }
+      if (!updated.getBalance().equals(priorBalance)) {
+        changes |= BALANCE_CHANGED;
+      }
+      if (!updated.getStorageRoot().equals(priorStorageRoot)) {
+        changes |= STORAGE_ROOT_CHANGED;
+      }
+      if (!updated.getCodeHash().equals(priorCodeHash)) {
+        changes |= CODE_HASH_CHANGED;
+      }
+      output.writeIntScalar(changes);
+      if ((changes & NONCE_INCREASED) != 0) {
+        output.writeLongScalar(updated.getNonce() - priorNonce);
+      } else if ((changes & NONCE_DECREASED) != 0) {
+        output.writeLongScalar(priorNonce - updated.getNonce());
+      }
+      if ((changes & BALANCE_CHANGED) != 0) {
+        output.writeUInt256Scalar(updated.getBalance());
+      }
+      if ((changes & STORAGE_ROOT_CHANGED) != 0) {
+        output.writeBytes(updated.getStorageRoot());
+      }
+      if ((changes & CODE_HASH_CHANGED) != 0) {
+        output.writeBytes(updated.getCodeHash());
+      }
+    }
+    output.endList();
+  }
+
+  private static BonsaiValue<AccountValue> readAccountChange(final RLPInput input) {
+    input.enterList();
+    final int flags = input.readIntScalar();
+    StateTrieAccountValue prior = null;
+    if ((flags & PRIOR_PRESENT) != 0) {
+      final long nonce = input.readLongScalar();
+      final Wei balance = Wei.of(input.readUInt256Scalar());
+      final Hash storageRoot = readHashOrDefault(input, Hash.EMPTY_TRIE_HASH);
+      final Hash codeHash = readHashOrDefault(input, Hash.EMPTY);
+      prior = new StateTrieAccountValue(nonce, balance, storageRoot, codeHash);
+    }
+    StateTrieAccountValue updated = null;
+    if ((flags & UPDATED_PRESENT) != 0) {
+      final int changes = input.readIntScalar();
+      long nonce = prior == null ? 0 : prior.getNonce();
+      if ((changes & NONCE_INCREASED) != 0) {
+        nonce += input.readLongScalar();
+      } else if ((changes & NONCE_DECREASED) != 0) {
+        nonce -= input.readLongScalar();
+      }
+      final Wei balance =
+          (changes & BALANCE_CHANGED) != 0
+              ? Wei.of(input.readUInt256Scalar())
+              : prior == null ? Wei.ZERO : prior.getBalance();
+      final Hash storageRoot =
+          (changes & STORAGE_ROOT_CHANGED) != 0
+              ? Hash.wrap(input.readBytes32())
+              : prior == null ? Hash.EMPTY_TRIE_HASH : prior.getStorageRoot();
+      final Hash codeHash =
+          (changes & CODE_HASH_CHANGED) != 0
+              ? Hash.wrap(input.readBytes32())
+              : prior == null ? Hash.EMPTY : prior.getCodeHash();
+      updated = new StateTrieAccountValue(nonce, balance, storageRoot, codeHash);
+    }
+    input.leaveListLenient();
+    return new BonsaiValue<>(prior, updated, (flags & CLEARED) != 0);
+  }
+
+  private static void writeCodeChange(
+      final TrieLog.LogTuple<Bytes> change, final RLPOutput output) {
+    output.startList();
+    output.writeIntScalar(
+        presenceFlags(change.getPrior() != null, change.getUpdated() != null, change.isCleared()));
+    if (change.getPrior() != null) {
+      output.writeBytes(change.getPrior());
+    }
+    if (change.getUpdated() != null) {
+      output.writeBytes(change.getUpdated());
+    }
+    output.endList();
+  }
+
+  private static BonsaiValue<Bytes> readCodeChange(final RLPInput input) {
+    input.enterList();
+    final int flags = input.readIntScalar();
+    final Bytes prior = (flags & PRIOR_PRESENT) != 0 ? input.readBytes() : null;
+    final Bytes updated = (flags & UPDATED_PRESENT) != 0 ? input.readBytes() : null;
+    input.leaveListLenient();
+    return new BonsaiValue<>(prior, updated, (flags & CLEARED) != 0);
+  }
+
+  private static void writeStorageChanges(
+      final Map<StorageSlotKey, TrieLog.LogTuple<UInt256>> changes, final RLPOutput output) {
+    final MutableBytes slotHashes = MutableBytes.create(changes.size() * Bytes32.SIZE);
+    final byte[] flags = new byte[changes.size()];
+    int index = 0;
+    for (final Map.Entry<StorageSlotKey, TrieLog.LogTuple<UInt256>> change : changes.entrySet()) {
+      // do not write slotKey, it is not used in mainnet bonsai trielogs
+      change.getKey().getSlotHash().copyTo(slotHashes, index * Bytes32.SIZE);
+      final TrieLog.LogTuple<UInt256> value = change.getValue();
+      flags[index++] =
+          (byte)
+              presenceFlags(
+                  value.getPrior() != null, value.getUpdated() != null, value.isCleared());
+    }
+    output.startList();
+    output.writeBytes(slotHashes);
+    output.writeBytes(Bytes.wrap(flags));
+    output.startList();
+    for (final TrieLog.LogTuple<UInt256> value : changes.values()) {
+      if (value.getPrior() != null) {
+        output.writeUInt256Scalar(value.getPrior());
+      }
+      if (value.getUpdated() != null) {
+        output.writeUInt256Scalar(value.getUpdated());
+      }
+    }
+    output.endList();
+    output.endList();
+  }
+
+  private static Map<StorageSlotKey, BonsaiValue<UInt256>> readStorageChanges(
+      final RLPInput input) {
+    input.enterList();
+    final Bytes slotHashes = input.readBytes();
+    final Bytes flags = input.readBytes();
+    if (slotHashes.size() != flags.size() * Bytes32.SIZE) {
+      throw new RLPException("Invalid trie log, slot hashes and flags do not match");
+    }
+    final Map<StorageSlotKey, BonsaiValue<UInt256>> changes = new TreeMap<>();
+    input.enterList();
+    for (int i = 0; i < flags.size(); i++) {
+      final int slotFlags = flags.get(i);
+      final UInt256 prior = (slotFlags & PRIOR_PRESENT) != 0 ? input.readUInt256Scalar() : null;
+      final UInt256 updated = (slotFlags & UPDATED_PRESENT) != 0 ? input.readUInt256Scalar() : null;
+      final Hash slotHash =
+          Hash.wrap(Bytes32.wrap(slotHashes.slice(i * Bytes32.SIZE, Bytes32.SIZE)));
+      changes.put(
+          new StorageSlotKey(slotHash, Optional.empty()),
+          new BonsaiValue<>(prior, updated, (slotFlags & CLEARED) != 0));
+    }
+    input.leaveList();
+    input.leaveListLenient();
+    return changes;
+  }
+
+  private static Hash readHashOrDefault(final RLPInput input, final Hash defaultValue) {
+    if (input.nextIsNull()) {
+      input.skipNext();
+      return defaultValue;
+    }
+    return Hash.wrap(input.readBytes32());
+  }
+
+  private static int presenceFlags(
+      final boolean priorPresent, final boolean updatedPresent, final boolean cleared) {
+    return (priorPresent ? PRIOR_PRESENT : 0)
+        | (updatedPresent ? UPDATED_PRESENT : 0)
+        | (cleared ? CLEARED : 0);
+  }
+
+  private static byte[] deflate(final Bytes payload) {
+    final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      deflater.setInput(payload.toArrayUnsafe());
+      deflater.finish();
+      final ByteArrayOutputStream output = new ByteArrayOutputStream(payload.size() / 2 + 1);
+      output.write(FORMAT_VERSION);
+      final byte[] buffer = new byte[4096];
+      while (!deflater.finished()) {
+        output.write(buffer, 0, deflater.deflate(buffer));
+      }
+      return output.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static Bytes inflate(final byte[] bytes) {
+    final Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(bytes, 1, bytes.length - 1);
+      final ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length * 3);
+      final byte[] buffer = new byte[4096];
+      while (!inflater.finished()) {
+        final int inflated = inflater.inflate(buffer);
+        if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          throw new RLPException("Invalid trie log, truncated compressed data");
+        }
+        output.write(buffer, 0, inflated);
+      }
+      return Bytes.wrap(output.toByteArray());
+    } catch (final DataFormatException e) {
+      throw new RLPException("Invalid trie log, " + e.getMessage());
+    } finally {
+      inflater.end();
+    }
+  }
+
+  private int indexOf(final Address address) {
+    final byte[] searched = address.toArrayUnsafe();
+    int low = 0;
+    int high = entries.length - 1;
+    while (low <= high) {
+      final int middle = (low + high) >>> 1;
+      final int comparison =
+          Arrays.compareUnsigned(
+              addresses,
+              middle * Address.SIZE,
+              (middle + 1) * Address.SIZE,
+              searched,
+              0,
+              searched.length);
+      if (comparison < 0) {
+        low = middle + 1;
+      } else if (comparison > 0) {
+        high = middle - 1;
+      } else {
+        return middle;
+      }
+    }
+    return -1;
+  }
+
+  private void decode(final Address address) {
+    final int index = indexOf(address);
+    if (index >= 0) {
+      decode(index, address);
+    }
+  }
+
+  private void decodeAll() {
+    for (int index = 0; undecodedEntries > 0 && index < entries.length; index++) {
+      decode(index, Address.wrap(Bytes.wrap(addresses, index * Address.SIZE, Address.SIZE)));
+    }
+  }
+
+  private void decode(final int index, final Address address) {
+    final Bytes entry = entries[index];
+    if (entry == null) {
+      return;
+    }
+    final RLPInput input = RLP.input(entry);
+    input.enterList();
+    if (input.nextIsNull()) {
+      input.skipNext();
+    } else {
+      accounts.put(address, readAccountChange(input));
+    }
+    if (input.nextIsNull()) {
+      input.skipNext();
+    } else {
+      code.put(address, readCodeChange(input));
+    }
+    if (input.nextIsNull()) {
+      input.skipNext();
+    } else {
+      storage.put(address, readStorageChanges(input));
+    }
+    input.leaveListLenient();
+    entries[index] = null;
+    undecodedEntries--;
+  }
+
+  @Override
+  synchronized Map<Address, BonsaiValue<AccountValue>> getAccounts() {
+    decodeAll();
+    return super.getAccounts();
+  }
+
+  @Override
+  synchronized Map<Address, BonsaiValue<Bytes>> getCode() {
+    decodeAll();
+    return super.getCode();
+  }
+
+  @Override
+  synchronized Map<Address, Map<StorageSlotKey, BonsaiValue<UInt256>>> getStorage() {
+    decodeAll();
+    return super.getStorage();
+  }
+
+  @Override
+  public synchronized Map<Address, BonsaiValue<AccountValue>> getAccountChanges() {
+    decodeAll();
+    return super.getAccountChanges();
+  }
+
+  @Override
+  public synchronized Map<Address, BonsaiValue<Bytes>> getCodeChanges() {
+    decodeAll();
+    return super.getCodeChanges();
+  }
+
+  @Override
+  public synchronized Map<Address, Map<StorageSlotKey, BonsaiValue<UInt256>>> getStorageChanges() {
+    decodeAll();
+    return super.getStorageChanges();
+  }
+
+  @Override
+  public synchronized boolean hasStorageChanges(final Address address) {
+    decode(address);
+    return super.hasStorageChanges(address);
+  }
+
+  @Override
+  public synchronized Map<StorageSlotKey, BonsaiValue<UInt256>> getStorageChanges(
+      final Address address) {
+    decode(address);
+    return super.getStorageChanges(address);
+  }
+
+  @Override
+  public synchronized Optional<Bytes> getPriorCode(final Address address) {
+    decode(address);
+    return super.getPriorCode(address);
+  }
+
+  @Override
+  public synchronized Optional<Bytes> getCode(final Address address) {
+    decode(address);
+    return super.getCode(address);
+  }
+
+  @Override
+  public synchronized Optional<UInt256> getPriorStorageByStorageSlotKey(
+      final Address address, final StorageSlotKey storageSlotKey) {
+    decode(address);
+    return super.getPriorStorageByStorageSlotKey(address, storageSlotKey);
+  }
+
+  @Override
+  public synchronized Optional<UInt256> getStorageByStorageSlotKey(
+      final Address address, final StorageSlotKey storageSlotKey) {
+    decode(address);
+    return super.getStorageByStorageSlotKey(address, storageSlotKey);
+  }
+
+  @Override
+  public synchronized Optional<AccountValue> getPriorAccount(final Address address) {
+    decode(address);
+    return super.getPriorAccount(address);
+  }
+
+  @Override
+  public synchronized Optional<AccountValue> getAccount(final Address address) {
+    decode(address);
+    return super.getAccount(address);
+  }
+}
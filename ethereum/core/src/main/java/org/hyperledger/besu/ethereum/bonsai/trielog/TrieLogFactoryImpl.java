@@ -85,6 +85,16 @@ public class TrieLogFactoryImpl implements TrieLogFactory {
 
   @Override
   public byte[] serialize(final TrieLog layer) {
+    return CompactTrieLogLayer.serialize(layer);
+  }
+
+  /**
+   * Serialize a layer in the legacy RLP format, which is still read by {@link #deserialize}.
+   *
+   * @param layer the trie log layer
+   * @return the RLP encoded layer
+   */
+  public byte[] serializeLegacy(final TrieLog layer) {
     final BytesValueRLPOutput rlpLog = new BytesValueRLPOutput();
     writeTo(layer, rlpLog);
     return rlpLog.encoded().toArrayUnsafe();
@@ -143,6 +153,9 @@ public class TrieLogFactoryImpl implements TrieLogFactory {
 
   @Override
   public TrieLogLayer deserialize(final byte[] bytes) {
+    if (CompactTrieLogLayer.isCompactFormat(bytes)) {
+      return CompactTrieLogLayer.deserialize(bytes);
+    }
     return readFrom(new BytesValueRLPInput(Bytes.wrap(bytes), false));
   }
 
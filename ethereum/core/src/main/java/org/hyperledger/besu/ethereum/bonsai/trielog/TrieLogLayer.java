@@ -191,7 +191,8 @@ public class TrieLogLayer implements TrieLog {
     final StringBuilder sb = new StringBuilder();
     sb.append("TrieLog{" + "blockHash=").append(blockHash).append(frozen).append('}');
     sb.append("accounts\n");
-    for (final Map.Entry<Address, BonsaiValue<AccountValue>> account : accounts.entrySet()) {
+    for (final Map.Entry<Address, BonsaiValue<AccountValue>> account :
+        getAccountChanges().entrySet()) {
       sb.append(" : ").append(account.getKey()).append("\n");
       if (Objects.equals(account.getValue().getPrior(), account.getValue().getUpdated())) {
         sb.append("   = ").append(account.getValue().getUpdated()).append("\n");
@@ -201,7 +202,7 @@ public class TrieLogLayer implements TrieLog {
       }
     }
     sb.append("code").append("\n");
-    for (final Map.Entry<Address, BonsaiValue<Bytes>> code : code.entrySet()) {
+    for (final Map.Entry<Address, BonsaiValue<Bytes>> code : getCodeChanges().entrySet()) {
       sb.append(" : ").append(code.getKey()).append("\n");
       if (Objects.equals(code.getValue().getPrior(), code.getValue().getUpdated())) {
         sb.append("   = ").append(code.getValue().getPrior()).append("\n");
@@ -212,7 +213,7 @@ public class TrieLogLayer implements TrieLog {
     }
     sb.append("Storage").append("\n");
     for (final Map.Entry<Address, Map<StorageSlotKey, BonsaiValue<UInt256>>> storage :
-        storage.entrySet()) {
+        getStorageChanges().entrySet()) {
       sb.append(" : ").append(storage.getKey()).append("\n");
       for (final Map.Entry<StorageSlotKey, BonsaiValue<UInt256>> slot :
           storage.getValue().entrySet()) {
@@ -241,16 +242,17 @@ public class TrieLogLayer implements TrieLog {
     if (this == o) {
       return true;
     }
-    if (o == null || getClass() != o.getClass()) {
+    // layers read from the compact format are decoded lazily, compare them through the getters
+    if (!(o instanceof TrieLogLayer)) {
       return false;
     }
     TrieLogLayer that = (TrieLogLayer) o;
     return new EqualsBuilder()
         .append(frozen, that.frozen)
         .append(blockHash, that.blockHash)
-        .append(accounts, that.accounts)
-        .append(code, that.code)
-        .append(storage, that.storage)
+        .append(getAccountChanges(), that.getAccountChanges())
+        .append(getCodeChanges(), that.getCodeChanges())
+        .append(getStorageChanges(), that.getStorageChanges())
         .isEquals();
   }
 
@@ -259,9 +261,9 @@ public class TrieLogLayer implements TrieLog {
     return new HashCodeBuilder(17, 37)
         .append(blockHash)
         .append(frozen)
-        .append(accounts)
-        .append(code)
-        .append(storage)
+        .append(getAccountChanges())
+        .append(getCodeChanges())
+        .append(getStorageChanges())
         .toHashCode();
   }
 }
@@ -44,10 +44,14 @@ import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 import org.hyperledger.besu.plugin.services.exception.StorageException;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 
@@ -149,17 +153,21 @@ public class BonsaiWorldState
     clearStorage(maybeStateUpdater, worldStateUpdater);
 
     // This must be done before updating the accounts so
-    // that we can get the storage state hash
-    Stream<Map.Entry<Address, StorageConsumingMap<StorageSlotKey, BonsaiValue<UInt256>>>>
-        storageStream = worldStateUpdater.getStorageToUpdate().entrySet().stream();
-    if (maybeStateUpdater.isEmpty()) {
-      storageStream =
-          storageStream
-              .parallel(); // if we are not updating the state updater we can use parallel stream
-    }
-    storageStream.forEach(
-        addressMapEntry ->
-            updateAccountStorageState(maybeStateUpdater, worldStateUpdater, addressMapEntry));
+    // that we can get the storage state hash.
+    // The storage tries are independent of each other, so they are updated in parallel. The
+    // writes of each account are collected and applied afterwards in encounter order, so the
+    // content and the order of the write batch do not depend on the scheduling of the tasks.
+    final List<List<Consumer<BonsaiWorldStateKeyValueStorage.BonsaiUpdater>>> storageWrites =
+        worldStateUpdater.getStorageToUpdate().entrySet().parallelStream()
+            .map(
+                addressMapEntry ->
+                    updateAccountStorageState(
+                        maybeStateUpdater.isPresent(), worldStateUpdater, addressMapEntry))
+            .collect(Collectors.toList());
+    maybeStateUpdater.ifPresent(
+        bonsaiUpdater ->
+            storageWrites.forEach(
+                accountWrites -> accountWrites.forEach(write -> write.accept(bonsaiUpdater))));
 
     // Third update the code.  This has the side effect of ensuring a code hash is calculated.
     updateCode(maybeStateUpdater, worldStateUpdater);
@@ -176,6 +184,9 @@ public class BonsaiWorldState
     // for manicured tries and composting, collect branches here (not implemented)
     updateTheAccounts(maybeStateUpdater, worldStateUpdater, accountTrie);
 
+    // hash the top-level branches concurrently, the commit below only reuses the memoized hashes
+    accountTrie.hashRootChildrenInParallel();
+
     // TODO write to a cache and then generate a layer update from that and the
     // DB tx updates.  Right now it is just DB updates.
     maybeStateUpdater.ifPresent(
@@ -237,11 +248,23 @@ public class BonsaiWorldState
         });
   }
 
-  private void updateAccountStorageState(
-      final Optional<BonsaiWorldStateKeyValueStorage.BonsaiUpdater> maybeStateUpdater,
+  /**
+   * Update the storage trie of an account and set its new storage root.
+   *
+   * <p>This is called concurrently for different accounts, so nothing is written to the storage
+   * here. The writes are returned instead, in the order in which they must be applied.
+   *
+   * @param collectWrites whether the writes to the storage are needed by the caller
+   * @param worldStateUpdater the accumulator holding the changes
+   * @param storageAccountUpdate the storage changes of the account
+   * @return the writes for the flat database and the storage trie of this account
+   */
+  private List<Consumer<BonsaiWorldStateKeyValueStorage.BonsaiUpdater>> updateAccountStorageState(
+      final boolean collectWrites,
       final BonsaiWorldStateUpdateAccumulator worldStateUpdater,
       final Map.Entry<Address, StorageConsumingMap<StorageSlotKey, BonsaiValue<UInt256>>>
           storageAccountUpdate) {
+    final List<Consumer<BonsaiWorldStateKeyValueStorage.BonsaiUpdater>> writes = new ArrayList<>();
     final Address updatedAddress = storageAccountUpdate.getKey();
     final Hash updatedAddressHash = Hash.hash(updatedAddress);
     if (worldStateUpdater.getAccountsToUpdate().containsKey(updatedAddress)) {
@@ -266,15 +289,19 @@ public class BonsaiWorldState
         final UInt256 updatedStorage = storageUpdate.getValue().getUpdated();
         try {
           if (updatedStorage == null || updatedStorage.equals(UInt256.ZERO)) {
-            maybeStateUpdater.ifPresent(
-                bonsaiUpdater ->
-                    bonsaiUpdater.removeStorageValueBySlotHash(updatedAddressHash, slotHash));
+            if (collectWrites) {
+              writes.add(
+                  bonsaiUpdater ->
+                      bonsaiUpdater.removeStorageValueBySlotHash(updatedAddressHash, slotHash));
+            }
             storageTrie.remove(slotHash);
           } else {
-            maybeStateUpdater.ifPresent(
-                bonsaiUpdater ->
-                    bonsaiUpdater.putStorageValueBySlotHash(
-                        updatedAddressHash, slotHash, updatedStorage));
+            if (collectWrites) {
+              writes.add(
+                  bonsaiUpdater ->
+                      bonsaiUpdater.putStorageValueBySlotHash(
+                          updatedAddressHash, slotHash, updatedStorage));
+            }
             storageTrie.put(slotHash, BonsaiWorldView.encodeTrieValue(updatedStorage));
           }
         } catch (MerkleTrieException e) {
@@ -289,18 +316,20 @@ public class BonsaiWorldState
 
       final BonsaiAccount accountUpdated = accountValue.getUpdated();
       if (accountUpdated != null) {
-        maybeStateUpdater.ifPresent(
-            bonsaiUpdater -> {
-              storageTrie.commit(
-                  (location, key, value) ->
-                      writeStorageTrieNode(
-                          bonsaiUpdater, updatedAddressHash, location, key, value));
-            });
+        if (collectWrites) {
+          storageTrie.commit(
+              (location, key, value) ->
+                  writes.add(
+                      bonsaiUpdater ->
+                          writeStorageTrieNode(
+                              bonsaiUpdater, updatedAddressHash, location, key, value)));
+        }
         final Hash newStorageRoot = Hash.wrap(storageTrie.getRootHash());
         accountUpdated.setStorageRoot(newStorageRoot);
       }
     }
     // for manicured tries and composting, trim and compost here
+    return writes;
   }
 
   private void clearStorage(
@@ -473,8 +502,11 @@ public class BonsaiWorldState
 
   @Override
   public Account get(final Address address) {
-    return worldStateStorage
-        .getAccount(Hash.hash(address))
+    final Hash accountHash = Hash.hash(address);
+    return archive
+        .getCachedMerkleTrieLoader()
+        .getAccount(
+            worldStateRootHash, accountHash, () -> worldStateStorage.getAccount(accountHash))
         .map(bytes -> fromRLP(accumulator, address, bytes, true))
         .orElse(null);
   }
@@ -511,8 +543,14 @@ public class BonsaiWorldState
   @Override
   public Optional<UInt256> getStorageValueByStorageSlotKey(
       final Address address, final StorageSlotKey storageSlotKey) {
-    return worldStateStorage
-        .getStorageValueByStorageSlotKey(Hash.hash(address), storageSlotKey)
+    final Hash accountHash = Hash.hash(address);
+    return archive
+        .getCachedMerkleTrieLoader()
+        .getStorageValueByStorageSlotKey(
+            worldStateRootHash,
+            accountHash,
+            storageSlotKey,
+            () -> worldStateStorage.getStorageValueByStorageSlotKey(accountHash, storageSlotKey))
         .map(UInt256::fromBytes);
   }
 
@@ -520,8 +558,16 @@ public class BonsaiWorldState
       final Supplier<Optional<Hash>> storageRootSupplier,
       final Address address,
       final StorageSlotKey storageSlotKey) {
-    return worldStateStorage
-        .getStorageValueByStorageSlotKey(storageRootSupplier, Hash.hash(address), storageSlotKey)
+    final Hash accountHash = Hash.hash(address);
+    return archive
+        .getCachedMerkleTrieLoader()
+        .getStorageValueByStorageSlotKey(
+            worldStateRootHash,
+            accountHash,
+            storageSlotKey,
+            () ->
+                worldStateStorage.getStorageValueByStorageSlotKey(
+                    storageRootSupplier, accountHash, storageSlotKey))
         .map(UInt256::fromBytes);
   }
 
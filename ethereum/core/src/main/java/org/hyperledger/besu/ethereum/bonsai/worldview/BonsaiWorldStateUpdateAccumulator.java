@@ -103,6 +103,84 @@ public class BonsaiWorldStateUpdateAccumulator
     this.isAccumulatorStateChanged = true;
   }
 
+  /**
+   * Imports the committed changes of an accumulator that was built on top of the same parent
+   * state. The caller is responsible for ensuring that the source did not read anything this
+   * accumulator has modified since, otherwise the result would differ from a sequential execution.
+   *
+   * @param source the accumulator whose changes are imported
+   */
+  public void importStateChangesFromSource(final BonsaiWorldStateUpdateAccumulator source) {
+    source
+        .getAccountsToUpdate()
+        .forEach(
+            (address, sourceValue) -> {
+              final BonsaiAccount sourceUpdated = sourceValue.getUpdated();
+              final BonsaiAccount updatedAccount =
+                  sourceUpdated == null ? null : new BonsaiAccount(sourceUpdated, this, true);
+              final BonsaiValue<BonsaiAccount> localValue = accountsToUpdate.get(address);
+              if (localValue == null) {
+                final BonsaiAccount sourcePrior = sourceValue.getPrior();
+                accountsToUpdate.put(
+                    address,
+                    new BonsaiValue<>(
+                        sourcePrior == null ? null : new BonsaiAccount(sourcePrior, this, false),
+                        updatedAccount,
+                        sourceValue.isCleared()));
+              } else if (updatedAccount != null || localValue.getUpdated() != null) {
+                localValue.setUpdated(updatedAccount);
+              }
+              // re-track the account so that the next transactions read the imported value
+              if (updatedAccount != null) {
+                track(new UpdateTrackingAccount<>(updatedAccount));
+              } else if (source.getDeletedAccounts().contains(address)) {
+                deletedAccounts.add(address);
+                updatedAccounts.remove(address);
+              }
+            });
+    source
+        .getCodeToUpdate()
+        .forEach(
+            (address, sourceValue) -> {
+              final BonsaiValue<Bytes> localValue = codeToUpdate.get(address);
+              if (localValue == null) {
+                codeToUpdate.put(
+                    address,
+                    new BonsaiValue<>(
+                        sourceValue.getPrior(), sourceValue.getUpdated(), sourceValue.isCleared()));
+              } else if (!Objects.equals(localValue.getUpdated(), sourceValue.getUpdated())) {
+                localValue.setUpdated(sourceValue.getUpdated());
+              }
+            });
+    source
+        .getStorageToUpdate()
+        .forEach(
+            (address, sourceSlots) -> {
+              final StorageConsumingMap<StorageSlotKey, BonsaiValue<UInt256>> localSlots =
+                  storageToUpdate.computeIfAbsent(
+                      address,
+                      __ ->
+                          new StorageConsumingMap<>(
+                              address, new ConcurrentHashMap<>(), storagePreloader));
+              sourceSlots.forEach(
+                  (slotKey, sourceValue) -> {
+                    final BonsaiValue<UInt256> localValue = localSlots.get(slotKey);
+                    if (localValue == null) {
+                      localSlots.put(
+                          slotKey,
+                          new BonsaiValue<>(
+                              sourceValue.getPrior(),
+                              sourceValue.getUpdated(),
+                              sourceValue.isCleared()));
+                    } else if (!Objects.equals(localValue.getUpdated(), sourceValue.getUpdated())) {
+                      localValue.setUpdated(sourceValue.getUpdated());
+                    }
+                  });
+            });
+    storageToClear.addAll(source.getStorageToClear());
+    this.isAccumulatorStateChanged = true;
+  }
+
   @Override
   public Account get(final Address address) {
     return super.get(address);
@@ -27,6 +27,7 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /** An interface for reading data from the blockchain. */
 public interface Blockchain {
@@ -167,6 +168,29 @@ public interface Blockchain {
    */
   Optional<List<TransactionReceipt>> getTxReceipts(Hash blockHeaderHash);
 
+  /**
+   * Returns the block bodies corresponding to the given block header hashes, reading them together
+   * where the storage supports it.
+   *
+   * @param blockHeaderHashes The block header hashes identifying the blocks.
+   * @return The block bodies, in the order of the given hashes.
+   */
+  default List<Optional<BlockBody>> getBlockBodies(final List<Hash> blockHeaderHashes) {
+    return blockHeaderHashes.stream().map(this::getBlockBody).collect(Collectors.toList());
+  }
+
+  /**
+   * Returns the transaction receipts of several blocks, reading them together where the storage
+   * supports it.
+   *
+   * @param blockHeaderHashes The header hashes of the blocks we're querying.
+   * @return The transaction receipts, in the order of the given hashes.
+   */
+  default List<Optional<List<TransactionReceipt>>> getTxReceiptsForBlocks(
+      final List<Hash> blockHeaderHashes) {
+    return blockHeaderHashes.stream().map(this::getTxReceipts).collect(Collectors.toList());
+  }
+
   /**
    * Retrieves the header hash of the block at the given height in the canonical chain.
    *
@@ -28,6 +28,7 @@ public class ChainDataPruner implements BlockAddedObserver {
   public static final int MAX_PRUNING_THREAD_QUEUE_SIZE = 16;
   private static final Logger LOG = LoggerFactory.getLogger(ChainDataPruner.class);
   private final BlockchainStorage blockchainStorage;
+  private final MutableBlockchain blockchain;
   private final ChainDataPrunerStorage prunerStorage;
   private final long blocksToRetain;
   private final long pruningFrequency;
@@ -35,11 +36,13 @@ public class ChainDataPruner implements BlockAddedObserver {
 
   public ChainDataPruner(
       final BlockchainStorage blockchainStorage,
+      final MutableBlockchain blockchain,
       final ChainDataPrunerStorage prunerStorage,
       final long blocksToRetain,
       final long pruningFrequency,
       final ExecutorService pruningExecutor) {
     this.blockchainStorage = blockchainStorage;
+    this.blockchain = blockchain;
     this.prunerStorage = prunerStorage;
     this.blocksToRetain = blocksToRetain;
     this.pruningFrequency = pruningFrequency;
@@ -106,6 +109,8 @@ public class ChainDataPruner implements BlockAddedObserver {
     }
     updater.removeBlockHash(blockNumber);
     updater.commit();
+    // the blockchain caches the data of recent blocks, which must not be served once pruned
+    blockchain.evictBlocksFromCache(oldForkBlocks);
     prunerStorage.removeForkBlocks(tx, blockNumber);
   }
 }
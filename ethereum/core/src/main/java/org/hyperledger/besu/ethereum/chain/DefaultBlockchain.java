@@ -31,6 +31,7 @@ import org.hyperledger.besu.ethereum.core.LogWithMetadata;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.metrics.prometheus.PrometheusMetricsSystem;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.util.InvalidConfigurationException;
 import org.hyperledger.besu.util.Subscribers;
@@ -45,12 +46,19 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Streams;
+import io.prometheus.client.guava.cache.CacheMetricsCollector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -73,12 +81,23 @@ public class DefaultBlockchain implements MutableBlockchain {
 
   private Comparator<BlockHeader> blockChoiceRule;
 
+  // The caches are keyed by block hash, and the data stored for a block hash never changes, so
+  // reorgs and rewinds, which only move the canonical chain, never make a cached entry stale. Only
+  // removing the data of a block does, which must be followed by evictBlocksFromCache.
+  private final Optional<Cache<Hash, BlockHeader>> blockHeadersCache;
+  private final Optional<Cache<Hash, BlockBody>> blockBodiesCache;
+  private final Optional<Cache<Hash, List<TransactionReceipt>>> transactionReceiptsCache;
+  private final Optional<Cache<Hash, Difficulty>> totalDifficultyCache;
+  // Shared to load missing entries into the caches and exclusive to evict entries, so a value read
+  // from the storage before its block was removed cannot be cached again after the eviction.
+  private final ReadWriteLock cacheLock = new ReentrantReadWriteLock();
+
   private DefaultBlockchain(
       final Optional<Block> genesisBlock,
       final BlockchainStorage blockchainStorage,
       final MetricsSystem metricsSystem,
       final long reorgLoggingThreshold) {
-    this(genesisBlock, blockchainStorage, metricsSystem, reorgLoggingThreshold, null);
+    this(genesisBlock, blockchainStorage, metricsSystem, reorgLoggingThreshold, null, 0);
   }
 
   private DefaultBlockchain(
@@ -86,12 +105,37 @@ public class DefaultBlockchain implements MutableBlockchain {
       final BlockchainStorage blockchainStorage,
       final MetricsSystem metricsSystem,
       final long reorgLoggingThreshold,
-      final String dataDirectory) {
+      final String dataDirectory,
+      final int numberOfBlocksToCache) {
     checkNotNull(genesisBlock);
     checkNotNull(blockchainStorage);
     checkNotNull(metricsSystem);
+    checkArgument(numberOfBlocksToCache >= 0, "Number of blocks to cache must not be negative");
 
     this.blockchainStorage = blockchainStorage;
+    if (numberOfBlocksToCache > 0) {
+      final Cache<Hash, BlockHeader> headers = createCache(numberOfBlocksToCache);
+      final Cache<Hash, BlockBody> bodies = createCache(numberOfBlocksToCache);
+      final Cache<Hash, List<TransactionReceipt>> receipts = createCache(numberOfBlocksToCache);
+      final Cache<Hash, Difficulty> totalDifficulties = createCache(numberOfBlocksToCache);
+      final CacheMetricsCollector cacheMetrics = new CacheMetricsCollector();
+      cacheMetrics.addCache("blockHeaders", headers);
+      cacheMetrics.addCache("blockBodies", bodies);
+      cacheMetrics.addCache("transactionReceipts", receipts);
+      cacheMetrics.addCache("totalDifficulty", totalDifficulties);
+      if (metricsSystem instanceof PrometheusMetricsSystem)
+        ((PrometheusMetricsSystem) metricsSystem)
+            .addCollector(BesuMetricCategory.BLOCKCHAIN, () -> cacheMetrics);
+      this.blockHeadersCache = Optional.of(headers);
+      this.blockBodiesCache = Optional.of(bodies);
+      this.transactionReceiptsCache = Optional.of(receipts);
+      this.totalDifficultyCache = Optional.of(totalDifficulties);
+    } else {
+      this.blockHeadersCache = Optional.empty();
+      this.blockBodiesCache = Optional.empty();
+      this.transactionReceiptsCache = Optional.empty();
+      this.totalDifficultyCache = Optional.empty();
+    }
     genesisBlock.ifPresent(block -> this.setGenesis(block, dataDirectory));
 
     final Hash chainHead = blockchainStorage.getChainHead().get();
@@ -162,13 +206,25 @@ public class DefaultBlockchain implements MutableBlockchain {
       final MetricsSystem metricsSystem,
       final long reorgLoggingThreshold,
       final String dataDirectory) {
+    return createMutable(
+        genesisBlock, blockchainStorage, metricsSystem, reorgLoggingThreshold, dataDirectory, 0);
+  }
+
+  public static MutableBlockchain createMutable(
+      final Block genesisBlock,
+      final BlockchainStorage blockchainStorage,
+      final MetricsSystem metricsSystem,
+      final long reorgLoggingThreshold,
+      final String dataDirectory,
+      final int numberOfBlocksToCache) {
     checkNotNull(genesisBlock);
     return new DefaultBlockchain(
         Optional.of(genesisBlock),
         blockchainStorage,
         metricsSystem,
         reorgLoggingThreshold,
-        dataDirectory);
+        dataDirectory,
+        numberOfBlocksToCache);
   }
 
   public static Blockchain create(
@@ -181,6 +237,10 @@ public class DefaultBlockchain implements MutableBlockchain {
         Optional.empty(), blockchainStorage, metricsSystem, reorgLoggingThreshold);
   }
 
+  private static <V> Cache<Hash, V> createCache(final int maximumSize) {
+    return CacheBuilder.newBuilder().recordStats().maximumSize(maximumSize).build();
+  }
+
   private static boolean validateStorageNonEmpty(final BlockchainStorage blockchainStorage) {
     // Run a few basic checks to make sure data looks available and consistent
     return blockchainStorage
@@ -222,27 +282,42 @@ public class DefaultBlockchain implements MutableBlockchain {
 
   @Override
   public Block getChainHeadBlock() {
-    return new Block(chainHeader, blockchainStorage.getBlockBody(chainHeader.getHash()).get());
+    return new Block(chainHeader, getBlockBody(chainHeader.getHash()).get());
   }
 
   @Override
   public Optional<BlockHeader> getBlockHeader(final long blockNumber) {
-    return blockchainStorage.getBlockHash(blockNumber).flatMap(blockchainStorage::getBlockHeader);
+    return blockchainStorage.getBlockHash(blockNumber).flatMap(this::getBlockHeader);
   }
 
   @Override
   public Optional<BlockHeader> getBlockHeader(final Hash blockHeaderHash) {
-    return blockchainStorage.getBlockHeader(blockHeaderHash);
+    return getCached(blockHeadersCache, blockHeaderHash, blockchainStorage::getBlockHeader);
   }
 
   @Override
   public Optional<BlockBody> getBlockBody(final Hash blockHeaderHash) {
-    return blockchainStorage.getBlockBody(blockHeaderHash);
+    return getCached(blockBodiesCache, blockHeaderHash, blockchainStorage::getBlockBody);
   }
 
   @Override
   public Optional<List<TransactionReceipt>> getTxReceipts(final Hash blockHeaderHash) {
-    return blockchainStorage.getTransactionReceipts(blockHeaderHash);
+    return getCached(
+        transactionReceiptsCache, blockHeaderHash, blockchainStorage::getTransactionReceipts);
+  }
+
+  @Override
+  public List<Optional<BlockBody>> getBlockBodies(final List<Hash> blockHeaderHashes) {
+    return getCached(blockBodiesCache, blockHeaderHashes, blockchainStorage::getBlockBodies);
+  }
+
+  @Override
+  public List<Optional<List<TransactionReceipt>>> getTxReceiptsForBlocks(
+      final List<Hash> blockHeaderHashes) {
+    return getCached(
+        transactionReceiptsCache,
+        blockHeaderHashes,
+        blockchainStorage::getTransactionReceiptsForBlocks);
   }
 
   @Override
@@ -252,7 +327,67 @@ public class DefaultBlockchain implements MutableBlockchain {
 
   @Override
   public Optional<Difficulty> getTotalDifficultyByHash(final Hash blockHeaderHash) {
-    return blockchainStorage.getTotalDifficulty(blockHeaderHash);
+    return getCached(totalDifficultyCache, blockHeaderHash, blockchainStorage::getTotalDifficulty);
+  }
+
+  private <V> Optional<V> getCached(
+      final Optional<Cache<Hash, V>> maybeCache,
+      final Hash blockHash,
+      final Function<Hash, Optional<V>> loader) {
+    if (maybeCache.isEmpty()) {
+      return loader.apply(blockHash);
+    }
+    final Cache<Hash, V> cache = maybeCache.get();
+    final V cached = cache.getIfPresent(blockHash);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+    final Lock lock = cacheLock.readLock();
+    lock.lock();
+    try {
+      final Optional<V> loaded = loader.apply(blockHash);
+      loaded.ifPresent(value -> cache.put(blockHash, value));
+      return loaded;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private <V> List<Optional<V>> getCached(
+      final Optional<Cache<Hash, V>> maybeCache,
+      final List<Hash> blockHashes,
+      final Function<List<Hash>, List<Optional<V>>> loader) {
+    if (maybeCache.isEmpty()) {
+      return loader.apply(blockHashes);
+    }
+    final Cache<Hash, V> cache = maybeCache.get();
+    final List<Optional<V>> values = new ArrayList<>(blockHashes.size());
+    final List<Integer> missingIndexes = new ArrayList<>();
+    final List<Hash> missingHashes = new ArrayList<>();
+    for (final Hash blockHash : blockHashes) {
+      final V cached = cache.getIfPresent(blockHash);
+      if (cached == null) {
+        missingIndexes.add(values.size());
+        missingHashes.add(blockHash);
+      }
+      values.add(Optional.ofNullable(cached));
+    }
+    if (!missingHashes.isEmpty()) {
+      final Lock lock = cacheLock.readLock();
+      lock.lock();
+      try {
+        final List<Optional<V>> loaded = loader.apply(missingHashes);
+        for (int i = 0; i < missingIndexes.size(); i++) {
+          final Hash blockHash = missingHashes.get(i);
+          final Optional<V> value = loaded.get(i);
+          value.ifPresent(v -> cache.put(blockHash, v));
+          values.set(missingIndexes.get(i), value);
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+    return values;
   }
 
   @Override
@@ -261,8 +396,7 @@ public class DefaultBlockchain implements MutableBlockchain {
         .getTransactionLocation(transactionHash)
         .flatMap(
             l ->
-                blockchainStorage
-                    .getBlockBody(l.getBlockHash())
+                getBlockBody(l.getBlockHash())
                     .map(b -> b.getTransactions().get(l.getTransactionIndex())));
   }
 
@@ -333,9 +467,37 @@ public class DefaultBlockchain implements MutableBlockchain {
     }
 
     updater.commit();
+    cacheBlockData(block.getHeader(), block.getBody(), receipts, Optional.of(td));
     blockAddedObservers.forEach(observer -> observer.onBlockAdded(blockAddedEvent));
   }
 
+  private void cacheBlockData(
+      final BlockHeader blockHeader,
+      final BlockBody blockBody,
+      final List<TransactionReceipt> receipts,
+      final Optional<Difficulty> maybeTotalDifficulty) {
+    final Hash hash = blockHeader.getHash();
+    blockHeadersCache.ifPresent(cache -> cache.put(hash, blockHeader));
+    blockBodiesCache.ifPresent(cache -> cache.put(hash, blockBody));
+    transactionReceiptsCache.ifPresent(cache -> cache.put(hash, receipts));
+    maybeTotalDifficulty.ifPresent(
+        td -> totalDifficultyCache.ifPresent(cache -> cache.put(hash, td)));
+  }
+
+  @Override
+  public void evictBlocksFromCache(final Collection<Hash> blockHashes) {
+    final Lock lock = cacheLock.writeLock();
+    lock.lock();
+    try {
+      blockHeadersCache.ifPresent(cache -> cache.invalidateAll(blockHashes));
+      blockBodiesCache.ifPresent(cache -> cache.invalidateAll(blockHashes));
+      transactionReceiptsCache.ifPresent(cache -> cache.invalidateAll(blockHashes));
+      totalDifficultyCache.ifPresent(cache -> cache.invalidateAll(blockHashes));
+    } finally {
+      lock.unlock();
+    }
+  }
+
   @Override
   public synchronized void unsafeImportBlock(
       final Block block,
@@ -355,6 +517,7 @@ public class DefaultBlockchain implements MutableBlockchain {
     maybeTotalDifficulty.ifPresent(
         totalDifficulty -> updater.putTotalDifficulty(hash, totalDifficulty));
     updater.commit();
+    cacheBlockData(block.getHeader(), block.getBody(), transactionReceipts, maybeTotalDifficulty);
   }
 
   @Override
@@ -373,8 +536,7 @@ public class DefaultBlockchain implements MutableBlockchain {
     }
 
     final Difficulty parentTotalDifficulty =
-        blockchainStorage
-            .getTotalDifficulty(blockHeader.getParentHash())
+        getTotalDifficultyByHash(blockHeader.getParentHash())
             .orElseThrow(
                 () -> new IllegalStateException("Blockchain is missing total difficulty data."));
     return blockHeader.getDifficulty().add(parentTotalDifficulty);
@@ -572,7 +734,7 @@ public class DefaultBlockchain implements MutableBlockchain {
   public boolean rewindToBlock(final Hash blockHash) {
     final BlockchainStorage.Updater updater = blockchainStorage.updater();
     try {
-      final BlockHeader oldBlockHeader = blockchainStorage.getBlockHeader(blockHash).get();
+      final BlockHeader oldBlockHeader = getBlockHeader(blockHash).get();
       final BlockWithReceipts blockWithReceipts = getBlockWithReceipts(oldBlockHeader).get();
       final Block block = blockWithReceipts.getBlock();
 
@@ -721,19 +883,16 @@ public class DefaultBlockchain implements MutableBlockchain {
   }
 
   private Optional<BlockWithReceipts> getBlockWithReceipts(final BlockHeader blockHeader) {
-    return blockchainStorage
-        .getBlockBody(blockHeader.getHash())
+    return getBlockBody(blockHeader.getHash())
         .map(body -> new Block(blockHeader, body))
         .flatMap(
             block ->
-                blockchainStorage
-                    .getTransactionReceipts(blockHeader.getHash())
+                getTxReceipts(blockHeader.getHash())
                     .map(receipts -> new BlockWithReceipts(block, receipts)));
   }
 
   private BlockWithReceipts getParentBlockWithReceipts(final BlockWithReceipts blockWithReceipts) {
-    return blockchainStorage
-        .getBlockHeader(blockWithReceipts.getHeader().getParentHash())
+    return getBlockHeader(blockWithReceipts.getHeader().getParentHash())
         .flatMap(this::getBlockWithReceipts)
         .get();
   }
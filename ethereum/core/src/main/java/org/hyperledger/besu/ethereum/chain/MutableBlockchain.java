@@ -20,6 +20,7 @@ import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Difficulty;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -97,4 +98,12 @@ public interface MutableBlockchain extends Blockchain {
    * @param blockHash The hash of the last safe block.
    */
   void setSafeBlock(final Hash blockHash);
+
+  /**
+   * Drop the cached data of blocks whose data was removed from the storage, for example by chain
+   * data pruning, so that they are no longer served.
+   *
+   * @param blockHashes The hashes of the removed blocks.
+   */
+  void evictBlocksFromCache(final Collection<Hash> blockHashes);
 }
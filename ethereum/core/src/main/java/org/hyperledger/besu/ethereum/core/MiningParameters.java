@@ -56,6 +56,8 @@ public class MiningParameters {
   private final int maxOmmerDepth;
   private final long posBlockCreationMaxTime;
   private final long posBlockCreationRepetitionMinDuration;
+  private final boolean posIncrementalBlockCreationEnabled;
+  private final int posBlockCreationParallelCandidates;
 
   private MiningParameters(
       final Address coinbase,
@@ -74,7 +76,9 @@ public class MiningParameters {
       final long powJobTimeToLive,
       final int maxOmmerDepth,
       final long posBlockCreationMaxTime,
-      final long posBlockCreationRepetitionMinDuration) {
+      final long posBlockCreationRepetitionMinDuration,
+      final boolean posIncrementalBlockCreationEnabled,
+      final int posBlockCreationParallelCandidates) {
     this.coinbase = Optional.ofNullable(coinbase);
     this.targetGasLimit = Optional.ofNullable(targetGasLimit).map(AtomicLong::new);
     this.minTransactionGasPrice = minTransactionGasPrice;
@@ -92,6 +96,8 @@ public class MiningParameters {
     this.maxOmmerDepth = maxOmmerDepth;
     this.posBlockCreationMaxTime = posBlockCreationMaxTime;
     this.posBlockCreationRepetitionMinDuration = posBlockCreationRepetitionMinDuration;
+    this.posIncrementalBlockCreationEnabled = posIncrementalBlockCreationEnabled;
+    this.posBlockCreationParallelCandidates = posBlockCreationParallelCandidates;
   }
 
   public Optional<Address> getCoinbase() {
@@ -162,6 +168,14 @@ public class MiningParameters {
     return posBlockCreationRepetitionMinDuration;
   }
 
+  public boolean isPosIncrementalBlockCreationEnabled() {
+    return posIncrementalBlockCreationEnabled;
+  }
+
+  public int getPosBlockCreationParallelCandidates() {
+    return posBlockCreationParallelCandidates;
+  }
+
   @Override
   public boolean equals(final Object o) {
     if (this == o) return true;
@@ -181,7 +195,9 @@ public class MiningParameters {
         && remoteSealersLimit == that.remoteSealersLimit
         && powJobTimeToLive == that.powJobTimeToLive
         && posBlockCreationMaxTime == that.posBlockCreationMaxTime
-        && posBlockCreationRepetitionMinDuration == that.posBlockCreationRepetitionMinDuration;
+        && posBlockCreationRepetitionMinDuration == that.posBlockCreationRepetitionMinDuration
+        && posIncrementalBlockCreationEnabled == that.posIncrementalBlockCreationEnabled
+        && posBlockCreationParallelCandidates == that.posBlockCreationParallelCandidates;
   }
 
   @Override
@@ -201,7 +217,9 @@ public class MiningParameters {
         remoteSealersTimeToLive,
         powJobTimeToLive,
         posBlockCreationMaxTime,
-        posBlockCreationRepetitionMinDuration);
+        posBlockCreationRepetitionMinDuration,
+        posIncrementalBlockCreationEnabled,
+        posBlockCreationParallelCandidates);
   }
 
   @Override
@@ -241,6 +259,10 @@ public class MiningParameters {
         + posBlockCreationMaxTime
         + ", posBlockCreationRepetitionMinDuration="
         + posBlockCreationRepetitionMinDuration
+        + ", posIncrementalBlockCreationEnabled="
+        + posIncrementalBlockCreationEnabled
+        + ", posBlockCreationParallelCandidates="
+        + posBlockCreationParallelCandidates
         + '}';
   }
 
@@ -266,6 +288,10 @@ public class MiningParameters {
     private long posBlockCreationRepetitionMinDuration =
         DEFAULT_POS_BLOCK_CREATION_REPETITION_MIN_DURATION;
 
+    private boolean posIncrementalBlockCreationEnabled = false;
+
+    private int posBlockCreationParallelCandidates = 0;
+
     public Builder() {
       // zero arg
     }
@@ -292,6 +318,8 @@ public class MiningParameters {
       this.posBlockCreationMaxTime = existing.getPosBlockCreationMaxTime();
       this.posBlockCreationRepetitionMinDuration =
           existing.getPosBlockCreationRepetitionMinDuration();
+      this.posIncrementalBlockCreationEnabled = existing.isPosIncrementalBlockCreationEnabled();
+      this.posBlockCreationParallelCandidates = existing.getPosBlockCreationParallelCandidates();
     }
 
     public Builder coinbase(final Address address) {
@@ -380,6 +408,18 @@ public class MiningParameters {
       return this;
     }
 
+    public Builder posIncrementalBlockCreationEnabled(
+        final boolean posIncrementalBlockCreationEnabled) {
+      this.posIncrementalBlockCreationEnabled = posIncrementalBlockCreationEnabled;
+      return this;
+    }
+
+    public Builder posBlockCreationParallelCandidates(
+        final int posBlockCreationParallelCandidates) {
+      this.posBlockCreationParallelCandidates = posBlockCreationParallelCandidates;
+      return this;
+    }
+
     public MiningParameters build() {
       return new MiningParameters(
           coinbase,
@@ -398,7 +438,9 @@ public class MiningParameters {
           powJobTimeToLive,
           maxOmmerDepth,
           posBlockCreationMaxTime,
-          posBlockCreationRepetitionMinDuration);
+          posBlockCreationRepetitionMinDuration,
+          posIncrementalBlockCreationEnabled,
+          posBlockCreationParallelCandidates);
     }
   }
 }
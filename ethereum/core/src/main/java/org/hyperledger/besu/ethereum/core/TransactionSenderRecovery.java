@@ -0,0 +1,91 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.core;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Recovers the senders of the transactions of blocks ahead of their execution.
+ *
+ * <p>The transactions of all the given blocks are split into batches that are recovered
+ * concurrently on the given executor. The recovered sender is memoized by the {@link Transaction},
+ * so the block execution no longer has to recover it. Recovery uses the signature algorithm of the
+ * transaction, which is the native secp256k1 library when it is available.
+ */
+public class TransactionSenderRecovery implements Closeable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TransactionSenderRecovery.class);
+
+  @VisibleForTesting static final int BATCH_SIZE = 32;
+
+  private final ExecutorService executor;
+
+  /**
+   * Instantiates a new sender recovery, which owns the given executor and shuts it down on close,
+   * letting the batches already submitted complete.
+   *
+   * @param executor the executor the batches are recovered on
+   */
+  public TransactionSenderRecovery(final ExecutorService executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * Start recovering the senders of the transactions of the given blocks.
+   *
+   * <p>Transactions whose signature does not allow to recover a sender are skipped, they are
+   * rejected later by the transaction validation.
+   *
+   * @param blocks the blocks to recover the transaction senders of
+   * @return a future completed once all the senders have been recovered
+   */
+  public CompletableFuture<Void> recoverSenders(final List<Block> blocks) {
+    final List<Transaction> transactions = new ArrayList<>();
+    for (final Block block : blocks) {
+      transactions.addAll(block.getBody().getTransactions());
+    }
+    if (transactions.isEmpty()) {
+      return CompletableFuture.completedFuture(null);
+    }
+    return CompletableFuture.allOf(
+        Lists.partition(transactions, BATCH_SIZE).stream()
+            .map(batch -> CompletableFuture.runAsync(() -> recoverSenders(batch), executor))
+            .toArray(CompletableFuture[]::new));
+  }
+
+  private void recoverSenders(final Iterable<Transaction> batch) {
+    for (final Transaction transaction : batch) {
+      try {
+        transaction.getSender();
+      } catch (final IllegalStateException e) {
+        LOG.trace("Unable to recover the sender of transaction {}", transaction.getHash(), e);
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    executor.shutdown();
+  }
+}
@@ -29,6 +29,7 @@ import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.core.Withdrawal;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelizedConcurrentTransactionProcessor;
 import org.hyperledger.besu.ethereum.privacy.storage.PrivateMetadataUpdater;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
@@ -103,57 +104,81 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
 
     final ProtocolSpec protocolSpec = protocolSchedule.getByBlockHeader(blockHeader);
 
-    for (final Transaction transaction : transactions) {
-      if (!hasAvailableBlockBudget(blockHeader, transaction, currentGasUsed)) {
-        return new BlockProcessingResult(Optional.empty(), "provided gas insufficient");
-      }
+    final Address miningBeneficiary = miningBeneficiaryCalculator.calculateBeneficiary(blockHeader);
+    final Wei dataGasPrice =
+        protocolSpec
+            .getFeeMarket()
+            .dataPrice(
+                blockchain
+                    .getBlockHeader(blockHeader.getParentHash())
+                    .flatMap(BlockHeader::getExcessDataGas)
+                    .orElse(DataGas.ZERO));
 
-      final WorldUpdater worldStateUpdater = worldState.updater();
-      final BlockHashLookup blockHashLookup = new CachingBlockHashLookup(blockHeader, blockchain);
-      final Address miningBeneficiary =
-          miningBeneficiaryCalculator.calculateBeneficiary(blockHeader);
-      final Wei dataGasPrice =
-          protocolSpec
-              .getFeeMarket()
-              .dataPrice(
-                  blockchain
-                      .getBlockHeader(blockHeader.getParentHash())
-                      .flatMap(BlockHeader::getExcessDataGas)
-                      .orElse(DataGas.ZERO));
-
-      final TransactionProcessingResult result =
-          transactionProcessor.processTransaction(
-              blockchain,
-              worldStateUpdater,
-              blockHeader,
-              transaction,
-              miningBeneficiary,
-              OperationTracer.NO_TRACING,
-              blockHashLookup,
-              true,
-              TransactionValidationParams.processingBlock(),
-              privateMetadataUpdater,
-              dataGasPrice);
-      if (result.isInvalid()) {
-        String errorMessage =
-            MessageFormat.format(
-                "Block processing error: transaction invalid {0}. Block {1} Transaction {2}",
-                result.getValidationResult().getErrorMessage(),
-                blockHeader.getHash().toHexString(),
-                transaction.getHash().toHexString());
-        LOG.info(errorMessage);
-        if (worldState instanceof BonsaiWorldState) {
-          ((BonsaiWorldStateUpdateAccumulator) worldStateUpdater).reset();
+    final Optional<ParallelizedConcurrentTransactionProcessor.BlockExecution>
+        maybeParallelExecution =
+            startParallelExecution(
+                blockchain,
+                worldState,
+                blockHeader,
+                transactions,
+                miningBeneficiary,
+                dataGasPrice,
+                privateMetadataUpdater);
+    try {
+      for (int i = 0; i < transactions.size(); i++) {
+        final Transaction transaction = transactions.get(i);
+        final int transactionLocation = i;
+        if (!hasAvailableBlockBudget(blockHeader, transaction, currentGasUsed)) {
+          return new BlockProcessingResult(Optional.empty(), "provided gas insufficient");
         }
-        return new BlockProcessingResult(Optional.empty(), errorMessage);
-      }
-      worldStateUpdater.commit();
 
-      currentGasUsed += transaction.getGasLimit() - result.getGasRemaining();
-      final TransactionReceipt transactionReceipt =
-          transactionReceiptFactory.create(
-              transaction.getType(), result, worldState, currentGasUsed);
-      receipts.add(transactionReceipt);
+        final WorldUpdater worldStateUpdater = worldState.updater();
+        final BlockHashLookup blockHashLookup = new CachingBlockHashLookup(blockHeader, blockchain);
+
+        final TransactionProcessingResult result =
+            maybeParallelExecution
+                .flatMap(
+                    execution ->
+                        execution.applyParallelizedTransactionResult(
+                            worldState, miningBeneficiary, transactionLocation))
+                .orElseGet(
+                    () ->
+                        transactionProcessor.processTransaction(
+                            blockchain,
+                            worldStateUpdater,
+                            blockHeader,
+                            transaction,
+                            miningBeneficiary,
+                            OperationTracer.NO_TRACING,
+                            blockHashLookup,
+                            true,
+                            TransactionValidationParams.processingBlock(),
+                            privateMetadataUpdater,
+                            dataGasPrice));
+        if (result.isInvalid()) {
+          String errorMessage =
+              MessageFormat.format(
+                  "Block processing error: transaction invalid {0}. Block {1} Transaction {2}",
+                  result.getValidationResult().getErrorMessage(),
+                  blockHeader.getHash().toHexString(),
+                  transaction.getHash().toHexString());
+          LOG.info(errorMessage);
+          if (worldState instanceof BonsaiWorldState) {
+            ((BonsaiWorldStateUpdateAccumulator) worldStateUpdater).reset();
+          }
+          return new BlockProcessingResult(Optional.empty(), errorMessage);
+        }
+        worldStateUpdater.commit();
+
+        currentGasUsed += transaction.getGasLimit() - result.getGasRemaining();
+        final TransactionReceipt transactionReceipt =
+            transactionReceiptFactory.create(
+                transaction.getType(), result, worldState, currentGasUsed);
+        receipts.add(transactionReceipt);
+      }
+    } finally {
+      maybeParallelExecution.ifPresent(
+          ParallelizedConcurrentTransactionProcessor.BlockExecution::close);
     }
 
     final Optional<WithdrawalsProcessor> maybeWithdrawalsProcessor =
@@ -193,6 +218,45 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
     return new BlockProcessingResult(Optional.of(new BlockProcessingOutputs(worldState, receipts)));
   }
 
+  /**
+   * Start the speculative execution of the block transactions when the world state supports it.
+   * Speculative executions read the state at the start of the block, so they are only started
+   * when the world state has no pending change.
+   */
+  private Optional<ParallelizedConcurrentTransactionProcessor.BlockExecution>
+      startParallelExecution(
+          final Blockchain blockchain,
+          final MutableWorldState worldState,
+          final BlockHeader blockHeader,
+          final List<Transaction> transactions,
+          final Address miningBeneficiary,
+          final Wei dataGasPrice,
+          final PrivateMetadataUpdater privateMetadataUpdater) {
+    if (!(worldState instanceof BonsaiWorldState)
+        || privateMetadataUpdater != null
+        || transactions.size() < 2) {
+      return Optional.empty();
+    }
+    final BonsaiWorldState bonsaiWorldState = (BonsaiWorldState) worldState;
+    if (((BonsaiWorldStateUpdateAccumulator) bonsaiWorldState.updater())
+        .isAccumulatorStateChanged()) {
+      return Optional.empty();
+    }
+    return bonsaiWorldState
+        .getArchive()
+        .getParallelizedTransactionProcessor()
+        .map(
+            processor ->
+                processor.runAsyncBlock(
+                    transactionProcessor,
+                    blockchain,
+                    bonsaiWorldState,
+                    blockHeader,
+                    transactions,
+                    miningBeneficiary,
+                    dataGasPrice));
+  }
+
   protected boolean hasAvailableBlockBudget(
       final BlockHeader blockHeader, final Transaction transaction, final long currentGasUsed) {
     final long remainingGasBudget = blockHeader.getGasLimit() - currentGasUsed;
@@ -0,0 +1,140 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.evm.EVM;
+import org.hyperledger.besu.evm.account.Account;
+import org.hyperledger.besu.evm.log.Log;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Warms up the code cache of the EVM with the contracts most frequently called by the recent
+ * blocks, so the first blocks imported after a restart do not have to analyze them, or load their
+ * persisted analysis.
+ *
+ * <p>Internal calls are not recorded by the chain, so calls are estimated from the recipients of
+ * the transactions and the contracts emitting logs.
+ */
+public class CodeAnalysisWarmer {
+  private static final Logger LOG = LoggerFactory.getLogger(CodeAnalysisWarmer.class);
+
+  /** The default number of recent blocks scanned for calls. */
+  public static final int DEFAULT_BLOCKS = 64;
+  /** The default number of contracts warmed up. */
+  public static final int DEFAULT_CONTRACTS = 1024;
+
+  private final Blockchain blockchain;
+  private final WorldStateArchive worldStateArchive;
+  private final ProtocolSchedule protocolSchedule;
+  private final int blocks;
+  private final int contracts;
+
+  public CodeAnalysisWarmer(
+      final Blockchain blockchain,
+      final WorldStateArchive worldStateArchive,
+      final ProtocolSchedule protocolSchedule,
+      final int blocks,
+      final int contracts) {
+    this.blockchain = blockchain;
+    this.worldStateArchive = worldStateArchive;
+    this.protocolSchedule = protocolSchedule;
+    this.blocks = blocks;
+    this.contracts = contracts;
+  }
+
+  /**
+   * Load the analyzed code of the most frequently called contracts into the code cache of the EVM
+   * of the chain head.
+   *
+   * @return the number of contracts warmed up
+   */
+  public int warmUp() {
+    final BlockHeader chainHead = blockchain.getChainHeadHeader();
+    final List<Address> calledContracts = mostCalledContracts(chainHead.getNumber());
+    if (calledContracts.isEmpty()) {
+      return 0;
+    }
+    final EVM evm = protocolSchedule.getByBlockHeader(chainHead).getEvm();
+    int warmedUp = 0;
+    try (final MutableWorldState worldState =
+        worldStateArchive.getMutable(chainHead, false).orElse(null)) {
+      if (worldState == null) {
+        LOG.debug("No world state to warm up the code cache at {}", chainHead.toLogString());
+        return 0;
+      }
+      for (final Address address : calledContracts) {
+        final Account account = worldState.get(address);
+        if (account != null && !account.getCode().isEmpty()) {
+          evm.getCode(account.getCodeHash(), account.getCode());
+          warmedUp++;
+        }
+      }
+    } catch (final Exception e) {
+      LOG.debug("Failed to warm up the code cache", e);
+    }
+    LOG.debug("Warmed up the code cache with {} contracts", warmedUp);
+    return warmedUp;
+  }
+
+  List<Address> mostCalledContracts(final long chainHeadNumber) {
+    final Map<Address, Integer> callCounts = new HashMap<>();
+    for (long number = chainHeadNumber; number > chainHeadNumber - blocks && number > 0; number--) {
+      final Optional<Hash> blockHash = blockchain.getBlockHashByNumber(number);
+      if (blockHash.isEmpty()) {
+        break;
+      }
+      blockchain
+          .getBlockBody(blockHash.get())
+          .map(BlockBody::getTransactions)
+          .ifPresent(
+              transactions ->
+                  transactions.stream()
+                      .map(Transaction::getTo)
+                      .flatMap(Optional::stream)
+                      .forEach(to -> callCounts.merge(to, 1, Integer::sum)));
+      blockchain
+          .getTxReceipts(blockHash.get())
+          .ifPresent(
+              receipts ->
+                  receipts.stream()
+                      .map(TransactionReceipt::getLogsList)
+                      .flatMap(List::stream)
+                      .map(Log::getLogger)
+                      .forEach(logger -> callCounts.merge(logger, 1, Integer::sum)));
+    }
+    return callCounts.entrySet().stream()
+        .sorted(Map.Entry.<Address, Integer>comparingByValue(Comparator.reverseOrder()))
+        .limit(contracts)
+        .map(Map.Entry::getKey)
+        .toList();
+  }
+}
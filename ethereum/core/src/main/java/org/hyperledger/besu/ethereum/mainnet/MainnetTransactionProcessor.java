@@ -26,6 +26,7 @@ import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.feemarket.CoinbaseFeePriceCalculator;
 import org.hyperledger.besu.ethereum.mainnet.feemarket.FeeMarket;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.BeforeRewardOperationTracer;
 import org.hyperledger.besu.ethereum.privacy.storage.PrivateMetadataUpdater;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 import org.hyperledger.besu.ethereum.transaction.TransactionInvalidReason;
@@ -445,6 +446,10 @@ public class MainnetTransactionProcessor {
 
       final long gasUsedByTransaction = transaction.getGasLimit() - initialFrame.getRemainingGas();
 
+      if (operationTracer instanceof BeforeRewardOperationTracer beforeRewardTracer) {
+        beforeRewardTracer.traceBeforeRewardTransaction(worldState, transaction);
+      }
+
       // update the coinbase
       final var coinbase = worldState.getOrCreate(miningBeneficiary).getMutable();
       final long usedGas = transaction.getGasLimit() - refundedGas;
@@ -0,0 +1,35 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import org.hyperledger.besu.datatypes.Transaction;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+import org.hyperledger.besu.evm.worldstate.WorldView;
+
+/**
+ * An operation tracer also told when the execution of a transaction is over and its mining
+ * beneficiary is about to be rewarded. Only used by the parallel transaction execution, to find
+ * out whether a transaction touched the mining beneficiary before its reward.
+ */
+public interface BeforeRewardOperationTracer extends OperationTracer {
+
+  /**
+   * Trace the world state right before the mining beneficiary is rewarded for a transaction.
+   *
+   * @param worldView a view of the world state as left by the transaction execution
+   * @param transaction the transaction which is being processed
+   */
+  void traceBeforeRewardTransaction(WorldView worldView, Transaction transaction);
+}
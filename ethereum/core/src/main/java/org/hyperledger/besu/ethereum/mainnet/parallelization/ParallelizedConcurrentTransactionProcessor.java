@@ -0,0 +1,424 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.bonsai.BonsaiAccount;
+import org.hyperledger.besu.ethereum.bonsai.BonsaiValue;
+import org.hyperledger.besu.ethereum.bonsai.cache.CachedMerkleTrieLoader;
+import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.vm.CachingBlockHashLookup;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+import org.hyperledger.besu.evm.worldstate.WorldView;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Optimistic parallel execution of the transactions of a block.
+ *
+ * <p>Every transaction of the block is executed speculatively, on a pool of worker threads, against
+ * the state at the start of the block and on its own {@link ParallelizedTransactionAccumulator}.
+ * The block processor still walks the transactions in block order: when the speculative result of
+ * a transaction did not read or write anything modified by the previous transactions, its changes
+ * are imported into the block accumulator instead of executing it again. Otherwise the transaction
+ * is executed sequentially as usual, so the outcome is always identical to a sequential execution.
+ *
+ * <p>Every transaction pays a fee to the mining beneficiary, so the beneficiary is excluded from
+ * conflict detection when the transaction only touched it to pay the fee. The fee is then credited
+ * to the block accumulator separately.
+ *
+ * <p>The block creation uses the same mechanism for the best pending transactions, in which case
+ * the results are looked up in the order the transactions are selected and a result can still be
+ * discarded after the conflict detection, see {@link BlockExecution#findConflictFreeResult}.
+ */
+public class ParallelizedConcurrentTransactionProcessor implements AutoCloseable {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ParallelizedConcurrentTransactionProcessor.class);
+
+  private static final int PENDING = 0;
+  private static final int RUNNING = 1;
+  private static final int SKIPPED = 2;
+
+  private final ExecutorService executor;
+  private final TransactionCollisionDetector collisionDetector = new TransactionCollisionDetector();
+  private final LabelledMetric<Counter> transactionsCounter;
+  private final Counter savedExecutionTimeCounter;
+
+  /**
+   * Instantiates a new parallelized transaction processor.
+   *
+   * @param executor the executor running the speculative executions, shut down on close
+   * @param metricsSystem the metrics system
+   */
+  public ParallelizedConcurrentTransactionProcessor(
+      final ExecutorService executor, final MetricsSystem metricsSystem) {
+    this.executor = executor;
+    this.transactionsCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "parallelized_transactions_total",
+            "Count of transactions processed by the parallel block processing, by outcome",
+            "outcome");
+    this.savedExecutionTimeCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "parallelized_transactions_saved_execution_nanoseconds_total",
+            "Execution time of the transactions whose speculative result was reused, which the"
+                + " block processing thread did not have to spend");
+  }
+
+  /** Stop the worker threads, the speculative executions still running are abandoned. */
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Start the speculative execution of the transactions of a block. The world state must not have
+   * any pending change, since the speculative executions read the state at the start of the block
+   * from its storage.
+   *
+   * @param transactionProcessor the transaction processor of the block protocol spec
+   * @param blockchain the blockchain
+   * @param worldState the world state the block is processed on
+   * @param blockHeader the header of the block
+   * @param transactions the transactions of the block
+   * @param miningBeneficiary the mining beneficiary of the block
+   * @param dataGasPrice the data gas price of the block
+   * @return the running execution, which must be closed once the block transactions are processed
+   */
+  public BlockExecution runAsyncBlock(
+      final MainnetTransactionProcessor transactionProcessor,
+      final Blockchain blockchain,
+      final BonsaiWorldState worldState,
+      final ProcessableBlockHeader blockHeader,
+      final List<Transaction> transactions,
+      final Address miningBeneficiary,
+      final Wei dataGasPrice) {
+    return runAsyncBlock(
+        transactionProcessor,
+        blockchain,
+        worldState,
+        blockHeader,
+        transactions,
+        miningBeneficiary,
+        dataGasPrice,
+        true,
+        TransactionValidationParams.processingBlock());
+  }
+
+  /**
+   * Start the speculative execution of the given transactions with the given validation
+   * parameters, see {@link #runAsyncBlock(MainnetTransactionProcessor, Blockchain,
+   * BonsaiWorldState, ProcessableBlockHeader, List, Address, Wei)}.
+   *
+   * @param transactionProcessor the transaction processor of the block protocol spec
+   * @param blockchain the blockchain
+   * @param worldState the world state the block is processed on
+   * @param blockHeader the header of the block
+   * @param transactions the transactions to execute, the location of a transaction is its index
+   * @param miningBeneficiary the mining beneficiary of the block
+   * @param dataGasPrice the data gas price of the block
+   * @param isPersistingPrivateState whether the resulting private state will be persisted
+   * @param validationParams the validation parameters of the transactions
+   * @return the running execution, which must be closed once the transactions are processed
+   */
+  public BlockExecution runAsyncBlock(
+      final MainnetTransactionProcessor transactionProcessor,
+      final Blockchain blockchain,
+      final BonsaiWorldState worldState,
+      final ProcessableBlockHeader blockHeader,
+      final List<Transaction> transactions,
+      final Address miningBeneficiary,
+      final Wei dataGasPrice,
+      final boolean isPersistingPrivateState,
+      final TransactionValidationParams validationParams) {
+    final BlockExecution blockExecution = new BlockExecution(blockHeader, transactions.size());
+    for (int i = 0; i < transactions.size(); i++) {
+      final int transactionLocation = i;
+      final Transaction transaction = transactions.get(i);
+      blockExecution.futures.add(
+          CompletableFuture.supplyAsync(
+              () ->
+                  blockExecution.claim(transactionLocation)
+                      ? runTransaction(
+                          transactionProcessor,
+                          blockchain,
+                          worldState,
+                          blockHeader,
+                          transaction,
+                          miningBeneficiary,
+                          dataGasPrice,
+                          isPersistingPrivateState,
+                          validationParams)
+                      : Optional.empty(),
+              executor));
+    }
+    return blockExecution;
+  }
+
+  private Optional<ParallelizedTransactionContext> runTransaction(
+      final MainnetTransactionProcessor transactionProcessor,
+      final Blockchain blockchain,
+      final BonsaiWorldState worldState,
+      final ProcessableBlockHeader blockHeader,
+      final Transaction transaction,
+      final Address miningBeneficiary,
+      final Wei dataGasPrice,
+      final boolean isPersistingPrivateState,
+      final TransactionValidationParams validationParams) {
+    final long startNanos = System.nanoTime();
+    try {
+      final CachedMerkleTrieLoader cachedMerkleTrieLoader =
+          worldState.getArchive().getCachedMerkleTrieLoader();
+      final ParallelizedTransactionAccumulator transactionAccumulator =
+          new ParallelizedTransactionAccumulator(
+              worldState,
+              (addr, value) ->
+                  cachedMerkleTrieLoader.preLoadAccount(
+                      worldState.getWorldStateStorage(), worldState.worldStateRootHash, addr),
+              (addr, value) ->
+                  cachedMerkleTrieLoader.preLoadStorageSlot(
+                      worldState.getWorldStateStorage(), addr, value));
+      final AtomicBoolean isMiningBeneficiaryTouchedPreReward = new AtomicBoolean(false);
+      final OperationTracer miningBeneficiaryTracer =
+          new BeforeRewardOperationTracer() {
+            @Override
+            public void traceBeforeRewardTransaction(
+                final WorldView worldView,
+                final org.hyperledger.besu.datatypes.Transaction tx) {
+              isMiningBeneficiaryTouchedPreReward.set(
+                  transactionAccumulator.isAccountTouched(miningBeneficiary));
+            }
+          };
+
+      final TransactionProcessingResult result =
+          transactionProcessor.processTransaction(
+              blockchain,
+              transactionAccumulator,
+              blockHeader,
+              transaction,
+              miningBeneficiary,
+              miningBeneficiaryTracer,
+              new CachingBlockHashLookup(blockHeader, blockchain),
+              isPersistingPrivateState,
+              validationParams,
+              null,
+              dataGasPrice);
+      if (result.isInvalid()) {
+        return Optional.empty();
+      }
+      transactionAccumulator.commit();
+
+      return Optional.of(
+          new ParallelizedTransactionContext(
+              transactionAccumulator,
+              result,
+              isMiningBeneficiaryTouchedPreReward.get(),
+              miningBeneficiaryReward(transactionAccumulator, miningBeneficiary),
+              System.nanoTime() - startNanos));
+    } catch (final RuntimeException e) {
+      // the transaction will be executed again sequentially, which reports the error if any
+      LOG.trace("Speculative execution of transaction {} failed", transaction.getHash(), e);
+      return Optional.empty();
+    }
+  }
+
+  private Wei miningBeneficiaryReward(
+      final BonsaiWorldStateUpdateAccumulator transactionAccumulator,
+      final Address miningBeneficiary) {
+    final BonsaiValue<BonsaiAccount> miningBeneficiaryValue =
+        transactionAccumulator.getAccountsToUpdate().get(miningBeneficiary);
+    if (miningBeneficiaryValue == null || miningBeneficiaryValue.getUpdated() == null) {
+      return Wei.ZERO;
+    }
+    final Wei priorBalance =
+        miningBeneficiaryValue.getPrior() == null
+            ? Wei.ZERO
+            : miningBeneficiaryValue.getPrior().getBalance();
+    return miningBeneficiaryValue.getUpdated().getBalance().subtract(priorBalance);
+  }
+
+  /** The speculative execution of the transactions of one block. */
+  public class BlockExecution implements AutoCloseable {
+
+    private final ProcessableBlockHeader blockHeader;
+    private final AtomicIntegerArray states;
+    private final List<CompletableFuture<Optional<ParallelizedTransactionContext>>> futures;
+    private int confirmedTransactions = 0;
+    private int conflictingTransactions = 0;
+
+    private BlockExecution(final ProcessableBlockHeader blockHeader, final int transactionCount) {
+      this.blockHeader = blockHeader;
+      this.states = new AtomicIntegerArray(transactionCount);
+      this.futures = new ArrayList<>(transactionCount);
+    }
+
+    private boolean claim(final int transactionLocation) {
+      return states.compareAndSet(transactionLocation, PENDING, RUNNING);
+    }
+
+    /**
+     * Try to apply the speculative result of a transaction to the block world state. Must be
+     * called in block order, right after the previous transaction was committed.
+     *
+     * @param worldState the world state the block is processed on
+     * @param miningBeneficiary the mining beneficiary of the block
+     * @param transactionLocation the index of the transaction in the block
+     * @return the processing result if the speculative changes were applied, empty if the
+     *     transaction has to be executed sequentially
+     */
+    public Optional<TransactionProcessingResult> applyParallelizedTransactionResult(
+        final MutableWorldState worldState,
+        final Address miningBeneficiary,
+        final int transactionLocation) {
+      final Optional<TransactionProcessingResult> maybeResult =
+          findConflictFreeResult(worldState, miningBeneficiary, transactionLocation);
+      maybeResult.ifPresent(
+          __ -> importConflictFreeResult(worldState, miningBeneficiary, transactionLocation));
+      return maybeResult;
+    }
+
+    /**
+     * Get the speculative result of a transaction if it does not conflict with the changes
+     * committed to the world state so far. Nothing is applied, the result must be imported with
+     * {@link #importConflictFreeResult} before anything else is committed to the world state, or
+     * dropped.
+     *
+     * @param worldState the world state the block is processed on
+     * @param miningBeneficiary the mining beneficiary of the block
+     * @param transactionLocation the location of the transaction in the speculative execution
+     * @return the processing result if it can be reused, empty if the transaction has to be
+     *     executed sequentially
+     */
+    public Optional<TransactionProcessingResult> findConflictFreeResult(
+        final MutableWorldState worldState,
+        final Address miningBeneficiary,
+        final int transactionLocation) {
+      if (states.compareAndSet(transactionLocation, PENDING, SKIPPED)) {
+        // executing it on the current thread is faster than waiting for a worker
+        transactionsCounter.labels("not_started").inc();
+        return Optional.empty();
+      }
+      final Optional<ParallelizedTransactionContext> maybeContext =
+          futures.get(transactionLocation).join();
+      if (maybeContext.isEmpty()) {
+        transactionsCounter.labels("failed").inc();
+        return Optional.empty();
+      }
+      final ParallelizedTransactionContext context = maybeContext.get();
+      if (collisionDetector.hasCollision(
+          context.transactionAccumulator(),
+          isRewardApplicableSeparately(context) ? Optional.of(miningBeneficiary) : Optional.empty(),
+          (BonsaiWorldStateUpdateAccumulator) worldState.updater())) {
+        conflictingTransactions++;
+        transactionsCounter.labels("conflict").inc();
+        return Optional.empty();
+      }
+      return Optional.of(context.transactionProcessingResult());
+    }
+
+    /**
+     * Import into the world state the speculative changes of a transaction, whose result was just
+     * returned by {@link #findConflictFreeResult}.
+     *
+     * @param worldState the world state the block is processed on
+     * @param miningBeneficiary the mining beneficiary of the block
+     * @param transactionLocation the location of the transaction in the speculative execution
+     */
+    public void importConflictFreeResult(
+        final MutableWorldState worldState,
+        final Address miningBeneficiary,
+        final int transactionLocation) {
+      final ParallelizedTransactionContext context =
+          futures.get(transactionLocation).join().orElseThrow();
+      final ParallelizedTransactionAccumulator transactionAccumulator =
+          context.transactionAccumulator();
+      final BonsaiWorldStateUpdateAccumulator blockAccumulator =
+          (BonsaiWorldStateUpdateAccumulator) worldState.updater();
+
+      final boolean isRewardApplicableSeparately = isRewardApplicableSeparately(context);
+      if (isRewardApplicableSeparately) {
+        transactionAccumulator.getAccountsToUpdate().remove(miningBeneficiary);
+        transactionAccumulator.getCodeToUpdate().remove(miningBeneficiary);
+        transactionAccumulator.getStorageToUpdate().remove(miningBeneficiary);
+      }
+      blockAccumulator.importStateChangesFromSource(transactionAccumulator);
+      if (isRewardApplicableSeparately) {
+        blockAccumulator
+            .getOrCreate(miningBeneficiary)
+            .getMutable()
+            .incrementBalance(context.miningBeneficiaryReward());
+      }
+
+      confirmedTransactions++;
+      transactionsCounter.labels("confirmed").inc();
+      savedExecutionTimeCounter.inc(context.executionTimeNanos());
+    }
+
+    private boolean isRewardApplicableSeparately(final ParallelizedTransactionContext context) {
+      return !context.isMiningBeneficiaryTouchedPreRewardByTransaction()
+          && !context.miningBeneficiaryReward().isZero();
+    }
+
+    /**
+     * Cancel the speculative executions not started yet and wait for the running ones, which read
+     * from the world state storage and must be done before the block is persisted.
+     */
+    @Override
+    public void close() {
+      for (int i = 0; i < futures.size(); i++) {
+        states.compareAndSet(i, PENDING, SKIPPED);
+        if (states.get(i) == RUNNING) {
+          try {
+            futures.get(i).join();
+          } catch (final CompletionException e) {
+            LOG.trace("Speculative execution failed", e);
+          }
+        }
+      }
+      LOG.atDebug()
+          .setMessage("Parallel execution of block {}: {} transactions confirmed, {} conflicting")
+          .addArgument(blockHeader::toLogString)
+          .addArgument(confirmedTransactions)
+          .addArgument(conflictingTransactions)
+          .log();
+    }
+  }
+}
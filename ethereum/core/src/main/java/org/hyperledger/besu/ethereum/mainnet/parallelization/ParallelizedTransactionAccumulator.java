@@ -0,0 +1,61 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.ethereum.bonsai.BonsaiAccount;
+import org.hyperledger.besu.ethereum.bonsai.BonsaiValue;
+import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldView;
+import org.hyperledger.besu.evm.account.Account;
+import org.hyperledger.besu.evm.worldstate.UpdateTrackingAccount;
+
+/**
+ * Accumulator used to execute a single transaction speculatively on top of the state at the start
+ * of the block.
+ *
+ * <p>Unlike the block level accumulator, read-only account lookups are routed through {@link
+ * #loadAccount} so that every account the transaction depends on ends up in {@link
+ * #getAccountsToUpdate()}. The read set is needed to detect conflicts with the transactions that
+ * precede it in the block.
+ */
+class ParallelizedTransactionAccumulator extends BonsaiWorldStateUpdateAccumulator {
+
+  ParallelizedTransactionAccumulator(
+      final BonsaiWorldView world,
+      final Consumer<BonsaiValue<BonsaiAccount>> accountPreloader,
+      final Consumer<StorageSlotKey> storagePreloader) {
+    super(world, accountPreloader, storagePreloader);
+  }
+
+  @Override
+  public Account get(final Address address) {
+    final UpdateTrackingAccount<BonsaiAccount> existing = updatedAccounts.get(address);
+    if (existing != null) {
+      return existing;
+    }
+    if (deletedAccounts.contains(address)) {
+      return null;
+    }
+    return loadAccount(address, BonsaiValue::getUpdated);
+  }
+
+  boolean isAccountTouched(final Address address) {
+    return getAccountsToUpdate().containsKey(address)
+        || updatedAccounts.containsKey(address)
+        || deletedAccounts.contains(address);
+  }
+}
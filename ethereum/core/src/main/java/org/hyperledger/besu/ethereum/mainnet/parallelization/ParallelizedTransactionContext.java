@@ -0,0 +1,69 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+
+/** The outcome of the speculative execution of a single transaction. */
+final class ParallelizedTransactionContext {
+
+  private final ParallelizedTransactionAccumulator transactionAccumulator;
+  private final TransactionProcessingResult transactionProcessingResult;
+  private final boolean isMiningBeneficiaryTouchedPreRewardByTransaction;
+  private final Wei miningBeneficiaryReward;
+  private final long executionTimeNanos;
+
+  ParallelizedTransactionContext(
+      final ParallelizedTransactionAccumulator transactionAccumulator,
+      final TransactionProcessingResult transactionProcessingResult,
+      final boolean isMiningBeneficiaryTouchedPreRewardByTransaction,
+      final Wei miningBeneficiaryReward,
+      final long executionTimeNanos) {
+    this.transactionAccumulator = transactionAccumulator;
+    this.transactionProcessingResult = transactionProcessingResult;
+    this.isMiningBeneficiaryTouchedPreRewardByTransaction =
+        isMiningBeneficiaryTouchedPreRewardByTransaction;
+    this.miningBeneficiaryReward = miningBeneficiaryReward;
+    this.executionTimeNanos = executionTimeNanos;
+  }
+
+  ParallelizedTransactionAccumulator transactionAccumulator() {
+    return transactionAccumulator;
+  }
+
+  TransactionProcessingResult transactionProcessingResult() {
+    return transactionProcessingResult;
+  }
+
+  /**
+   * Whether the transaction itself, and not only the fee payment, read or wrote the mining
+   * beneficiary account. In that case the beneficiary has to be treated like any other account
+   * during conflict detection.
+   *
+   * @return true if the mining beneficiary was touched before the reward
+   */
+  boolean isMiningBeneficiaryTouchedPreRewardByTransaction() {
+    return isMiningBeneficiaryTouchedPreRewardByTransaction;
+  }
+
+  Wei miningBeneficiaryReward() {
+    return miningBeneficiaryReward;
+  }
+
+  long executionTimeNanos() {
+    return executionTimeNanos;
+  }
+}
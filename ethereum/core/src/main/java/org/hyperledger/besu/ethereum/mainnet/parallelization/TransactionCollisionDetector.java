@@ -0,0 +1,124 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.ethereum.bonsai.BonsaiAccount;
+import org.hyperledger.besu.ethereum.bonsai.BonsaiValue;
+import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * Detects whether a speculatively executed transaction read or wrote state that was modified by
+ * the transactions that precede it in the block.
+ *
+ * <p>Everything the transaction touched is compared against what the block accumulator modified so
+ * far. Accounts are compared at the level of nonce, balance, code and deletion, storage at the
+ * level of individual slots. A transaction that cleared the storage of an account conflicts with
+ * any slot of that account modified by the block.
+ */
+class TransactionCollisionDetector {
+
+  /**
+   * Check whether the transaction collides with the state modified by the block so far.
+   *
+   * @param transactionAccumulator the committed accumulator of the speculative execution
+   * @param excludedAddress an address which must not be considered, usually the mining beneficiary
+   *     when it was only touched to pay the transaction fee
+   * @param blockAccumulator the accumulator of the block being processed
+   * @return true if the speculative result cannot be reused
+   */
+  boolean hasCollision(
+      final ParallelizedTransactionAccumulator transactionAccumulator,
+      final Optional<Address> excludedAddress,
+      final BonsaiWorldStateUpdateAccumulator blockAccumulator) {
+    final Set<Address> touchedAddresses = new HashSet<>();
+    touchedAddresses.addAll(transactionAccumulator.getAccountsToUpdate().keySet());
+    touchedAddresses.addAll(transactionAccumulator.getStorageToUpdate().keySet());
+    touchedAddresses.addAll(transactionAccumulator.getCodeToUpdate().keySet());
+    touchedAddresses.addAll(transactionAccumulator.getStorageToClear());
+    touchedAddresses.addAll(transactionAccumulator.getDeletedAccountAddresses());
+    excludedAddress.ifPresent(touchedAddresses::remove);
+
+    for (final Address address : touchedAddresses) {
+      if (isAccountModified(blockAccumulator, address)) {
+        return true;
+      }
+      final Map<StorageSlotKey, BonsaiValue<UInt256>> blockSlots =
+          blockAccumulator.getStorageToUpdate().get(address);
+      if (blockSlots == null || blockSlots.isEmpty()) {
+        continue;
+      }
+      if (transactionAccumulator.getStorageToClear().contains(address)
+          || transactionAccumulator.getDeletedAccountAddresses().contains(address)) {
+        if (blockSlots.values().stream().anyMatch(this::isSlotModified)) {
+          return true;
+        }
+      } else {
+        final Map<StorageSlotKey, BonsaiValue<UInt256>> transactionSlots =
+            transactionAccumulator.getStorageToUpdate().get(address);
+        if (transactionSlots != null) {
+          for (final StorageSlotKey slotKey : transactionSlots.keySet()) {
+            final BonsaiValue<UInt256> blockSlot = blockSlots.get(slotKey);
+            if (blockSlot != null && isSlotModified(blockSlot)) {
+              return true;
+            }
+          }
+        }
+      }
+    }
+    return false;
+  }
+
+  private boolean isAccountModified(
+      final BonsaiWorldStateUpdateAccumulator blockAccumulator, final Address address) {
+    if (blockAccumulator.getStorageToClear().contains(address)
+        || blockAccumulator.getDeletedAccountAddresses().contains(address)) {
+      return true;
+    }
+    final BonsaiValue<BonsaiAccount> accountValue =
+        blockAccumulator.getAccountsToUpdate().get(address);
+    if (accountValue != null
+        && !isSameAccount(accountValue.getPrior(), accountValue.getUpdated())) {
+      return true;
+    }
+    final BonsaiValue<Bytes> codeValue = blockAccumulator.getCodeToUpdate().get(address);
+    return codeValue != null && !Objects.equals(codeValue.getPrior(), codeValue.getUpdated());
+  }
+
+  private boolean isSameAccount(final BonsaiAccount prior, final BonsaiAccount updated) {
+    if (prior == null || updated == null) {
+      return prior == updated;
+    }
+    return prior.getNonce() == updated.getNonce()
+        && prior.getBalance().equals(updated.getBalance())
+        && prior.getCodeHash().equals(updated.getCodeHash());
+  }
+
+  private boolean isSlotModified(final BonsaiValue<UInt256> slotValue) {
+    final UInt256 prior = slotValue.getPrior() == null ? UInt256.ZERO : slotValue.getPrior();
+    final UInt256 updated = slotValue.getUpdated() == null ? UInt256.ZERO : slotValue.getUpdated();
+    return !prior.equals(updated);
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.keyvalue;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.evm.code.CodeAnalysisStorage;
+import org.hyperledger.besu.plugin.services.exception.StorageException;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.primitives.Longs;
+import org.apache.tuweni.bytes.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persists the code analysis of the EVM in the {@link KeyValueSegmentIdentifier#CODE_ANALYSIS}
+ * segment. The analysis is only a cache, failing to read or write it is logged and ignored.
+ *
+ * <p>The analyses are computed on the EVM path, so they are not written there. They are queued and
+ * written in the background, all those queued in a single transaction, and served from the queue
+ * until then. Closing the storage writes the analyses still queued.
+ *
+ * <p>The segment would otherwise grow with every contract ever executed, so the number of analyses
+ * written is counted, and the segment is cleared when it would exceed the maximum number of
+ * entries. The contracts still in use are analysed and written again on their next call.
+ */
+public class CodeAnalysisKeyValueStorage implements CodeAnalysisStorage, Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(CodeAnalysisKeyValueStorage.class);
+
+  /** The default maximum number of analyses kept in the segment. */
+  public static final long DEFAULT_MAX_ENTRIES = 250_000;
+
+  // shorter than a code hash, so it never collides with an analysis
+  private static final byte[] ENTRIES_KEY = {0};
+
+  private final KeyValueStorage storage;
+  private final ExecutorService writeExecutor;
+  private final long maxEntries;
+  private final Map<Hash, Bytes> pendingWrites = new ConcurrentHashMap<>();
+  private final AtomicBoolean writeScheduled = new AtomicBoolean();
+  // only accessed by the writes, which never run concurrently
+  private long entries;
+
+  /**
+   * Instantiates a new code analysis storage.
+   *
+   * @param storage the storage of the code analysis segment
+   * @param writeExecutor the single threaded executor writing the analyses, shut down on close
+   */
+  public CodeAnalysisKeyValueStorage(
+      final KeyValueStorage storage, final ExecutorService writeExecutor) {
+    this(storage, writeExecutor, DEFAULT_MAX_ENTRIES);
+  }
+
+  @VisibleForTesting
+  CodeAnalysisKeyValueStorage(
+      final KeyValueStorage storage, final ExecutorService writeExecutor, final long maxEntries) {
+    this.storage = storage;
+    this.writeExecutor = writeExecutor;
+    this.maxEntries = maxEntries;
+    this.entries = readEntries();
+  }
+
+  private long readEntries() {
+    try {
+      return storage.get(ENTRIES_KEY).map(Longs::fromByteArray).orElse(0L);
+    } catch (final StorageException e) {
+      LOG.debug("Failed to read the number of code analyses", e);
+      return 0L;
+    }
+  }
+
+  @Override
+  public Optional<Bytes> get(final Hash codeHash) {
+    final Bytes pending = pendingWrites.get(codeHash);
+    if (pending != null) {
+      return Optional.of(pending);
+    }
+    try {
+      return storage.get(codeHash.toArrayUnsafe()).map(Bytes::wrap);
+    } catch (final StorageException e) {
+      LOG.debug("Failed to read the code analysis of {}", codeHash, e);
+      return Optional.empty();
+    }
+  }
+
+  @Override
+  public void put(final Hash codeHash, final Bytes analysis) {
+    pendingWrites.put(codeHash, analysis);
+    if (writeScheduled.compareAndSet(false, true)) {
+      try {
+        writeExecutor.execute(this::writePending);
+      } catch (final RejectedExecutionException e) {
+        // closed, the analysis is still served from the queue
+        LOG.trace("Code analysis storage closed, not persisting the analysis of {}", codeHash);
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    writeExecutor.shutdown();
+    try {
+      if (!writeExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+        LOG.warn("Timed out waiting for the code analyses to be written");
+        return;
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+    // the analyses queued after the last write was scheduled
+    writePending();
+  }
+
+  private void writePending() {
+    // cleared first, so the analyses queued while writing schedule the next batch
+    writeScheduled.set(false);
+    final List<Map.Entry<Hash, Bytes>> batch = new ArrayList<>(pendingWrites.entrySet());
+    if (batch.isEmpty()) {
+      return;
+    }
+    try {
+      if (entries + batch.size() > maxEntries) {
+        LOG.debug("Clearing the {} code analyses persisted", entries);
+        storage.clear();
+        entries = 0;
+      }
+      final KeyValueStorageTransaction transaction = storage.startTransaction();
+      batch.forEach(
+          entry ->
+              transaction.put(entry.getKey().toArrayUnsafe(), entry.getValue().toArrayUnsafe()));
+      // analyses written again are counted twice, so the segment is cleared early rather than late
+      transaction.put(ENTRIES_KEY, Longs.toByteArray(entries + batch.size()));
+      transaction.commit();
+      entries += batch.size();
+    } catch (final StorageException e) {
+      LOG.debug("Failed to persist the analysis of {} codes", batch.size(), e);
+    }
+    batch.forEach(entry -> pendingWrites.remove(entry.getKey(), entry.getValue()));
+  }
+}
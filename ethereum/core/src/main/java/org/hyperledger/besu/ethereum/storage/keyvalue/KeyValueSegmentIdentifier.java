@@ -16,6 +16,7 @@ package org.hyperledger.besu.ethereum.storage.keyvalue;
 
 import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
 
+import org.apache.tuweni.bytes.Bytes32;
 import org.bouncycastle.util.Arrays;
 
 public enum KeyValueSegmentIdentifier implements SegmentIdentifier {
@@ -40,7 +41,8 @@ public enum KeyValueSegmentIdentifier implements SegmentIdentifier {
   BACKWARD_SYNC_CHAIN(new byte[] {15}),
   SNAPSYNC_MISSING_ACCOUNT_RANGE(new byte[] {16}),
   SNAPSYNC_ACCOUNT_TO_FIX(new byte[] {17}),
-  CHAIN_PRUNER_STATE(new byte[] {18});
+  CHAIN_PRUNER_STATE(new byte[] {18}),
+  CODE_ANALYSIS(new byte[] {19});
 
   private final byte[] id;
   private final int[] versionList;
@@ -80,6 +82,18 @@ public enum KeyValueSegmentIdentifier implements SegmentIdentifier {
     return containsStaticData;
   }
 
+  @Override
+  public boolean containsColdData() {
+    // the blockchain segment is not cold, headers and the canonical hashes are read all the time
+    return this == TRIE_LOG_STORAGE;
+  }
+
+  @Override
+  public int getKeyPrefixLength() {
+    // flat storage slots are keyed by the account hash followed by the slot hash
+    return this == ACCOUNT_STORAGE_STORAGE ? Bytes32.SIZE : 0;
+  }
+
   @Override
   public boolean includeInDatabaseVersion(final int version) {
     return Arrays.contains(versionList, version);
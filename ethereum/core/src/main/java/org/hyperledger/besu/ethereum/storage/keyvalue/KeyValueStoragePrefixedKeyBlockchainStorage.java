@@ -36,6 +36,7 @@ import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
@@ -107,6 +108,24 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
     return get(TRANSACTION_RECEIPTS_PREFIX, blockHash).map(this::rlpDecodeTransactionReceipts);
   }
 
+  @Override
+  public List<Optional<BlockBody>> getBlockBodies(final List<Hash> blockHashes) {
+    return multiGet(BLOCK_BODY_PREFIX, blockHashes).stream()
+        .map(
+            maybeBytes ->
+                maybeBytes.map(
+                    bytes -> BlockBody.readWrappedBodyFrom(RLP.input(bytes), blockHeaderFunctions)))
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public List<Optional<List<TransactionReceipt>>> getTransactionReceiptsForBlocks(
+      final List<Hash> blockHashes) {
+    return multiGet(TRANSACTION_RECEIPTS_PREFIX, blockHashes).stream()
+        .map(maybeBytes -> maybeBytes.map(this::rlpDecodeTransactionReceipts))
+        .collect(Collectors.toList());
+  }
+
   @Override
   public Optional<Hash> getBlockHash(final long blockNumber) {
     return get(BLOCK_HASH_PREFIX, UInt256.valueOf(blockNumber)).map(this::bytesToHash);
@@ -140,6 +159,17 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
     return blockchainStorage.get(Bytes.concatenate(prefix, key).toArrayUnsafe()).map(Bytes::wrap);
   }
 
+  private List<Optional<Bytes>> multiGet(final Bytes prefix, final List<? extends Bytes> keys) {
+    return blockchainStorage
+        .multiGet(
+            keys.stream()
+                .map(key -> Bytes.concatenate(prefix, key).toArrayUnsafe())
+                .collect(Collectors.toList()))
+        .stream()
+        .map(value -> value.map(Bytes::wrap))
+        .collect(Collectors.toList());
+  }
+
   /**
    * One time migration of variables from the blockchain storage to the dedicated variable storage.
    * To avoid state inconsistency in case of a downgrade done without running the storage
@@ -0,0 +1,117 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.util;
+
+import org.hyperledger.besu.ethereum.rlp.RLP;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Iterates over the RLP encoded blocks concatenated in a file, without decoding them.
+ *
+ * <p>The file is memory mapped in windows, so that it is read by the page cache without being
+ * copied through an intermediate buffer, and a new window is mapped at the start of the block that
+ * does not fit in the current one. Each block is copied out of the mapping, so that the returned
+ * bytes stay valid once the mapping is released.
+ */
+public final class MappedBlockRlpIterator implements Iterator<Bytes>, Closeable {
+  private static final long DEFAULT_MAPPING_SIZE = 1L << 30;
+  // the longest RLP prefix, one byte followed by an eight bytes length
+  private static final int MAX_PREFIX_SIZE = 9;
+
+  private final FileChannel fileChannel;
+  private final long fileSize;
+  private final long mappingSize;
+  private MappedByteBuffer mapping;
+  private long mappingOffset;
+  private long position;
+
+  MappedBlockRlpIterator(final Path file, final long mappingSize) throws IOException {
+    this.fileChannel = FileChannel.open(file);
+    this.fileSize = fileChannel.size();
+    this.mappingSize = mappingSize;
+  }
+
+  public MappedBlockRlpIterator(final Path file) throws IOException {
+    this(file, DEFAULT_MAPPING_SIZE);
+  }
+
+  @Override
+  public boolean hasNext() {
+    return position < fileSize;
+  }
+
+  @Override
+  public Bytes next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException("No more blocks found in the file.");
+    }
+    try {
+      map(Math.min(MAX_PREFIX_SIZE, fileSize - position));
+      final int length = RLP.calculateSize(mappedBytes(Math.min(MAX_PREFIX_SIZE, available())));
+      if (length > fileSize - position) {
+        throw new IllegalStateException(
+            String.format(
+                "Truncated block at offset %d, expected %d bytes but only %d are left",
+                position, length, fileSize - position));
+      }
+      map(length);
+      final Bytes block = Bytes.wrap(mappedBytes(length).toArray());
+      position += length;
+      return block;
+    } catch (final IOException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  /**
+   * Get the offset in the file of the next block.
+   *
+   * @return the offset of the next block
+   */
+  public long getPosition() {
+    return position;
+  }
+
+  @Override
+  public void close() throws IOException {
+    mapping = null;
+    fileChannel.close();
+  }
+
+  private void map(final long length) throws IOException {
+    if (mapping == null || available() < length) {
+      final long size = Math.min(Math.max(mappingSize, length), fileSize - position);
+      mapping = fileChannel.map(FileChannel.MapMode.READ_ONLY, position, size);
+      mappingOffset = position;
+    }
+  }
+
+  private int available() {
+    return (int) (mappingOffset + mapping.capacity() - position);
+  }
+
+  private Bytes mappedBytes(final int length) {
+    return Bytes.wrapByteBuffer(mapping, (int) (position - mappingOffset), length);
+  }
+}
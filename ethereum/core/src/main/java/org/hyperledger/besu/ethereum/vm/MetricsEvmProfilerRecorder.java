@@ -0,0 +1,118 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm;
+
+import org.hyperledger.besu.evm.internal.EvmProfiler;
+import org.hyperledger.besu.evm.operation.Operation;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Exports what the {@link EvmProfiler} samples as metrics.
+ *
+ * <p>Counts and times only cover the sampled frames and precompile calls, multiply them by the
+ * sample rate to estimate the totals. The average time of an operation is its time divided by its
+ * count.
+ */
+public class MetricsEvmProfilerRecorder implements EvmProfiler.Recorder {
+
+  private final LabelledMetric<Counter> operationCounter;
+  private final LabelledMetric<Counter> operationTimeCounter;
+  private final LabelledMetric<Counter> precompileCounter;
+  private final LabelledMetric<Counter> precompileTimeCounter;
+  private final LabelledMetric<Counter> storageAccessCounter;
+
+  private final Map<String, Counter[]> operationCounters = new ConcurrentHashMap<>();
+  private final Map<String, Counter[]> precompileCounters = new ConcurrentHashMap<>();
+  private final Map<String, Counter[]> storageAccessCounters = new ConcurrentHashMap<>();
+
+  /**
+   * Instantiates a new recorder exporting to the metrics system.
+   *
+   * @param metricsSystem the metrics system
+   */
+  public MetricsEvmProfilerRecorder(final MetricsSystem metricsSystem) {
+    operationCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.EVM,
+            "sampled_operations_total",
+            "Number of operations executed by the sampled frames",
+            "operation");
+    operationTimeCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.EVM,
+            "sampled_operation_time_nanoseconds_total",
+            "Time spent executing operations in the sampled frames",
+            "operation");
+    precompileCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.EVM,
+            "sampled_precompiles_total",
+            "Number of sampled precompile calls",
+            "precompile");
+    precompileTimeCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.EVM,
+            "sampled_precompile_time_nanoseconds_total",
+            "Time spent computing the sampled precompile calls",
+            "precompile");
+    storageAccessCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.EVM,
+            "sampled_storage_accesses_total",
+            "Storage accesses of the sampled frames, a hit being a slot already warm",
+            "operation",
+            "result");
+  }
+
+  @Override
+  public void recordOperation(final Operation operation, final long elapsedNanos) {
+    final Counter[] counters =
+        operationCounters.computeIfAbsent(
+            operation.getName(),
+            name ->
+                new Counter[] {operationCounter.labels(name), operationTimeCounter.labels(name)});
+    counters[0].inc();
+    counters[1].inc(elapsedNanos);
+  }
+
+  @Override
+  public void recordPrecompile(final String name, final long elapsedNanos) {
+    final Counter[] counters =
+        precompileCounters.computeIfAbsent(
+            name,
+            n -> new Counter[] {precompileCounter.labels(n), precompileTimeCounter.labels(n)});
+    counters[0].inc();
+    counters[1].inc(elapsedNanos);
+  }
+
+  @Override
+  public void recordStorageAccess(final Operation operation, final boolean warm) {
+    final Counter[] counters =
+        storageAccessCounters.computeIfAbsent(
+            operation.getName(),
+            name ->
+                new Counter[] {
+                  storageAccessCounter.labels(name, "miss"),
+                  storageAccessCounter.labels(name, "hit")
+                });
+    counters[warm ? 1 : 0].inc();
+  }
+}
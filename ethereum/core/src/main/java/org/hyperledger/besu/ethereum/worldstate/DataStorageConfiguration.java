@@ -32,4 +32,9 @@ public interface DataStorageConfiguration {
   DataStorageFormat getDataStorageFormat();
 
   Long getBonsaiMaxLayersToLoad();
+
+  @Value.Default
+  default boolean getBonsaiParallelTxProcessingEnabled() {
+    return false;
+  }
 }
@@ -16,6 +16,7 @@ package org.hyperledger.besu.ethereum.worldstate;
 
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.proof.WorldStateProof;
@@ -53,4 +54,12 @@ public interface WorldStateArchive extends Closeable {
 
   Optional<WorldStateProof> getAccountProof(
       Hash worldStateRoot, Address accountAddress, List<UInt256> accountStorageKeys);
+
+  /**
+   * Start loading the state a block is expected to access in the background, so that its execution
+   * does not have to wait for the storage. This is a hint, implementations are free to ignore it.
+   *
+   * @param block the block that is about to be executed
+   */
+  default void preLoadBlockState(final Block block) {}
 }
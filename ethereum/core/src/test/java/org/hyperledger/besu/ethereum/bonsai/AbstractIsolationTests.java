@@ -181,7 +181,8 @@ public abstract class AbstractIsolationTests {
                           1024 /* MAX_OPEN_FILES*/,
                           4 /*BACKGROUND_THREAD_COUNT*/,
                           8388608 /*CACHE_CAPACITY*/,
-                          false),
+                          false,
+                          true),
                   Arrays.asList(KeyValueSegmentIdentifier.values()),
                   2,
                   RocksDBMetricsFactory.PUBLIC_ROCKS_DB_METRICS))
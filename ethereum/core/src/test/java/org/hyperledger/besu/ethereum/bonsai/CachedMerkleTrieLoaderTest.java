@@ -16,12 +16,21 @@
 package org.hyperledger.besu.ethereum.bonsai;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.StorageSlotKey;
 import org.hyperledger.besu.ethereum.bonsai.cache.CachedMerkleTrieLoader;
 import org.hyperledger.besu.ethereum.bonsai.storage.BonsaiWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
 import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
 import org.hyperledger.besu.ethereum.core.TrieGenerator;
 import org.hyperledger.besu.ethereum.rlp.RLP;
@@ -31,10 +40,13 @@ import org.hyperledger.besu.ethereum.trie.TrieIterator;
 import org.hyperledger.besu.ethereum.trie.patricia.StoredMerklePatriciaTrie;
 import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -83,6 +95,70 @@ public class CachedMerkleTrieLoaderTest {
     assertThat(cachedTrie.get(hashAccountZero)).isEqualTo(trie.get(hashAccountZero));
   }
 
+  @Test
+  public void shouldPrefetchAccountPathWithBatchedRead() {
+    merkleTrieLoader.cacheAccountNodes(
+        inMemoryWorldState, Hash.wrap(trie.getRootHash()), accounts.get(0));
+
+    verify(inMemoryWorldState, times(1)).getStateTrieNodes(anyList());
+    verify(inMemoryWorldState, never()).getAccountStateTrieNode(any(), any());
+  }
+
+  @Test
+  public void shouldAddAccountNodesInCacheDuringBlockPreload() {
+    final CachedMerkleTrieLoader directMerkleTrieLoader =
+        new CachedMerkleTrieLoader(new NoOpMetricsSystem(), Runnable::run);
+    final Block block =
+        new Block(
+            new BlockHeaderTestFixture().coinbase(accounts.get(0)).buildHeader(),
+            BlockBody.empty());
+    directMerkleTrieLoader.preLoadBlock(inMemoryWorldState, Hash.wrap(trie.getRootHash()), block);
+
+    final BonsaiWorldStateKeyValueStorage emptyStorage =
+        new BonsaiWorldStateKeyValueStorage(
+            new InMemoryKeyValueStorageProvider(), new NoOpMetricsSystem());
+    StoredMerklePatriciaTrie<Bytes, Bytes> cachedTrie =
+        new StoredMerklePatriciaTrie<>(
+            (location, hash) ->
+                directMerkleTrieLoader.getAccountStateTrieNode(emptyStorage, location, hash),
+            trie.getRootHash(),
+            Function.identity(),
+            Function.identity());
+
+    final Hash hashAccountZero = Hash.hash(accounts.get(0));
+    assertThat(cachedTrie.get(hashAccountZero)).isEqualTo(trie.get(hashAccountZero));
+  }
+
+  @Test
+  public void shouldKeepAccountsReadAtTheFlatStateRootDuringPreload() {
+    final Hash rootHash = Hash.wrap(trie.getRootHash());
+    final Hash hashAccountZero = Hash.hash(accounts.get(0));
+    final Bytes accountZero = trie.get(hashAccountZero).orElseThrow();
+    doReturn(Optional.of(rootHash)).when(inMemoryWorldState).getWorldStateRootHash();
+    doReturn(Optional.of(accountZero)).when(inMemoryWorldState).getAccount(hashAccountZero);
+
+    merkleTrieLoader.cacheAccountState(inMemoryWorldState, rootHash, accounts.get(0));
+
+    assertThat(merkleTrieLoader.getAccount(rootHash, hashAccountZero, Optional::empty))
+        .contains(accountZero);
+    assertThat(merkleTrieLoader.getAccount(Hash.EMPTY_TRIE_HASH, hashAccountZero, Optional::empty))
+        .isEmpty();
+  }
+
+  @Test
+  public void shouldNotKeepAccountsReadAtAnotherFlatStateRootDuringPreload() {
+    final Hash rootHash = Hash.wrap(trie.getRootHash());
+    final Hash hashAccountZero = Hash.hash(accounts.get(0));
+    doReturn(Optional.of(Hash.EMPTY_TRIE_HASH)).when(inMemoryWorldState).getWorldStateRootHash();
+    doReturn(Optional.of(trie.get(hashAccountZero).orElseThrow()))
+        .when(inMemoryWorldState)
+        .getAccount(hashAccountZero);
+
+    merkleTrieLoader.cacheAccountState(inMemoryWorldState, rootHash, accounts.get(0));
+
+    assertThat(merkleTrieLoader.getAccount(rootHash, hashAccountZero, Optional::empty)).isEmpty();
+  }
+
   @Test
   public void shouldAddStorageNodesInCacheDuringPreload() {
     final Hash hashAccountZero = Hash.hash(accounts.get(0));
@@ -176,4 +252,29 @@ public class CachedMerkleTrieLoaderTest {
     assertThat(originalSlots).isNotEmpty();
     assertThat(originalSlots).isEqualTo(cachedSlots);
   }
+
+  @Test
+  public void shouldCountPreloadTasksDroppedWhenQueueIsFull() throws InterruptedException {
+    final Counter droppedTasksCounter = Mockito.mock(Counter.class);
+    final Executor executor =
+        CachedMerkleTrieLoader.createPreloadExecutor(1, 1, droppedTasksCounter);
+    final CountDownLatch running = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+
+    executor.execute(
+        () -> {
+          running.countDown();
+          try {
+            release.await();
+          } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        });
+    running.await();
+    executor.execute(() -> {});
+    executor.execute(() -> {});
+    release.countDown();
+
+    verify(droppedTasksCounter, times(1)).inc();
+  }
 }
@@ -0,0 +1,224 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.bonsai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.BlockProcessingResult;
+import org.hyperledger.besu.ethereum.bonsai.cache.CachedMerkleTrieLoader;
+import org.hyperledger.besu.ethereum.bonsai.storage.BonsaiWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+import org.hyperledger.besu.ethereum.mainnet.BlockProcessor;
+import org.hyperledger.besu.ethereum.mainnet.MainnetBlockProcessor;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelizedConcurrentTransactionProcessor;
+import org.hyperledger.besu.ethereum.worldstate.DataStorageFormat;
+import org.hyperledger.besu.evm.log.Log;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParallelizedBlockProcessingTests extends AbstractIsolationTests {
+  private static final Address RECIPIENT_1 = Address.fromHexString("0x1001");
+  private static final Address RECIPIENT_2 = Address.fromHexString("0x1002");
+  // logs 32 bytes, then deploys a contract which stores the call value in slot 0
+  private static final Bytes LOGGING_INIT_CODE =
+      Bytes.fromHexString("0x602a60005260206000a063346000556000526004601cf3");
+
+  private final KeyPair sender2 = asKeyPair.apply(accounts.get(1).getPrivateKey().get());
+  private final KeyPair sender3 = asKeyPair.apply(accounts.get(2).getPrivateKey().get());
+  private final AtomicInteger speculativeExecutions = new AtomicInteger();
+  private final List<Transaction> sequentialExecutions = new CopyOnWriteArrayList<>();
+  private BlockProcessor blockProcessor;
+  private BonsaiWorldStateProvider parallelArchive;
+  private BonsaiWorldState parallelWorldState;
+
+  @Before
+  public void setupParallelProcessing() {
+    final ProtocolSpec protocolSpec =
+        protocolSchedule.getByBlockHeader(blockchain.getChainHeadHeader());
+    final MainnetTransactionProcessor transactionProcessor =
+        spy(protocolSpec.getTransactionProcessor());
+    doAnswer(
+            invocation -> {
+              if (Thread.currentThread()
+                  .getName()
+                  .startsWith(ParallelizedConcurrentTransactionProcessor.class.getSimpleName())) {
+                speculativeExecutions.incrementAndGet();
+              } else {
+                sequentialExecutions.add(invocation.getArgument(3));
+              }
+              return invocation.callRealMethod();
+            })
+        .when(transactionProcessor)
+        .processTransaction(
+            any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+    blockProcessor =
+        new MainnetBlockProcessor(
+            transactionProcessor,
+            protocolSpec.getTransactionReceiptFactory(),
+            protocolSpec.getBlockReward(),
+            protocolSpec.getMiningBeneficiaryCalculator(),
+            protocolSpec.isSkipZeroBlockRewards(),
+            protocolSchedule);
+
+    parallelArchive =
+        new BonsaiWorldStateProvider(
+            (BonsaiWorldStateKeyValueStorage)
+                new InMemoryKeyValueStorageProvider()
+                    .createWorldStateStorage(DataStorageFormat.BONSAI),
+            blockchain,
+            Optional.of(16L),
+            new CachedMerkleTrieLoader(new NoOpMetricsSystem()),
+            new NoOpMetricsSystem(),
+            null,
+            Optional.of(
+                new ParallelizedConcurrentTransactionProcessor(
+                    Executors.newFixedThreadPool(
+                        4,
+                        new ThreadFactoryBuilder()
+                            .setNameFormat(
+                                ParallelizedConcurrentTransactionProcessor.class.getSimpleName()
+                                    + "-%d")
+                            .build()),
+                    new NoOpMetricsSystem())));
+    parallelWorldState = (BonsaiWorldState) parallelArchive.getMutable();
+    genesisState.writeStateTo(parallelWorldState);
+  }
+
+  @After
+  public void closeParallelArchive() {
+    parallelArchive.close();
+  }
+
+  @Test
+  public void parallelProcessingHasTheSameResultsAsSequentialProcessing() {
+    final Transaction firstTransfer = transfer(sender1, 0, RECIPIENT_1);
+    final Transaction sameRecipientTransfer = transfer(sender2, 0, RECIPIENT_1);
+    final Transaction deployment = deployment(sender3, 0);
+    final Transaction sameSenderTransfer = transfer(sender1, 1, RECIPIENT_2);
+    final Transaction sameSenderDeployment = deployment(sender2, 1);
+    final Block block1 =
+        forTransactions(
+            List.of(
+                firstTransfer,
+                sameRecipientTransfer,
+                deployment,
+                sameSenderTransfer,
+                sameSenderDeployment));
+
+    assertThat(block1.getBody().getTransactions()).hasSize(5);
+    assertParallelProcessingMatchesSequentialProcessing(
+        block1, List.of(sameRecipientTransfer, sameSenderTransfer, sameSenderDeployment));
+
+    final Address contract =
+        Address.contractAddress(
+            Address.extract(Hash.hash(sender3.getPublicKey().getEncodedBytes())), 0);
+    final Transaction firstCall = call(sender1, 2, contract, 1);
+    final Transaction sameSlotCall = call(sender2, 2, contract, 2);
+    final Transaction otherTransfer = transfer(sender3, 1, RECIPIENT_2);
+    final Transaction otherDeployment = deployment(sender3, 2);
+    final Block block2 =
+        forTransactions(List.of(firstCall, sameSlotCall, otherTransfer, otherDeployment));
+
+    assertThat(block2.getBody().getTransactions()).hasSize(4);
+    assertParallelProcessingMatchesSequentialProcessing(
+        block2, List.of(sameSlotCall, otherDeployment));
+  }
+
+  private void assertParallelProcessingMatchesSequentialProcessing(
+      final Block block, final List<Transaction> conflictingTransactions) {
+    final BlockProcessingResult sequentialResult =
+        blockProcessor.processBlock(blockchain, archive.getMutable(), block);
+    speculativeExecutions.set(0);
+    sequentialExecutions.clear();
+    final BlockProcessingResult parallelResult =
+        blockProcessor.processBlock(blockchain, parallelWorldState, block);
+    blockchain.appendBlock(block, sequentialResult.getReceipts());
+
+    assertThat(sequentialResult.isSuccessful()).isTrue();
+    assertThat(parallelResult.isSuccessful()).isTrue();
+    assertThat(parallelWorldState.rootHash())
+        .isEqualTo(archive.getMutable().rootHash())
+        .isEqualTo(block.getHeader().getStateRoot());
+    assertThat(parallelResult.getReceipts()).isEqualTo(sequentialResult.getReceipts());
+    assertThat(logs(parallelResult)).isNotEmpty().isEqualTo(logs(sequentialResult));
+
+    assertThat(speculativeExecutions).hasPositiveValue();
+    // the speculative results of the transactions touching the state modified before them in the
+    // block are not reused
+    assertThat(sequentialExecutions).containsAll(conflictingTransactions);
+  }
+
+  private static List<Log> logs(final BlockProcessingResult result) {
+    return result.getReceipts().stream()
+        .map(TransactionReceipt::getLogsList)
+        .flatMap(List::stream)
+        .toList();
+  }
+
+  private Transaction transfer(final KeyPair sender, final long nonce, final Address to) {
+    return transaction(sender, nonce, Optional.of(to), Wei.of(1_000), Bytes.EMPTY, 21_000L);
+  }
+
+  private Transaction deployment(final KeyPair sender, final long nonce) {
+    return transaction(sender, nonce, Optional.empty(), Wei.ZERO, LOGGING_INIT_CODE, 100_000L);
+  }
+
+  private Transaction call(
+      final KeyPair sender, final long nonce, final Address contract, final long value) {
+    return transaction(sender, nonce, Optional.of(contract), Wei.of(value), Bytes.EMPTY, 100_000L);
+  }
+
+  private Transaction transaction(
+      final KeyPair sender,
+      final long nonce,
+      final Optional<Address> to,
+      final Wei value,
+      final Bytes payload,
+      final long gasLimit) {
+    return new TransactionTestFixture()
+        .sender(Address.extract(Hash.hash(sender.getPublicKey().getEncodedBytes())))
+        .to(to)
+        .value(value)
+        .payload(payload)
+        .gasLimit(gasLimit)
+        .nonce(nonce)
+        .createTransaction(sender);
+  }
+}
@@ -25,7 +25,6 @@ import org.hyperledger.besu.ethereum.bonsai.trielog.TrieLogLayer;
 import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldState;
 import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
 import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
-import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
@@ -34,8 +33,6 @@ import org.hyperledger.besu.util.io.RollingFileReader;
 import java.io.IOException;
 import java.nio.file.Path;
 
-import org.apache.tuweni.bytes.Bytes;
-
 public class RollingImport {
 
   public static void main(final String[] arg) throws IOException {
@@ -77,8 +74,7 @@ public class RollingImport {
         if (bytes.length < 1) {
           continue;
         }
-        final TrieLogLayer layer =
-            TrieLogFactoryImpl.readFrom(new BytesValueRLPInput(Bytes.wrap(bytes), false));
+        final TrieLogLayer layer = new TrieLogFactoryImpl().deserialize(bytes);
         final BonsaiWorldStateUpdateAccumulator updater =
             (BonsaiWorldStateUpdateAccumulator) bonsaiState.updater();
         updater.rollForward(layer);
@@ -106,8 +102,7 @@ public class RollingImport {
         count--;
         reader.seek(count);
         final byte[] bytes = reader.readBytes();
-        final TrieLogLayer layer =
-            TrieLogFactoryImpl.readFrom(new BytesValueRLPInput(Bytes.wrap(bytes), false));
+        final TrieLogLayer layer = new TrieLogFactoryImpl().deserialize(bytes);
         final BonsaiWorldStateUpdateAccumulator updater =
             (BonsaiWorldStateUpdateAccumulator) bonsaiState.updater();
         updater.rollBack(layer);
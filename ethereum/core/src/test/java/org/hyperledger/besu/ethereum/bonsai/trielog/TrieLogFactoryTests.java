@@ -71,4 +71,46 @@ public class TrieLogFactoryTests {
     TrieLog layer = factory.deserialize(rlp);
     assertThat(layer).isEqualTo(trieLogFixture);
   }
+
+  @Test
+  public void testLegacyFormatIsStillReadable() {
+    TrieLogFactoryImpl factory = new TrieLogFactoryImpl();
+    byte[] legacy = factory.serializeLegacy(trieLogFixture);
+
+    assertThat(legacy[0]).isNotEqualTo(CompactTrieLogLayer.FORMAT_VERSION);
+    assertThat(factory.deserialize(legacy)).isEqualTo(trieLogFixture);
+  }
+
+  @Test
+  public void testCompactFormatKeepsValueChanges() {
+    final Address otherAccount = Address.fromHexString("0xfeedbeef");
+    final StateTrieAccountValue prior =
+        new StateTrieAccountValue(5, Wei.fromEth(2), Hash.EMPTY_TRIE_HASH, Hash.EMPTY);
+    final TrieLogLayer layer =
+        new TrieLogLayer()
+            .setBlockHash(headerFixture.getBlockHash())
+            .addAccountChange(
+                accountFixture,
+                prior,
+                new StateTrieAccountValue(7, Wei.fromEth(1), Hash.EMPTY_TRIE_HASH, Hash.EMPTY))
+            .addAccountChange(otherAccount, prior, null)
+            .addStorageChange(accountFixture, new StorageSlotKey(UInt256.ONE), UInt256.ZERO, null)
+            .addStorageChange(
+                accountFixture, new StorageSlotKey(UInt256.valueOf(2)), null, UInt256.MAX_VALUE);
+
+    TrieLogFactory factory = new TrieLogFactoryImpl();
+    byte[] compact = factory.serialize(layer);
+    assertThat(compact[0]).isEqualTo(CompactTrieLogLayer.FORMAT_VERSION);
+
+    TrieLog decoded = factory.deserialize(compact);
+    assertThat(decoded.getPriorAccount(otherAccount)).contains(prior);
+    assertThat(decoded.getAccount(otherAccount)).isEmpty();
+    assertThat(
+            decoded.getPriorStorageByStorageSlotKey(
+                accountFixture, new StorageSlotKey(UInt256.ONE)))
+        .contains(UInt256.ZERO);
+    assertThat(decoded.getStorageByStorageSlotKey(accountFixture, new StorageSlotKey(UInt256.ONE)))
+        .isEmpty();
+    assertThat(decoded).isEqualTo(layer);
+  }
 }
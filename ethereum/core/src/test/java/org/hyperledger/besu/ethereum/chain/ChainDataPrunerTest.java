@@ -17,6 +17,7 @@ package org.hyperledger.besu.ethereum.chain;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
 import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
@@ -26,6 +27,7 @@ import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.AbstractExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -42,17 +44,18 @@ public class ChainDataPrunerTest {
             new InMemoryKeyValueStorage(),
             new VariablesKeyValueStorage(new InMemoryKeyValueStorage()),
             new MainnetBlockHeaderFunctions());
+    Block genesisBlock = gen.genesisBlock();
+    final MutableBlockchain blockchain =
+        DefaultBlockchain.createMutable(
+            genesisBlock, blockchainStorage, new NoOpMetricsSystem(), 0);
     final ChainDataPruner chainDataPruner =
         new ChainDataPruner(
             blockchainStorage,
+            blockchain,
             new ChainDataPrunerStorage(new InMemoryKeyValueStorage()),
             512,
             0,
             new BlockingExecutor());
-    Block genesisBlock = gen.genesisBlock();
-    final MutableBlockchain blockchain =
-        DefaultBlockchain.createMutable(
-            genesisBlock, blockchainStorage, new NoOpMetricsSystem(), 0);
     blockchain.observeBlockAdded(chainDataPruner);
 
     // Generate & Import 1000 blocks
@@ -80,17 +83,18 @@ public class ChainDataPrunerTest {
             new InMemoryKeyValueStorage(),
             new VariablesKeyValueStorage(new InMemoryKeyValueStorage()),
             new MainnetBlockHeaderFunctions());
+    Block genesisBlock = gen.genesisBlock();
+    final MutableBlockchain blockchain =
+        DefaultBlockchain.createMutable(
+            genesisBlock, blockchainStorage, new NoOpMetricsSystem(), 0);
     final ChainDataPruner chainDataPruner =
         new ChainDataPruner(
             blockchainStorage,
+            blockchain,
             new ChainDataPrunerStorage(new InMemoryKeyValueStorage()),
             512,
             0,
             new BlockingExecutor());
-    Block genesisBlock = gen.genesisBlock();
-    final MutableBlockchain blockchain =
-        DefaultBlockchain.createMutable(
-            genesisBlock, blockchainStorage, new NoOpMetricsSystem(), 0);
     blockchain.observeBlockAdded(chainDataPruner);
 
     List<Block> canonicalChain = gen.blockSequence(genesisBlock, 1000);
@@ -117,6 +121,48 @@ public class ChainDataPrunerTest {
     }
   }
 
+  @Test
+  public void prunedBlockIsNotServedFromCache() {
+    final BlockDataGenerator gen = new BlockDataGenerator();
+    final BlockchainStorage blockchainStorage =
+        new KeyValueStoragePrefixedKeyBlockchainStorage(
+            new InMemoryKeyValueStorage(),
+            new VariablesKeyValueStorage(new InMemoryKeyValueStorage()),
+            new MainnetBlockHeaderFunctions());
+    Block genesisBlock = gen.genesisBlock();
+    final MutableBlockchain blockchain =
+        DefaultBlockchain.createMutable(
+            genesisBlock, blockchainStorage, new NoOpMetricsSystem(), 0, null, 64);
+    final ChainDataPruner chainDataPruner =
+        new ChainDataPruner(
+            blockchainStorage,
+            blockchain,
+            new ChainDataPrunerStorage(new InMemoryKeyValueStorage()),
+            8,
+            0,
+            new BlockingExecutor());
+    blockchain.observeBlockAdded(chainDataPruner);
+
+    final List<Block> chain = gen.blockSequence(genesisBlock, 16);
+    for (int i = 0; i < 8; i++) {
+      blockchain.appendBlock(chain.get(i), gen.receipts(chain.get(i)));
+    }
+    // the first block is cached, it is read again after being appended
+    final Hash firstHash = chain.get(0).getHash();
+    assertThat(blockchain.getBlockByHash(firstHash)).isPresent();
+
+    for (int i = 8; i < 16; i++) {
+      blockchain.appendBlock(chain.get(i), gen.receipts(chain.get(i)));
+    }
+
+    assertThat(blockchain.getBlockHeader(firstHash)).isEmpty();
+    assertThat(blockchain.getBlockBody(firstHash)).isEmpty();
+    assertThat(blockchain.getTxReceipts(firstHash)).isEmpty();
+    assertThat(blockchain.getTotalDifficultyByHash(firstHash)).isEmpty();
+    assertThat(blockchain.getBlockBodies(List.of(firstHash))).containsExactly(Optional.empty());
+    assertThat(blockchain.getBlockByHash(chain.get(15).getHash())).isPresent();
+  }
+
   protected static class BlockingExecutor extends AbstractExecutorService {
     @Override
     public void shutdown() {}
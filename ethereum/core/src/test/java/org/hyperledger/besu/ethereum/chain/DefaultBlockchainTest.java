@@ -16,6 +16,8 @@ package org.hyperledger.besu.ethereum.chain;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
 
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.core.Block;
@@ -40,6 +42,10 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
@@ -719,6 +725,125 @@ public class DefaultBlockchainTest {
     assertThat(blockchain.blockIsOnCanonicalChain(originalHead.getHash())).isFalse();
   }
 
+  @Test
+  public void evictedBlockDataIsNotServedWhenCachingIsEnabled() {
+    final BlockDataGenerator gen = new BlockDataGenerator();
+    final List<Block> chain = gen.blockSequence(3);
+    final List<List<TransactionReceipt>> blockReceipts =
+        chain.stream().map(gen::receipts).collect(Collectors.toList());
+    final BlockchainStorage blockchainStorage =
+        createStorage(new InMemoryKeyValueStorage(), new InMemoryKeyValueStorage());
+    final DefaultBlockchain blockchain =
+        (DefaultBlockchain)
+            DefaultBlockchain.createMutable(
+                chain.get(0), blockchainStorage, new NoOpMetricsSystem(), 0, null, 10);
+    for (int i = 1; i < chain.size(); i++) {
+      blockchain.appendBlock(chain.get(i), blockReceipts.get(i));
+    }
+
+    final Block head = chain.get(chain.size() - 1);
+    assertBlockDataIsStored(blockchain, head, blockReceipts.get(chain.size() - 1));
+
+    // remove the data from the storage, as the chain data pruner does
+    final BlockchainStorage.Updater updater = blockchainStorage.updater();
+    updater.removeBlockHeader(head.getHash());
+    updater.removeBlockBody(head.getHash());
+    updater.removeTransactionReceipts(head.getHash());
+    updater.removeTotalDifficulty(head.getHash());
+    updater.commit();
+    blockchain.evictBlocksFromCache(List.of(head.getHash()));
+
+    assertThat(blockchain.getBlockHeader(head.getHash())).isEmpty();
+    assertThat(blockchain.getBlockBody(head.getHash())).isEmpty();
+    assertThat(blockchain.getTxReceipts(head.getHash())).isEmpty();
+    assertThat(blockchain.getTotalDifficultyByHash(head.getHash())).isEmpty();
+    assertThat(blockchain.getBlockBodies(List.of(head.getHash())))
+        .containsExactly(Optional.empty());
+    assertThat(blockchain.getTxReceiptsForBlocks(List.of(head.getHash())))
+        .containsExactly(Optional.empty());
+    // the other blocks are still served
+    final Block parent = chain.get(chain.size() - 2);
+    assertBlockDataIsStored(blockchain, parent, blockReceipts.get(chain.size() - 2));
+  }
+
+  @Test
+  public void blockDataLoadedBeforeItsRemovalIsNotCachedAfterItsEviction() throws Exception {
+    final BlockDataGenerator gen = new BlockDataGenerator();
+    final List<Block> chain = gen.blockSequence(2);
+    final BlockchainStorage blockchainStorage =
+        spy(createStorage(new InMemoryKeyValueStorage(), new InMemoryKeyValueStorage()));
+    final DefaultBlockchain blockchain =
+        (DefaultBlockchain)
+            DefaultBlockchain.createMutable(
+                chain.get(0), blockchainStorage, new NoOpMetricsSystem(), 0, null, 10);
+    final Block head = chain.get(1);
+    blockchain.appendBlock(head, gen.receipts(head));
+    // appended blocks are cached, drop it so that the next read loads it from the storage
+    blockchain.evictBlocksFromCache(List.of(head.getHash()));
+
+    // the header is read from the storage, then the block is removed before it is cached
+    final CountDownLatch loaded = new CountDownLatch(1);
+    final CountDownLatch removed = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              final Object header = invocation.callRealMethod();
+              loaded.countDown();
+              removed.await(10, TimeUnit.SECONDS);
+              return header;
+            })
+        .when(blockchainStorage)
+        .getBlockHeader(head.getHash());
+    final CompletableFuture<Optional<BlockHeader>> read =
+        CompletableFuture.supplyAsync(() -> blockchain.getBlockHeader(head.getHash()));
+    assertThat(loaded.await(10, TimeUnit.SECONDS)).isTrue();
+
+    final BlockchainStorage.Updater updater = blockchainStorage.updater();
+    updater.removeBlockHeader(head.getHash());
+    updater.commit();
+    final CompletableFuture<Void> eviction =
+        CompletableFuture.runAsync(() -> blockchain.evictBlocksFromCache(List.of(head.getHash())));
+    // the eviction waits for the read to have cached the header it loaded
+    assertThatThrownBy(() -> eviction.get(100, TimeUnit.MILLISECONDS))
+        .isInstanceOf(TimeoutException.class);
+    removed.countDown();
+
+    assertThat(read.get(10, TimeUnit.SECONDS)).contains(head.getHeader());
+    eviction.get(10, TimeUnit.SECONDS);
+    assertThat(blockchain.getBlockHeader(head.getHash())).isEmpty();
+  }
+
+  @Test
+  public void rewindChainWhenCachingIsEnabled() {
+    final BlockDataGenerator gen = new BlockDataGenerator(2);
+    final List<Block> chain = gen.blockSequence(4);
+    final List<List<TransactionReceipt>> blockReceipts =
+        chain.stream().map(gen::receipts).collect(Collectors.toList());
+    final DefaultBlockchain blockchain =
+        (DefaultBlockchain)
+            DefaultBlockchain.createMutable(
+                chain.get(0),
+                createStorage(new InMemoryKeyValueStorage(), new InMemoryKeyValueStorage()),
+                new NoOpMetricsSystem(),
+                0,
+                null,
+                10);
+    for (int i = 1; i < chain.size(); i++) {
+      blockchain.appendBlock(chain.get(i), blockReceipts.get(i));
+    }
+    final Block originalHead = blockchain.getChainHeadBlock();
+    final Block targetHead = chain.get(chain.size() - 2);
+
+    blockchain.rewindToBlock(targetHead.getHeader().getNumber());
+
+    assertBlockIsHead(blockchain, targetHead);
+    assertTotalDifficultiesAreConsistent(blockchain, targetHead);
+    assertThat(blockchain.getBlockHeader(originalHead.getHeader().getNumber())).isNotPresent();
+    // the data of the old head is still available by hash
+    assertThat(blockchain.getBlockHeader(originalHead.getHash()))
+        .contains(originalHead.getHeader());
+    assertThat(blockchain.blockIsOnCanonicalChain(originalHead.getHash())).isFalse();
+  }
+
   @Test
   public void appendBlockForFork() {
     final BlockDataGenerator gen = new BlockDataGenerator(2);
@@ -0,0 +1,94 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator.BlockOptions;
+import org.hyperledger.besu.ethereum.core.encoding.TransactionDecoder;
+import org.hyperledger.besu.ethereum.core.encoding.TransactionEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class TransactionSenderRecoveryTest {
+
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+
+  private List<Transaction> transactionsWithoutSender(final int count) {
+    // decoded transactions have to recover their sender from the signature
+    return IntStream.range(0, count)
+        .mapToObj(i -> gen.transaction())
+        .map(TransactionEncoder::encodeOpaqueBytes)
+        .map(TransactionDecoder::decodeOpaqueBytes)
+        .collect(Collectors.toList());
+  }
+
+  @Test
+  public void recoversSendersOfAllBlocksInBatches() {
+    final List<Block> blocks = new ArrayList<>();
+    final List<Transaction> transactions = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      final List<Transaction> blockTransactions =
+          transactionsWithoutSender(TransactionSenderRecovery.BATCH_SIZE);
+      transactions.addAll(blockTransactions);
+      blocks.add(gen.block(BlockOptions.create().addTransaction(blockTransactions)));
+    }
+    assertThat(transactions).allMatch(transaction -> transaction.sender == null);
+
+    final ExecutorService executor = mock(ExecutorService.class);
+    doAnswer(
+            invocation -> {
+              invocation.<Runnable>getArgument(0).run();
+              return null;
+            })
+        .when(executor)
+        .execute(any());
+    final TransactionSenderRecovery senderRecovery = new TransactionSenderRecovery(executor);
+
+    assertThat(senderRecovery.recoverSenders(blocks)).isCompleted();
+    verify(executor, times(3)).execute(any());
+    assertThat(transactions).allMatch(transaction -> transaction.sender != null);
+  }
+
+  @Test
+  public void completesImmediatelyWithoutTransactions() {
+    final ExecutorService executor = mock(ExecutorService.class);
+    final TransactionSenderRecovery senderRecovery = new TransactionSenderRecovery(executor);
+
+    assertThat(senderRecovery.recoverSenders(List.of())).isCompleted();
+    verifyNoInteractions(executor);
+  }
+
+  @Test
+  public void closeShutsTheExecutorDown() {
+    final ExecutorService executor = mock(ExecutorService.class);
+
+    new TransactionSenderRecovery(executor).close();
+
+    verify(executor).shutdown();
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.evm.log.Log;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+class CodeAnalysisWarmerTest {
+
+  private static final Address CONTRACT_A = Address.fromHexString("0xa");
+  private static final Address CONTRACT_B = Address.fromHexString("0xb");
+  private static final Address CONTRACT_C = Address.fromHexString("0xc");
+
+  private final Blockchain blockchain = mock(Blockchain.class);
+
+  @Test
+  void shouldRankContractsByCallsAndLogsOfRecentBlocks() {
+    givenBlock(3, List.of(CONTRACT_A, CONTRACT_B), List.of(CONTRACT_A));
+    givenBlock(2, List.of(CONTRACT_B), List.of(CONTRACT_A));
+    givenBlock(1, List.of(CONTRACT_C, CONTRACT_C, CONTRACT_C, CONTRACT_C), List.of());
+
+    assertThat(createWarmer(2, 10).mostCalledContracts(3)).containsExactly(CONTRACT_A, CONTRACT_B);
+    assertThat(createWarmer(3, 2).mostCalledContracts(3)).containsExactly(CONTRACT_C, CONTRACT_A);
+  }
+
+  @Test
+  void shouldIgnoreContractCreations() {
+    givenBlock(1, Collections.singletonList(null), List.of());
+
+    assertThat(createWarmer(1, 10).mostCalledContracts(1)).isEmpty();
+  }
+
+  private CodeAnalysisWarmer createWarmer(final int blocks, final int contracts) {
+    return new CodeAnalysisWarmer(
+        blockchain,
+        mock(WorldStateArchive.class),
+        mock(ProtocolSchedule.class),
+        blocks,
+        contracts);
+  }
+
+  private void givenBlock(
+      final long number, final List<Address> recipients, final List<Address> loggers) {
+    final Hash blockHash = Hash.hash(Bytes.ofUnsignedLong(number));
+    final List<Transaction> transactions =
+        recipients.stream()
+            .map(
+                recipient -> {
+                  final Transaction transaction = mock(Transaction.class);
+                  when(transaction.getTo()).thenReturn(Optional.ofNullable(recipient));
+                  return transaction;
+                })
+            .toList();
+    final List<Log> logs =
+        loggers.stream().map(logger -> new Log(logger, Bytes.EMPTY, List.of())).toList();
+    when(blockchain.getBlockHashByNumber(number)).thenReturn(Optional.of(blockHash));
+    when(blockchain.getBlockBody(blockHash))
+        .thenReturn(Optional.of(new BlockBody(transactions, List.of())));
+    when(blockchain.getTxReceipts(blockHash))
+        .thenReturn(
+            Optional.of(List.of(new TransactionReceipt(1, 21_000L, logs, Optional.empty()))));
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.bonsai.BonsaiAccount;
+import org.hyperledger.besu.ethereum.bonsai.BonsaiValue;
+import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldStateUpdateAccumulator.StorageConsumingMap;
+import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldView;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TransactionCollisionDetectorTest {
+
+  private static final Address ADDRESS = Address.fromHexString("0x1");
+  private static final Address OTHER_ADDRESS = Address.fromHexString("0x2");
+  private static final Address MINING_BENEFICIARY = Address.fromHexString("0x3");
+  private static final StorageSlotKey SLOT = new StorageSlotKey(UInt256.ONE);
+  private static final StorageSlotKey OTHER_SLOT = new StorageSlotKey(UInt256.valueOf(2));
+
+  @Mock BonsaiWorldView worldView;
+
+  private final TransactionCollisionDetector collisionDetector = new TransactionCollisionDetector();
+  private BonsaiWorldStateUpdateAccumulator blockAccumulator;
+  private ParallelizedTransactionAccumulator transactionAccumulator;
+
+  @Before
+  public void setup() {
+    blockAccumulator =
+        new BonsaiWorldStateUpdateAccumulator(worldView, (__, ___) -> {}, (__, ___) -> {});
+    transactionAccumulator =
+        new ParallelizedTransactionAccumulator(worldView, (__, ___) -> {}, (__, ___) -> {});
+  }
+
+  @Test
+  public void noCollisionWhenDistinctAccountsAreTouched() {
+    putAccount(blockAccumulator, ADDRESS, 1, 2);
+    putAccount(transactionAccumulator, OTHER_ADDRESS, 1, 2);
+
+    assertThat(hasCollision(Optional.empty())).isFalse();
+  }
+
+  @Test
+  public void collisionWhenAccountModifiedByBlockIsTouched() {
+    putAccount(blockAccumulator, ADDRESS, 1, 2);
+    putAccount(transactionAccumulator, ADDRESS, 1, 1);
+
+    assertThat(hasCollision(Optional.empty())).isTrue();
+  }
+
+  @Test
+  public void noCollisionWhenAccountOnlyReadByBlockIsTouched() {
+    putAccount(blockAccumulator, ADDRESS, 1, 1);
+    putAccount(transactionAccumulator, ADDRESS, 1, 2);
+
+    assertThat(hasCollision(Optional.empty())).isFalse();
+  }
+
+  @Test
+  public void noCollisionWhenOnlyExcludedMiningBeneficiaryIsShared() {
+    putAccount(blockAccumulator, MINING_BENEFICIARY, 1, 2);
+    putAccount(transactionAccumulator, MINING_BENEFICIARY, 1, 3);
+
+    assertThat(hasCollision(Optional.of(MINING_BENEFICIARY))).isFalse();
+    assertThat(hasCollision(Optional.empty())).isTrue();
+  }
+
+  @Test
+  public void collisionWhenSameSlotIsModifiedByBlock() {
+    putSlot(blockAccumulator, ADDRESS, SLOT, UInt256.ZERO, UInt256.ONE);
+    putSlot(transactionAccumulator, ADDRESS, SLOT, UInt256.ZERO, UInt256.ZERO);
+
+    assertThat(hasCollision(Optional.empty())).isTrue();
+  }
+
+  @Test
+  public void noCollisionWhenDistinctSlotsOfSameAccountAreModified() {
+    putSlot(blockAccumulator, ADDRESS, SLOT, UInt256.ZERO, UInt256.ONE);
+    putSlot(transactionAccumulator, ADDRESS, OTHER_SLOT, UInt256.ZERO, UInt256.ONE);
+
+    assertThat(hasCollision(Optional.empty())).isFalse();
+  }
+
+  @Test
+  public void collisionWhenTransactionClearsStorageModifiedByBlock() {
+    putSlot(blockAccumulator, ADDRESS, SLOT, UInt256.ZERO, UInt256.ONE);
+    transactionAccumulator.getStorageToClear().add(ADDRESS);
+
+    assertThat(hasCollision(Optional.empty())).isTrue();
+  }
+
+  private boolean hasCollision(final Optional<Address> excludedAddress) {
+    return collisionDetector.hasCollision(
+        transactionAccumulator, excludedAddress, blockAccumulator);
+  }
+
+  private void putAccount(
+      final BonsaiWorldStateUpdateAccumulator accumulator,
+      final Address address,
+      final long priorBalance,
+      final long updatedBalance) {
+    accumulator
+        .getAccountsToUpdate()
+        .put(
+            address,
+            new BonsaiValue<>(
+                account(accumulator, address, priorBalance),
+                account(accumulator, address, updatedBalance)));
+  }
+
+  private BonsaiAccount account(
+      final BonsaiWorldView context, final Address address, final long balance) {
+    return new BonsaiAccount(
+        context,
+        address,
+        Hash.hash(address),
+        0,
+        Wei.of(balance),
+        Hash.EMPTY_TRIE_HASH,
+        Hash.EMPTY,
+        true);
+  }
+
+  private void putSlot(
+      final BonsaiWorldStateUpdateAccumulator accumulator,
+      final Address address,
+      final StorageSlotKey slotKey,
+      final UInt256 prior,
+      final UInt256 updated) {
+    accumulator
+        .getStorageToUpdate()
+        .computeIfAbsent(
+            address,
+            __ -> new StorageConsumingMap<>(address, new ConcurrentHashMap<>(), (___, ____) -> {}))
+        .put(slotKey, new BonsaiValue<>(prior, updated));
+  }
+}
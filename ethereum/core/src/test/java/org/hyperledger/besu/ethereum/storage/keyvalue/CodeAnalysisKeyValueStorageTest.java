@@ -0,0 +1,140 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.keyvalue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CodeAnalysisKeyValueStorageTest {
+
+  private static final Hash CODE_HASH_1 = Hash.hash(Bytes.of(1));
+  private static final Hash CODE_HASH_2 = Hash.hash(Bytes.of(2));
+  private static final Hash CODE_HASH_3 = Hash.hash(Bytes.of(3));
+
+  private final KeyValueStorage keyValueStorage = spy(new InMemoryKeyValueStorage());
+  private final List<Runnable> pendingWrites = new ArrayList<>();
+  private final ExecutorService writeExecutor = mock(ExecutorService.class);
+  private CodeAnalysisKeyValueStorage storage;
+
+  @BeforeEach
+  public void setUp() {
+    doAnswer(invocation -> pendingWrites.add(invocation.getArgument(0)))
+        .when(writeExecutor)
+        .execute(any());
+    storage = new CodeAnalysisKeyValueStorage(keyValueStorage, writeExecutor, 2);
+  }
+
+  @Test
+  public void analysesAreWrittenTogetherInTheBackground() {
+    storage.put(CODE_HASH_1, Bytes.of(1));
+    storage.put(CODE_HASH_2, Bytes.of(2));
+
+    assertThat(pendingWrites).hasSize(1);
+    assertThat(keyValueStorage.get(CODE_HASH_1.toArrayUnsafe())).isEmpty();
+    assertThat(storage.get(CODE_HASH_1)).contains(Bytes.of(1));
+
+    pendingWrites.forEach(Runnable::run);
+
+    verify(keyValueStorage, times(1)).startTransaction();
+    assertThat(keyValueStorage.get(CODE_HASH_1.toArrayUnsafe())).contains(new byte[] {1});
+    assertThat(keyValueStorage.get(CODE_HASH_2.toArrayUnsafe())).contains(new byte[] {2});
+    assertThat(storage.get(CODE_HASH_2)).contains(Bytes.of(2));
+  }
+
+  @Test
+  public void analysesQueuedAfterAWriteAreWrittenInTheNextOne() {
+    storage.put(CODE_HASH_1, Bytes.of(1));
+    pendingWrites.remove(0).run();
+
+    storage.put(CODE_HASH_2, Bytes.of(2));
+
+    assertThat(pendingWrites).hasSize(1);
+    pendingWrites.remove(0).run();
+    verify(keyValueStorage, times(2)).startTransaction();
+    assertThat(keyValueStorage.get(CODE_HASH_2.toArrayUnsafe())).contains(new byte[] {2});
+  }
+
+  @Test
+  public void closeWritesTheQueuedAnalyses() throws InterruptedException {
+    when(writeExecutor.awaitTermination(any(Long.class), any(TimeUnit.class))).thenReturn(true);
+    storage.put(CODE_HASH_1, Bytes.of(1));
+
+    storage.close();
+
+    verify(writeExecutor).shutdown();
+    assertThat(keyValueStorage.get(CODE_HASH_1.toArrayUnsafe())).contains(new byte[] {1});
+  }
+
+  @Test
+  public void analysesAreServedFromTheQueueOnceClosed() {
+    doThrow(new RejectedExecutionException()).when(writeExecutor).execute(any());
+
+    storage.put(CODE_HASH_1, Bytes.of(1));
+
+    assertThat(storage.get(CODE_HASH_1)).contains(Bytes.of(1));
+  }
+
+  @Test
+  public void segmentIsClearedWhenItWouldExceedTheMaximumEntries() {
+    storage.put(CODE_HASH_1, Bytes.of(1));
+    storage.put(CODE_HASH_2, Bytes.of(2));
+    pendingWrites.remove(0).run();
+
+    storage.put(CODE_HASH_3, Bytes.of(3));
+    pendingWrites.remove(0).run();
+
+    verify(keyValueStorage).clear();
+    assertThat(keyValueStorage.get(CODE_HASH_1.toArrayUnsafe())).isEmpty();
+    assertThat(keyValueStorage.get(CODE_HASH_2.toArrayUnsafe())).isEmpty();
+    assertThat(keyValueStorage.get(CODE_HASH_3.toArrayUnsafe())).contains(new byte[] {3});
+  }
+
+  @Test
+  public void numberOfEntriesIsKeptAcrossRestarts() {
+    storage.put(CODE_HASH_1, Bytes.of(1));
+    storage.put(CODE_HASH_2, Bytes.of(2));
+    pendingWrites.remove(0).run();
+
+    final CodeAnalysisKeyValueStorage restarted =
+        new CodeAnalysisKeyValueStorage(keyValueStorage, writeExecutor, 2);
+    restarted.put(CODE_HASH_3, Bytes.of(3));
+    pendingWrites.remove(0).run();
+
+    verify(keyValueStorage).clear();
+    assertThat(restarted.get(CODE_HASH_1)).isEmpty();
+    assertThat(restarted.get(CODE_HASH_3)).contains(Bytes.of(3));
+  }
+}
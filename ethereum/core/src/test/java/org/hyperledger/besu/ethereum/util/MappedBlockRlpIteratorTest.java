@@ -0,0 +1,98 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedBlockRlpIteratorTest {
+
+  @Rule public final TemporaryFolder tmp = new TemporaryFolder();
+  private final BlockDataGenerator gen = new BlockDataGenerator(1);
+
+  @Test
+  public void readsBlocksWithinMapping() throws IOException {
+    readsBlocksWithMappingSize(size -> size * 10);
+  }
+
+  @Test
+  public void readsBlocksAcrossMappings() throws IOException {
+    readsBlocksWithMappingSize(size -> size + size / 2);
+  }
+
+  @Test
+  public void readsBlocksLargerThanMapping() throws IOException {
+    readsBlocksWithMappingSize(size -> 16L);
+  }
+
+  @Test
+  public void failsOnTruncatedBlock() throws IOException {
+    final Bytes encodedBlock = encode(gen.block());
+    final Path blocksFile = tmp.newFolder().toPath().resolve("blocks");
+    Files.write(blocksFile, encodedBlock.slice(0, encodedBlock.size() - 1).toArrayUnsafe());
+
+    try (final MappedBlockRlpIterator iterator = new MappedBlockRlpIterator(blocksFile)) {
+      assertThat(iterator.hasNext()).isTrue();
+      assertThatThrownBy(iterator::next)
+          .isInstanceOf(IllegalStateException.class)
+          .hasMessageContaining("Truncated block at offset 0");
+    }
+  }
+
+  private void readsBlocksWithMappingSize(final Function<Long, Long> mappingSizeFromBlockSize)
+      throws IOException {
+    final List<Block> blocks = gen.blockSequence(5);
+    final List<Bytes> encodedBlocks = blocks.stream().map(this::encode).toList();
+    final Path blocksFile = tmp.newFolder().toPath().resolve("blocks");
+    Files.write(
+        blocksFile, Bytes.concatenate(encodedBlocks.toArray(new Bytes[0])).toArrayUnsafe());
+
+    final long mappingSize = mappingSizeFromBlockSize.apply((long) encodedBlocks.get(0).size());
+    try (final MappedBlockRlpIterator iterator =
+        new MappedBlockRlpIterator(blocksFile, mappingSize)) {
+      for (int i = 0; i < blocks.size(); i++) {
+        assertThat(iterator.hasNext()).isTrue();
+        final Bytes rlp = iterator.next();
+        assertThat(rlp).isEqualTo(encodedBlocks.get(i));
+        assertThat(Block.readFrom(RLP.input(rlp), new MainnetBlockHeaderFunctions()))
+            .isEqualTo(blocks.get(i));
+      }
+      assertThat(iterator.hasNext()).isFalse();
+    }
+  }
+
+  private Bytes encode(final Block block) {
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    block.writeTo(out);
+    return out.encoded();
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager;
+
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of I/O bound tasks under high concurrency, on platform thread pools and on virtual
+ * threads. Each task blocks for {@link #IO_LATENCY_MICROS} to stand for a storage read missing the
+ * caches.
+ *
+ * <p>{@code serveRequests} goes through the sync workers of the {@link EthScheduler}, sized like
+ * the default downloader parallelism, the way the answers to peer requests are built. {@code
+ * rpcRequests} compares a pool sized like the default Vert.x worker pool, which executes the
+ * JSON-RPC requests, with a virtual thread per request. Virtual threads need a Java 21 runtime,
+ * otherwise both variants use platform threads.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class VirtualThreadsBenchmark {
+  private static final int REQUESTS = 1_000;
+  private static final long IO_LATENCY_MICROS = 500;
+  private static final int SYNC_WORKERS = 4;
+  private static final int VERTX_DEFAULT_WORKER_POOL_SIZE = 20;
+
+  @Param({"false", "true"})
+  public boolean virtualThreads;
+
+  private EthScheduler ethScheduler;
+  private ExecutorService rpcExecutor;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    final NoOpMetricsSystem metricsSystem = new NoOpMetricsSystem();
+    ethScheduler =
+        new EthScheduler(
+            SYNC_WORKERS, 1, EthScheduler.TX_WORKER_CAPACITY, 1, virtualThreads, metricsSystem);
+    rpcExecutor =
+        virtualThreads
+            ? MonitoredExecutors.newVirtualThreadPerTaskExecutor("Rpc", metricsSystem)
+            : MonitoredExecutors.newFixedThreadPool(
+                "Rpc",
+                VERTX_DEFAULT_WORKER_POOL_SIZE,
+                VERTX_DEFAULT_WORKER_POOL_SIZE,
+                metricsSystem);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws InterruptedException {
+    ethScheduler.stop();
+    ethScheduler.awaitStop();
+    rpcExecutor.shutdownNow();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(REQUESTS)
+  public void serveRequests() {
+    final CompletableFuture<?>[] responses = new CompletableFuture<?>[REQUESTS];
+    for (int i = 0; i < REQUESTS; i++) {
+      responses[i] =
+          ethScheduler.scheduleSyncWorkerTask(
+              () -> {
+                readFromStorage();
+                return CompletableFuture.completedFuture(null);
+              });
+    }
+    CompletableFuture.allOf(responses).join();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(REQUESTS)
+  public void rpcRequests() throws InterruptedException {
+    final CountDownLatch done = new CountDownLatch(REQUESTS);
+    for (int i = 0; i < REQUESTS; i++) {
+      rpcExecutor.execute(
+          () -> {
+            readFromStorage();
+            done.countDown();
+          });
+    }
+    done.await();
+  }
+
+  private static void readFromStorage() {
+    LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(IO_LATENCY_MICROS));
+  }
+}
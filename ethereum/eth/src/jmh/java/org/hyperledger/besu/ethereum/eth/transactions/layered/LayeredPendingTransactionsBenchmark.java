@@ -0,0 +1,138 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions.layered;
+
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+import org.hyperledger.besu.ethereum.eth.transactions.ImmutableTransactionPoolConfiguration;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionAddedResult;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfiguration;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolMetrics;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.data.TransactionSelectionResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Ingestion, lookups and block selection running concurrently on the same layered pool, to measure
+ * how much each of them is slowed down by the others.
+ */
+@State(Scope.Group)
+@Fork(value = 1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LayeredPendingTransactionsBenchmark {
+  private static final int SENDERS = 2048;
+  private static final int TXS_BY_SENDER = 8;
+
+  /** CPU spent by the selector on each candidate, standing for the transaction execution. */
+  @Param({"1000", "10000"})
+  public long evaluationTokens;
+
+  private List<Transaction> transactions;
+  private final AtomicInteger nextTransaction = new AtomicInteger();
+  private LayeredPendingTransactions pendingTransactions;
+
+  @Setup(Level.Trial)
+  public void createTransactions() {
+    final var signatureAlgorithm = SignatureAlgorithmFactory.getInstance();
+    transactions = new ArrayList<>(SENDERS * TXS_BY_SENDER);
+    final List<KeyPair> senders = new ArrayList<>(SENDERS);
+    for (int i = 0; i < SENDERS; i++) {
+      senders.add(signatureAlgorithm.generateKeyPair());
+    }
+    // interleave the senders, like transactions coming from the network
+    for (int nonce = 0; nonce < TXS_BY_SENDER; nonce++) {
+      for (int i = 0; i < SENDERS; i++) {
+        transactions.add(
+            new TransactionTestFixture()
+                .nonce(nonce)
+                .gasPrice(Wei.of(1_000L + (i * 31L) % 1_000L))
+                .createTransaction(senders.get(i)));
+      }
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public void createPool() {
+    final TransactionPoolConfiguration poolConfig =
+        ImmutableTransactionPoolConfiguration.builder().maxPrioritizedTransactions(2000).build();
+    final TransactionPoolMetrics metrics = new TransactionPoolMetrics(new NoOpMetricsSystem());
+    final EndLayer endLayer = new EndLayer(metrics);
+    final SparseTransactions sparseTransactions =
+        new SparseTransactions(poolConfig, endLayer, metrics, (oldTx, newTx) -> false);
+    final ReadyTransactions readyTransactions =
+        new ReadyTransactions(poolConfig, sparseTransactions, metrics, (oldTx, newTx) -> false);
+    final GasPricePrioritizedTransactions prioritizedTransactions =
+        new GasPricePrioritizedTransactions(
+            poolConfig, readyTransactions, metrics, (oldTx, newTx) -> false);
+    pendingTransactions = new LayeredPendingTransactions(poolConfig, prioritizedTransactions);
+    nextTransaction.set(0);
+  }
+
+  @Benchmark
+  @Group("pool")
+  @GroupThreads(3)
+  public TransactionAddedResult add() {
+    final Transaction transaction =
+        transactions.get(Math.floorMod(nextTransaction.getAndIncrement(), transactions.size()));
+    return pendingTransactions.addRemoteTransaction(transaction, Optional.empty());
+  }
+
+  @Benchmark
+  @Group("pool")
+  @GroupThreads(1)
+  public Optional<Transaction> lookup() {
+    final int index = Math.floorMod(nextTransaction.get() - 1, transactions.size());
+    return pendingTransactions.getTransactionByHash(transactions.get(index).getHash());
+  }
+
+  @Benchmark
+  @Group("pool")
+  @GroupThreads(1)
+  public void select(final Blackhole blackhole) {
+    pendingTransactions.selectTransactions(
+        transaction -> {
+          Blackhole.consumeCPU(evaluationTokens);
+          blackhole.consume(transaction);
+          return TransactionSelectionResult.SELECTED;
+        });
+  }
+}
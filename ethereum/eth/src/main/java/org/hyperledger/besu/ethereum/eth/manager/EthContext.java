@@ -14,24 +14,39 @@
  */
 package org.hyperledger.besu.ethereum.eth.manager;
 
+import org.hyperledger.besu.ethereum.core.TransactionSenderRecovery;
+
 import java.util.Optional;
 
+import com.google.common.util.concurrent.MoreExecutors;
+
 public class EthContext {
 
   private final EthPeers ethPeers;
   private final EthMessages ethMessages;
   private final Optional<EthMessages> snapMessages;
   private final EthScheduler scheduler;
+  private final TransactionSenderRecovery transactionSenderRecovery;
 
   public EthContext(
       final EthPeers ethPeers,
       final EthMessages ethMessages,
       final EthMessages snapMessages,
-      final EthScheduler scheduler) {
+      final EthScheduler scheduler,
+      final TransactionSenderRecovery transactionSenderRecovery) {
     this.ethPeers = ethPeers;
     this.ethMessages = ethMessages;
     this.snapMessages = Optional.of(snapMessages);
     this.scheduler = scheduler;
+    this.transactionSenderRecovery = transactionSenderRecovery;
+  }
+
+  public EthContext(
+      final EthPeers ethPeers,
+      final EthMessages ethMessages,
+      final EthMessages snapMessages,
+      final EthScheduler scheduler) {
+    this(ethPeers, ethMessages, snapMessages, scheduler, inlineTransactionSenderRecovery());
   }
 
   public EthContext(
@@ -40,6 +55,11 @@ public class EthContext {
     this.ethMessages = ethMessages;
     this.snapMessages = Optional.empty();
     this.scheduler = scheduler;
+    this.transactionSenderRecovery = inlineTransactionSenderRecovery();
+  }
+
+  private static TransactionSenderRecovery inlineTransactionSenderRecovery() {
+    return new TransactionSenderRecovery(MoreExecutors.newDirectExecutorService());
   }
 
   public EthPeers getEthPeers() {
@@ -57,4 +77,8 @@ public class EthContext {
   public EthScheduler getScheduler() {
     return scheduler;
   }
+
+  public TransactionSenderRecovery getTransactionSenderRecovery() {
+    return transactionSenderRecovery;
+  }
 }
@@ -42,6 +42,7 @@ import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.messages.DisconnectMessage.DisconnectReason;
 import org.hyperledger.besu.plugin.services.permissioning.NodeMessagePermissioningProvider;
 
+import java.math.BigInteger;
 import java.time.Clock;
 import java.util.Collections;
 import java.util.HashMap;
@@ -339,10 +340,13 @@ public class EthPeer implements Comparable<EthPeer> {
   }
 
   public RequestManager.ResponseStream getSnapAccountRange(
-      final Hash stateRoot, final Bytes32 startKeyHash, final Bytes32 endKeyHash)
+      final Hash stateRoot,
+      final Bytes32 startKeyHash,
+      final Bytes32 endKeyHash,
+      final BigInteger responseBytes)
       throws PeerNotConnected {
     final GetAccountRangeMessage getAccountRangeMessage =
-        GetAccountRangeMessage.create(stateRoot, startKeyHash, endKeyHash);
+        GetAccountRangeMessage.create(stateRoot, startKeyHash, endKeyHash, responseBytes);
     getAccountRangeMessage.setRootHash(Optional.of(stateRoot));
     return sendRequest(
         requestManagers.get(SnapProtocol.NAME).get(SnapV1.GET_ACCOUNT_RANGE),
@@ -353,10 +357,12 @@ public class EthPeer implements Comparable<EthPeer> {
       final Hash stateRoot,
       final List<Bytes32> accountHashes,
       final Bytes32 startKeyHash,
-      final Bytes32 endKeyHash)
+      final Bytes32 endKeyHash,
+      final BigInteger responseBytes)
       throws PeerNotConnected {
     final GetStorageRangeMessage getStorageRangeMessage =
-        GetStorageRangeMessage.create(stateRoot, accountHashes, startKeyHash, endKeyHash);
+        GetStorageRangeMessage.create(
+            stateRoot, accountHashes, startKeyHash, endKeyHash, responseBytes);
     getStorageRangeMessage.setRootHash(Optional.of(stateRoot));
     return sendRequest(
         requestManagers.get(SnapProtocol.NAME).get(SnapV1.GET_STORAGE_RANGE),
@@ -364,16 +370,19 @@ public class EthPeer implements Comparable<EthPeer> {
   }
 
   public RequestManager.ResponseStream getSnapBytecode(
-      final Hash stateRoot, final List<Bytes32> codeHashes) throws PeerNotConnected {
-    final GetByteCodesMessage getByteCodes = GetByteCodesMessage.create(codeHashes);
+      final Hash stateRoot, final List<Bytes32> codeHashes, final BigInteger responseBytes)
+      throws PeerNotConnected {
+    final GetByteCodesMessage getByteCodes = GetByteCodesMessage.create(codeHashes, responseBytes);
     getByteCodes.setRootHash(Optional.of(stateRoot));
     return sendRequest(
         requestManagers.get(SnapProtocol.NAME).get(SnapV1.GET_BYTECODES), getByteCodes);
   }
 
   public RequestManager.ResponseStream getSnapTrieNode(
-      final Hash stateRoot, final List<List<Bytes>> paths) throws PeerNotConnected {
-    final GetTrieNodesMessage getTrieNodes = GetTrieNodesMessage.create(stateRoot, paths);
+      final Hash stateRoot, final List<List<Bytes>> paths, final BigInteger responseBytes)
+      throws PeerNotConnected {
+    final GetTrieNodesMessage getTrieNodes =
+        GetTrieNodesMessage.create(stateRoot, paths, responseBytes);
     getTrieNodes.setRootHash(Optional.of(stateRoot));
     return sendRequest(
         requestManagers.get(SnapProtocol.NAME).get(SnapV1.GET_TRIE_NODES), getTrieNodes);
@@ -46,7 +46,7 @@ public class EthScheduler {
   private final Duration defaultTimeout = Duration.ofSeconds(5);
   private final AtomicBoolean stopped = new AtomicBoolean(false);
   private final CountDownLatch shutdown = new CountDownLatch(1);
-  private static final int TX_WORKER_CAPACITY = 1_000;
+  public static final int TX_WORKER_CAPACITY = 1_000;
 
   protected final ExecutorService syncWorkerExecutor;
   protected final ScheduledExecutorService scheduler;
@@ -71,8 +71,41 @@ public class EthScheduler {
       final int computationWorkerCount,
       final MetricsSystem metricsSystem) {
     this(
-        MonitoredExecutors.newFixedThreadPool(
-            EthScheduler.class.getSimpleName() + "-Workers", 1, syncWorkerCount, metricsSystem),
+        syncWorkerCount,
+        txWorkerCount,
+        txWorkerQueueSize,
+        computationWorkerCount,
+        false,
+        metricsSystem);
+  }
+
+  /**
+   * Create a scheduler, optionally running the sync workers and the services on virtual threads.
+   * These executors mostly wait on peers and on the storage, so with virtual threads they are no
+   * longer limited by the number of threads, and <i>syncWorkerCount</i> is ignored. The
+   * transactions and computation executors always use platform threads, since their work is bound
+   * by the CPU and by the transaction pool lock.
+   *
+   * @param syncWorkerCount the number of sync worker threads, when not using virtual threads
+   * @param txWorkerCount the number of transaction worker threads
+   * @param txWorkerQueueSize the capacity of the transaction worker queue
+   * @param computationWorkerCount the number of computation threads
+   * @param virtualThreadsEnabled whether to use virtual threads for the I/O bound executors
+   * @param metricsSystem the metrics system
+   */
+  public EthScheduler(
+      final int syncWorkerCount,
+      final int txWorkerCount,
+      final int txWorkerQueueSize,
+      final int computationWorkerCount,
+      final boolean virtualThreadsEnabled,
+      final MetricsSystem metricsSystem) {
+    this(
+        virtualThreadsEnabled
+            ? MonitoredExecutors.newVirtualThreadPerTaskExecutor(
+                EthScheduler.class.getSimpleName() + "-Workers", metricsSystem)
+            : MonitoredExecutors.newFixedThreadPool(
+                EthScheduler.class.getSimpleName() + "-Workers", 1, syncWorkerCount, metricsSystem),
         MonitoredExecutors.newScheduledThreadPool(
             EthScheduler.class.getSimpleName() + "-Timer", 1, metricsSystem),
         MonitoredExecutors.newBoundedThreadPool(
@@ -81,8 +114,11 @@ public class EthScheduler {
             txWorkerCount,
             txWorkerQueueSize,
             metricsSystem),
-        MonitoredExecutors.newCachedThreadPool(
-            EthScheduler.class.getSimpleName() + "-Services", metricsSystem),
+        virtualThreadsEnabled
+            ? MonitoredExecutors.newVirtualThreadPerTaskExecutor(
+                EthScheduler.class.getSimpleName() + "-Services", metricsSystem)
+            : MonitoredExecutors.newCachedThreadPool(
+                EthScheduler.class.getSimpleName() + "-Services", metricsSystem),
         MonitoredExecutors.newBoundedThreadPool(
             EthScheduler.class.getSimpleName() + "-Computation",
             1,
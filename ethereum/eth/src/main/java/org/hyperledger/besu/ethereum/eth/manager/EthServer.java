@@ -40,6 +40,7 @@ import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -47,6 +48,10 @@ import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes;
 
 class EthServer {
+  // bodies and receipts are read from the storage in batches of this size, so a response that
+  // reaches the message size limit early does not read much more than it sends
+  private static final int READ_BATCH_SIZE = 16;
+
   private final Blockchain blockchain;
   private final WorldStateArchive worldStateArchive;
   private final TransactionPool transactionPool;
@@ -184,26 +189,28 @@ class EthServer {
     int responseSizeEstimate = RLP.MAX_PREFIX_SIZE;
     final BytesValueRLPOutput rlp = new BytesValueRLPOutput();
     rlp.startList();
-    int count = 0;
-    for (final Hash hash : hashes) {
-      if (count >= requestLimit) {
-        break;
-      }
-      count++;
-      final Optional<BlockBody> maybeBody = blockchain.getBlockBody(hash);
-      if (maybeBody.isEmpty()) {
-        continue;
-      }
+    final List<Hash> requestedHashes = limit(hashes, requestLimit);
+    bodiesLoop:
+    for (int start = 0; start < requestedHashes.size(); start += READ_BATCH_SIZE) {
+      final List<Optional<BlockBody>> maybeBodies =
+          blockchain.getBlockBodies(
+              requestedHashes.subList(
+                  start, Math.min(start + READ_BATCH_SIZE, requestedHashes.size())));
+      for (final Optional<BlockBody> maybeBody : maybeBodies) {
+        if (maybeBody.isEmpty()) {
+          continue;
+        }
 
-      final BlockBody body = maybeBody.get();
-      final BytesValueRLPOutput bodyOutput = new BytesValueRLPOutput();
-      body.writeWrappedBodyTo(bodyOutput);
-      final int encodedSize = bodyOutput.encodedSize();
-      if (responseSizeEstimate + encodedSize > maxMessageSize) {
-        break;
+        final BlockBody body = maybeBody.get();
+        final BytesValueRLPOutput bodyOutput = new BytesValueRLPOutput();
+        body.writeWrappedBodyTo(bodyOutput);
+        final int encodedSize = bodyOutput.encodedSize();
+        if (responseSizeEstimate + encodedSize > maxMessageSize) {
+          break bodiesLoop;
+        }
+        responseSizeEstimate += encodedSize;
+        rlp.writeRaw(bodyOutput.encoded());
       }
-      responseSizeEstimate += encodedSize;
-      rlp.writeRaw(bodyOutput.encoded());
     }
     rlp.endList();
     return BlockBodiesMessage.createUnsafe(rlp.encoded());
@@ -220,27 +227,29 @@ class EthServer {
     int responseSizeEstimate = RLP.MAX_PREFIX_SIZE;
     final BytesValueRLPOutput rlp = new BytesValueRLPOutput();
     rlp.startList();
-    int count = 0;
-    for (final Hash hash : hashes) {
-      if (count >= requestLimit) {
-        break;
-      }
-      count++;
-      final Optional<List<TransactionReceipt>> maybeReceipts = blockchain.getTxReceipts(hash);
-      if (maybeReceipts.isEmpty()) {
-        continue;
-      }
-      final BytesValueRLPOutput encodedReceipts = new BytesValueRLPOutput();
-      encodedReceipts.startList();
-      maybeReceipts.get().forEach(r -> r.writeTo(encodedReceipts));
-      encodedReceipts.endList();
-      final int encodedSize = encodedReceipts.encodedSize();
-      if (responseSizeEstimate + encodedSize > maxMessageSize) {
-        break;
-      }
+    final List<Hash> requestedHashes = limit(hashes, requestLimit);
+    receiptsLoop:
+    for (int start = 0; start < requestedHashes.size(); start += READ_BATCH_SIZE) {
+      final List<Optional<List<TransactionReceipt>>> maybeReceiptsList =
+          blockchain.getTxReceiptsForBlocks(
+              requestedHashes.subList(
+                  start, Math.min(start + READ_BATCH_SIZE, requestedHashes.size())));
+      for (final Optional<List<TransactionReceipt>> maybeReceipts : maybeReceiptsList) {
+        if (maybeReceipts.isEmpty()) {
+          continue;
+        }
+        final BytesValueRLPOutput encodedReceipts = new BytesValueRLPOutput();
+        encodedReceipts.startList();
+        maybeReceipts.get().forEach(r -> r.writeTo(encodedReceipts));
+        encodedReceipts.endList();
+        final int encodedSize = encodedReceipts.encodedSize();
+        if (responseSizeEstimate + encodedSize > maxMessageSize) {
+          break receiptsLoop;
+        }
 
-      responseSizeEstimate += encodedSize;
-      rlp.writeRaw(encodedReceipts.encoded());
+        responseSizeEstimate += encodedSize;
+        rlp.writeRaw(encodedReceipts.encoded());
+      }
     }
     rlp.endList();
 
@@ -321,4 +330,15 @@ class EthServer {
 
     return NodeDataMessage.createUnsafe(rlp.encoded());
   }
+
+  private static List<Hash> limit(final Iterable<Hash> hashes, final int requestLimit) {
+    final List<Hash> limitedHashes = new ArrayList<>();
+    for (final Hash hash : hashes) {
+      if (limitedHashes.size() >= requestLimit) {
+        break;
+      }
+      limitedHashes.add(hash);
+    }
+    return limitedHashes;
+  }
 }
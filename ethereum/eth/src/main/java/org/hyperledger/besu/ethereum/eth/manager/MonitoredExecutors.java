@@ -18,6 +18,7 @@ import org.hyperledger.besu.ethereum.eth.manager.bounded.BoundedQueue;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.util.VirtualThreads;
 
 import java.util.Locale;
 import java.util.concurrent.BlockingQueue;
@@ -34,8 +35,11 @@ import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class MonitoredExecutors {
+  private static final Logger LOG = LoggerFactory.getLogger(MonitoredExecutors.class);
 
   public static ExecutorService newFixedThreadPool(
       final String name,
@@ -109,6 +113,44 @@ public class MonitoredExecutors {
                 rejectedExecutionHandler));
   }
 
+  /**
+   * Creates an executor starting a new virtual thread for each task, reporting the same metrics as
+   * the other executors. Suited to tasks spending most of their time blocked on I/O, since the
+   * number of tasks running at the same time is not bounded by a number of platform threads.
+   *
+   * <p>Falls back to a cached pool of platform threads if the JVM does not support virtual threads.
+   *
+   * @param name the name of the executor, used for the thread names and the metrics
+   * @param metricsSystem the metrics system
+   * @return the executor
+   */
+  public static ExecutorService newVirtualThreadPerTaskExecutor(
+      final String name, final MetricsSystem metricsSystem) {
+    return VirtualThreads.createThreadFactory(name + "-")
+        .<ExecutorService>map(
+            threadFactory ->
+                newMonitoredExecutor(
+                    name,
+                    metricsSystem,
+                    threadFactory,
+                    (rejectedExecutionHandler, factory) ->
+                        // idle threads are not kept, every task gets a new virtual thread
+                        new ThreadPoolExecutor(
+                            0,
+                            Integer.MAX_VALUE,
+                            0L,
+                            TimeUnit.SECONDS,
+                            new SynchronousQueue<Runnable>(),
+                            factory,
+                            rejectedExecutionHandler)))
+        .orElseGet(
+            () -> {
+              LOG.warn(
+                  "Virtual threads are not supported by this JVM, {} uses platform threads", name);
+              return newCachedThreadPool(name, metricsSystem);
+            });
+  }
+
   public static ScheduledExecutorService newScheduledThreadPool(
       final String name, final int corePoolSize, final MetricsSystem metricsSystem) {
     return newMonitoredExecutor(
@@ -127,13 +169,23 @@ public class MonitoredExecutors {
       final String name,
       final MetricsSystem metricsSystem,
       final BiFunction<RejectedExecutionHandler, ThreadFactory, T> creator) {
+    return newMonitoredExecutor(
+        name,
+        metricsSystem,
+        new ThreadFactoryBuilder().setNameFormat(name + "-%d").build(),
+        creator);
+  }
+
+  private static <T extends ThreadPoolExecutor> T newMonitoredExecutor(
+      final String name,
+      final MetricsSystem metricsSystem,
+      final ThreadFactory threadFactory,
+      final BiFunction<RejectedExecutionHandler, ThreadFactory, T> creator) {
 
     final String metricName = toMetricName(name);
 
     final T executor =
-        creator.apply(
-            new CountingAbortPolicy(metricName, metricsSystem),
-            new ThreadFactoryBuilder().setNameFormat(name + "-%d").build());
+        creator.apply(new CountingAbortPolicy(metricName, metricsSystem), threadFactory);
 
     metricsSystem.createIntegerGauge(
         BesuMetricCategory.EXECUTORS,
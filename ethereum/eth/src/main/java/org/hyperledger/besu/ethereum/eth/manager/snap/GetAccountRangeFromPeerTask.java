@@ -38,17 +38,22 @@ public class GetAccountRangeFromPeerTask
   private final Bytes32 startKeyHash;
   private final Bytes32 endKeyHash;
   private final BlockHeader blockHeader;
+  private final SnapPeerThroughputTracker throughputTracker;
+  private volatile Optional<SnapPeerThroughputTracker.TrackedRequest> trackedRequest =
+      Optional.empty();
 
   private GetAccountRangeFromPeerTask(
       final EthContext ethContext,
       final Bytes32 startKeyHash,
       final Bytes32 endKeyHash,
       final BlockHeader blockHeader,
+      final SnapPeerThroughputTracker throughputTracker,
       final MetricsSystem metricsSystem) {
     super(ethContext, SnapV1.ACCOUNT_RANGE, metricsSystem);
     this.startKeyHash = startKeyHash;
     this.endKeyHash = endKeyHash;
     this.blockHeader = blockHeader;
+    this.throughputTracker = throughputTracker;
   }
 
   public static GetAccountRangeFromPeerTask forAccountRange(
@@ -56,9 +61,10 @@ public class GetAccountRangeFromPeerTask
       final Bytes32 startKeyHash,
       final Bytes32 endKeyHash,
       final BlockHeader blockHeader,
+      final SnapPeerThroughputTracker throughputTracker,
       final MetricsSystem metricsSystem) {
     return new GetAccountRangeFromPeerTask(
-        ethContext, startKeyHash, endKeyHash, blockHeader, metricsSystem);
+        ethContext, startKeyHash, endKeyHash, blockHeader, throughputTracker, metricsSystem);
   }
 
   @Override
@@ -71,7 +77,11 @@ public class GetAccountRangeFromPeerTask
               endKeyHash,
               blockHeader.getStateRoot(),
               peer);
-          return peer.getSnapAccountRange(blockHeader.getStateRoot(), startKeyHash, endKeyHash);
+          final SnapPeerThroughputTracker.TrackedRequest request =
+              throughputTracker.track(peer, SnapV1.GET_ACCOUNT_RANGE);
+          trackedRequest = Optional.of(request);
+          return peer.getSnapAccountRange(
+              blockHeader.getStateRoot(), startKeyHash, endKeyHash, request.getResponseBytes());
         },
         blockHeader.getNumber());
   }
@@ -85,9 +95,17 @@ public class GetAccountRangeFromPeerTask
       // the data we're requesting.
       return Optional.empty();
     }
+    trackedRequest.ifPresent(request -> request.complete(message.getSize()));
     final AccountRangeMessage accountRangeMessage = AccountRangeMessage.readFrom(message);
     final AccountRangeMessage.AccountRangeData accountRangeData =
         accountRangeMessage.accountData(true);
     return Optional.of(accountRangeData);
   }
+
+  @Override
+  protected void cleanup() {
+    super.cleanup();
+    // no-op when the response was recorded, penalizes the peer otherwise
+    trackedRequest.ifPresent(SnapPeerThroughputTracker.TrackedRequest::fail);
+  }
 }
@@ -44,23 +44,30 @@ public class GetBytecodeFromPeerTask extends AbstractPeerRequestTask<Map<Bytes32
 
   private final List<Bytes32> codeHashes;
   private final BlockHeader blockHeader;
+  private final SnapPeerThroughputTracker throughputTracker;
+  private volatile Optional<SnapPeerThroughputTracker.TrackedRequest> trackedRequest =
+      Optional.empty();
 
   private GetBytecodeFromPeerTask(
       final EthContext ethContext,
       final List<Bytes32> codeHashes,
       final BlockHeader blockHeader,
+      final SnapPeerThroughputTracker throughputTracker,
       final MetricsSystem metricsSystem) {
     super(ethContext, SnapV1.STORAGE_RANGE, metricsSystem);
     this.codeHashes = codeHashes;
     this.blockHeader = blockHeader;
+    this.throughputTracker = throughputTracker;
   }
 
   public static GetBytecodeFromPeerTask forBytecode(
       final EthContext ethContext,
       final List<Bytes32> codeHashes,
       final BlockHeader blockHeader,
+      final SnapPeerThroughputTracker throughputTracker,
       final MetricsSystem metricsSystem) {
-    return new GetBytecodeFromPeerTask(ethContext, codeHashes, blockHeader, metricsSystem);
+    return new GetBytecodeFromPeerTask(
+        ethContext, codeHashes, blockHeader, throughputTracker, metricsSystem);
   }
 
   @Override
@@ -68,7 +75,11 @@ public class GetBytecodeFromPeerTask extends AbstractPeerRequestTask<Map<Bytes32
     return sendRequestToPeer(
         peer -> {
           LOG.trace("Requesting {} Bytecodes from {} .", codeHashes.size(), peer);
-          return peer.getSnapBytecode(blockHeader.getStateRoot(), codeHashes);
+          final SnapPeerThroughputTracker.TrackedRequest request =
+              throughputTracker.track(peer, SnapV1.GET_BYTECODES);
+          trackedRequest = Optional.of(request);
+          return peer.getSnapBytecode(
+              blockHeader.getStateRoot(), codeHashes, request.getResponseBytes());
         },
         blockHeader.getNumber());
   }
@@ -88,6 +99,7 @@ public class GetBytecodeFromPeerTask extends AbstractPeerRequestTask<Map<Bytes32
       // Can't be the response to our request
       return Optional.empty();
     }
+    trackedRequest.ifPresent(request -> request.complete(message.getSize()));
     return mapCodeByHash(bytecodes);
   }
 
@@ -101,4 +113,11 @@ public class GetBytecodeFromPeerTask extends AbstractPeerRequestTask<Map<Bytes32
     }
     return Optional.of(codeByHash);
   }
+
+  @Override
+  protected void cleanup() {
+    super.cleanup();
+    // no-op when the response was recorded, penalizes the peer otherwise
+    trackedRequest.ifPresent(SnapPeerThroughputTracker.TrackedRequest::fail);
+  }
 }
@@ -40,6 +40,9 @@ public class GetStorageRangeFromPeerTask
   private final Bytes32 startKeyHash;
   private final Bytes32 endKeyHash;
   private final BlockHeader blockHeader;
+  private final SnapPeerThroughputTracker throughputTracker;
+  private volatile Optional<SnapPeerThroughputTracker.TrackedRequest> trackedRequest =
+      Optional.empty();
 
   private GetStorageRangeFromPeerTask(
       final EthContext ethContext,
@@ -47,12 +50,14 @@ public class GetStorageRangeFromPeerTask
       final Bytes32 startKeyHash,
       final Bytes32 endKeyHash,
       final BlockHeader blockHeader,
+      final SnapPeerThroughputTracker throughputTracker,
       final MetricsSystem metricsSystem) {
     super(ethContext, SnapV1.STORAGE_RANGE, metricsSystem);
     this.accountHashes = accountHashes;
     this.startKeyHash = startKeyHash;
     this.endKeyHash = endKeyHash;
     this.blockHeader = blockHeader;
+    this.throughputTracker = throughputTracker;
   }
 
   public static GetStorageRangeFromPeerTask forStorageRange(
@@ -61,9 +66,16 @@ public class GetStorageRangeFromPeerTask
       final Bytes32 startKeyHash,
       final Bytes32 endKeyHash,
       final BlockHeader blockHeader,
+      final SnapPeerThroughputTracker throughputTracker,
       final MetricsSystem metricsSystem) {
     return new GetStorageRangeFromPeerTask(
-        ethContext, accountHashes, startKeyHash, endKeyHash, blockHeader, metricsSystem);
+        ethContext,
+        accountHashes,
+        startKeyHash,
+        endKeyHash,
+        blockHeader,
+        throughputTracker,
+        metricsSystem);
   }
 
   @Override
@@ -76,8 +88,15 @@ public class GetStorageRangeFromPeerTask
               endKeyHash,
               accountHashes.size(),
               peer);
+          final SnapPeerThroughputTracker.TrackedRequest request =
+              throughputTracker.track(peer, SnapV1.GET_STORAGE_RANGE);
+          trackedRequest = Optional.of(request);
           return peer.getSnapStorageRange(
-              blockHeader.getStateRoot(), accountHashes, startKeyHash, endKeyHash);
+              blockHeader.getStateRoot(),
+              accountHashes,
+              startKeyHash,
+              endKeyHash,
+              request.getResponseBytes());
         },
         blockHeader.getNumber());
   }
@@ -91,7 +110,14 @@ public class GetStorageRangeFromPeerTask
       // the data we're requesting.
       return Optional.empty();
     }
-
+    trackedRequest.ifPresent(request -> request.complete(message.getSize()));
     return Optional.of(StorageRangeMessage.readFrom(message).slotsData(true));
   }
+
+  @Override
+  protected void cleanup() {
+    super.cleanup();
+    // no-op when the response was recorded, penalizes the peer otherwise
+    trackedRequest.ifPresent(SnapPeerThroughputTracker.TrackedRequest::fail);
+  }
 }
@@ -44,21 +44,27 @@ public class GetTrieNodeFromPeerTask extends AbstractPeerRequestTask<Map<Bytes,
 
   private final List<List<Bytes>> paths;
   private final BlockHeader blockHeader;
+  private final SnapPeerThroughputTracker throughputTracker;
+  private volatile Optional<SnapPeerThroughputTracker.TrackedRequest> trackedRequest =
+      Optional.empty();
 
   private GetTrieNodeFromPeerTask(
       final EthContext ethContext,
       final List<List<Bytes>> paths,
       final BlockHeader blockHeader,
+      final SnapPeerThroughputTracker throughputTracker,
       final MetricsSystem metricsSystem) {
     super(ethContext, SnapV1.TRIE_NODES, metricsSystem);
     this.paths = paths;
     this.blockHeader = blockHeader;
+    this.throughputTracker = throughputTracker;
   }
 
   public static GetTrieNodeFromPeerTask forTrieNodes(
       final EthContext ethContext,
       final Map<Bytes, List<Bytes>> paths,
       final BlockHeader blockHeader,
+      final SnapPeerThroughputTracker throughputTracker,
       final MetricsSystem metricsSystem) {
     return new GetTrieNodeFromPeerTask(
         ethContext,
@@ -66,6 +72,7 @@ public class GetTrieNodeFromPeerTask extends AbstractPeerRequestTask<Map<Bytes,
             .map(entry -> Lists.asList(entry.getKey(), entry.getValue().toArray(new Bytes[0])))
             .collect(Collectors.toList()),
         blockHeader,
+        throughputTracker,
         metricsSystem);
   }
 
@@ -74,7 +81,11 @@ public class GetTrieNodeFromPeerTask extends AbstractPeerRequestTask<Map<Bytes,
     return sendRequestToPeer(
         peer -> {
           LOG.trace("Requesting {} trie nodes from peer {}", paths.size(), peer);
-          return peer.getSnapTrieNode(blockHeader.getStateRoot(), paths);
+          final SnapPeerThroughputTracker.TrackedRequest request =
+              throughputTracker.track(peer, SnapV1.GET_TRIE_NODES);
+          trackedRequest = Optional.of(request);
+          return peer.getSnapTrieNode(
+              blockHeader.getStateRoot(), paths, request.getResponseBytes());
         },
         blockHeader.getNumber());
   }
@@ -89,6 +100,7 @@ public class GetTrieNodeFromPeerTask extends AbstractPeerRequestTask<Map<Bytes,
     }
     final TrieNodesMessage trieNodes = TrieNodesMessage.readFrom(message);
     final ArrayDeque<Bytes> nodes = trieNodes.nodes(true);
+    trackedRequest.ifPresent(request -> request.complete(message.getSize()));
     return mapNodeDataByPath(nodes);
   }
 
@@ -110,4 +122,11 @@ public class GetTrieNodeFromPeerTask extends AbstractPeerRequestTask<Map<Bytes,
         });
     return Optional.of(nodeDataByPath);
   }
+
+  @Override
+  protected void cleanup() {
+    super.cleanup();
+    // no-op when the response was recorded, penalizes the peer otherwise
+    trackedRequest.ifPresent(SnapPeerThroughputTracker.TrackedRequest::fail);
+  }
 }
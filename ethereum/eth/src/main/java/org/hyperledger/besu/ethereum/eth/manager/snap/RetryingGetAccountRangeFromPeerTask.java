@@ -34,6 +34,7 @@ public class RetryingGetAccountRangeFromPeerTask
   private final Bytes32 startKeyHash;
   private final Bytes32 endKeyHash;
   private final BlockHeader blockHeader;
+  private final SnapPeerThroughputTracker throughputTracker;
   private final MetricsSystem metricsSystem;
 
   private RetryingGetAccountRangeFromPeerTask(
@@ -41,6 +42,7 @@ public class RetryingGetAccountRangeFromPeerTask
       final Bytes32 startKeyHash,
       final Bytes32 endKeyHash,
       final BlockHeader blockHeader,
+      final SnapPeerThroughputTracker throughputTracker,
       final MetricsSystem metricsSystem) {
     super(
         ethContext, 4, data -> data.accounts().isEmpty() && data.proofs().isEmpty(), metricsSystem);
@@ -48,6 +50,7 @@ public class RetryingGetAccountRangeFromPeerTask
     this.startKeyHash = startKeyHash;
     this.endKeyHash = endKeyHash;
     this.blockHeader = blockHeader;
+    this.throughputTracker = throughputTracker;
     this.metricsSystem = metricsSystem;
   }
 
@@ -56,9 +59,10 @@ public class RetryingGetAccountRangeFromPeerTask
       final Bytes32 startKeyHash,
       final Bytes32 endKeyHash,
       final BlockHeader blockHeader,
+      final SnapPeerThroughputTracker throughputTracker,
       final MetricsSystem metricsSystem) {
     return new RetryingGetAccountRangeFromPeerTask(
-        ethContext, startKeyHash, endKeyHash, blockHeader, metricsSystem);
+        ethContext, startKeyHash, endKeyHash, blockHeader, throughputTracker, metricsSystem);
   }
 
   @Override
@@ -66,7 +70,7 @@ public class RetryingGetAccountRangeFromPeerTask
       final Optional<EthPeer> assignedPeer) {
     final GetAccountRangeFromPeerTask task =
         GetAccountRangeFromPeerTask.forAccountRange(
-            ethContext, startKeyHash, endKeyHash, blockHeader, metricsSystem);
+            ethContext, startKeyHash, endKeyHash, blockHeader, throughputTracker, metricsSystem);
     assignedPeer.ifPresent(task::assignPeer);
     return executeSubTask(task::run)
         .thenApply(
@@ -34,17 +34,20 @@ public class RetryingGetBytecodeFromPeerTask extends AbstractRetryingPeerTask<Ma
   private final EthContext ethContext;
   private final List<Bytes32> codeHashes;
   private final BlockHeader blockHeader;
+  private final SnapPeerThroughputTracker throughputTracker;
   private final MetricsSystem metricsSystem;
 
   private RetryingGetBytecodeFromPeerTask(
       final EthContext ethContext,
       final List<Bytes32> codeHashes,
       final BlockHeader blockHeader,
+      final SnapPeerThroughputTracker throughputTracker,
       final MetricsSystem metricsSystem) {
     super(ethContext, 4, Map::isEmpty, metricsSystem);
     this.ethContext = ethContext;
     this.codeHashes = codeHashes;
     this.blockHeader = blockHeader;
+    this.throughputTracker = throughputTracker;
     this.metricsSystem = metricsSystem;
   }
 
@@ -52,15 +55,18 @@ public class RetryingGetBytecodeFromPeerTask extends AbstractRetryingPeerTask<Ma
       final EthContext ethContext,
       final List<Bytes32> codeHashes,
       final BlockHeader blockHeader,
+      final SnapPeerThroughputTracker throughputTracker,
       final MetricsSystem metricsSystem) {
-    return new RetryingGetBytecodeFromPeerTask(ethContext, codeHashes, blockHeader, metricsSystem);
+    return new RetryingGetBytecodeFromPeerTask(
+        ethContext, codeHashes, blockHeader, throughputTracker, metricsSystem);
   }
 
   @Override
   protected CompletableFuture<Map<Bytes32, Bytes>> executePeerTask(
       final Optional<EthPeer> assignedPeer) {
     final GetBytecodeFromPeerTask task =
-        GetBytecodeFromPeerTask.forBytecode(ethContext, codeHashes, blockHeader, metricsSystem);
+        GetBytecodeFromPeerTask.forBytecode(
+            ethContext, codeHashes, blockHeader, throughputTracker, metricsSystem);
     assignedPeer.ifPresent(task::assignPeer);
     return executeSubTask(task::run)
         .thenApply(
@@ -36,6 +36,7 @@ public class RetryingGetStorageRangeFromPeerTask
   private final Bytes32 startKeyHash;
   private final Bytes32 endKeyHash;
   private final BlockHeader blockHeader;
+  private final SnapPeerThroughputTracker throughputTracker;
   private final MetricsSystem metricsSystem;
 
   private RetryingGetStorageRangeFromPeerTask(
@@ -44,6 +45,7 @@ public class RetryingGetStorageRangeFromPeerTask
       final Bytes32 startKeyHash,
       final Bytes32 endKeyHash,
       final BlockHeader blockHeader,
+      final SnapPeerThroughputTracker throughputTracker,
       final MetricsSystem metricsSystem) {
     super(ethContext, 4, data -> data.proofs().isEmpty() && data.slots().isEmpty(), metricsSystem);
     this.ethContext = ethContext;
@@ -51,6 +53,7 @@ public class RetryingGetStorageRangeFromPeerTask
     this.startKeyHash = startKeyHash;
     this.endKeyHash = endKeyHash;
     this.blockHeader = blockHeader;
+    this.throughputTracker = throughputTracker;
     this.metricsSystem = metricsSystem;
   }
 
@@ -60,9 +63,16 @@ public class RetryingGetStorageRangeFromPeerTask
       final Bytes32 startKeyHash,
       final Bytes32 endKeyHash,
       final BlockHeader blockHeader,
+      final SnapPeerThroughputTracker throughputTracker,
       final MetricsSystem metricsSystem) {
     return new RetryingGetStorageRangeFromPeerTask(
-        ethContext, accountHashes, startKeyHash, endKeyHash, blockHeader, metricsSystem);
+        ethContext,
+        accountHashes,
+        startKeyHash,
+        endKeyHash,
+        blockHeader,
+        throughputTracker,
+        metricsSystem);
   }
 
   @Override
@@ -70,7 +80,13 @@ public class RetryingGetStorageRangeFromPeerTask
       final Optional<EthPeer> assignedPeer) {
     final GetStorageRangeFromPeerTask task =
         GetStorageRangeFromPeerTask.forStorageRange(
-            ethContext, accountHashes, startKeyHash, endKeyHash, blockHeader, metricsSystem);
+            ethContext,
+            accountHashes,
+            startKeyHash,
+            endKeyHash,
+            blockHeader,
+            throughputTracker,
+            metricsSystem);
     assignedPeer.ifPresent(task::assignPeer);
     return executeSubTask(task::run)
         .thenApply(
@@ -33,17 +33,20 @@ public class RetryingGetTrieNodeFromPeerTask extends AbstractRetryingPeerTask<Ma
   private final EthContext ethContext;
   private final Map<Bytes, List<Bytes>> paths;
   private final BlockHeader blockHeader;
+  private final SnapPeerThroughputTracker throughputTracker;
   private final MetricsSystem metricsSystem;
 
   private RetryingGetTrieNodeFromPeerTask(
       final EthContext ethContext,
       final Map<Bytes, List<Bytes>> paths,
       final BlockHeader blockHeader,
+      final SnapPeerThroughputTracker throughputTracker,
       final MetricsSystem metricsSystem) {
     super(ethContext, 4, Map::isEmpty, metricsSystem);
     this.ethContext = ethContext;
     this.paths = paths;
     this.blockHeader = blockHeader;
+    this.throughputTracker = throughputTracker;
     this.metricsSystem = metricsSystem;
   }
 
@@ -51,15 +54,18 @@ public class RetryingGetTrieNodeFromPeerTask extends AbstractRetryingPeerTask<Ma
       final EthContext ethContext,
       final Map<Bytes, List<Bytes>> paths,
       final BlockHeader blockHeader,
+      final SnapPeerThroughputTracker throughputTracker,
       final MetricsSystem metricsSystem) {
-    return new RetryingGetTrieNodeFromPeerTask(ethContext, paths, blockHeader, metricsSystem);
+    return new RetryingGetTrieNodeFromPeerTask(
+        ethContext, paths, blockHeader, throughputTracker, metricsSystem);
   }
 
   @Override
   protected CompletableFuture<Map<Bytes, Bytes>> executePeerTask(
       final Optional<EthPeer> assignedPeer) {
     final GetTrieNodeFromPeerTask task =
-        GetTrieNodeFromPeerTask.forTrieNodes(ethContext, paths, blockHeader, metricsSystem);
+        GetTrieNodeFromPeerTask.forTrieNodes(
+            ethContext, paths, blockHeader, throughputTracker, metricsSystem);
     assignedPeer.ifPresent(task::assignPeer);
     return executeSubTask(task::run)
         .thenApply(
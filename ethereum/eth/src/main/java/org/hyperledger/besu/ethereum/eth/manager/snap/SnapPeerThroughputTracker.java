@@ -0,0 +1,170 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager.snap;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.AbstractSnapMessageData;
+
+import java.math.BigInteger;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Measures the throughput of each peer for the snap requests and sizes the next requests sent to
+ * that peer accordingly.
+ *
+ * <p>The throughput is an exponential moving average of the bytes received per millisecond, kept
+ * per peer and per request code. The response size asked to a peer is the amount of data it is
+ * expected to deliver within the target response time, bounded by {@link #MIN_RESPONSE_BYTES} and
+ * {@link #MAX_RESPONSE_BYTES}. A failed or timed out request halves the estimate of the peer.
+ */
+public class SnapPeerThroughputTracker {
+
+  public static final Duration DEFAULT_TARGET_RESPONSE_TIME = Duration.ofSeconds(1);
+  public static final long MIN_RESPONSE_BYTES = 64 * 1024;
+  public static final long MAX_RESPONSE_BYTES = 2 * 1024 * 1024;
+
+  private static final long DEFAULT_RESPONSE_BYTES =
+      AbstractSnapMessageData.SIZE_REQUEST.longValueExact();
+  private static final double SMOOTHING_FACTOR = 0.3;
+
+  /** A tracker which always asks for the default response size and records nothing. */
+  public static final SnapPeerThroughputTracker DISABLED =
+      new SnapPeerThroughputTracker(false, Clock.systemUTC(), DEFAULT_TARGET_RESPONSE_TIME);
+
+  private final boolean enabled;
+  private final Clock clock;
+  private final long targetResponseMillis;
+  private final ConcurrentMap<EthPeer, Map<Integer, Throughput>> throughputs =
+      CacheBuilder.newBuilder().weakKeys().<EthPeer, Map<Integer, Throughput>>build().asMap();
+
+  public SnapPeerThroughputTracker(final Clock clock, final Duration targetResponseTime) {
+    this(true, clock, targetResponseTime);
+  }
+
+  private SnapPeerThroughputTracker(
+      final boolean enabled, final Clock clock, final Duration targetResponseTime) {
+    checkArgument(targetResponseTime.toMillis() > 0, "target response time must be positive");
+    this.enabled = enabled;
+    this.clock = clock;
+    this.targetResponseMillis = targetResponseTime.toMillis();
+  }
+
+  /**
+   * Start tracking a request sent to a peer.
+   *
+   * @param peer the peer the request is sent to
+   * @param requestCode the snap message code of the request
+   * @return the tracked request, giving the response size to ask for
+   */
+  public TrackedRequest track(final EthPeer peer, final int requestCode) {
+    return new TrackedRequest(peer, requestCode, responseBytes(peer, requestCode));
+  }
+
+  @VisibleForTesting
+  BigInteger responseBytes(final EthPeer peer, final int requestCode) {
+    if (!enabled) {
+      return AbstractSnapMessageData.SIZE_REQUEST;
+    }
+    final long expectedBytes =
+        Math.round(throughput(peer, requestCode).getBytesPerMillis() * targetResponseMillis);
+    return BigInteger.valueOf(
+        Math.max(MIN_RESPONSE_BYTES, Math.min(MAX_RESPONSE_BYTES, expectedBytes)));
+  }
+
+  private Throughput throughput(final EthPeer peer, final int requestCode) {
+    return throughputs
+        .computeIfAbsent(peer, p -> new ConcurrentHashMap<>())
+        .computeIfAbsent(
+            requestCode,
+            code -> new Throughput((double) DEFAULT_RESPONSE_BYTES / targetResponseMillis));
+  }
+
+  /** A request sent to a peer, for which the response is measured. */
+  public class TrackedRequest {
+    private final EthPeer peer;
+    private final int requestCode;
+    private final BigInteger responseBytes;
+    private final long startTimestamp;
+    private final AtomicBoolean done = new AtomicBoolean(false);
+
+    private TrackedRequest(
+        final EthPeer peer, final int requestCode, final BigInteger responseBytes) {
+      this.peer = peer;
+      this.requestCode = requestCode;
+      this.responseBytes = responseBytes;
+      this.startTimestamp = clock.millis();
+    }
+
+    public BigInteger getResponseBytes() {
+      return responseBytes;
+    }
+
+    /**
+     * Record the response of the peer.
+     *
+     * @param receivedBytes the size of the response
+     */
+    public void complete(final int receivedBytes) {
+      if (enabled && done.compareAndSet(false, true)) {
+        final long elapsedMillis = Math.max(1, clock.millis() - startTimestamp);
+        // a small and fast response only tells the peer had less data to send, unless it
+        // shows the peer is faster than estimated
+        final boolean isSignificant =
+            elapsedMillis > targetResponseMillis
+                || BigInteger.valueOf(receivedBytes * 2L).compareTo(responseBytes) >= 0;
+        throughput(peer, requestCode).record((double) receivedBytes / elapsedMillis, isSignificant);
+      }
+    }
+
+    /** Record that the peer did not answer the request in time, or sent an unusable response. */
+    public void fail() {
+      if (enabled && done.compareAndSet(false, true)) {
+        throughput(peer, requestCode).penalize();
+      }
+    }
+  }
+
+  private static class Throughput {
+    private double bytesPerMillis;
+
+    private Throughput(final double bytesPerMillis) {
+      this.bytesPerMillis = bytesPerMillis;
+    }
+
+    synchronized double getBytesPerMillis() {
+      return bytesPerMillis;
+    }
+
+    synchronized void record(final double sample, final boolean isSignificant) {
+      if (isSignificant || sample > bytesPerMillis) {
+        bytesPerMillis = SMOOTHING_FACTOR * sample + (1 - SMOOTHING_FACTOR) * bytesPerMillis;
+      }
+    }
+
+    synchronized void penalize() {
+      bytesPerMillis /= 2;
+    }
+  }
+}
@@ -20,7 +20,6 @@ import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.AbstractMessageData;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
-import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 
 import java.util.List;
@@ -38,7 +37,7 @@ public final class BlockBodiesMessage extends AbstractMessageData {
       throw new IllegalArgumentException(
           String.format("Message has code %d and thus is not a BlockBodiesMessage.", code));
     }
-    return new BlockBodiesMessage(message.getData());
+    return new BlockBodiesMessage(message);
   }
 
   public static BlockBodiesMessage create(final Iterable<BlockBody> bodies) {
@@ -62,6 +61,10 @@ public final class BlockBodiesMessage extends AbstractMessageData {
     super(data);
   }
 
+  private BlockBodiesMessage(final MessageData message) {
+    super(message);
+  }
+
   @Override
   public int getCode() {
     return EthPV62.BLOCK_BODIES;
@@ -70,7 +73,9 @@ public final class BlockBodiesMessage extends AbstractMessageData {
   public List<BlockBody> bodies(final ProtocolSchedule protocolSchedule) {
     final BlockHeaderFunctions blockHeaderFunctions =
         ScheduleBasedBlockHeaderFunctions.create(protocolSchedule);
-    return new BytesValueRLPInput(data, false)
-        .readList(rlp -> BlockBody.readWrappedBodyFrom(rlp, blockHeaderFunctions, true));
+    return decode(
+        rlpInput ->
+            rlpInput.readList(
+                rlp -> BlockBody.readWrappedBodyFrom(rlp, blockHeaderFunctions, true)));
   }
 }
@@ -17,7 +17,6 @@ package org.hyperledger.besu.ethereum.eth.messages;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.AbstractMessageData;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
-import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 
 import java.util.List;
@@ -35,7 +34,7 @@ public class TransactionsMessage extends AbstractMessageData {
       throw new IllegalArgumentException(
           String.format("Message has code %d and thus is not a TransactionsMessage.", code));
     }
-    return new TransactionsMessage(message.getData());
+    return new TransactionsMessage(message);
   }
 
   public static TransactionsMessage create(final Iterable<Transaction> transactions) {
@@ -52,12 +51,16 @@ public class TransactionsMessage extends AbstractMessageData {
     super(data);
   }
 
+  private TransactionsMessage(final MessageData message) {
+    super(message);
+  }
+
   @Override
   public int getCode() {
     return EthPV62.TRANSACTIONS;
   }
 
   public List<Transaction> transactions() {
-    return new BytesValueRLPInput(data, false).readList(Transaction::readFrom);
+    return decode(rlpInput -> rlpInput.readList(Transaction::readFrom));
   }
 }
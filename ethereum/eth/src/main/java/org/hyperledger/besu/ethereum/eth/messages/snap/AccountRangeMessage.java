@@ -16,7 +16,6 @@ package org.hyperledger.besu.ethereum.eth.messages.snap;
 
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.AbstractSnapMessageData;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
-import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 import org.hyperledger.besu.ethereum.rlp.RLPInput;
 import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
@@ -39,6 +38,10 @@ public final class AccountRangeMessage extends AbstractSnapMessageData {
     super(data);
   }
 
+  private AccountRangeMessage(final MessageData message) {
+    super(message);
+  }
+
   public static AccountRangeMessage readFrom(final MessageData message) {
     if (message instanceof AccountRangeMessage) {
       return (AccountRangeMessage) message;
@@ -48,7 +51,7 @@ public final class AccountRangeMessage extends AbstractSnapMessageData {
       throw new IllegalArgumentException(
           String.format("Message has code %d and thus is not a AccountRangeMessage.", code));
     }
-    return new AccountRangeMessage(message.getData());
+    return new AccountRangeMessage(message);
   }
 
   public static AccountRangeMessage create(
@@ -88,9 +91,12 @@ public final class AccountRangeMessage extends AbstractSnapMessageData {
   }
 
   public AccountRangeData accountData(final boolean withRequestId) {
+    return decode(input -> readAccountData(input, withRequestId));
+  }
+
+  private AccountRangeData readAccountData(final RLPInput input, final boolean withRequestId) {
     final TreeMap<Bytes32, Bytes> accounts = new TreeMap<>();
     final ArrayDeque<Bytes> proofs = new ArrayDeque<>();
-    final RLPInput input = new BytesValueRLPInput(data, false);
     input.enterList();
 
     if (withRequestId) input.skipNext();
@@ -598,6 +598,9 @@ public class BlockPropagationManager implements UnverifiedForkchoiceListener {
       return CompletableFuture.completedFuture(block);
     }
 
+    // recover the transaction senders while the block header is validated
+    ethContext.getTransactionSenderRecovery().recoverSenders(List.of(block));
+
     final BlockHeader parent =
         protocolContext
             .getBlockchain()
@@ -51,6 +51,7 @@ public class SynchronizerConfiguration {
       TimeUnit.SECONDS.toMillis(60);
 
   public static final boolean DEFAULT_CHECKPOINT_POST_MERGE_ENABLED = false;
+  public static final boolean DEFAULT_VIRTUAL_THREADS_ENABLED = false;
 
   // Fast sync config
   private final int fastSyncPivotDistance;
@@ -82,6 +83,7 @@ public class SynchronizerConfiguration {
   private final int downloaderParallelism;
   private final int transactionsParallelism;
   private final int computationParallelism;
+  private final boolean virtualThreadsEnabled;
   private final int maxTrailingPeers;
   private final long worldStateMinMillisBeforeStalling;
   private final long propagationManagerGetBlockTimeoutMillis;
@@ -106,6 +108,7 @@ public class SynchronizerConfiguration {
       final int downloaderParallelism,
       final int transactionsParallelism,
       final int computationParallelism,
+      final boolean virtualThreadsEnabled,
       final int maxTrailingPeers,
       final long propagationManagerGetBlockTimeoutMillis,
       final boolean checkpointPostMergeEnabled) {
@@ -128,6 +131,7 @@ public class SynchronizerConfiguration {
     this.downloaderParallelism = downloaderParallelism;
     this.transactionsParallelism = transactionsParallelism;
     this.computationParallelism = computationParallelism;
+    this.virtualThreadsEnabled = virtualThreadsEnabled;
     this.maxTrailingPeers = maxTrailingPeers;
     this.propagationManagerGetBlockTimeoutMillis = propagationManagerGetBlockTimeoutMillis;
     this.checkpointPostMergeEnabled = checkpointPostMergeEnabled;
@@ -211,6 +215,16 @@ public class SynchronizerConfiguration {
     return computationParallelism;
   }
 
+  /**
+   * Whether the sync workers and the services of the scheduler run on virtual threads instead of
+   * pools of platform threads. Only effective on JVMs supporting virtual threads.
+   *
+   * @return true if virtual threads are enabled
+   */
+  public boolean isVirtualThreadsEnabled() {
+    return virtualThreadsEnabled;
+  }
+
   /**
    * The rate at which blocks should be fully validated during fast sync. At a rate of 1f, all
    * blocks are fully validated. At rates less than 1f, a subset of blocks will undergo light-weight
@@ -271,6 +285,7 @@ public class SynchronizerConfiguration {
     private int downloaderParallelism = DEFAULT_DOWNLOADER_PARALLELISM;
     private int transactionsParallelism = DEFAULT_TRANSACTIONS_PARALLELISM;
     private int computationParallelism = DEFAULT_COMPUTATION_PARALLELISM;
+    private boolean virtualThreadsEnabled = DEFAULT_VIRTUAL_THREADS_ENABLED;
     private int fastSyncPivotDistance = DEFAULT_PIVOT_DISTANCE_FROM_HEAD;
     private float fastSyncFullValidationRate = DEFAULT_FULL_VALIDATION_RATE;
     private int worldStateHashCountPerRequest = DEFAULT_WORLD_STATE_HASH_COUNT_PER_REQUEST;
@@ -359,6 +374,11 @@ public class SynchronizerConfiguration {
       return this;
     }
 
+    public Builder virtualThreadsEnabled(final boolean virtualThreadsEnabled) {
+      this.virtualThreadsEnabled = virtualThreadsEnabled;
+      return this;
+    }
+
     public Builder fastSyncMinimumPeerCount(final int fastSyncMinimumPeerCount) {
       this.fastSyncMinimumPeerCount = fastSyncMinimumPeerCount;
       return this;
@@ -427,6 +447,7 @@ public class SynchronizerConfiguration {
           downloaderParallelism,
           transactionsParallelism,
           computationParallelism,
+          virtualThreadsEnabled,
           maxTrailingPeers,
           propagationManagerGetBlockTimeoutMillis,
           checkpointPostMergeEnabled);
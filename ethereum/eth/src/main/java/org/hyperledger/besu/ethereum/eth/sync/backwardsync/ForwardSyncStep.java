@@ -103,6 +103,9 @@ public class ForwardSyncStep {
       return null;
     }
 
+    // recover the transaction senders of the whole batch while the first blocks are imported
+    context.getEthContext().getTransactionSenderRecovery().recoverSenders(blocks);
+
     for (Block block : blocks) {
       final Optional<BlockHeader> parent =
           context
@@ -15,7 +15,7 @@
 package org.hyperledger.besu.ethereum.eth.sync.fullsync;
 
 import org.hyperledger.besu.ethereum.core.Block;
-import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionSenderRecovery;
 
 import java.util.List;
 import java.util.function.Function;
@@ -23,13 +23,15 @@ import java.util.stream.Stream;
 
 public class ExtractTxSignaturesStep implements Function<List<Block>, Stream<Block>> {
 
-  @Override
-  public Stream<Block> apply(final List<Block> blocks) {
-    return blocks.stream().map(this::extractSignatures);
+  private final TransactionSenderRecovery senderRecovery;
+
+  public ExtractTxSignaturesStep(final TransactionSenderRecovery senderRecovery) {
+    this.senderRecovery = senderRecovery;
   }
 
-  private Block extractSignatures(final Block block) {
-    block.getBody().getTransactions().forEach(Transaction::getSender);
-    return block;
+  @Override
+  public Stream<Block> apply(final List<Block> blocks) {
+    senderRecovery.recoverSenders(blocks).join();
+    return blocks.stream();
   }
 }
@@ -57,6 +57,7 @@ public class FullImportBlockStep implements Consumer<Block> {
     }
     final long blockNumber = block.getHeader().getNumber();
     final String blockHash = block.getHash().toHexString();
+    protocolContext.getWorldStateArchive().preLoadBlockState(block);
     final BlockImporter importer =
         protocolSchedule.getByBlockHeader(block.getHeader()).getBlockImporter();
     final BlockImportResult blockImportResult =
@@ -16,10 +16,12 @@ package org.hyperledger.besu.ethereum.eth.sync.snapsync;
 
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.eth.manager.EthContext;
+import org.hyperledger.besu.ethereum.eth.manager.exceptions.MaxRetriesReachedException;
 import org.hyperledger.besu.ethereum.eth.manager.snap.RetryingGetAccountRangeFromPeerTask;
 import org.hyperledger.besu.ethereum.eth.manager.snap.RetryingGetBytecodeFromPeerTask;
 import org.hyperledger.besu.ethereum.eth.manager.snap.RetryingGetStorageRangeFromPeerTask;
 import org.hyperledger.besu.ethereum.eth.manager.snap.RetryingGetTrieNodeFromPeerTask;
+import org.hyperledger.besu.ethereum.eth.manager.snap.SnapPeerThroughputTracker;
 import org.hyperledger.besu.ethereum.eth.manager.task.EthTask;
 import org.hyperledger.besu.ethereum.eth.messages.snap.AccountRangeMessage;
 import org.hyperledger.besu.ethereum.eth.messages.snap.StorageRangeMessage;
@@ -34,13 +36,16 @@ import org.hyperledger.besu.ethereum.proof.WorldStateProofProvider;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.services.tasks.Task;
+import org.hyperledger.besu.util.ExceptionUtils;
 
+import java.time.Clock;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import com.google.common.collect.Lists;
@@ -50,6 +55,9 @@ import org.apache.tuweni.bytes.Bytes32;
 
 public class RequestDataStep {
 
+  // number of ranges an account range is split into when no peer could serve it
+  private static final int LAGGING_ACCOUNT_RANGE_SPLIT_COUNT = 4;
+
   private final WorldStateStorage worldStateStorage;
   private final SnapSyncProcessState fastSyncState;
   private final SnapWorldDownloadState downloadState;
@@ -57,6 +65,7 @@ public class RequestDataStep {
   private final MetricsSystem metricsSystem;
   private final EthContext ethContext;
   private final WorldStateProofProvider worldStateProofProvider;
+  private final SnapPeerThroughputTracker throughputTracker;
 
   public RequestDataStep(
       final EthContext ethContext,
@@ -72,6 +81,11 @@ public class RequestDataStep {
     this.metricsSystem = metricsSystem;
     this.ethContext = ethContext;
     this.worldStateProofProvider = new WorldStateProofProvider(worldStateStorage);
+    this.throughputTracker =
+        snapSyncConfiguration.isAdaptiveRequestSizingEnabled()
+            ? new SnapPeerThroughputTracker(
+                Clock.systemUTC(), SnapPeerThroughputTracker.DEFAULT_TARGET_RESPONSE_TIME)
+            : SnapPeerThroughputTracker.DISABLED;
   }
 
   public CompletableFuture<Task<SnapDataRequest>> requestAccount(
@@ -86,6 +100,7 @@ public class RequestDataStep {
             accountDataRequest.getStartKeyHash(),
             accountDataRequest.getEndKeyHash(),
             blockHeader,
+            throughputTracker,
             metricsSystem);
     downloadState.addOutstandingTask(getAccountTask);
     return getAccountTask
@@ -97,11 +112,22 @@ public class RequestDataStep {
                 accountDataRequest.setRootHash(blockHeader.getStateRoot());
                 accountDataRequest.addResponse(
                     worldStateProofProvider, response.accounts(), response.proofs());
+              } else if (snapSyncConfiguration.isAdaptiveRequestSizingEnabled()
+                  && isLaggingPeersFailure(error)) {
+                // the peers were too slow to serve the range, share it between several peers
+                accountDataRequest.setRootHash(blockHeader.getStateRoot());
+                accountDataRequest.splitRange(downloadState, LAGGING_ACCOUNT_RANGE_SPLIT_COUNT);
               }
               return requestTask;
             });
   }
 
+  private static boolean isLaggingPeersFailure(final Throwable error) {
+    // other failures (invalid responses, missing state, ...) are not solved by smaller ranges
+    final Throwable cause = ExceptionUtils.rootCause(error);
+    return cause instanceof TimeoutException || cause instanceof MaxRetriesReachedException;
+  }
+
   public CompletableFuture<List<Task<SnapDataRequest>>> requestStorage(
       final List<Task<SnapDataRequest>> requestTasks) {
     final List<Bytes32> accountHashes =
@@ -121,7 +147,13 @@ public class RequestDataStep {
             : RangeManager.MAX_RANGE;
     final EthTask<StorageRangeMessage.SlotRangeData> getStorageRangeTask =
         RetryingGetStorageRangeFromPeerTask.forStorageRange(
-            ethContext, accountHashes, minRange, maxRange, blockHeader, metricsSystem);
+            ethContext,
+            accountHashes,
+            minRange,
+            maxRange,
+            blockHeader,
+            throughputTracker,
+            metricsSystem);
     downloadState.addOutstandingTask(getStorageRangeTask);
     return getStorageRangeTask
         .run()
@@ -156,7 +188,7 @@ public class RequestDataStep {
     final BlockHeader blockHeader = fastSyncState.getPivotBlockHeader().get();
     final EthTask<Map<Bytes32, Bytes>> getByteCodeTask =
         RetryingGetBytecodeFromPeerTask.forByteCode(
-            ethContext, codeHashes, blockHeader, metricsSystem);
+            ethContext, codeHashes, blockHeader, throughputTracker, metricsSystem);
     downloadState.addOutstandingTask(getByteCodeTask);
     return getByteCodeTask
         .run()
@@ -195,7 +227,7 @@ public class RequestDataStep {
             });
     final EthTask<Map<Bytes, Bytes>> getTrieNodeFromPeerTask =
         RetryingGetTrieNodeFromPeerTask.forTrieNodes(
-            ethContext, message, blockHeader, metricsSystem);
+            ethContext, message, blockHeader, throughputTracker, metricsSystem);
     downloadState.addOutstandingTask(getTrieNodeFromPeerTask);
     return getTrieNodeFromPeerTask
         .run()
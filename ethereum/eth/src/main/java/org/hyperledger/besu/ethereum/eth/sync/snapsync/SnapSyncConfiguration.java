@@ -38,6 +38,8 @@ public class SnapSyncConfiguration {
 
   public static final Boolean DEFAULT_IS_FLAT_DB_HEALING_ENABLED = Boolean.FALSE;
 
+  public static final Boolean DEFAULT_IS_ADAPTIVE_REQUEST_SIZING_ENABLED = Boolean.FALSE;
+
   public static SnapSyncConfiguration getDefault() {
     return ImmutableSnapSyncConfiguration.builder().build();
   }
@@ -81,4 +83,9 @@ public class SnapSyncConfiguration {
   public Boolean isFlatDbHealingEnabled() {
     return DEFAULT_IS_FLAT_DB_HEALING_ENABLED;
   }
+
+  @Value.Default
+  public Boolean isAdaptiveRequestSizingEnabled() {
+    return DEFAULT_IS_ADAPTIVE_REQUEST_SIZING_ENABLED;
+  }
 }
@@ -28,6 +28,7 @@ import java.math.RoundingMode;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
@@ -125,6 +126,16 @@ public class SnapsyncMetricsManager {
         "snap_world_state_codes_total",
         "Total number of codes downloaded as part of snap sync world state",
         nbCodes::get);
+    metricsSystem.createGauge(
+        BesuMetricCategory.SYNCHRONIZER,
+        "snap_world_state_download_progress_percentage",
+        "Percentage of the account ranges downloaded as part of snap sync world state",
+        () -> percentageProgress.get().doubleValue());
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.SYNCHRONIZER,
+        "snap_world_state_download_eta_seconds",
+        "Estimated time in seconds to complete the snap sync world state download, -1 if unknown",
+        () -> estimateRemainingTime().map(Duration::toSeconds).orElse(-1L));
   }
 
   public void initRange(final Map<Bytes32, Bytes32> ranges) {
@@ -135,7 +146,7 @@ public class SnapsyncMetricsManager {
     this.lastNotifyTimestamp = startSyncTime;
   }
 
-  public void notifyRangeProgress(
+  public synchronized void notifyRangeProgress(
       final Step step, final Bytes32 startKeyHash, final Bytes32 endKeyHash) {
     checkNonEmpty(lastRangeIndex, "snapsync range collection");
     if (lastRangeIndex.containsKey(endKeyHash)) {
@@ -153,6 +164,42 @@ public class SnapsyncMetricsManager {
     }
   }
 
+  /**
+   * Track the progress of the ranges created by splitting a range that is not fully downloaded.
+   *
+   * @param endKeyHash the end of the split range
+   * @param ranges the start and end of the new ranges
+   */
+  public synchronized void notifyRangeSplit(
+      final Bytes32 endKeyHash, final Map<Bytes32, Bytes32> ranges) {
+    if (lastRangeIndex.containsKey(endKeyHash)) {
+      lastRangeIndex.remove(endKeyHash);
+      for (Map.Entry<Bytes32, Bytes32> entry : ranges.entrySet()) {
+        this.lastRangeIndex.put(entry.getValue(), entry.getKey().toUnsignedBigInteger());
+      }
+    }
+  }
+
+  /**
+   * Estimate the time left to download the account ranges, from the progress made so far.
+   *
+   * @return the estimated remaining time, or empty if no progress was made yet
+   */
+  public Optional<Duration> estimateRemainingTime() {
+    final BigDecimal progress = percentageProgress.get();
+    if (startSyncTime == 0 || progress.signum() <= 0) {
+      return Optional.empty();
+    }
+    final long elapsedMillis = System.currentTimeMillis() - startSyncTime;
+    final BigDecimal remaining = BigDecimal.valueOf(100).subtract(progress).max(BigDecimal.ZERO);
+    return Optional.of(
+        Duration.ofMillis(
+            BigDecimal.valueOf(elapsedMillis)
+                .multiply(remaining)
+                .divide(progress, MathContext.DECIMAL64)
+                .longValue()));
+  }
+
   public void notifyAccountsDownloaded(final long nbAccounts) {
     this.nbAccountsDownloaded.getAndAdd(nbAccounts);
   }
@@ -192,8 +239,11 @@ public class SnapsyncMetricsManager {
               nbCodes,
               nbTrieNodesGenerated);
           LOG.info(
-              "Worldstate {} progress: {}%, Peer count: {}",
-              step.message, percentageProgress.get().setScale(2, RoundingMode.HALF_UP), peerCount);
+              "Worldstate {} progress: {}%, ETA: {}, Peer count: {}",
+              step.message,
+              percentageProgress.get().setScale(2, RoundingMode.HALF_UP),
+              estimateRemainingTime().map(this::formatDuration).orElse("unknown"),
+              peerCount);
         }
         case HEAL_FLAT -> {
           LOG.debug(
@@ -215,6 +265,11 @@ public class SnapsyncMetricsManager {
     }
   }
 
+  private String formatDuration(final Duration duration) {
+    return String.format(
+        "%d:%02d:%02d", duration.toHours(), duration.toMinutesPart(), duration.toSecondsPart());
+  }
+
   public void notifySnapSyncCompleted() {
     final Duration duration = Duration.ofMillis(System.currentTimeMillis() - startSyncTime);
     LOG.info(
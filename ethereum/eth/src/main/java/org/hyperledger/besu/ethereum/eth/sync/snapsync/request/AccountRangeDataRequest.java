@@ -17,6 +17,7 @@ package org.hyperledger.besu.ethereum.eth.sync.snapsync.request;
 import static org.hyperledger.besu.ethereum.eth.sync.snapsync.RangeManager.MAX_RANGE;
 import static org.hyperledger.besu.ethereum.eth.sync.snapsync.RangeManager.MIN_RANGE;
 import static org.hyperledger.besu.ethereum.eth.sync.snapsync.RangeManager.findNewBeginElementInRange;
+import static org.hyperledger.besu.ethereum.eth.sync.snapsync.RangeManager.generateRanges;
 import static org.hyperledger.besu.ethereum.eth.sync.snapsync.RequestType.ACCOUNT_RANGE;
 import static org.hyperledger.besu.ethereum.eth.sync.snapsync.SnapsyncMetricsManager.Step.DOWNLOAD;
 import static org.hyperledger.besu.ethereum.eth.sync.snapsync.StackTrie.FlatDatabaseUpdater.noop;
@@ -36,6 +37,7 @@ import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage.Updater;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -56,6 +58,12 @@ public class AccountRangeDataRequest extends SnapDataRequest {
 
   private static final Logger LOG = LoggerFactory.getLogger(AccountRangeDataRequest.class);
 
+  /** Maximum number of times a range can be split again after being split. */
+  @VisibleForTesting static final int MAX_SPLIT_DEPTH = 3;
+
+  /** Smallest range of account hashes that is still worth sharing between several peers. */
+  @VisibleForTesting static final BigInteger MIN_SPLIT_RANGE_SIZE = BigInteger.ONE.shiftLeft(240);
+
   private final Bytes32 startKeyHash;
   private final Bytes32 endKeyHash;
   private final Optional<Bytes32> startStorageRange;
@@ -63,6 +71,8 @@ public class AccountRangeDataRequest extends SnapDataRequest {
 
   private final StackTrie stackTrie;
   private Optional<Boolean> isProofValid;
+  private final List<SnapDataRequest> splitRequests = new ArrayList<>();
+  private int splitDepth;
 
   protected AccountRangeDataRequest(
       final Hash rootHash,
@@ -110,6 +120,11 @@ public class AccountRangeDataRequest extends SnapDataRequest {
       final SnapSyncProcessState snapSyncState,
       final SnapSyncConfiguration snapSyncConfiguration) {
 
+    if (!splitRequests.isEmpty()) {
+      // the range will be downloaded by the split requests
+      return 0;
+    }
+
     if (startStorageRange.isPresent() && endStorageRange.isPresent()) {
       // not store the new account if we just want to complete the account thanks to another
       // rootHash
@@ -154,9 +169,44 @@ public class AccountRangeDataRequest extends SnapDataRequest {
     }
   }
 
+  /**
+   * Replace this request by smaller ranges, so that a range no peer was able to serve in time is
+   * downloaded from several peers in parallel.
+   *
+   * @param downloadState the download state, which tracks the progress of the ranges
+   * @param nbRanges the number of ranges to create
+   * @return true if the range was split, false if it is too small or was already split too often
+   */
+  public boolean splitRange(final SnapWorldDownloadState downloadState, final int nbRanges) {
+    if (startStorageRange.isPresent() || endStorageRange.isPresent()) {
+      return false;
+    }
+    if (splitDepth >= MAX_SPLIT_DEPTH
+        || endKeyHash
+                .toUnsignedBigInteger()
+                .subtract(startKeyHash.toUnsignedBigInteger())
+                .compareTo(MIN_SPLIT_RANGE_SIZE)
+            < 0) {
+      return false;
+    }
+    final Map<Bytes32, Bytes32> ranges = generateRanges(startKeyHash, endKeyHash, nbRanges);
+    if (ranges.size() <= 1) {
+      return false;
+    }
+    downloadState.getMetricsManager().notifyRangeSplit(endKeyHash, ranges);
+    ranges.forEach(
+        (start, end) -> {
+          final AccountRangeDataRequest splitRequest =
+              createAccountRangeDataRequest(getRootHash(), start, end);
+          splitRequest.splitDepth = splitDepth + 1;
+          splitRequests.add(splitRequest);
+        });
+    return true;
+  }
+
   @Override
   public boolean isResponseReceived() {
-    return isProofValid.orElse(false);
+    return !splitRequests.isEmpty() || isProofValid.orElse(false);
   }
 
   @Override
@@ -164,6 +214,9 @@ public class AccountRangeDataRequest extends SnapDataRequest {
       final SnapWorldDownloadState downloadState,
       final WorldStateStorage worldStateStorage,
       final SnapSyncProcessState snapSyncState) {
+    if (!splitRequests.isEmpty()) {
+      return splitRequests.stream();
+    }
     final List<SnapDataRequest> childRequests = new ArrayList<>();
 
     final StackTrie.TaskElement taskElement = stackTrie.getElement(startKeyHash);
@@ -174,8 +227,11 @@ public class AccountRangeDataRequest extends SnapDataRequest {
               downloadState
                   .getMetricsManager()
                   .notifyRangeProgress(DOWNLOAD, missingRightElement, endKeyHash);
-              childRequests.add(
-                  createAccountRangeDataRequest(getRootHash(), missingRightElement, endKeyHash));
+              final AccountRangeDataRequest remainingRangeRequest =
+                  createAccountRangeDataRequest(getRootHash(), missingRightElement, endKeyHash);
+              // the remaining part of a split range keeps counting toward the split depth
+              remainingRangeRequest.splitDepth = splitDepth;
+              childRequests.add(remainingRangeRequest);
             },
             () ->
                 downloadState
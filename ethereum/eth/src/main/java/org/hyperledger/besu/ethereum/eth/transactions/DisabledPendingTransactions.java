@@ -55,6 +55,11 @@ public class DisabledPendingTransactions implements PendingTransactions {
   @Override
   public void selectTransactions(final TransactionSelector selector) {}
 
+  @Override
+  public List<Transaction> getTransactionsToSelect(final int maxTransactions) {
+    return List.of();
+  }
+
   @Override
   public long maxSize() {
     return 0;
@@ -43,6 +43,15 @@ public interface PendingTransactions {
 
   void selectTransactions(TransactionSelector selector);
 
+  /**
+   * Get the transactions that {@link #selectTransactions} would offer first, in the same order, if
+   * all of them were selected. The transactions are not evaluated and the pool is not changed.
+   *
+   * @param maxTransactions the maximum number of transactions to return
+   * @return the first transactions to select
+   */
+  List<Transaction> getTransactionsToSelect(int maxTransactions);
+
   long maxSize();
 
   int size();
@@ -29,6 +29,7 @@ import org.hyperledger.besu.ethereum.chain.BlockAddedObserver;
 import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.MiningParameters;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.eth.manager.EthContext;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
@@ -55,6 +56,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.IntSummaryStatistics;
 import java.util.List;
 import java.util.Map;
@@ -207,18 +209,21 @@ public class TransactionPool implements BlockAddedObserver {
     final List<Transaction> addedTransactions = new ArrayList<>(initialCount);
     LOG.debug("Adding {} remote transactions", initialCount);
 
-    final var validationResults =
-        sortedBySenderAndNonce(transactions)
-            .collect(
-                Collectors.toMap(
-                    Transaction::getHash,
-                    transaction -> {
-                      final var result = addRemoteTransaction(transaction);
-                      if (result.isValid()) {
-                        addedTransactions.add(transaction);
-                      }
-                      return result;
-                    }));
+    final Map<Hash, ValidationResult<TransactionInvalidReason>> validationResults;
+    try (final ValidationContext validationContext = new ValidationContext()) {
+      validationResults =
+          sortedBySenderAndNonce(transactions)
+              .collect(
+                  Collectors.toMap(
+                      Transaction::getHash,
+                      transaction -> {
+                        final var result = addRemoteTransaction(transaction, validationContext);
+                        if (result.isValid()) {
+                          addedTransactions.add(transaction);
+                        }
+                        return result;
+                      }));
+    }
 
     LOG_FOR_REPLAY
         .atTrace()
@@ -243,6 +248,13 @@ public class TransactionPool implements BlockAddedObserver {
 
   private ValidationResult<TransactionInvalidReason> addRemoteTransaction(
       final Transaction transaction) {
+    try (final ValidationContext validationContext = new ValidationContext()) {
+      return addRemoteTransaction(transaction, validationContext);
+    }
+  }
+
+  private ValidationResult<TransactionInvalidReason> addRemoteTransaction(
+      final Transaction transaction, final ValidationContext validationContext) {
     if (pendingTransactions.containsTransaction(transaction)) {
       LOG.atTrace()
           .setMessage("Discard already present transaction {}")
@@ -253,7 +265,8 @@ public class TransactionPool implements BlockAddedObserver {
       return ValidationResult.invalid(TRANSACTION_ALREADY_KNOWN);
     }
 
-    final ValidationResultAndAccount validationResult = validateRemoteTransaction(transaction);
+    final ValidationResultAndAccount validationResult =
+        validateTransaction(transaction, false, validationContext);
 
     if (validationResult.result.isValid()) {
       final TransactionAddedResult status =
@@ -281,18 +294,48 @@ public class TransactionPool implements BlockAddedObserver {
         return ValidationResult.invalid(rejectReason);
       }
     } else {
-      LOG.atTrace()
-          .setMessage("Discard invalid transaction {}, reason {}")
-          .addArgument(transaction::toTraceLog)
-          .addArgument(validationResult.result::getInvalidReason)
-          .log();
-      metrics.incrementRejected(false, validationResult.result.getInvalidReason(), "txpool");
-      pendingTransactions.signalInvalidAndRemoveDependentTransactions(transaction);
+      rejectInvalidRemoteTransaction(transaction, validationResult.result);
     }
 
     return validationResult.result;
   }
 
+  private void rejectInvalidRemoteTransaction(
+      final Transaction transaction, final ValidationResult<TransactionInvalidReason> result) {
+    LOG.atTrace()
+        .setMessage("Discard invalid transaction {}, reason {}")
+        .addArgument(transaction::toTraceLog)
+        .addArgument(result::getInvalidReason)
+        .log();
+    metrics.incrementRejected(false, result.getInvalidReason(), "txpool");
+    pendingTransactions.signalInvalidAndRemoveDependentTransactions(transaction);
+  }
+
+  /**
+   * Run the validations of a remote transaction that do not need the world state, rejecting it the
+   * same way {@link #addRemoteTransactions(Collection)} does when they fail. This allows dropping
+   * invalid transactions, in parallel, before they reach the pool.
+   *
+   * @param transaction the remote transaction to check
+   * @return false if the transaction was rejected
+   */
+  boolean preValidateRemoteTransaction(final Transaction transaction) {
+    final Optional<BlockHeader> maybeChainHeadBlockHeader = getChainHeadBlockHeader();
+    if (maybeChainHeadBlockHeader.isEmpty()) {
+      // the pool will reject it
+      return true;
+    }
+    final FeeMarket feeMarket =
+        protocolSchedule.getByBlockHeader(maybeChainHeadBlockHeader.get()).getFeeMarket();
+    final ValidationResult<TransactionInvalidReason> result =
+        validateStateless(transaction, false, maybeChainHeadBlockHeader.get(), feeMarket);
+    if (!result.isValid()) {
+      rejectInvalidRemoteTransaction(transaction, result);
+      return false;
+    }
+    return true;
+  }
+
   public long subscribePendingTransactions(final PendingTransactionAddedListener listener) {
     return pendingTransactionsListenersProxy.onAddedListeners.subscribe(listener);
   }
@@ -368,17 +411,17 @@ public class TransactionPool implements BlockAddedObserver {
   }
 
   private ValidationResultAndAccount validateLocalTransaction(final Transaction transaction) {
-    return validateTransaction(transaction, true);
-  }
-
-  private ValidationResultAndAccount validateRemoteTransaction(final Transaction transaction) {
-    return validateTransaction(transaction, false);
+    try (final ValidationContext validationContext = new ValidationContext()) {
+      return validateTransaction(transaction, true, validationContext);
+    }
   }
 
   private ValidationResultAndAccount validateTransaction(
-      final Transaction transaction, final boolean isLocal) {
+      final Transaction transaction,
+      final boolean isLocal,
+      final ValidationContext validationContext) {
 
-    final BlockHeader chainHeadBlockHeader = getChainHeadBlockHeader().orElse(null);
+    final BlockHeader chainHeadBlockHeader = validationContext.chainHeadBlockHeader;
     if (chainHeadBlockHeader == null) {
       LOG.atTrace()
           .setMessage("rejecting transaction {} due to chain head not available yet")
@@ -390,10 +433,39 @@ public class TransactionPool implements BlockAddedObserver {
     final FeeMarket feeMarket =
         protocolSchedule.getByBlockHeader(chainHeadBlockHeader).getFeeMarket();
 
+    final ValidationResult<TransactionInvalidReason> statelessValidationResult =
+        validateStateless(transaction, isLocal, chainHeadBlockHeader, feeMarket);
+    if (!statelessValidationResult.isValid()) {
+      return new ValidationResultAndAccount(statelessValidationResult);
+    }
+
+    try {
+      final Account senderAccount = validationContext.getSenderAccount(transaction.getSender());
+      return new ValidationResultAndAccount(
+          senderAccount,
+          getTransactionValidator()
+              .validateForSender(
+                  transaction, senderAccount, TransactionValidationParams.transactionPool()));
+    } catch (MerkleTrieException ex) {
+      LOG.debug(
+          "MerkleTrieException while validating transaction for sender {}",
+          transaction.getSender());
+      return ValidationResultAndAccount.invalid(CHAIN_HEAD_WORLD_STATE_NOT_AVAILABLE);
+    } catch (Exception ex) {
+      return ValidationResultAndAccount.invalid(CHAIN_HEAD_WORLD_STATE_NOT_AVAILABLE);
+    }
+  }
+
+  private ValidationResult<TransactionInvalidReason> validateStateless(
+      final Transaction transaction,
+      final boolean isLocal,
+      final BlockHeader chainHeadBlockHeader,
+      final FeeMarket feeMarket) {
+
     final TransactionInvalidReason priceInvalidReason =
         validatePrice(transaction, isLocal, feeMarket);
     if (priceInvalidReason != null) {
-      return ValidationResultAndAccount.invalid(priceInvalidReason);
+      return ValidationResult.invalid(priceInvalidReason);
     }
 
     final ValidationResult<TransactionInvalidReason> basicValidationResult =
@@ -403,48 +475,28 @@ public class TransactionPool implements BlockAddedObserver {
                 chainHeadBlockHeader.getBaseFee(),
                 TransactionValidationParams.transactionPool());
     if (!basicValidationResult.isValid()) {
-      return new ValidationResultAndAccount(basicValidationResult);
+      return basicValidationResult;
     }
 
     if (isLocal
         && strictReplayProtectionShouldBeEnforceLocally(chainHeadBlockHeader)
         && transaction.getChainId().isEmpty()) {
       // Strict replay protection is enabled but the tx is not replay-protected
-      return ValidationResultAndAccount.invalid(
-          TransactionInvalidReason.REPLAY_PROTECTED_SIGNATURE_REQUIRED);
+      return ValidationResult.invalid(TransactionInvalidReason.REPLAY_PROTECTED_SIGNATURE_REQUIRED);
     }
     if (transaction.getGasLimit() > chainHeadBlockHeader.getGasLimit()) {
-      return ValidationResultAndAccount.invalid(
+      return ValidationResult.invalid(
           TransactionInvalidReason.EXCEEDS_BLOCK_GAS_LIMIT,
           String.format(
               "Transaction gas limit of %s exceeds block gas limit of %s",
               transaction.getGasLimit(), chainHeadBlockHeader.getGasLimit()));
     }
     if (transaction.getType().equals(TransactionType.EIP1559) && !feeMarket.implementsBaseFee()) {
-      return ValidationResultAndAccount.invalid(
+      return ValidationResult.invalid(
           TransactionInvalidReason.INVALID_TRANSACTION_FORMAT,
           "EIP-1559 transaction are not allowed yet");
     }
-
-    try (final var worldState =
-        protocolContext
-            .getWorldStateArchive()
-            .getMutable(chainHeadBlockHeader, false)
-            .orElseThrow()) {
-      final Account senderAccount = worldState.get(transaction.getSender());
-      return new ValidationResultAndAccount(
-          senderAccount,
-          getTransactionValidator()
-              .validateForSender(
-                  transaction, senderAccount, TransactionValidationParams.transactionPool()));
-    } catch (MerkleTrieException ex) {
-      LOG.debug(
-          "MerkleTrieException while validating transaction for sender {}",
-          transaction.getSender());
-      return ValidationResultAndAccount.invalid(CHAIN_HEAD_WORLD_STATE_NOT_AVAILABLE);
-    } catch (Exception ex) {
-      return ValidationResultAndAccount.invalid(CHAIN_HEAD_WORLD_STATE_NOT_AVAILABLE);
-    }
+    return ValidationResult.valid();
   }
 
   private TransactionInvalidReason validatePrice(
@@ -524,6 +576,10 @@ public class TransactionPool implements BlockAddedObserver {
     pendingTransactions.selectTransactions(transactionSelector);
   }
 
+  public List<Transaction> getTransactionsToSelect(final int maxTransactions) {
+    return pendingTransactions.getTransactionsToSelect(maxTransactions);
+  }
+
   public String logStats() {
     return pendingTransactions.logStats();
   }
@@ -538,6 +594,45 @@ public class TransactionPool implements BlockAddedObserver {
     void onTransactionsAdded(Collection<Transaction> transactions);
   }
 
+  /**
+   * The chain head used to validate a batch of transactions, and the sender accounts read from its
+   * world state. The world state is opened only once for the whole batch, and each sender account
+   * is read once, however many transactions it has in the batch.
+   */
+  private class ValidationContext implements AutoCloseable {
+    private final BlockHeader chainHeadBlockHeader = getChainHeadBlockHeader().orElse(null);
+    private final Map<Address, Optional<Account>> senderAccounts = new HashMap<>();
+    private MutableWorldState worldState;
+
+    Account getSenderAccount(final Address sender) {
+      final Optional<Account> cached = senderAccounts.get(sender);
+      if (cached != null) {
+        return cached.orElse(null);
+      }
+      if (worldState == null) {
+        worldState =
+            protocolContext
+                .getWorldStateArchive()
+                .getMutable(chainHeadBlockHeader, false)
+                .orElseThrow();
+      }
+      final Account senderAccount = worldState.get(sender);
+      senderAccounts.put(sender, Optional.ofNullable(senderAccount));
+      return senderAccount;
+    }
+
+    @Override
+    public void close() {
+      if (worldState != null) {
+        try {
+          worldState.close();
+        } catch (final Exception e) {
+          LOG.debug("Error closing the world state used to validate transactions", e);
+        }
+      }
+    }
+  }
+
   private static class ValidationResultAndAccount {
     final ValidationResult<TransactionInvalidReason> result;
     final Optional<Account> maybeAccount;
@@ -42,6 +42,7 @@ public interface TransactionPoolConfiguration {
   int DEFAULT_MAX_PRIORITIZED_TRANSACTIONS = 2000;
   int DEFAULT_MAX_FUTURE_BY_SENDER = 200;
   boolean DEFAULT_LAYERED_TX_POOL_ENABLED = false;
+  boolean DEFAULT_TX_INGESTION_PIPELINE_ENABLED = false;
 
   TransactionPoolConfiguration DEFAULT = ImmutableTransactionPoolConfiguration.builder().build();
 
@@ -124,4 +125,9 @@ public interface TransactionPoolConfiguration {
   default int getMaxFutureBySender() {
     return DEFAULT_MAX_FUTURE_BY_SENDER;
   }
+
+  @Value.Default
+  default Boolean getTxIngestionPipelineEnabled() {
+    return DEFAULT_TX_INGESTION_PIPELINE_ENABLED;
+  }
 }
@@ -36,6 +36,8 @@ import org.hyperledger.besu.plugin.services.BesuEvents;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 
 import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
 import java.util.function.BiFunction;
 
 import org.slf4j.Logger;
@@ -111,11 +113,26 @@ public class TransactionPoolFactory {
             metrics,
             transactionPoolConfiguration);
 
+    final TransactionsMessageProcessor transactionsMessageProcessor =
+        new TransactionsMessageProcessor(transactionTracker, transactionPool, metrics);
+
+    final Optional<TransactionsIngestionPipeline> maybeIngestionPipeline =
+        transactionPoolConfiguration.getTxIngestionPipelineEnabled()
+            ? Optional.of(
+                new TransactionsIngestionPipeline(
+                    ethContext.getScheduler(),
+                    transactionsMessageProcessor,
+                    transactionPool,
+                    Duration.ofSeconds(transactionPoolConfiguration.getTxMessageKeepAliveSeconds()),
+                    metrics.getMetricsSystem()))
+            : Optional.empty();
+
     final TransactionsMessageHandler transactionsMessageHandler =
         new TransactionsMessageHandler(
             ethContext.getScheduler(),
-            new TransactionsMessageProcessor(transactionTracker, transactionPool, metrics),
-            transactionPoolConfiguration.getTxMessageKeepAliveSeconds());
+            transactionsMessageProcessor,
+            transactionPoolConfiguration.getTxMessageKeepAliveSeconds(),
+            maybeIngestionPipeline);
 
     final NewPooledTransactionHashesMessageHandler pooledTransactionsMessageHandler =
         new NewPooledTransactionHashesMessageHandler(
@@ -21,6 +21,7 @@ import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.metrics.LabelledGauge;
 import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -46,6 +47,8 @@ public class TransactionPoolMetrics {
   private final LabelledMetric<Counter> expiredMessagesCounter;
   private final Map<String, RunnableCounter> expiredMessagesRunnableCounters = new HashMap<>();
   private final LabelledMetric<Counter> alreadySeenTransactionsCounter;
+  private final LabelledMetric<Counter> lockContendedCounter;
+  private final LabelledMetric<OperationTimer> lockWaitTimer;
 
   public TransactionPoolMetrics(final MetricsSystem metricsSystem) {
     this.metricsSystem = metricsSystem;
@@ -110,6 +113,20 @@ public class TransactionPoolMetrics {
             "remote_transactions_already_seen_total",
             "Total number of received transactions already seen",
             "message");
+
+    lockContendedCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.TRANSACTION_POOL,
+            "lock_contended_total",
+            "Count of operations that had to wait for the transaction pool lock",
+            "operation");
+
+    lockWaitTimer =
+        metricsSystem.createLabelledTimer(
+            BesuMetricCategory.TRANSACTION_POOL,
+            "lock_wait_seconds",
+            "Time spent waiting for the transaction pool lock",
+            "operation");
   }
 
   public MetricsSystem getMetricsSystem() {
@@ -167,6 +184,11 @@ public class TransactionPoolMetrics {
     alreadySeenTransactionsCounter.labels(message).inc(count);
   }
 
+  public OperationTimer.TimingContext startLockWait(final String operation) {
+    lockContendedCounter.labels(operation).inc();
+    return lockWaitTimer.labels(operation).startTimer();
+  }
+
   private String location(final boolean receivedFromLocalSource) {
     return receivedFromLocalSource ? "local" : "remote";
   }
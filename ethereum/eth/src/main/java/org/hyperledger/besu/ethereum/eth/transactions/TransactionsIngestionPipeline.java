@@ -0,0 +1,232 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.eth.manager.PeerReputation;
+import org.hyperledger.besu.ethereum.eth.messages.TransactionsMessage;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.services.pipeline.Pipeline;
+import org.hyperledger.besu.services.pipeline.PipelineBuilder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Processes incoming transaction messages in stages: decode, filter the transactions already seen,
+ * recover the senders and run the stateless validations in parallel, then add them to the pool in
+ * batches, so that the world state is read once per sender in each batch.
+ *
+ * <p>Messages are queued up to a fixed capacity. When the queue is more than half full only
+ * messages from peers that did not lose reputation are accepted, when it is full every message is
+ * dropped.
+ *
+ * <p>An error processing a message or a transaction only drops that entry. Should the pipeline fail
+ * anyway, it is restarted with an empty queue.
+ */
+class TransactionsIngestionPipeline {
+  private static final Logger LOG = LoggerFactory.getLogger(TransactionsIngestionPipeline.class);
+  static final int CAPACITY = 1_000;
+  static final int MAX_BATCH_SIZE = 500;
+  private static final int PARALLELISM =
+      Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+  private final EthScheduler scheduler;
+  private final TransactionsMessageProcessor transactionsMessageProcessor;
+  private final TransactionPool transactionPool;
+  private final Duration keepAlive;
+  private final LabelledMetric<Counter> outputCounter;
+  private final LabelledMetric<Counter> droppedMessagesCounter;
+  private final AtomicInteger queuedMessages = new AtomicInteger();
+  private volatile Pipeline<IncomingMessage> pipeline;
+
+  TransactionsIngestionPipeline(
+      final EthScheduler scheduler,
+      final TransactionsMessageProcessor transactionsMessageProcessor,
+      final TransactionPool transactionPool,
+      final Duration keepAlive,
+      final MetricsSystem metricsSystem) {
+    this.scheduler = scheduler;
+    this.transactionsMessageProcessor = transactionsMessageProcessor;
+    this.transactionPool = transactionPool;
+    this.keepAlive = keepAlive;
+    this.outputCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.TRANSACTION_POOL,
+            "ingestion_pipeline_processed_total",
+            "Number of entries processed by each incoming transactions pipeline stage",
+            "step",
+            "action");
+    this.droppedMessagesCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.TRANSACTION_POOL,
+            "ingestion_pipeline_dropped_messages_total",
+            "Number of incoming transactions messages dropped since the pipeline was too busy",
+            "peer_priority");
+  }
+
+  synchronized void start() {
+    if (pipeline == null) {
+      startPipeline();
+    }
+  }
+
+  synchronized void stop() {
+    if (pipeline != null) {
+      final Pipeline<IncomingMessage> stoppedPipeline = pipeline;
+      pipeline = null;
+      stoppedPipeline.abort();
+    }
+  }
+
+  private void startPipeline() {
+    queuedMessages.set(0);
+    final Pipeline<IncomingMessage> newPipeline = createPipeline();
+    pipeline = newPipeline;
+    scheduler
+        .startPipeline(newPipeline)
+        .whenComplete((unused, error) -> restartIfFailed(newPipeline, error));
+  }
+
+  private synchronized void restartIfFailed(
+      final Pipeline<IncomingMessage> completedPipeline, final Throwable error) {
+    // a stopped pipeline is not the current one anymore
+    if (error != null && pipeline == completedPipeline) {
+      LOG.warn("Incoming transactions pipeline failed, restarting it", error);
+      startPipeline();
+    }
+  }
+
+  /**
+   * Queue a message for processing, unless the pipeline is too busy to accept it from this peer.
+   *
+   * @param peer the peer that sent the message
+   * @param transactionsMessage the message
+   * @param startedAt when the message was received
+   * @return true if the message was queued
+   */
+  boolean offer(
+      final EthPeer peer, final TransactionsMessage transactionsMessage, final Instant startedAt) {
+    final Pipeline<IncomingMessage> currentPipeline = pipeline;
+    if (currentPipeline == null) {
+      return false;
+    }
+    final boolean lowPriority = isLowPriority(peer);
+    final int queued = queuedMessages.incrementAndGet();
+    if (queued > CAPACITY || (lowPriority && queued > CAPACITY / 2)) {
+      queuedMessages.decrementAndGet();
+      droppedMessagesCounter.labels(lowPriority ? "low" : "high").inc();
+      LOG.atTrace()
+          .setMessage("Dropping transactions message from {}, {} messages already queued")
+          .addArgument(peer)
+          .addArgument(queued - 1)
+          .log();
+      return false;
+    }
+    currentPipeline.getInputPipe().put(new IncomingMessage(peer, transactionsMessage, startedAt));
+    return true;
+  }
+
+  private static boolean isLowPriority(final EthPeer peer) {
+    return peer == null || peer.getReputation().getScore() < PeerReputation.DEFAULT_INITIAL_SCORE;
+  }
+
+  private Pipeline<IncomingMessage> createPipeline() {
+    return PipelineBuilder.<IncomingMessage>createPipeline(
+            "queueMessages", CAPACITY, outputCounter, false, "transactions_ingestion")
+        .thenProcess("decode", this::decode)
+        .thenProcess("skipSeen", this::skipSeen)
+        .thenFlatMap("splitTransactions", Collection::stream, MAX_BATCH_SIZE)
+        .thenProcessInParallel("recoverSender", this::recoverSender, PARALLELISM)
+        .thenFlatMapInParallel("preValidate", this::preValidate, PARALLELISM, MAX_BATCH_SIZE)
+        .inBatches(MAX_BATCH_SIZE)
+        .andFinishWith("addToPool", this::addToPool);
+  }
+
+  private DecodedMessage decode(final IncomingMessage message) {
+    queuedMessages.decrementAndGet();
+    try {
+      return new DecodedMessage(
+          message.peer,
+          transactionsMessageProcessor.decodeTransactions(
+              message.peer, message.transactionsMessage, message.startedAt, keepAlive));
+    } catch (final RuntimeException e) {
+      LOG.debug("Unexpected error decoding transactions message from {}", message.peer, e);
+      return new DecodedMessage(message.peer, List.of());
+    }
+  }
+
+  private Collection<Transaction> skipSeen(final DecodedMessage message) {
+    if (message.transactions.isEmpty()) {
+      return List.of();
+    }
+    try {
+      return transactionsMessageProcessor.skipSeenTransactions(message.peer, message.transactions);
+    } catch (final RuntimeException e) {
+      LOG.debug("Unexpected error filtering the transactions from {}", message.peer, e);
+      return List.of();
+    }
+  }
+
+  private Transaction recoverSender(final Transaction transaction) {
+    try {
+      // the sender is memoized, so the following stages get it for free
+      transaction.getSender();
+    } catch (final RuntimeException e) {
+      LOG.atTrace()
+          .setMessage("Unable to recover the sender of transaction {}")
+          .addArgument(transaction::getHash)
+          .setCause(e)
+          .log();
+    }
+    return transaction;
+  }
+
+  private Stream<Transaction> preValidate(final Transaction transaction) {
+    try {
+      return transactionPool.preValidateRemoteTransaction(transaction)
+          ? Stream.of(transaction)
+          : Stream.empty();
+    } catch (final RuntimeException e) {
+      LOG.debug("Unexpected error pre-validating transaction {}", transaction.getHash(), e);
+      return Stream.empty();
+    }
+  }
+
+  private void addToPool(final List<Transaction> transactions) {
+    try {
+      transactionPool.addRemoteTransactions(transactions);
+    } catch (final RuntimeException e) {
+      LOG.warn("Unexpected error adding {} remote transactions", transactions.size(), e);
+    }
+  }
+
+  private record IncomingMessage(
+      EthPeer peer, TransactionsMessage transactionsMessage, Instant startedAt) {}
+
+  private record DecodedMessage(EthPeer peer, List<Transaction> transactions) {}
+}
@@ -20,25 +20,39 @@ import org.hyperledger.besu.ethereum.eth.manager.EthMessage;
 import org.hyperledger.besu.ethereum.eth.manager.EthMessages;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.ethereum.eth.messages.TransactionsMessage;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import io.netty.util.ReferenceCountUtil;
+
 class TransactionsMessageHandler implements EthMessages.MessageCallback {
 
   private final TransactionsMessageProcessor transactionsMessageProcessor;
   private final EthScheduler scheduler;
   private final Duration txMsgKeepAlive;
+  private final Optional<TransactionsIngestionPipeline> maybeIngestionPipeline;
   private final AtomicBoolean isEnabled = new AtomicBoolean(false);
 
   public TransactionsMessageHandler(
       final EthScheduler scheduler,
       final TransactionsMessageProcessor transactionsMessageProcessor,
       final int txMsgKeepAliveSeconds) {
+    this(scheduler, transactionsMessageProcessor, txMsgKeepAliveSeconds, Optional.empty());
+  }
+
+  public TransactionsMessageHandler(
+      final EthScheduler scheduler,
+      final TransactionsMessageProcessor transactionsMessageProcessor,
+      final int txMsgKeepAliveSeconds,
+      final Optional<TransactionsIngestionPipeline> maybeIngestionPipeline) {
     this.scheduler = scheduler;
     this.transactionsMessageProcessor = transactionsMessageProcessor;
     this.txMsgKeepAlive = Duration.ofSeconds(txMsgKeepAliveSeconds);
+    this.maybeIngestionPipeline = maybeIngestionPipeline;
   }
 
   @Override
@@ -46,18 +60,36 @@ class TransactionsMessageHandler implements EthMessages.MessageCallback {
     final TransactionsMessage transactionsMessage = TransactionsMessage.readFrom(message.getData());
     final Instant startedAt = now();
     if (isEnabled.get()) {
-      scheduler.scheduleTxWorkerTask(
-          () ->
-              transactionsMessageProcessor.processTransactionsMessage(
-                  message.getPeer(), transactionsMessage, startedAt, txMsgKeepAlive));
+      if (maybeIngestionPipeline.isPresent()) {
+        maybeIngestionPipeline.get().offer(message.getPeer(), transactionsMessage, startedAt);
+      } else {
+        // Keep a message read from a network buffer alive until the worker has decoded it
+        final MessageData data = ReferenceCountUtil.retain(message.getData());
+        try {
+          scheduler.scheduleTxWorkerTask(
+              () -> {
+                try {
+                  transactionsMessageProcessor.processTransactionsMessage(
+                      message.getPeer(), transactionsMessage, startedAt, txMsgKeepAlive);
+                } finally {
+                  ReferenceCountUtil.release(data);
+                }
+              });
+        } catch (final RuntimeException e) {
+          ReferenceCountUtil.release(data);
+          throw e;
+        }
+      }
     }
   }
 
   public void setDisabled() {
     isEnabled.set(false);
+    maybeIngestionPipeline.ifPresent(TransactionsIngestionPipeline::stop);
   }
 
   public void setEnabled() {
+    maybeIngestionPipeline.ifPresent(TransactionsIngestionPipeline::start);
     isEnabled.set(true);
   }
 
@@ -55,37 +55,35 @@ class TransactionsMessageProcessor {
       final TransactionsMessage transactionsMessage,
       final Instant startedAt,
       final Duration keepAlive) {
-    // Check if message is not expired.
-    if (startedAt.plus(keepAlive).isAfter(now())) {
-      this.processTransactionsMessage(peer, transactionsMessage);
-    } else {
-      metrics.incrementExpiredMessages(METRIC_LABEL);
+    final List<Transaction> incomingTransactions =
+        decodeTransactions(peer, transactionsMessage, startedAt, keepAlive);
+    if (!incomingTransactions.isEmpty()) {
+      transactionPool.addRemoteTransactions(skipSeenTransactions(peer, incomingTransactions));
     }
   }
 
-  private void processTransactionsMessage(
-      final EthPeer peer, final TransactionsMessage transactionsMessage) {
+  /**
+   * Decode the transactions of a message that is not expired. A peer sending a malformed message
+   * is disconnected.
+   *
+   * @param peer the peer that sent the message
+   * @param transactionsMessage the message to decode
+   * @param startedAt when the message was received
+   * @param keepAlive how long the message is worth processing after it was received
+   * @return the transactions of the message, empty if it is expired or malformed
+   */
+  List<Transaction> decodeTransactions(
+      final EthPeer peer,
+      final TransactionsMessage transactionsMessage,
+      final Instant startedAt,
+      final Duration keepAlive) {
+    // Check if message is not expired.
+    if (!startedAt.plus(keepAlive).isAfter(now())) {
+      metrics.incrementExpiredMessages(METRIC_LABEL);
+      return List.of();
+    }
     try {
-      final List<Transaction> incomingTransactions = transactionsMessage.transactions();
-      final Collection<Transaction> freshTransactions = skipSeenTransactions(incomingTransactions);
-
-      transactionTracker.markTransactionsAsSeen(peer, incomingTransactions);
-
-      metrics.incrementAlreadySeenTransactions(
-          METRIC_LABEL, incomingTransactions.size() - freshTransactions.size());
-      LOG.atTrace()
-          .setMessage(
-              "Received transactions message from {}, incoming transactions {}, incoming list {}"
-                  + ", fresh transactions {}, fresh list {}")
-          .addArgument(peer)
-          .addArgument(incomingTransactions::size)
-          .addArgument(() -> toHashList(incomingTransactions))
-          .addArgument(freshTransactions::size)
-          .addArgument(() -> toHashList(freshTransactions))
-          .log();
-
-      transactionPool.addRemoteTransactions(freshTransactions);
-
+      return transactionsMessage.transactions();
     } catch (final RLPException ex) {
       if (peer != null) {
         LOG.debug(
@@ -94,9 +92,38 @@ class TransactionsMessageProcessor {
             ex);
         peer.disconnect(DisconnectReason.BREACH_OF_PROTOCOL);
       }
+      return List.of();
     }
   }
 
+  /**
+   * Mark the incoming transactions as seen by the peer, and filter out the ones already seen.
+   *
+   * @param peer the peer that sent the transactions
+   * @param incomingTransactions the decoded transactions
+   * @return the transactions not seen before
+   */
+  Collection<Transaction> skipSeenTransactions(
+      final EthPeer peer, final List<Transaction> incomingTransactions) {
+    final Collection<Transaction> freshTransactions = skipSeenTransactions(incomingTransactions);
+
+    transactionTracker.markTransactionsAsSeen(peer, incomingTransactions);
+
+    metrics.incrementAlreadySeenTransactions(
+        METRIC_LABEL, incomingTransactions.size() - freshTransactions.size());
+    LOG.atTrace()
+        .setMessage(
+            "Received transactions message from {}, incoming transactions {}, incoming list {}"
+                + ", fresh transactions {}, fresh list {}")
+        .addArgument(peer)
+        .addArgument(incomingTransactions::size)
+        .addArgument(() -> toHashList(incomingTransactions))
+        .addArgument(freshTransactions::size)
+        .addArgument(() -> toHashList(freshTransactions))
+        .log();
+    return freshTransactions;
+  }
+
   private Collection<Transaction> skipSeenTransactions(final List<Transaction> inTransactions) {
     return inTransactions.stream()
         .filter(tx -> !transactionTracker.hasSeenTransaction(tx.getHash()))
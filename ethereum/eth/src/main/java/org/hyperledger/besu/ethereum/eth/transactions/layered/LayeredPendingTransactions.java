@@ -41,12 +41,15 @@ import org.hyperledger.besu.evm.account.AccountState;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
@@ -54,12 +57,23 @@ import kotlin.ranges.LongRange;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Pending transactions organized in layers.
+ *
+ * <p>All the operations that modify the layers are serialized by a single lock, since layers share
+ * ordered structures across senders for promotion and eviction. Queries by hash, the pool size and
+ * the local senders are served without taking the lock, from concurrent maps that are updated
+ * together with the layers. Block selection takes the lock only to copy the prioritized
+ * transactions and to remove the invalid ones at the end, so transactions keep being added while
+ * the candidates are evaluated. The time spent waiting for the lock is reported by operation.
+ */
 public class LayeredPendingTransactions implements PendingTransactions {
   private static final Logger LOG = LoggerFactory.getLogger(LayeredPendingTransactions.class);
   private static final Logger LOG_FOR_REPLAY = LoggerFactory.getLogger("LOG_FOR_REPLAY");
   private final TransactionPoolConfiguration poolConfig;
-  private final Set<Address> localSenders = new HashSet<>();
+  private final Set<Address> localSenders = ConcurrentHashMap.newKeySet();
   private final AbstractPrioritizedTransactions prioritizedTransactions;
+  private final ReentrantLock lock = new ReentrantLock();
 
   public LayeredPendingTransactions(
       final TransactionPoolConfiguration poolConfig,
@@ -69,29 +83,55 @@ public class LayeredPendingTransactions implements PendingTransactions {
   }
 
   @Override
-  public synchronized void reset() {
-    prioritizedTransactions.reset();
+  public void reset() {
+    withLock("reset", prioritizedTransactions::reset);
   }
 
   @Override
-  public synchronized TransactionAddedResult addRemoteTransaction(
+  public TransactionAddedResult addRemoteTransaction(
       final Transaction transaction, final Optional<Account> maybeSenderAccount) {
 
-    return addTransaction(new PendingTransaction.Remote(transaction), maybeSenderAccount);
+    return withLock(
+        "add",
+        () -> addTransaction(new PendingTransaction.Remote(transaction), maybeSenderAccount));
   }
 
   @Override
-  public synchronized TransactionAddedResult addLocalTransaction(
+  public TransactionAddedResult addLocalTransaction(
       final Transaction transaction, final Optional<Account> maybeSenderAccount) {
 
     final TransactionAddedResult addedResult =
-        addTransaction(new PendingTransaction.Local(transaction), maybeSenderAccount);
+        withLock(
+            "add",
+            () -> addTransaction(new PendingTransaction.Local(transaction), maybeSenderAccount));
     if (addedResult.isSuccess()) {
       localSenders.add(transaction.getSender());
     }
     return addedResult;
   }
 
+  private void withLock(final String operation, final Runnable action) {
+    withLock(
+        operation,
+        () -> {
+          action.run();
+          return null;
+        });
+  }
+
+  private <T> T withLock(final String operation, final Supplier<T> action) {
+    if (!lock.tryLock()) {
+      try (var ignored = prioritizedTransactions.metrics.startLockWait(operation)) {
+        lock.lock();
+      }
+    }
+    try {
+      return action.get();
+    } finally {
+      lock.unlock();
+    }
+  }
+
   TransactionAddedResult addTransaction(
       final PendingTransaction pendingTransaction, final Optional<Account> maybeSenderAccount) {
 
@@ -300,12 +340,12 @@ public class LayeredPendingTransactions implements PendingTransactions {
   public void evictOldTransactions() {}
 
   @Override
-  public synchronized List<Transaction> getLocalTransactions() {
+  public List<Transaction> getLocalTransactions() {
     return prioritizedTransactions.getAllLocal();
   }
 
   @Override
-  public synchronized boolean isLocalSender(final Address sender) {
+  public boolean isLocalSender(final Address sender) {
     return localSenders.contains(sender);
   }
 
@@ -317,95 +357,145 @@ public class LayeredPendingTransactions implements PendingTransactions {
   // block could end up with transactions of the new type.
   // This seems like it would be very rare but worth it to document that we don't handle that case
   // right now.
-  public synchronized void selectTransactions(
-      final PendingTransactions.TransactionSelector selector) {
+  public void selectTransactions(final PendingTransactions.TransactionSelector selector) {
+    final SelectionSnapshot snapshot = withLock("select", this::takeSelectionSnapshot);
+
     final List<PendingTransaction> invalidTransactions = new ArrayList<>();
     final Set<Hash> alreadyChecked = new HashSet<>();
     final Set<Address> skipSenders = new HashSet<>();
-    final AtomicBoolean completed = new AtomicBoolean(false);
-
-    prioritizedTransactions.stream()
-        .takeWhile(unused -> !completed.get())
-        .filter(highPrioPendingTx -> !skipSenders.contains(highPrioPendingTx.getSender()))
-        .peek(this::logSenderTxs)
-        .forEach(
-            highPrioPendingTx ->
-                prioritizedTransactions.stream(highPrioPendingTx.getSender())
-                    .takeWhile(
-                        candidatePendingTx ->
-                            !skipSenders.contains(candidatePendingTx.getSender())
-                                && !completed.get())
-                    .filter(
-                        candidatePendingTx ->
-                            !alreadyChecked.contains(candidatePendingTx.getHash())
-                                && candidatePendingTx.getNonce() <= highPrioPendingTx.getNonce())
-                    .forEach(
-                        candidatePendingTx -> {
-                          alreadyChecked.add(candidatePendingTx.getHash());
-                          final var res =
-                              selector.evaluateTransaction(candidatePendingTx.getTransaction());
-
-                          LOG.atTrace()
-                              .setMessage("Selection result {} for transaction {}")
-                              .addArgument(res)
-                              .addArgument(candidatePendingTx::toTraceLog)
-                              .log();
-
-                          if (res.discard()) {
-                            invalidTransactions.add(candidatePendingTx);
-                            logTransactionForReplayDelete(candidatePendingTx);
-                          }
-
-                          if (res.stop()) {
-                            completed.set(true);
-                          }
-
-                          if (!res.selected()) {
-                            // avoid processing other txs from this sender if this one is skipped
-                            // since the following will not be selected due to the nonce gap
-                            skipSenders.add(candidatePendingTx.getSender());
-                            LOG.trace("Skipping tx from sender {}", candidatePendingTx.getSender());
-                          }
-                        }));
-
-    invalidTransactions.forEach(
-        invalidTx -> prioritizedTransactions.remove(invalidTx, INVALIDATED));
-  }
-
-  private void logSenderTxs(final PendingTransaction highPrioPendingTx) {
+
+    selection:
+    for (final PendingTransaction highPrioPendingTx : snapshot.orderedByPriority) {
+      final Address sender = highPrioPendingTx.getSender();
+      if (skipSenders.contains(sender)) {
+        continue;
+      }
+      final List<PendingTransaction> senderTxs = snapshot.bySender.get(sender);
+      logSenderTxs(highPrioPendingTx, senderTxs);
+
+      for (final PendingTransaction candidatePendingTx : senderTxs) {
+        if (candidatePendingTx.getNonce() > highPrioPendingTx.getNonce()) {
+          break;
+        }
+        if (!alreadyChecked.add(candidatePendingTx.getHash())) {
+          continue;
+        }
+        final var res = selector.evaluateTransaction(candidatePendingTx.getTransaction());
+
+        LOG.atTrace()
+            .setMessage("Selection result {} for transaction {}")
+            .addArgument(res)
+            .addArgument(candidatePendingTx::toTraceLog)
+            .log();
+
+        if (res.discard()) {
+          invalidTransactions.add(candidatePendingTx);
+          logTransactionForReplayDelete(candidatePendingTx);
+        }
+
+        if (res.stop()) {
+          break selection;
+        }
+
+        if (!res.selected()) {
+          // avoid processing other txs from this sender if this one is skipped
+          // since the following will not be selected due to the nonce gap
+          skipSenders.add(sender);
+          LOG.trace("Skipping tx from sender {}", sender);
+          break;
+        }
+      }
+    }
+
+    if (!invalidTransactions.isEmpty()) {
+      withLock(
+          "select",
+          () ->
+              invalidTransactions.stream()
+                  // the tx could have been replaced or confirmed while the lock was released
+                  .filter(invalidTx -> prioritizedTransactions.contains(invalidTx.getTransaction()))
+                  .forEach(invalidTx -> prioritizedTransactions.remove(invalidTx, INVALIDATED)));
+    }
+  }
+
+  @Override
+  public List<Transaction> getTransactionsToSelect(final int maxTransactions) {
+    final SelectionSnapshot snapshot = withLock("peek", this::takeSelectionSnapshot);
+
+    final List<Transaction> transactionsToSelect = new ArrayList<>(maxTransactions);
+    final Set<Hash> alreadyAdded = new HashSet<>();
+
+    peek:
+    for (final PendingTransaction highPrioPendingTx : snapshot.orderedByPriority) {
+      for (final PendingTransaction candidatePendingTx :
+          snapshot.bySender.get(highPrioPendingTx.getSender())) {
+        if (candidatePendingTx.getNonce() > highPrioPendingTx.getNonce()) {
+          break;
+        }
+        if (alreadyAdded.add(candidatePendingTx.getHash())) {
+          transactionsToSelect.add(candidatePendingTx.getTransaction());
+          if (transactionsToSelect.size() == maxTransactions) {
+            break peek;
+          }
+        }
+      }
+    }
+    return transactionsToSelect;
+  }
+
+  private SelectionSnapshot takeSelectionSnapshot() {
+    final List<PendingTransaction> orderedByPriority = prioritizedTransactions.stream().toList();
+    final Map<Address, List<PendingTransaction>> bySender = new LinkedHashMap<>();
+    orderedByPriority.forEach(
+        ptx ->
+            bySender.computeIfAbsent(
+                ptx.getSender(), sender -> prioritizedTransactions.stream(sender).toList()));
+    return new SelectionSnapshot(orderedByPriority, bySender);
+  }
+
+  private void logSenderTxs(
+      final PendingTransaction highPrioPendingTx, final List<PendingTransaction> senderTxs) {
     LOG.atTrace()
         .setMessage("highPrioPendingTx {}, senderTxs {}")
         .addArgument(highPrioPendingTx::toTraceLog)
         .addArgument(
             () ->
-                prioritizedTransactions.stream(highPrioPendingTx.getSender())
+                senderTxs.stream()
                     .map(PendingTransaction::toTraceLog)
                     .collect(Collectors.joining(", ")))
         .log();
   }
 
+  /**
+   * A consistent copy of the prioritized layer, so candidates could be evaluated without holding
+   * the lock.
+   */
+  private record SelectionSnapshot(
+      List<PendingTransaction> orderedByPriority,
+      Map<Address, List<PendingTransaction>> bySender) {}
+
   @Override
   public long maxSize() {
     return -1;
   }
 
   @Override
-  public synchronized int size() {
+  public int size() {
     return prioritizedTransactions.count();
   }
 
   @Override
-  public synchronized boolean containsTransaction(final Transaction transaction) {
+  public boolean containsTransaction(final Transaction transaction) {
     return prioritizedTransactions.contains(transaction);
   }
 
   @Override
-  public synchronized Optional<Transaction> getTransactionByHash(final Hash transactionHash) {
+  public Optional<Transaction> getTransactionByHash(final Hash transactionHash) {
     return prioritizedTransactions.getByHash(transactionHash);
   }
 
   @Override
-  public synchronized List<PendingTransaction> getPendingTransactions() {
+  public List<PendingTransaction> getPendingTransactions() {
     return prioritizedTransactions.getAll();
   }
 
@@ -435,7 +525,19 @@ public class LayeredPendingTransactions implements PendingTransactions {
   }
 
   @Override
-  public synchronized void manageBlockAdded(
+  public void manageBlockAdded(
+      final BlockHeader blockHeader,
+      final List<Transaction> confirmedTransactions,
+      final List<Transaction> reorgTransactions,
+      final FeeMarket feeMarket) {
+    withLock(
+        "blockAdded",
+        () ->
+            manageBlockAddedLocked(
+                blockHeader, confirmedTransactions, reorgTransactions, feeMarket));
+  }
+
+  private void manageBlockAddedLocked(
       final BlockHeader blockHeader,
       final List<Transaction> confirmedTransactions,
       final List<Transaction> reorgTransactions,
@@ -547,12 +649,12 @@ public class LayeredPendingTransactions implements PendingTransactions {
   }
 
   @Override
-  public synchronized String toTraceLog() {
+  public String toTraceLog() {
     return "";
   }
 
   @Override
-  public synchronized String logStats() {
-    return prioritizedTransactions.logStats();
+  public String logStats() {
+    return withLock("logStats", prioritizedTransactions::logStats);
   }
 }
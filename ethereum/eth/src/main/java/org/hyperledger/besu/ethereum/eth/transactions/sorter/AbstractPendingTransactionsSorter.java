@@ -281,6 +281,31 @@ public abstract class AbstractPendingTransactionsSorter implements PendingTransa
     }
   }
 
+  @Override
+  public List<Transaction> getTransactionsToSelect(final int maxTransactions) {
+    synchronized (lock) {
+      final List<Transaction> transactionsToSelect = new ArrayList<>(maxTransactions);
+      final Map<Address, AccountTransactionOrder> accountTransactions = new HashMap<>();
+      final Iterator<PendingTransaction> prioritizedTransactions = prioritizedTransactions();
+      while (prioritizedTransactions.hasNext() && transactionsToSelect.size() < maxTransactions) {
+        final PendingTransaction highestPriorityPendingTransaction = prioritizedTransactions.next();
+        final AccountTransactionOrder accountTransactionOrder =
+            accountTransactions.computeIfAbsent(
+                highestPriorityPendingTransaction.getSender(), this::createSenderTransactionOrder);
+
+        for (final Transaction transactionToProcess :
+            accountTransactionOrder.transactionsToProcess(
+                highestPriorityPendingTransaction.getTransaction())) {
+          if (transactionsToSelect.size() == maxTransactions) {
+            break;
+          }
+          transactionsToSelect.add(transactionToProcess);
+        }
+      }
+      return transactionsToSelect;
+    }
+  }
+
   private AccountTransactionOrder createSenderTransactionOrder(final Address address) {
     return new AccountTransactionOrder(
         transactionsBySender
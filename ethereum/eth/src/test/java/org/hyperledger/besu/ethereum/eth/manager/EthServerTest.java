@@ -17,6 +17,7 @@ package org.hyperledger.besu.ethereum.eth.manager;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -345,6 +346,7 @@ public class EthServerTest {
 
   private List<Block> setupBlocks(final int count) {
     final List<Block> blocks = dataGenerator.blockSequence(count);
+    when(blockchain.getBlockBodies(anyList())).thenCallRealMethod();
     for (Block block : blocks) {
       when(blockchain.getBlockBody(block.getHash())).thenReturn(Optional.of(block.getBody()));
       when(blockchain.getBlockHeader(block.getHash())).thenReturn(Optional.of(block.getHeader()));
@@ -358,6 +360,7 @@ public class EthServerTest {
   private Map<Hash, List<TransactionReceipt>> setupBlockReceipts(final int count) {
     final Map<Hash, List<TransactionReceipt>> txReceiptsByHash = new HashMap<>();
     final List<Block> blocks = dataGenerator.blockSequence(count);
+    when(blockchain.getTxReceiptsForBlocks(anyList())).thenCallRealMethod();
     for (Block block : blocks) {
       final List<TransactionReceipt> receipts = dataGenerator.receipts(block);
       when(blockchain.getTxReceipts(block.getHash())).thenReturn(Optional.of(receipts));
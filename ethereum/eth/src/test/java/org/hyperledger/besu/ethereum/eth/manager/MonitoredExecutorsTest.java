@@ -0,0 +1,66 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.metrics.StubMetricsSystem;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class MonitoredExecutorsTest {
+
+  private final StubMetricsSystem metricsSystem = new StubMetricsSystem();
+
+  @Test
+  public void virtualThreadPerTaskExecutorShouldNotBoundConcurrentTasks() throws Exception {
+    final int taskCount = 200;
+    final ExecutorService executor =
+        MonitoredExecutors.newVirtualThreadPerTaskExecutor("Test-Virtual", metricsSystem);
+    final CountDownLatch allStarted = new CountDownLatch(taskCount);
+    final CountDownLatch release = new CountDownLatch(1);
+    final Set<String> threadNames = ConcurrentHashMap.newKeySet();
+
+    for (int i = 0; i < taskCount; i++) {
+      executor.execute(
+          () -> {
+            threadNames.add(Thread.currentThread().getName());
+            allStarted.countDown();
+            try {
+              release.await();
+            } catch (final InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          });
+    }
+
+    // every task blocks until all of them are running
+    assertThat(allStarted.await(30, TimeUnit.SECONDS)).isTrue();
+    release.countDown();
+    executor.shutdown();
+    assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+    assertThat(threadNames).hasSize(taskCount).allMatch(name -> name.startsWith("Test-Virtual-"));
+    assertThat(metricsSystem.getGaugeValue("test_virtual_completed_tasks_total"))
+        .isEqualTo(taskCount);
+    assertThat(metricsSystem.getGaugeValue("test_virtual_active_threads_current")).isZero();
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager.snap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.ethereum.p2p.rlpx.wire.AbstractSnapMessageData.SIZE_REQUEST;
+import static org.mockito.Mockito.mock;
+
+import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
+import org.hyperledger.besu.ethereum.eth.messages.snap.SnapV1;
+import org.hyperledger.besu.testutil.TestClock;
+
+import java.math.BigInteger;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+public class SnapPeerThroughputTrackerTest {
+
+  private final TestClock clock = new TestClock();
+  private final SnapPeerThroughputTracker tracker =
+      new SnapPeerThroughputTracker(clock, Duration.ofSeconds(1));
+  private final EthPeer peer = mock(EthPeer.class);
+
+  @Test
+  public void disabledTrackerAlwaysRequestsDefaultSize() {
+    final SnapPeerThroughputTracker.TrackedRequest request =
+        SnapPeerThroughputTracker.DISABLED.track(peer, SnapV1.GET_ACCOUNT_RANGE);
+    request.fail();
+
+    assertThat(request.getResponseBytes()).isEqualTo(SIZE_REQUEST);
+    assertThat(responseBytes(SnapPeerThroughputTracker.DISABLED, SnapV1.GET_ACCOUNT_RANGE))
+        .isEqualTo(SIZE_REQUEST);
+  }
+
+  @Test
+  public void unknownPeerIsAskedForDefaultSize() {
+    assertThat(responseBytes(tracker, SnapV1.GET_ACCOUNT_RANGE)).isEqualTo(SIZE_REQUEST);
+  }
+
+  @Test
+  public void fastPeerIsAskedForLargerResponsesUpToTheLimit() {
+    respond(SnapV1.GET_ACCOUNT_RANGE, SIZE_REQUEST.intValueExact(), 100);
+    assertThat(responseBytes(tracker, SnapV1.GET_ACCOUNT_RANGE)).isGreaterThan(SIZE_REQUEST);
+
+    for (int i = 0; i < 10; i++) {
+      respond(SnapV1.GET_ACCOUNT_RANGE, SIZE_REQUEST.intValueExact(), 100);
+    }
+    assertThat(responseBytes(tracker, SnapV1.GET_ACCOUNT_RANGE))
+        .isEqualTo(BigInteger.valueOf(SnapPeerThroughputTracker.MAX_RESPONSE_BYTES));
+  }
+
+  @Test
+  public void slowPeerIsAskedForSmallerResponses() {
+    respond(SnapV1.GET_STORAGE_RANGE, SIZE_REQUEST.intValueExact(), 4000);
+
+    assertThat(responseBytes(tracker, SnapV1.GET_STORAGE_RANGE)).isLessThan(SIZE_REQUEST);
+  }
+
+  @Test
+  public void smallFastResponseDoesNotShrinkTheRequests() {
+    respond(SnapV1.GET_BYTECODES, 1024, 10);
+
+    assertThat(responseBytes(tracker, SnapV1.GET_BYTECODES)).isEqualTo(SIZE_REQUEST);
+  }
+
+  @Test
+  public void failedRequestHalvesTheResponseSizeDownToTheLimit() {
+    tracker.track(peer, SnapV1.GET_TRIE_NODES).fail();
+    assertThat(responseBytes(tracker, SnapV1.GET_TRIE_NODES))
+        .isEqualTo(SIZE_REQUEST.divide(BigInteger.TWO));
+
+    for (int i = 0; i < 10; i++) {
+      tracker.track(peer, SnapV1.GET_TRIE_NODES).fail();
+    }
+    assertThat(responseBytes(tracker, SnapV1.GET_TRIE_NODES))
+        .isEqualTo(BigInteger.valueOf(SnapPeerThroughputTracker.MIN_RESPONSE_BYTES));
+  }
+
+  @Test
+  public void failureAfterResponseIsIgnored() {
+    final SnapPeerThroughputTracker.TrackedRequest request =
+        tracker.track(peer, SnapV1.GET_ACCOUNT_RANGE);
+    clock.stepMillis(1000);
+    request.complete(SIZE_REQUEST.intValueExact());
+    request.fail();
+
+    assertThat(responseBytes(tracker, SnapV1.GET_ACCOUNT_RANGE)).isEqualTo(SIZE_REQUEST);
+  }
+
+  @Test
+  public void throughputIsTrackedPerPeerAndRequestType() {
+    tracker.track(peer, SnapV1.GET_ACCOUNT_RANGE).fail();
+
+    assertThat(responseBytes(tracker, SnapV1.GET_STORAGE_RANGE)).isEqualTo(SIZE_REQUEST);
+    assertThat(tracker.track(mock(EthPeer.class), SnapV1.GET_ACCOUNT_RANGE).getResponseBytes())
+        .isEqualTo(SIZE_REQUEST);
+  }
+
+  private void respond(final int requestCode, final int receivedBytes, final long elapsedMillis) {
+    final SnapPeerThroughputTracker.TrackedRequest request = tracker.track(peer, requestCode);
+    clock.stepMillis(elapsedMillis);
+    request.complete(receivedBytes);
+  }
+
+  private BigInteger responseBytes(
+      final SnapPeerThroughputTracker throughputTracker, final int requestCode) {
+    return throughputTracker.track(peer, requestCode).getResponseBytes();
+  }
+}
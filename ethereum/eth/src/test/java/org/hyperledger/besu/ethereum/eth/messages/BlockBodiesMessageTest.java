@@ -18,6 +18,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.hyperledger.besu.config.GenesisConfigFile;
 import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.core.Transaction;
@@ -40,6 +41,7 @@ import java.util.Iterator;
 import java.util.List;
 
 import com.google.common.io.Resources;
+import io.netty.buffer.Unpooled;
 import org.apache.tuweni.bytes.Bytes;
 import org.assertj.core.api.Assertions;
 import org.junit.Before;
@@ -87,6 +89,21 @@ public final class BlockBodiesMessageTest {
     }
   }
 
+  @Test
+  public void bodiesAreDecodedFromABufferBackedMessage() {
+    final BlockDataGenerator gen = new BlockDataGenerator(1);
+    final List<BlockBody> bodies = List.of(gen.body(), gen.body());
+    final MessageData initialMessage = BlockBodiesMessage.create(bodies);
+    final RawMessage raw =
+        new RawMessage(
+            EthPV62.BLOCK_BODIES, Unpooled.wrappedBuffer(initialMessage.getData().toArray()));
+
+    final BlockBodiesMessage message = BlockBodiesMessage.readFrom(raw);
+
+    Assertions.assertThat(message.bodies(protocolSchedule)).isEqualTo(bodies);
+    Assertions.assertThat(raw.release()).isTrue();
+  }
+
   @Test
   public void shouldEncodeEmptyBlocksInBlockBodiesMessage() {
     final Bytes bytes = Bytes.fromHexString("0xc2c0c0");
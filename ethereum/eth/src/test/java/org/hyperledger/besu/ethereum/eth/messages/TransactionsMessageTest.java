@@ -24,6 +24,7 @@ import org.hyperledger.besu.ethereum.p2p.rlpx.wire.RawMessage;
 import java.util.ArrayList;
 import java.util.List;
 
+import io.netty.buffer.Unpooled;
 import org.junit.Test;
 
 public class TransactionsMessageTest {
@@ -48,4 +49,20 @@ public class TransactionsMessageTest {
     // Check that transactions match original inputs after transformations
     assertThat(message.transactions()).isEqualTo(transactions);
   }
+
+  @Test
+  public void transactionsAreDecodedFromABufferBackedMessage() {
+    final BlockDataGenerator gen = new BlockDataGenerator(1);
+    final List<Transaction> transactions = List.of(gen.transaction(), gen.transaction());
+    final MessageData initialMessage = TransactionsMessage.create(transactions);
+    final RawMessage raw =
+        new RawMessage(
+            EthPV62.TRANSACTIONS, Unpooled.wrappedBuffer(initialMessage.getData().toArray()));
+
+    final TransactionsMessage message = TransactionsMessage.readFrom(raw);
+
+    assertThat(message.getSize()).isEqualTo(initialMessage.getSize());
+    assertThat(message.transactions()).isEqualTo(transactions);
+    assertThat(raw.release()).isTrue();
+  }
 }
@@ -21,11 +21,14 @@ import org.hyperledger.besu.ethereum.p2p.rlpx.wire.RawMessage;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
+import io.netty.buffer.Unpooled;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.assertj.core.api.Assertions;
@@ -54,4 +57,25 @@ public final class AccountRangeMessageTest {
     Assertions.assertThat(range.accounts()).isEqualTo(keys);
     Assertions.assertThat(range.proofs()).isEqualTo(proofs);
   }
+
+  @Test
+  public void accountDataIsDecodedFromABufferBackedMessage() {
+    final Map<Bytes32, Bytes> keys = new HashMap<>();
+    final StateTrieAccountValue accountValue =
+        new StateTrieAccountValue(1L, Wei.of(2L), Hash.EMPTY_TRIE_HASH, Hash.EMPTY);
+    keys.put(Hash.wrap(Bytes32.leftPad(Bytes.of(1))), RLP.encode(accountValue::writeTo));
+    final List<Bytes> proofs = List.of(Bytes32.random());
+    final MessageData initialMessage =
+        AccountRangeMessage.create(Optional.of(BigInteger.ONE), keys, proofs);
+    final RawMessage raw =
+        new RawMessage(
+            SnapV1.ACCOUNT_RANGE, Unpooled.wrappedBuffer(initialMessage.getData().toArray()));
+
+    final AccountRangeMessage.AccountRangeData range =
+        AccountRangeMessage.readFrom(raw).accountData(true);
+
+    Assertions.assertThat(range.accounts()).isEqualTo(keys);
+    Assertions.assertThat(range.proofs()).containsExactlyElementsOf(proofs);
+    Assertions.assertThat(raw.release()).isTrue();
+  }
 }
@@ -29,6 +29,7 @@ import org.hyperledger.besu.ethereum.eth.sync.tasks.exceptions.InvalidBlockExcep
 import org.hyperledger.besu.ethereum.mainnet.BlockImportResult;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -43,6 +44,7 @@ public class FullImportBlockStepTest {
   @Mock private ProtocolSpec protocolSpec;
   @Mock private ProtocolContext protocolContext;
   @Mock private BlockImporter blockImporter;
+  @Mock private WorldStateArchive worldStateArchive;
   private final BlockDataGenerator gen = new BlockDataGenerator();
 
   private FullImportBlockStep importBlocksStep;
@@ -51,6 +53,7 @@ public class FullImportBlockStepTest {
   public void setUp() {
     when(protocolSchedule.getByBlockHeader(any(BlockHeader.class))).thenReturn(protocolSpec);
     when(protocolSpec.getBlockImporter()).thenReturn(blockImporter);
+    when(protocolContext.getWorldStateArchive()).thenReturn(worldStateArchive);
 
     importBlocksStep =
         new FullImportBlockStep(
@@ -66,6 +69,7 @@ public class FullImportBlockStepTest {
     importBlocksStep.accept(block);
 
     verify(protocolSchedule).getByBlockHeader(block.getHeader());
+    verify(worldStateArchive).preLoadBlockState(block);
     verify(blockImporter).importBlock(protocolContext, block, SKIP_DETACHED);
   }
 
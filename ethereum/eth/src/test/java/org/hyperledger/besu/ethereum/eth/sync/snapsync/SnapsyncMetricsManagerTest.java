@@ -0,0 +1,95 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.snapsync;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.hyperledger.besu.ethereum.eth.sync.snapsync.SnapsyncMetricsManager.Step.DOWNLOAD;
+
+import org.hyperledger.besu.metrics.StubMetricsSystem;
+
+import java.util.Map;
+
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SnapsyncMetricsManagerTest {
+
+  private static final String PROGRESS_GAUGE = "snap_world_state_download_progress_percentage";
+  private static final String ETA_GAUGE = "snap_world_state_download_eta_seconds";
+  private static final Bytes32 QUARTER = Bytes32.fromHexString("40" + "00".repeat(31));
+  private static final Bytes32 HALF = Bytes32.fromHexString("80" + "00".repeat(31));
+
+  private final StubMetricsSystem metricsSystem = new StubMetricsSystem();
+  private SnapsyncMetricsManager metricsManager;
+
+  @Before
+  public void setup() {
+    metricsManager = new SnapsyncMetricsManager(metricsSystem, null);
+    metricsManager.initRange(Map.of(RangeManager.MIN_RANGE, RangeManager.MAX_RANGE));
+  }
+
+  @Test
+  public void progressGaugeTracksDownloadedRanges() {
+    assertThat(metricsSystem.getGaugeValue(PROGRESS_GAUGE)).isZero();
+
+    metricsManager.notifyRangeProgress(DOWNLOAD, QUARTER, RangeManager.MAX_RANGE);
+    assertThat(metricsSystem.getGaugeValue(PROGRESS_GAUGE)).isCloseTo(25, within(0.01));
+
+    metricsManager.notifyRangeProgress(DOWNLOAD, HALF, RangeManager.MAX_RANGE);
+    assertThat(metricsSystem.getGaugeValue(PROGRESS_GAUGE)).isCloseTo(50, within(0.01));
+  }
+
+  @Test
+  public void etaGaugeIsUnknownUntilProgressIsMade() {
+    assertThat(metricsSystem.getGaugeValue(ETA_GAUGE)).isEqualTo(-1);
+    assertThat(metricsManager.estimateRemainingTime()).isEmpty();
+
+    metricsManager.notifyRangeProgress(DOWNLOAD, HALF, RangeManager.MAX_RANGE);
+
+    assertThat(metricsManager.estimateRemainingTime()).isPresent();
+    assertThat(metricsSystem.getGaugeValue(ETA_GAUGE)).isGreaterThanOrEqualTo(0);
+  }
+
+  @Test
+  public void progressOfSplitRangesIsTracked() {
+    final Map<Bytes32, Bytes32> ranges =
+        RangeManager.generateRanges(RangeManager.MIN_RANGE, RangeManager.MAX_RANGE, 2);
+    final Bytes32 firstRangeEnd = ranges.get(RangeManager.MIN_RANGE);
+
+    // the end of the first range is not tracked before the split
+    metricsManager.notifyRangeProgress(DOWNLOAD, QUARTER, firstRangeEnd);
+    assertThat(metricsSystem.getGaugeValue(PROGRESS_GAUGE)).isZero();
+
+    metricsManager.notifyRangeSplit(RangeManager.MAX_RANGE, ranges);
+
+    metricsManager.notifyRangeProgress(DOWNLOAD, QUARTER, firstRangeEnd);
+    assertThat(metricsSystem.getGaugeValue(PROGRESS_GAUGE)).isCloseTo(25, within(0.01));
+
+    final Bytes32 threeQuarters = Bytes32.fromHexString("c0" + "00".repeat(31));
+    metricsManager.notifyRangeProgress(DOWNLOAD, threeQuarters, RangeManager.MAX_RANGE);
+    assertThat(metricsSystem.getGaugeValue(PROGRESS_GAUGE)).isCloseTo(50, within(0.01));
+  }
+
+  @Test
+  public void splitOfUntrackedRangeIsIgnored() {
+    metricsManager.notifyRangeSplit(
+        QUARTER, RangeManager.generateRanges(RangeManager.MIN_RANGE, QUARTER, 2));
+
+    metricsManager.notifyRangeProgress(DOWNLOAD, HALF, RangeManager.MAX_RANGE);
+    assertThat(metricsSystem.getGaugeValue(PROGRESS_GAUGE)).isCloseTo(50, within(0.01));
+  }
+}
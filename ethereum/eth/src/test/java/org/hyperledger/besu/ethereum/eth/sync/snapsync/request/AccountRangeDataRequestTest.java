@@ -0,0 +1,147 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.snapsync.request;
+
+import static java.math.BigInteger.ONE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.eth.sync.snapsync.RangeManager;
+import org.hyperledger.besu.ethereum.eth.sync.snapsync.SnapSyncProcessState;
+import org.hyperledger.besu.ethereum.eth.sync.snapsync.SnapWorldDownloadState;
+import org.hyperledger.besu.ethereum.eth.sync.snapsync.SnapsyncMetricsManager;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AccountRangeDataRequestTest {
+
+  @Mock private SnapWorldDownloadState downloadState;
+  @Mock private SnapsyncMetricsManager metricsManager;
+  @Mock private WorldStateStorage worldStateStorage;
+  @Mock private SnapSyncProcessState snapSyncState;
+
+  @Before
+  public void setup() {
+    lenient().when(downloadState.getMetricsManager()).thenReturn(metricsManager);
+  }
+
+  @Test
+  public void shouldReplaceRangeBySplitRequests() {
+    final AccountRangeDataRequest request =
+        SnapDataRequest.createAccountRangeDataRequest(
+            Hash.EMPTY_TRIE_HASH, RangeManager.MIN_RANGE, RangeManager.MAX_RANGE);
+
+    assertThat(request.splitRange(downloadState, 4)).isTrue();
+
+    final List<AccountRangeDataRequest> splitRequests = getChildRequests(request);
+    assertThat(splitRequests).hasSize(4);
+    assertThat(splitRequests.get(0).getStartKeyHash()).isEqualTo(RangeManager.MIN_RANGE);
+    assertThat(splitRequests.get(3).getEndKeyHash()).isEqualTo(RangeManager.MAX_RANGE);
+    for (int i = 1; i < splitRequests.size(); i++) {
+      assertThat(splitRequests.get(i).getStartKeyHash().toUnsignedBigInteger())
+          .isEqualTo(splitRequests.get(i - 1).getEndKeyHash().toUnsignedBigInteger().add(ONE));
+    }
+    assertThat(splitRequests)
+        .allMatch(splitRequest -> splitRequest.getRootHash().equals(Hash.EMPTY_TRIE_HASH));
+    assertThat(request.isResponseReceived()).isTrue();
+  }
+
+  @Test
+  public void shouldNotifyMetricsOfSplitRanges() {
+    final AccountRangeDataRequest request =
+        SnapDataRequest.createAccountRangeDataRequest(
+            Hash.EMPTY_TRIE_HASH, RangeManager.MIN_RANGE, RangeManager.MAX_RANGE);
+
+    request.splitRange(downloadState, 4);
+
+    @SuppressWarnings("unchecked")
+    final ArgumentCaptor<Map<Bytes32, Bytes32>> ranges = ArgumentCaptor.forClass(Map.class);
+    verify(metricsManager).notifyRangeSplit(eq(RangeManager.MAX_RANGE), ranges.capture());
+    assertThat(ranges.getValue())
+        .isEqualTo(
+            getChildRequests(request).stream()
+                .collect(
+                    Collectors.toMap(
+                        AccountRangeDataRequest::getStartKeyHash,
+                        AccountRangeDataRequest::getEndKeyHash)));
+  }
+
+  @Test
+  public void shouldNotSplitStorageRangeRequest() {
+    final AccountRangeDataRequest request =
+        SnapDataRequest.createAccountDataRequest(
+            Hash.EMPTY_TRIE_HASH, Hash.ZERO, RangeManager.MIN_RANGE, RangeManager.MAX_RANGE);
+
+    assertThat(request.splitRange(downloadState, 4)).isFalse();
+    assertThat(request.isResponseReceived()).isFalse();
+    verify(metricsManager, never()).notifyRangeSplit(any(), anyMap());
+  }
+
+  @Test
+  public void shouldNotSplitRangeSmallerThanMinimumSize() {
+    final AccountRangeDataRequest request =
+        SnapDataRequest.createAccountRangeDataRequest(
+            Hash.EMPTY_TRIE_HASH,
+            RangeManager.MIN_RANGE,
+            Bytes32.leftPad(
+                Bytes.wrap(
+                    AccountRangeDataRequest.MIN_SPLIT_RANGE_SIZE.subtract(ONE).toByteArray())));
+
+    assertThat(request.splitRange(downloadState, 4)).isFalse();
+    assertThat(request.isResponseReceived()).isFalse();
+    verify(metricsManager, never()).notifyRangeSplit(any(), anyMap());
+  }
+
+  @Test
+  public void shouldStopSplittingAtMaximumDepth() {
+    AccountRangeDataRequest request =
+        SnapDataRequest.createAccountRangeDataRequest(
+            Hash.EMPTY_TRIE_HASH, RangeManager.MIN_RANGE, RangeManager.MAX_RANGE);
+
+    for (int depth = 0; depth < AccountRangeDataRequest.MAX_SPLIT_DEPTH; depth++) {
+      assertThat(request.splitRange(downloadState, 4)).isTrue();
+      request = getChildRequests(request).get(0);
+    }
+
+    assertThat(request.splitRange(downloadState, 4)).isFalse();
+    assertThat(request.isResponseReceived()).isFalse();
+  }
+
+  private List<AccountRangeDataRequest> getChildRequests(final AccountRangeDataRequest request) {
+    return request
+        .getChildRequests(downloadState, worldStateStorage, snapSyncState)
+        .map(AccountRangeDataRequest.class::cast)
+        .collect(Collectors.toList());
+  }
+}
@@ -33,6 +33,7 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -65,6 +66,7 @@ import org.hyperledger.besu.ethereum.mainnet.TransactionValidator;
 import org.hyperledger.besu.ethereum.mainnet.ValidationResult;
 import org.hyperledger.besu.ethereum.mainnet.feemarket.FeeMarket;
 import org.hyperledger.besu.ethereum.transaction.TransactionInvalidReason;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
@@ -443,6 +445,23 @@ public abstract class AbstractTransactionPoolTest {
     verifyNoInteractions(transactionValidator);
   }
 
+  @Test
+  public void shouldOpenWorldStateOnceForABatchOfRemoteTransactions() {
+    final WorldStateArchive worldStateArchive = spy(protocolContext.getWorldStateArchive());
+    protocolContext = spy(protocolContext);
+    doReturn(worldStateArchive).when(protocolContext).getWorldStateArchive();
+    transactionPool = createTransactionPool();
+
+    givenTransactionIsValid(transaction1);
+    givenTransactionIsValid(transaction2);
+    givenTransactionIsValid(transactionOtherSender);
+
+    transactionPool.addRemoteTransactions(
+        List.of(transaction1, transaction2, transactionOtherSender));
+
+    verify(worldStateArchive, times(1)).getMutable(any(BlockHeader.class), eq(false));
+  }
+
   @Test
   public void shouldNotNotifyBatchListenerWhenRemoteTransactionDoesNotReplaceExisting() {
     final Transaction transaction1 = createTransaction(1, Wei.of(100));
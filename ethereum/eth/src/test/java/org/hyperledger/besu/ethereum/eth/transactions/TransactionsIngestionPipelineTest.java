@@ -0,0 +1,214 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import static java.time.Instant.now;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.hyperledger.besu.ethereum.eth.transactions.TransactionsIngestionPipeline.CAPACITY;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.eth.manager.PeerReputation;
+import org.hyperledger.besu.ethereum.eth.messages.TransactionsMessage;
+import org.hyperledger.besu.metrics.StubMetricsSystem;
+import org.hyperledger.besu.services.pipeline.Pipeline;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TransactionsIngestionPipelineTest {
+
+  private final StubMetricsSystem metricsSystem = new StubMetricsSystem();
+  private final BlockDataGenerator blockDataGenerator = new BlockDataGenerator();
+  private final TransactionsMessage message =
+      TransactionsMessage.create(List.of(blockDataGenerator.transaction()));
+  private final EthPeer highPriorityPeer = mock(EthPeer.class);
+  private final EthPeer lowPriorityPeer = mock(EthPeer.class);
+  private final TransactionsMessageProcessor transactionsMessageProcessor =
+      mock(TransactionsMessageProcessor.class);
+  private final TransactionPool transactionPool = mock(TransactionPool.class);
+  private final List<Transaction> addedTransactions = new CopyOnWriteArrayList<>();
+  private TransactionsIngestionPipeline ingestionPipeline;
+  private EthScheduler runningScheduler;
+
+  @BeforeEach
+  public void setup() {
+    when(highPriorityPeer.getReputation()).thenReturn(new PeerReputation());
+    when(lowPriorityPeer.getReputation())
+        .thenReturn(new PeerReputation(PeerReputation.DEFAULT_INITIAL_SCORE - 1, 150));
+    when(transactionsMessageProcessor.skipSeenTransactions(any(), anyList()))
+        .thenAnswer(invocation -> invocation.getArgument(1));
+    when(transactionPool.preValidateRemoteTransaction(any())).thenReturn(true);
+    doAnswer(invocation -> addedTransactions.addAll(invocation.getArgument(0)))
+        .when(transactionPool)
+        .addRemoteTransactions(anyList());
+
+    // the stages are never run by this executor, so the queued messages stay there
+    final ExecutorService idleExecutor = mock(ExecutorService.class);
+    when(idleExecutor.submit(any(Runnable.class))).thenAnswer(__ -> new CompletableFuture<>());
+    final EthScheduler scheduler = mock(EthScheduler.class);
+    when(scheduler.startPipeline(any()))
+        .thenAnswer(invocation -> invocation.<Pipeline<?>>getArgument(0).start(idleExecutor));
+    ingestionPipeline = createIngestionPipeline(scheduler);
+  }
+
+  @AfterEach
+  public void tearDown() throws InterruptedException {
+    ingestionPipeline.stop();
+    if (runningScheduler != null) {
+      runningScheduler.stop();
+      runningScheduler.awaitStop();
+    }
+  }
+
+  @Test
+  public void shouldNotAcceptMessagesWhenNotStarted() {
+    assertThat(ingestionPipeline.offer(highPriorityPeer, message, now())).isFalse();
+  }
+
+  @Test
+  public void shouldNotAcceptMessagesAfterStop() {
+    ingestionPipeline.start();
+    ingestionPipeline.stop();
+    assertThat(ingestionPipeline.offer(highPriorityPeer, message, now())).isFalse();
+  }
+
+  @Test
+  public void shouldDropMessagesFromLowPriorityPeersFirst() {
+    ingestionPipeline.start();
+
+    for (int i = 0; i < CAPACITY / 2; i++) {
+      assertThat(ingestionPipeline.offer(lowPriorityPeer, message, now())).isTrue();
+    }
+    assertThat(ingestionPipeline.offer(lowPriorityPeer, message, now())).isFalse();
+    assertThat(getDroppedCount("low")).isEqualTo(1);
+
+    for (int i = CAPACITY / 2; i < CAPACITY; i++) {
+      assertThat(ingestionPipeline.offer(highPriorityPeer, message, now())).isTrue();
+    }
+    assertThat(ingestionPipeline.offer(highPriorityPeer, message, now())).isFalse();
+    assertThat(getDroppedCount("high")).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldAddTheNewValidTransactionsToThePool() {
+    final Transaction seen = blockDataGenerator.transaction();
+    final Transaction invalid = blockDataGenerator.transaction();
+    final Transaction valid1 = blockDataGenerator.transaction();
+    final Transaction valid2 = blockDataGenerator.transaction();
+    final List<Transaction> transactions = List.of(seen, invalid, valid1, valid2);
+    givenMessageWith(transactions);
+    when(transactionsMessageProcessor.skipSeenTransactions(highPriorityPeer, transactions))
+        .thenReturn(List.of(invalid, valid1, valid2));
+    when(transactionPool.preValidateRemoteTransaction(invalid)).thenReturn(false);
+
+    startRunningPipeline();
+    assertThat(ingestionPipeline.offer(highPriorityPeer, message, now())).isTrue();
+
+    await().untilAsserted(() -> assertThat(addedTransactions).hasSize(2));
+    assertThat(addedTransactions).containsExactlyInAnyOrder(valid1, valid2);
+  }
+
+  @Test
+  public void shouldKeepProcessingMessagesAfterStageErrors() {
+    final Transaction failingPreValidation = blockDataGenerator.transaction();
+    final Transaction valid = blockDataGenerator.transaction();
+    final TransactionsMessage failingDecoding =
+        TransactionsMessage.create(List.of(blockDataGenerator.transaction()));
+    when(transactionsMessageProcessor.decodeTransactions(
+            eq(highPriorityPeer), eq(failingDecoding), any(), any()))
+        .thenThrow(new IllegalStateException("decoding failure"));
+    givenMessageWith(List.of(failingPreValidation, valid));
+    when(transactionPool.preValidateRemoteTransaction(failingPreValidation))
+        .thenThrow(new IllegalStateException("validation failure"));
+
+    startRunningPipeline();
+    assertThat(ingestionPipeline.offer(highPriorityPeer, failingDecoding, now())).isTrue();
+    assertThat(ingestionPipeline.offer(highPriorityPeer, message, now())).isTrue();
+
+    await().untilAsserted(() -> assertThat(addedTransactions).containsExactly(valid));
+  }
+
+  @Test
+  public void shouldRestartThePipelineWhenItFails() {
+    final Transaction transaction = blockDataGenerator.transaction();
+    givenMessageWith(List.of(transaction));
+    final AtomicBoolean failed = new AtomicBoolean();
+    doAnswer(
+            invocation -> {
+              if (failed.compareAndSet(false, true)) {
+                // not caught by the stage
+                throw new AssertionError("pipeline failure");
+              }
+              return addedTransactions.addAll(invocation.getArgument(0));
+            })
+        .when(transactionPool)
+        .addRemoteTransactions(anyList());
+
+    startRunningPipeline();
+    assertThat(ingestionPipeline.offer(highPriorityPeer, message, now())).isTrue();
+    await().untilTrue(failed);
+
+    await()
+        .untilAsserted(
+            () -> {
+              ingestionPipeline.offer(highPriorityPeer, message, now());
+              assertThat(addedTransactions).contains(transaction);
+            });
+  }
+
+  private void givenMessageWith(final List<Transaction> transactions) {
+    when(transactionsMessageProcessor.decodeTransactions(
+            eq(highPriorityPeer), eq(message), any(), any()))
+        .thenReturn(transactions);
+  }
+
+  private void startRunningPipeline() {
+    runningScheduler = new EthScheduler(1, 1, 1, metricsSystem);
+    ingestionPipeline = createIngestionPipeline(runningScheduler);
+    ingestionPipeline.start();
+  }
+
+  private TransactionsIngestionPipeline createIngestionPipeline(final EthScheduler scheduler) {
+    return new TransactionsIngestionPipeline(
+        scheduler,
+        transactionsMessageProcessor,
+        transactionPool,
+        Duration.ofMinutes(1),
+        metricsSystem);
+  }
+
+  private long getDroppedCount(final String peerPriority) {
+    return metricsSystem.getCounterValue(
+        "ingestion_pipeline_dropped_messages_total", peerPriority);
+  }
+}
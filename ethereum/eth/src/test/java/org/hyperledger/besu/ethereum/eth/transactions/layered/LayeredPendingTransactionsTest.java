@@ -55,6 +55,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.stream.Stream;
 
@@ -370,6 +372,29 @@ public class LayeredPendingTransactionsTest extends BaseTransactionPoolTest {
     assertThat(iterationOrder).containsExactly(transaction0, transaction1, transaction2);
   }
 
+  @Test
+  public void getTransactionsToSelectReturnsTheFirstTransactionsInSelectionOrder() {
+    final Transaction transaction0a = createTransaction(0, Wei.of(20), KEYS1);
+    final Transaction transaction1a = createTransaction(1, Wei.of(20), KEYS1);
+    final Transaction transaction0b = createTransaction(0, Wei.of(10), KEYS2);
+
+    pendingTransactions.addLocalTransaction(transaction1a, Optional.empty());
+    pendingTransactions.addLocalTransaction(transaction0b, Optional.empty());
+    pendingTransactions.addLocalTransaction(transaction0a, Optional.empty());
+
+    final List<Transaction> iterationOrder = new ArrayList<>(3);
+    pendingTransactions.selectTransactions(
+        transaction -> {
+          iterationOrder.add(transaction);
+          return SELECTED;
+        });
+
+    assertThat(pendingTransactions.getTransactionsToSelect(2))
+        .isEqualTo(iterationOrder.subList(0, 2));
+    assertThat(pendingTransactions.getTransactionsToSelect(4)).isEqualTo(iterationOrder);
+    assertThat(pendingTransactions.size()).isEqualTo(3);
+  }
+
   @ParameterizedTest
   @MethodSource
   public void ignoreSenderTransactionsAfterASkippedOne(
@@ -466,6 +491,56 @@ public class LayeredPendingTransactionsTest extends BaseTransactionPoolTest {
         .containsExactly(transaction0);
   }
 
+  @Test
+  public void addTransactionFromAnotherThreadWhileSelecting() {
+    final Transaction otherSenderTx = createTransaction(0, KEYS2);
+    pendingTransactions.addRemoteTransaction(transaction0, Optional.empty());
+
+    final List<Transaction> parsedTransactions = new ArrayList<>(1);
+    pendingTransactions.selectTransactions(
+        transaction -> {
+          parsedTransactions.add(transaction);
+          assertThat(
+                  CompletableFuture.supplyAsync(
+                          () ->
+                              pendingTransactions.addRemoteTransaction(
+                                  otherSenderTx, Optional.empty()))
+                      .orTimeout(10, TimeUnit.SECONDS)
+                      .join())
+              .isEqualTo(ADDED);
+          return SELECTED;
+        });
+
+    // the selection works on a snapshot, so the tx added meanwhile is not evaluated
+    assertThat(parsedTransactions).containsExactly(transaction0);
+    assertTransactionPending(pendingTransactions, transaction0);
+    assertTransactionPending(pendingTransactions, otherSenderTx);
+  }
+
+  @Test
+  public void invalidTransactionReplacedWhileSelectingIsNotRemoved() {
+    final Transaction transaction1 = createTransaction(0, Wei.of(20), KEYS1);
+    final Transaction transaction1b = createTransactionReplacement(transaction1, KEYS1);
+    pendingTransactions.addRemoteTransaction(transaction1, Optional.empty());
+
+    pendingTransactions.selectTransactions(
+        transaction -> {
+          assertThat(
+                  CompletableFuture.supplyAsync(
+                          () ->
+                              pendingTransactions.addRemoteTransaction(
+                                  transaction1b, Optional.empty()))
+                      .orTimeout(10, TimeUnit.SECONDS)
+                      .join()
+                      .isReplacement())
+              .isTrue();
+          return TransactionSelectionResult.invalid(UPFRONT_COST_EXCEEDS_BALANCE.name());
+        });
+
+    assertTransactionNotPending(pendingTransactions, transaction1);
+    assertTransactionPending(pendingTransactions, transaction1b);
+  }
+
   @Test
   public void returnEmptyOptionalAsMaximumNonceWhenNoTransactionsPresent() {
     assertThat(pendingTransactions.getNextNonceForSender(SENDER1)).isEmpty();
@@ -339,6 +339,23 @@ public abstract class AbstractPendingTransactionsTestBase {
     assertThat(parsedTransactions.get(1)).isEqualTo(transaction1);
   }
 
+  @Test
+  public void getTransactionsToSelectReturnsTheFirstTransactionsInSelectionOrder() {
+    transactions.addRemoteTransaction(transaction1, Optional.empty());
+    transactions.addRemoteTransaction(transaction2, Optional.empty());
+
+    final List<Transaction> parsedTransactions = Lists.newArrayList();
+    transactions.selectTransactions(
+        transaction -> {
+          parsedTransactions.add(transaction);
+          return SELECTED;
+        });
+
+    assertThat(transactions.getTransactionsToSelect(1)).containsExactly(parsedTransactions.get(0));
+    assertThat(transactions.getTransactionsToSelect(3)).isEqualTo(parsedTransactions);
+    assertThat(transactions.size()).isEqualTo(2);
+  }
+
   @Test
   public void shouldNotSelectReplacedTransaction() {
     final Transaction transaction1 = transactionWithNonceSenderAndGasPrice(1, KEYS1, 1);
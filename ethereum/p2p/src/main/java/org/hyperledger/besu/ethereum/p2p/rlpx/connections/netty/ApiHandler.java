@@ -105,7 +105,7 @@ final class ApiHandler extends SimpleChannelInboundHandler<MessageData> {
         .addArgument(message)
         .addArgument(connection.getPeerInfo())
         .addArgument(demultiplexed.getCapability())
-        .addKeyValue("rawData", message.getData())
+        .addKeyValue("rawData", message::getData)
         .addKeyValue("decodedData", message::toStringDecoded)
         .log();
 
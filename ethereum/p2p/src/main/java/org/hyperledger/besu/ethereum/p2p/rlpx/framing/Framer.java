@@ -32,6 +32,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.errorprone.annotations.FormatMethod;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.MutableBytes;
 import org.bouncycastle.crypto.BlockCipher;
@@ -151,6 +152,9 @@ public class Framer {
    * <p>When this method throws an exception, it is recommended that the caller scraps away the RLPx
    * connection, as the digests and stream ciphers could have become corrupted.
    *
+   * <p>A compressed message is decompressed into a pooled buffer: the returned message is
+   * reference counted and must be released once handled.
+   *
    * @param buf The buffer containing no messages, partial messages or multiple messages.
    * @return The first fully extracted message from this buffer, or <code>null</code> if no message
    *     could be extracted yet.
@@ -282,20 +286,23 @@ public class Framer {
     final Bytes idbv = RLP.decodeOne(Bytes.of(frameData[0]));
     final int id = idbv.isZero() || idbv.size() == 0 ? 0 : idbv.get(0);
 
-    // Write message data to ByteBuf, decompressing as necessary
-    final Bytes data;
+    // Decompress as necessary
     if (compressionEnabled) {
-      final byte[] compressedMessageData = Arrays.copyOfRange(frameData, 1, frameData.length - pad);
-      final int uncompressedLength = compressor.uncompressedLength(compressedMessageData);
+      // Decompress straight from the frame into a pooled buffer, released with the message
+      final int compressedLength = frameData.length - pad - 1;
+      final int uncompressedLength = compressor.uncompressedLength(frameData, 1, compressedLength);
       if (uncompressedLength >= LENGTH_MAX_MESSAGE_FRAME) {
         throw error("Message size %s in excess of maximum length.", uncompressedLength);
       }
-      Bytes _data;
+      final ByteBuf uncompressed = PooledByteBufAllocator.DEFAULT.heapBuffer(uncompressedLength);
       try {
-        final byte[] decompressedMessageData = compressor.decompress(compressedMessageData);
-        _data = Bytes.wrap(decompressedMessageData);
+        compressor.decompress(
+            frameData, 1, compressedLength, uncompressed.array(), uncompressed.arrayOffset());
+        uncompressed.writerIndex(uncompressedLength);
         compressionSuccessful = true;
+        return new RawMessage(id, uncompressed);
       } catch (final FramingException fe) {
+        uncompressed.release();
         if (compressionSuccessful) {
           throw fe;
         } else {
@@ -303,18 +310,12 @@ public class Framer {
           // If failing on the first packet downgrade to uncompressed
           compressionEnabled = false;
           LOG.debug("Snappy decompression failed: downgrading to uncompressed");
-          final int messageLength = frameSize - LENGTH_MESSAGE_ID;
-          _data = Bytes.wrap(frameData, 1, messageLength);
         }
       }
-      data = _data;
-    } else {
-      // Move data to a ByteBuf
-      final int messageLength = frameSize - LENGTH_MESSAGE_ID;
-      data = Bytes.wrap(frameData, 1, messageLength);
     }
 
-    return new RawMessage(id, data);
+    final int messageLength = frameSize - LENGTH_MESSAGE_ID;
+    return new RawMessage(id, Bytes.wrap(frameData, 1, messageLength));
   }
 
   private void validateMac(final byte[] candidateMac, final byte[] expectedMac) {
@@ -45,6 +45,40 @@ public class SnappyCompressor {
     }
   }
 
+  /**
+   * Decompress a range of an array into another one, without copying the compressed data first.
+   * The target must have room for the {@link #uncompressedLength(byte[], int, int)} of the data.
+   *
+   * @param compressed the array holding the compressed data
+   * @param offset the offset of the compressed data in the array
+   * @param length the length of the compressed data
+   * @param uncompressed the array to decompress into
+   * @param uncompressedOffset the offset to decompress at in the target array
+   * @return the length of the decompressed data
+   */
+  public int decompress(
+      final byte[] compressed,
+      final int offset,
+      final int length,
+      final byte[] uncompressed,
+      final int uncompressedOffset) {
+    checkNotNull(compressed, "input data must not be null");
+    try {
+      return Snappy.uncompress(compressed, offset, length, uncompressed, uncompressedOffset);
+    } catch (final IOException e) {
+      throw new FramingException("Snappy decompression failed", e);
+    }
+  }
+
+  public int uncompressedLength(final byte[] compressed, final int offset, final int length) {
+    checkNotNull(compressed, "input data must not be null");
+    try {
+      return Snappy.uncompressedLength(compressed, offset, length);
+    } catch (final IOException e) {
+      throw new FramingException("Snappy uncompressedLength failed", e);
+    }
+  }
+
   public int uncompressedLength(final byte[] compressed) {
     checkNotNull(compressed, "input data must not be null");
     try {
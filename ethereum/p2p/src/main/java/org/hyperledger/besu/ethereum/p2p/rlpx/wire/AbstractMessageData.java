@@ -14,26 +14,48 @@
  */
 package org.hyperledger.besu.ethereum.p2p.rlpx.wire;
 
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+
 import java.util.Objects;
+import java.util.function.Function;
 
 import org.apache.tuweni.bytes.Bytes;
 
 public abstract class AbstractMessageData implements MessageData {
 
   protected final Bytes data;
+  // The message read by this one, when it is not copied to data
+  private final MessageData message;
 
   protected AbstractMessageData(final Bytes data) {
     this.data = data;
+    this.message = null;
+  }
+
+  /**
+   * Create a message reading another one as it is, without copying it. The {@link #data} of such a
+   * message is not set, it is read with {@link #getData()} or {@link #decode(Function)}.
+   *
+   * @param message the message to read
+   */
+  protected AbstractMessageData(final MessageData message) {
+    this.data = null;
+    this.message = message;
   }
 
   @Override
   public final int getSize() {
-    return data.size();
+    return message == null ? data.size() : message.getSize();
   }
 
   @Override
   public Bytes getData() {
-    return data;
+    return message == null ? data : message.getData();
+  }
+
+  @Override
+  public <T> T decode(final Function<RLPInput, T> decoder) {
+    return message == null ? MessageData.super.decode(decoder) : message.decode(decoder);
   }
 
   @Override
@@ -45,12 +67,12 @@ public abstract class AbstractMessageData implements MessageData {
       return false;
     }
     final AbstractMessageData that = (AbstractMessageData) o;
-    return Objects.equals(data, that.data);
+    return Objects.equals(getData(), that.getData());
   }
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(data);
+    return Objects.hashCode(getData());
   }
 
   @Override
@@ -15,8 +15,6 @@
 package org.hyperledger.besu.ethereum.p2p.rlpx.wire;
 
 import org.hyperledger.besu.datatypes.Hash;
-import org.hyperledger.besu.ethereum.rlp.RLP;
-import org.hyperledger.besu.ethereum.rlp.RLPInput;
 
 import java.math.BigInteger;
 import java.util.AbstractMap;
@@ -32,10 +30,19 @@ public abstract class AbstractSnapMessageData extends AbstractMessageData {
   public static final BigInteger SIZE_REQUEST = BigInteger.valueOf(524288); // 512 * 1024
 
   private Optional<Hash> rootHash;
+  // The message read from the wire this one reads as it is, if any
+  private final RawMessage rawMessage;
 
   public AbstractSnapMessageData(final Bytes data) {
     super(data);
     rootHash = Optional.empty();
+    rawMessage = null;
+  }
+
+  protected AbstractSnapMessageData(final MessageData message) {
+    super(message);
+    rootHash = Optional.empty();
+    rawMessage = message instanceof RawMessage ? (RawMessage) message : null;
   }
 
   public Optional<Hash> getRootHash() {
@@ -53,11 +60,18 @@ public abstract class AbstractSnapMessageData extends AbstractMessageData {
 
   @Override
   public Map.Entry<BigInteger, MessageData> unwrapMessageData() {
-    final RLPInput messageDataRLP = RLP.input(getData());
-    messageDataRLP.enterList();
-    final BigInteger requestId = messageDataRLP.readBigIntegerScalar();
-    messageDataRLP.leaveListLenient();
-    return new AbstractMap.SimpleImmutableEntry<>(requestId, new RawMessage(getCode(), getData()));
+    // snap messages keep their request id, a message read from the wire is returned as it is
+    final RawMessage message =
+        rawMessage == null ? new RawMessage(getCode(), getData()) : rawMessage.withCode(getCode());
+    final BigInteger requestId =
+        message.peek(
+            messageDataRLP -> {
+              messageDataRLP.enterList();
+              final BigInteger id = messageDataRLP.readBigIntegerScalar();
+              messageDataRLP.leaveListLenient();
+              return id;
+            });
+    return new AbstractMap.SimpleImmutableEntry<>(requestId, message);
   }
 
   protected Bytes wrap(final BigInteger requestId) {
@@ -65,7 +79,7 @@ public abstract class AbstractSnapMessageData extends AbstractMessageData {
   }
 
   public static MessageData create(final Message message) {
-    return new AbstractSnapMessageData(message.getData().getData()) {
+    return new AbstractSnapMessageData(message.getData()) {
       @Override
       public int getCode() {
         return message.getData().getCode();
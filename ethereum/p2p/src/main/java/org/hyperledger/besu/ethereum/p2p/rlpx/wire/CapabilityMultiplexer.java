@@ -16,6 +16,8 @@ package org.hyperledger.besu.ethereum.p2p.rlpx.wire;
 
 import static java.util.Comparator.comparing;
 
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -23,6 +25,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableRangeMap;
@@ -91,6 +94,10 @@ public class CapabilityMultiplexer {
   }
 
   private MessageData offsetMessageCode(final MessageData originalMessage, final int offset) {
+    if (originalMessage instanceof RawMessage) {
+      // A view sharing the payload of the message, so it can still be decoded from its buffer
+      return ((RawMessage) originalMessage).withCode(originalMessage.getCode() + offset);
+    }
     // Return wrapped message with modified offset
     return new MessageData() {
       @Override
@@ -108,6 +115,11 @@ public class CapabilityMultiplexer {
         return originalMessage.getData();
       }
 
+      @Override
+      public <T> T decode(final Function<RLPInput, T> decoder) {
+        return originalMessage.decode(decoder);
+      }
+
       @Override
       public String toString() {
         return "Message{ code=" + getCode() + ", size=" + getSize() + "}";
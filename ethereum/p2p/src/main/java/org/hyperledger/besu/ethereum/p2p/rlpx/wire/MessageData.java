@@ -21,6 +21,7 @@ import org.hyperledger.besu.ethereum.rlp.RLPInput;
 import java.math.BigInteger;
 import java.util.AbstractMap;
 import java.util.Map;
+import java.util.function.Function;
 
 import org.apache.tuweni.bytes.Bytes;
 
@@ -47,6 +48,20 @@ public interface MessageData {
    */
   Bytes getData();
 
+  /**
+   * Decode the serialized representation of this message.
+   *
+   * <p>Messages backed by a network buffer decode straight from it, without copying the message to
+   * the heap first.
+   *
+   * @param decoder reads the decoded value from the RLP encoded message
+   * @param <T> the type of the decoded value
+   * @return the decoded value
+   */
+  default <T> T decode(final Function<RLPInput, T> decoder) {
+    return decoder.apply(RLP.input(getData()));
+  }
+
   default MessageData wrapMessageData(final BigInteger requestId) {
     final BytesValueRLPOutput rlpOutput = new BytesValueRLPOutput();
     rlpOutput.startList();
@@ -1,5 +1,5 @@
 /*
- * Copyright ConsenSys AG.
+ * Copyright Hyperledger Besu Contributors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
  * the License. You may obtain a copy of the License at
@@ -14,19 +14,254 @@
  */
 package org.hyperledger.besu.ethereum.p2p.rlpx.wire;
 
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+
+import java.math.BigInteger;
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.IllegalReferenceCountException;
+import io.netty.util.ReferenceCounted;
 import org.apache.tuweni.bytes.Bytes;
 
-public final class RawMessage extends AbstractMessageData {
+/**
+ * A message as read from the wire, before it is interpreted by its sub-protocol.
+ *
+ * <p>The message is either held on the heap, or in a reference counted {@link ByteBuf} owned by the
+ * message. A buffer backed message is decoded straight from its buffer. The messages unwrapped from
+ * it, or with their code offset by the {@link CapabilityMultiplexer}, are views sharing the buffer
+ * and its reference count.
+ *
+ * <p>When the buffer is released for the last time, the message is copied to the heap first unless
+ * it was already decoded, so holders reading it later, such as a buffered response, still can.
+ * Holders which decode the message after it was decoded and released must {@link #retain()} it.
+ */
+public final class RawMessage implements MessageData, ReferenceCounted {
 
   private final int code;
+  private final Payload payload;
+  private final int offset;
+  private final int size;
 
   public RawMessage(final int code, final Bytes data) {
-    super(data);
+    this(code, new Payload(null, data), 0, data.size());
+  }
+
+  /**
+   * Create a message backed by the readable bytes of a buffer, taking ownership of the buffer.
+   *
+   * @param code the message code
+   * @param buffer the message, released when the message is released
+   */
+  public RawMessage(final int code, final ByteBuf buffer) {
+    this(code, new Payload(buffer, null), 0, buffer.readableBytes());
+  }
+
+  private RawMessage(final int code, final Payload payload, final int offset, final int size) {
     this.code = code;
+    this.payload = payload;
+    this.offset = offset;
+    this.size = size;
+  }
+
+  /**
+   * Returns a view of this message with another code, sharing its payload.
+   *
+   * @param code the code of the view
+   * @return the view
+   */
+  RawMessage withCode(final int code) {
+    return new RawMessage(code, payload, offset, size);
   }
 
   @Override
   public int getCode() {
     return code;
   }
+
+  @Override
+  public int getSize() {
+    return size;
+  }
+
+  @Override
+  public Bytes getData() {
+    return payload.data(offset, size);
+  }
+
+  @Override
+  public <T> T decode(final Function<RLPInput, T> decoder) {
+    return payload.read(offset, size, decoder, true);
+  }
+
+  /**
+   * Read this message without marking it as decoded, so it is still copied to the heap on its last
+   * release. This is used to route the message, by reading its request id.
+   *
+   * @param reader reads a value from the RLP encoded message
+   * @param <T> the type of the value
+   * @return the value
+   */
+  <T> T peek(final Function<RLPInput, T> reader) {
+    return payload.read(offset, size, reader, false);
+  }
+
+  @Override
+  public Map.Entry<BigInteger, MessageData> unwrapMessageData() {
+    return peek(
+        input -> {
+          input.enterList();
+          // items are contiguous, the message starts where the request id ends
+          final int messageStart = input.nextOffset() + input.nextSize();
+          final BigInteger requestId = input.readBigIntegerScalar();
+          final int messageEnd = input.nextOffset() + input.nextSize();
+          input.readAsRlp();
+          input.leaveList();
+          return new AbstractMap.SimpleImmutableEntry<>(
+              requestId,
+              new RawMessage(code, payload, offset + messageStart, messageEnd - messageStart));
+        });
+  }
+
+  @Override
+  public int refCnt() {
+    return payload.refCnt();
+  }
+
+  @Override
+  public RawMessage retain() {
+    return retain(1);
+  }
+
+  @Override
+  public RawMessage retain(final int increment) {
+    payload.retain(increment);
+    return this;
+  }
+
+  @Override
+  public RawMessage touch() {
+    if (payload.buffer != null) {
+      payload.buffer.touch();
+    }
+    return this;
+  }
+
+  @Override
+  public RawMessage touch(final Object hint) {
+    if (payload.buffer != null) {
+      payload.buffer.touch(hint);
+    }
+    return this;
+  }
+
+  @Override
+  public boolean release() {
+    return release(1);
+  }
+
+  @Override
+  public boolean release(final int decrement) {
+    return payload.release(decrement);
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final RawMessage that = (RawMessage) o;
+    return Objects.equals(getData(), that.getData());
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(getData());
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "{code=" + getCode() + ", size=" + getSize() + "}";
+  }
+
+  /** The bytes of a message, shared with the views of the message. */
+  private static final class Payload {
+
+    private final ByteBuf buffer;
+    private Bytes data;
+    private boolean decoded;
+    // set once the buffer is freed, as a pooled buffer may then be reused by another message
+    private boolean freed;
+
+    private Payload(final ByteBuf buffer, final Bytes data) {
+      this.buffer = buffer;
+      this.data = data;
+    }
+
+    synchronized Bytes data(final int offset, final int size) {
+      if (data == null) {
+        data = copy();
+      }
+      return data.slice(offset, size);
+    }
+
+    synchronized <T> T read(
+        final int offset,
+        final int size,
+        final Function<RLPInput, T> reader,
+        final boolean decoding) {
+      if (data != null) {
+        return reader.apply(RLP.input(data.slice(offset, size)));
+      }
+      checkNotFreed();
+      decoded |= decoding;
+      return reader.apply(RLP.input(buffer.slice(buffer.readerIndex() + offset, size)));
+    }
+
+    synchronized int refCnt() {
+      if (buffer == null) {
+        return 1;
+      }
+      return freed ? 0 : buffer.refCnt();
+    }
+
+    synchronized void retain(final int increment) {
+      if (buffer != null) {
+        checkNotFreed();
+        buffer.retain(increment);
+      }
+    }
+
+    synchronized boolean release(final int decrement) {
+      if (buffer == null) {
+        return false;
+      }
+      checkNotFreed();
+      if (data == null && !decoded && buffer.refCnt() == decrement) {
+        data = copy();
+      }
+      freed = buffer.release(decrement);
+      return freed;
+    }
+
+    private void checkNotFreed() {
+      if (freed) {
+        throw new IllegalReferenceCountException(0);
+      }
+    }
+
+    private Bytes copy() {
+      checkNotFreed();
+      final byte[] bytes = new byte[buffer.readableBytes()];
+      buffer.getBytes(buffer.readerIndex(), bytes);
+      return Bytes.wrap(bytes);
+    }
+  }
 }
@@ -271,6 +271,35 @@ public class FramerTest {
     assertThat(receivingFramer.isCompressionSuccessful()).isTrue();
   }
 
+  @Test
+  public void compressedMessageIsDecompressedIntoAReleasableBuffer() {
+    final HandshakeSecrets secrets =
+        new HandshakeSecrets(
+            Bytes.fromHexString(
+                    "0x75b3ee95adff0c529a05efd7612aa1dbe5057eb9facdde0dfc837ad143da1d43")
+                .toArray(),
+            Bytes.fromHexString(
+                    "0x030dfd1566f4800c4842c177f7d476b64ae2b99a2aa0ab5600aa2f41a8710575")
+                .toArray(),
+            Bytes.fromHexString(
+                    "0xc9d3385b1588a5969cba312f8c29bedb4cb9d56ec0cf825436addc1ec644f1d6")
+                .toArray());
+    final Framer receivingFramer = new Framer(secrets);
+    final Framer sendingFramer = new Framer(secrets);
+    final MessageData sent = DisconnectMessage.create(DisconnectReason.TIMEOUT);
+
+    sendingFramer.enableCompression();
+    final ByteBuf out = Unpooled.buffer();
+    sendingFramer.frame(sent, out);
+
+    receivingFramer.enableCompression();
+    final RawMessage received = (RawMessage) receivingFramer.deframe(out);
+    assertThat(received.getCode()).isEqualTo(sent.getCode());
+    assertThat(received.refCnt()).isEqualTo(1);
+    assertThat(received.decode(input -> input.readAsRlp().raw())).isEqualTo(sent.getData());
+    assertThat(received.release()).isTrue();
+  }
+
   private HandshakeSecrets secretsFrom(final JsonNode td, final boolean swap) {
     final byte[] aes = decodeHexDump(td.get("aes_secret").asText());
     final byte[] mac = decodeHexDump(td.get("mac_secret").asText());
@@ -19,6 +19,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.junit.Test;
@@ -35,6 +36,20 @@ public class SnappyCompressorTest {
     assertThat(snappy.decompress(snappy.compress(data))).isEqualTo(data);
   }
 
+  @Test
+  public void decompressRangeIntoArray() {
+    final byte[] data = "Uncompressed sample text".getBytes(StandardCharsets.UTF_8);
+    final byte[] compressed = snappy.compress(data);
+    final byte[] framed = new byte[compressed.length + 3];
+    System.arraycopy(compressed, 0, framed, 1, compressed.length);
+
+    final int length = snappy.uncompressedLength(framed, 1, compressed.length);
+    final byte[] uncompressed = new byte[length + 2];
+    assertThat(snappy.decompress(framed, 1, compressed.length, uncompressed, 2)).isEqualTo(length);
+
+    assertThat(Arrays.copyOfRange(uncompressed, 2, uncompressed.length)).isEqualTo(data);
+  }
+
   @Test
   public void roundTripEmptyByteArray() {
     final byte[] data = new byte[0];
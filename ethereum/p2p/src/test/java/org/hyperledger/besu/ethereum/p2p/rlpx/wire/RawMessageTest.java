@@ -0,0 +1,127 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.rlpx.wire;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+
+import java.math.BigInteger;
+import java.util.Map;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.util.IllegalReferenceCountException;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.Test;
+
+public class RawMessageTest {
+
+  private static final Bytes ENCODED = Bytes.fromHexString("0xc5058382f3c4");
+
+  private static ByteBuf buffer(final Bytes bytes) {
+    final ByteBuf buffer = PooledByteBufAllocator.DEFAULT.directBuffer();
+    buffer.writeBytes(bytes.toArrayUnsafe());
+    return buffer;
+  }
+
+  @Test
+  public void bufferBackedMessageDecodesFromItsBuffer() {
+    final RawMessage message = new RawMessage(3, buffer(ENCODED));
+
+    final Map.Entry<BigInteger, MessageData> unwrapped = message.unwrapMessageData();
+
+    assertThat(message.getSize()).isEqualTo(ENCODED.size());
+    assertThat(unwrapped.getKey()).isEqualTo(BigInteger.valueOf(5));
+    assertThat(unwrapped.getValue().getCode()).isEqualTo(3);
+    assertThat(unwrapped.getValue().getData()).isEqualTo(Bytes.fromHexString("0x8382f3c4"));
+    assertThat(message.release()).isTrue();
+    assertThat(unwrapped.getValue().getData()).isEqualTo(Bytes.fromHexString("0x8382f3c4"));
+  }
+
+  @Test
+  public void bufferBackedMessageCanBeReadAfterReleaseOnceCopied() {
+    final RawMessage message = new RawMessage(3, buffer(ENCODED));
+
+    assertThat(message.getData()).isEqualTo(ENCODED);
+    message.release();
+
+    assertThat(message.refCnt()).isZero();
+    assertThat(message.getData()).isEqualTo(ENCODED);
+    assertThat(message.decode(RLPInput::enterList)).isEqualTo(2);
+  }
+
+  @Test
+  public void decodedMessageIsNotCopiedOnRelease() {
+    final RawMessage message = new RawMessage(3, buffer(ENCODED));
+
+    assertThat(message.decode(RLPInput::enterList)).isEqualTo(2);
+    assertThat(message.release()).isTrue();
+
+    assertThatThrownBy(message::getData).isInstanceOf(IllegalReferenceCountException.class);
+  }
+
+  @Test
+  public void unwrappingDoesNotMarkTheMessageDecoded() {
+    final RawMessage message = new RawMessage(3, buffer(ENCODED));
+
+    final MessageData unwrapped = message.unwrapMessageData().getValue();
+    message.release();
+
+    assertThat(unwrapped.decode(RLPInput::readBytes)).isEqualTo(Bytes.fromHexString("0x82f3c4"));
+  }
+
+  @Test
+  public void viewWithAnotherCodeSharesTheBuffer() {
+    final RawMessage message = new RawMessage(3, buffer(ENCODED));
+    final RawMessage view = message.withCode(19).retain();
+
+    assertThat(view.getCode()).isEqualTo(19);
+    assertThat(message.release()).isFalse();
+    assertThat(view.decode(RLPInput::enterList)).isEqualTo(2);
+    assertThat(view.release()).isTrue();
+    assertThat(message.refCnt()).isZero();
+  }
+
+  @Test
+  public void heapMessageUnwrapsToAView() {
+    final Map.Entry<BigInteger, MessageData> unwrapped =
+        new RawMessage(3, ENCODED).unwrapMessageData();
+
+    assertThat(unwrapped.getKey()).isEqualTo(BigInteger.valueOf(5));
+    assertThat(unwrapped.getValue().getData()).isEqualTo(Bytes.fromHexString("0x8382f3c4"));
+  }
+
+  @Test
+  public void retainedMessageIsKeptAlive() {
+    final RawMessage message = new RawMessage(3, buffer(ENCODED)).retain();
+
+    assertThat(message.release()).isFalse();
+    assertThat(message.decode(RLPInput::enterList)).isEqualTo(2);
+    assertThat(message.release()).isTrue();
+  }
+
+  @Test
+  public void heapMessageIsEqualToBufferBackedMessage() {
+    final RawMessage bufferBacked = new RawMessage(3, buffer(ENCODED));
+    final RawMessage heap = new RawMessage(3, ENCODED);
+
+    assertThat(bufferBacked).isEqualTo(heap);
+    assertThat(heap.release()).isFalse();
+    assertThat(heap.refCnt()).isEqualTo(1);
+    bufferBacked.release();
+  }
+}
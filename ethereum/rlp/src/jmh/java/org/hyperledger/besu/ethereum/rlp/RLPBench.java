@@ -19,6 +19,8 @@ import org.hyperledger.besu.ethereum.rlp.util.RLPTestUtil;
 import java.util.ArrayList;
 import java.util.List;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 import org.apache.tuweni.bytes.Bytes;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Level;
@@ -26,6 +28,7 @@ import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
 
 @State(Scope.Benchmark)
 public class RLPBench {
@@ -61,11 +64,20 @@ public class RLPBench {
 
   volatile Object toEncode;
   volatile Bytes toDecode;
+  volatile ByteBuf toDecodeBuffer;
 
   @Setup(Level.Trial)
   public void prepare() {
     toEncode = generate(depth, width, size);
     toDecode = RLPTestUtil.encode(toEncode);
+    // encoded data as decompressed from a p2p frame, in a pooled buffer
+    toDecodeBuffer = PooledByteBufAllocator.DEFAULT.heapBuffer(toDecode.size());
+    toDecodeBuffer.writeBytes(toDecode.toArrayUnsafe());
+  }
+
+  @TearDown(Level.Trial)
+  public void release() {
+    toDecodeBuffer.release();
   }
 
   @Benchmark
@@ -77,4 +89,16 @@ public class RLPBench {
   public Object getBenchmarkDecoding() {
     return RLPTestUtil.decode(toDecode);
   }
+
+  @Benchmark
+  public Object getBenchmarkDecodingFromCopiedBuffer() {
+    final byte[] copy = new byte[toDecodeBuffer.readableBytes()];
+    toDecodeBuffer.getBytes(toDecodeBuffer.readerIndex(), copy);
+    return RLPTestUtil.decode(Bytes.wrap(copy));
+  }
+
+  @Benchmark
+  public Object getBenchmarkDecodingFromBuffer() {
+    return RLPTestUtil.decode(RLP.input(toDecodeBuffer));
+  }
 }
@@ -106,6 +106,10 @@ abstract class AbstractRLPInput implements RLPInput {
 
   protected abstract long getLong(long offset);
 
+  protected RLPInput inputAsRlp(final long offset, final int length) {
+    return RLP.input(inputSlice(offset, length));
+  }
+
   /**
    * Sets the input to the item provided (an offset to the beginning of an item) and check this is
    * valid.
@@ -442,7 +446,7 @@ abstract class AbstractRLPInput implements RLPInput {
       throw error("Cannot read current element as RLP, input is fully consumed");
     }
     final long next = nextItem();
-    final RLPInput res = RLP.input(inputSlice(currentItem, Math.toIntExact(next - currentItem)));
+    final RLPInput res = inputAsRlp(currentItem, Math.toIntExact(next - currentItem));
     setTo(next);
     return res;
   }
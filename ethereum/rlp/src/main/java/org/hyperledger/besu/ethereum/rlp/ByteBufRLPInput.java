@@ -0,0 +1,108 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.rlp;
+
+import java.math.BigInteger;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * An {@link RLPInput} that reads RLP encoded data straight from the readable bytes of a {@link
+ * ByteBuf}.
+ *
+ * <p>Navigating the encoding does not copy anything. The values that are read are copied out of the
+ * buffer, so they stay valid once the buffer is released. The input does not take ownership of the
+ * buffer: the caller must keep it alive until decoding is finished, and release it afterwards.
+ */
+public class ByteBufRLPInput extends AbstractRLPInput {
+
+  // The RLP encoded data, indexed from its reader index.
+  private final ByteBuf buffer;
+  private final int start;
+  private final int length;
+
+  public ByteBufRLPInput(final ByteBuf buffer, final boolean lenient) {
+    this(buffer, lenient, true);
+  }
+
+  public ByteBufRLPInput(
+      final ByteBuf buffer, final boolean lenient, final boolean shouldFitExactly) {
+    super(lenient);
+    this.buffer = buffer;
+    this.start = buffer.readerIndex();
+    this.length = buffer.readableBytes();
+    init(length, shouldFitExactly);
+  }
+
+  @Override
+  protected byte inputByte(final long offset) {
+    return buffer.getByte(index(offset));
+  }
+
+  @Override
+  protected Bytes inputSlice(final long offset, final int length) {
+    if (length == 0) {
+      return Bytes.EMPTY;
+    }
+    final byte[] bytes = new byte[length];
+    buffer.getBytes(index(offset), bytes);
+    return Bytes.wrap(bytes);
+  }
+
+  @Override
+  protected Bytes32 inputSlice32(final long offset) {
+    final byte[] bytes = new byte[Bytes32.SIZE];
+    buffer.getBytes(index(offset), bytes);
+    return Bytes32.wrap(bytes);
+  }
+
+  @Override
+  protected String inputHex(final long offset, final int length) {
+    return ByteBufUtil.hexDump(buffer, index(offset), length);
+  }
+
+  @Override
+  protected BigInteger getUnsignedBigInteger(final long offset, final int length) {
+    return inputSlice(offset, length).toUnsignedBigInteger();
+  }
+
+  @Override
+  protected int getInt(final long offset) {
+    return buffer.getInt(index(offset));
+  }
+
+  @Override
+  protected long getLong(final long offset) {
+    return buffer.getLong(index(offset));
+  }
+
+  @Override
+  protected RLPInput inputAsRlp(final long offset, final int length) {
+    // nested items share the buffer, only their values are copied when read
+    return new ByteBufRLPInput(buffer.slice(index(offset), length), false);
+  }
+
+  @Override
+  public Bytes raw() {
+    return inputSlice(0, length);
+  }
+
+  private int index(final long offset) {
+    return start + Math.toIntExact(offset);
+  }
+}
@@ -18,6 +18,7 @@ import static java.lang.String.format;
 
 import java.util.function.Consumer;
 
+import io.netty.buffer.ByteBuf;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.MutableBytes;
 
@@ -63,6 +64,20 @@ public abstract class RLP {
     return new BytesValueRLPInput(encoded, lenient);
   }
 
+  /**
+   * Creates a new {@link RLPInput} reading the readable bytes of a {@link ByteBuf}, without copying
+   * them first.
+   *
+   * @param encoded The buffer holding the RLP encoded data. It must stay alive until decoding is
+   *     finished, this method does not retain it.
+   * @return A newly created {@link RLPInput} to decode {@code encoded}.
+   * @throws MalformedRLPInputException if {@code encoded} doesn't contain a single RLP encoded item
+   *     (item that can be a list itself).
+   */
+  public static RLPInput input(final ByteBuf encoded) {
+    return new ByteBufRLPInput(encoded, false);
+  }
+
   /**
    * Creates a {@link RLPOutput}, pass it to the provided consumer for writing, and then return the
    * RLP encoded result of that writing.
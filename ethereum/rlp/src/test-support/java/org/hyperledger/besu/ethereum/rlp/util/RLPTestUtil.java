@@ -44,7 +44,14 @@ public class RLPTestUtil {
     return decode(RLP.input(value));
   }
 
-  private static Object decode(final RLPInput in) {
+  /**
+   * Recursively decodes an RLP encoded value read from an input.
+   *
+   * @param in The input to read the value from.
+   * @return The decoded value, in the same form as {@link #decode(Bytes)}.
+   * @throws RLPException if the input is not a properly formed RLP encoding.
+   */
+  public static Object decode(final RLPInput in) {
     if (!in.nextIsList()) {
       return in.readBytes();
     }
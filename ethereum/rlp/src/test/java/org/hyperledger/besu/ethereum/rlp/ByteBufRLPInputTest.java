@@ -0,0 +1,117 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.rlp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.ethereum.rlp.util.RLPTestUtil;
+
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.Test;
+
+public class ByteBufRLPInputTest {
+
+  private static ByteBuf b(final String hex) {
+    return Unpooled.wrappedBuffer(Bytes.fromHexString(hex).toArrayUnsafe());
+  }
+
+  @Test
+  public void empty() {
+    final RLPInput in = RLP.input(Unpooled.EMPTY_BUFFER);
+    assertThat(in.isDone()).isTrue();
+  }
+
+  @Test
+  public void decodesLikeBytesInput() {
+    final Bytes encoded =
+        RLPTestUtil.encode(
+            List.of(
+                Bytes.fromHexString("0x01"),
+                List.of(Bytes.fromHexString("0x" + "2b".repeat(60)), Bytes.EMPTY),
+                Bytes.fromHexString("0x0400")));
+
+    final Object decoded =
+        RLPTestUtil.decode(RLP.input(Unpooled.wrappedBuffer(encoded.toArrayUnsafe())));
+
+    assertThat(decoded).isEqualTo(RLPTestUtil.decode(encoded));
+  }
+
+  @Test
+  public void readsScalarsAndBytes32() {
+    final Bytes32 hash = Bytes32.fromHexStringLenient("0x1234");
+    final RLPInput in = RLP.input(b("0xe4820400a0" + hash.toUnprefixedHexString()));
+
+    in.enterList();
+    assertThat(in.readIntScalar()).isEqualTo(1024);
+    assertThat(in.readBytes32()).isEqualTo(hash);
+    in.leaveList();
+    assertThat(in.isDone()).isTrue();
+  }
+
+  @Test
+  public void readsFromTheReaderIndex() {
+    final ByteBuf buffer = b("0xffffc22c3b");
+    buffer.skipBytes(2);
+
+    final RLPInput in = RLP.input(buffer);
+
+    assertThat(in.enterList()).isEqualTo(2);
+    assertThat(in.readByte()).isEqualTo((byte) 0x2c);
+    assertThat(in.readByte()).isEqualTo((byte) 0x3b);
+    in.leaveList();
+    assertThat(in.raw()).isEqualTo(Bytes.fromHexString("0xc22c3b"));
+  }
+
+  @Test
+  public void nestedInputReadsTheSameBuffer() {
+    final RLPInput in = RLP.input(b("0xc5c3822c3b01"));
+
+    in.enterList();
+    final RLPInput nested = in.readAsRlp();
+    assertThat(in.readByte()).isEqualTo((byte) 0x01);
+    in.leaveList();
+
+    assertThat(nested).isInstanceOf(ByteBufRLPInput.class);
+    assertThat(nested.raw()).isEqualTo(Bytes.fromHexString("0xc3822c3b"));
+    nested.enterList();
+    assertThat(nested.readBytes()).isEqualTo(Bytes.fromHexString("0x2c3b"));
+    nested.leaveList();
+  }
+
+  @Test
+  public void valuesOutliveTheBuffer() {
+    final ByteBuf buffer = PooledByteBufAllocator.DEFAULT.directBuffer();
+    buffer.writeBytes(Bytes.fromHexString("0x832c3b4a").toArrayUnsafe());
+
+    final Bytes value = RLP.input(buffer).readBytes();
+    buffer.setByte(1, 0);
+    buffer.release();
+
+    assertThat(value).isEqualTo(Bytes.fromHexString("0x2c3b4a"));
+  }
+
+  @Test
+  public void rejectsCorruptedInput() {
+    assertThatThrownBy(() -> RLP.input(b("0xc32c3b")))
+        .isInstanceOf(CorruptedRLPInputException.class);
+  }
+}
@@ -159,6 +159,19 @@ public abstract class StoredMerkleTrie<K extends Bytes, V> implements MerkleTrie
             : new StoredNode<>(nodeFactory, Bytes.EMPTY, rootHash);
   }
 
+  /**
+   * Hash the dirty children of the root node concurrently on the common fork-join pool.
+   *
+   * <p>Node hashes are memoized, so a following {@link #commit(NodeUpdater)} or {@link
+   * #getRootHash()} only has to hash the root itself. Nothing is written by this method, the nodes
+   * are still stored by the commit in the usual order.
+   */
+  public void hashRootChildrenInParallel() {
+    if (root.isDirty()) {
+      root.getChildren().parallelStream().filter(Node::isDirty).forEach(Node::getHash);
+    }
+  }
+
   @Override
   public Map<Bytes32, V> entriesFrom(final Bytes32 startKeyHash, final int limit) {
     return StorageEntriesCollector.collectEntries(root, startKeyHash, limit);
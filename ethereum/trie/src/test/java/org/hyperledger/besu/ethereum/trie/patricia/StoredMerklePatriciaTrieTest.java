@@ -23,6 +23,8 @@ import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
 import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
 
@@ -123,4 +125,26 @@ public class StoredMerklePatriciaTrieTest extends AbstractMerklePatriciaTrieTest
     assertThat(trie.get(key2)).isEqualTo(Optional.of("value2"));
     assertThat(trie.get(key3)).isEqualTo(Optional.of("value3"));
   }
+
+  @Test
+  public void parallelHashingOfRootChildrenDoesNotChangeCommit() {
+    final StoredMerklePatriciaTrie<Bytes, String> sequentialTrie =
+        new StoredMerklePatriciaTrie<>(merkleStorage::get, valueSerializer, valueDeserializer);
+    final StoredMerklePatriciaTrie<Bytes, String> parallelTrie =
+        new StoredMerklePatriciaTrie<>(merkleStorage::get, valueSerializer, valueDeserializer);
+    for (int i = 0; i < 1_000; i++) {
+      final Bytes32 key = Bytes32.leftPad(Bytes.ofUnsignedInt(i * 7919L));
+      sequentialTrie.put(key, "value" + i);
+      parallelTrie.put(key, "value" + i);
+    }
+
+    final List<Bytes> sequentialWrites = new ArrayList<>();
+    sequentialTrie.commit((location, hash, value) -> sequentialWrites.add(value));
+    final List<Bytes> parallelWrites = new ArrayList<>();
+    parallelTrie.hashRootChildrenInParallel();
+    parallelTrie.commit((location, hash, value) -> parallelWrites.add(value));
+
+    assertThat(parallelTrie.getRootHash()).isEqualTo(sequentialTrie.getRootHash());
+    assertThat(parallelWrites).containsExactlyElementsOf(sequentialWrites);
+  }
 }
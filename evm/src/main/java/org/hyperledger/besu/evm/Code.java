@@ -15,7 +15,9 @@
 package org.hyperledger.besu.evm;
 
 import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.evm.code.BasicBlocks;
 import org.hyperledger.besu.evm.code.CodeSection;
+import org.hyperledger.besu.evm.operation.Operation;
 
 import org.apache.tuweni.bytes.Bytes;
 
@@ -82,4 +84,14 @@ public interface Code {
    * @return The version of hte ode.
    */
   int getEofVersion();
+
+  /**
+   * Gets the basic block analysis of the code, for the given operations.
+   *
+   * @param operations the operations of the EVM, indexed by opcode
+   * @return the basic blocks, or null if the code doesn't support basic block execution
+   */
+  default BasicBlocks getBasicBlocks(final Operation[] operations) {
+    return null;
+  }
 }
@@ -18,6 +18,7 @@ import static org.hyperledger.besu.evm.operation.PushOperation.PUSH_BASE;
 import static org.hyperledger.besu.evm.operation.SwapOperation.SWAP_BASE;
 
 import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.evm.code.BasicBlocks;
 import org.hyperledger.besu.evm.code.CodeFactory;
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
 import org.hyperledger.besu.evm.frame.MessageFrame;
@@ -25,6 +26,7 @@ import org.hyperledger.besu.evm.frame.MessageFrame.State;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
 import org.hyperledger.besu.evm.internal.CodeCache;
 import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.internal.EvmProfiler;
 import org.hyperledger.besu.evm.internal.FixedStack.OverflowException;
 import org.hyperledger.besu.evm.internal.FixedStack.UnderflowException;
 import org.hyperledger.besu.evm.operation.AddModOperation;
@@ -33,6 +35,7 @@ import org.hyperledger.besu.evm.operation.AndOperation;
 import org.hyperledger.besu.evm.operation.ByteOperation;
 import org.hyperledger.besu.evm.operation.DivOperation;
 import org.hyperledger.besu.evm.operation.DupOperation;
+import org.hyperledger.besu.evm.operation.EqOperation;
 import org.hyperledger.besu.evm.operation.ExpOperation;
 import org.hyperledger.besu.evm.operation.GtOperation;
 import org.hyperledger.besu.evm.operation.InvalidOperation;
@@ -56,6 +59,9 @@ import org.hyperledger.besu.evm.operation.SDivOperation;
 import org.hyperledger.besu.evm.operation.SGtOperation;
 import org.hyperledger.besu.evm.operation.SLtOperation;
 import org.hyperledger.besu.evm.operation.SModOperation;
+import org.hyperledger.besu.evm.operation.SarOperation;
+import org.hyperledger.besu.evm.operation.ShlOperation;
+import org.hyperledger.besu.evm.operation.ShrOperation;
 import org.hyperledger.besu.evm.operation.SignExtendOperation;
 import org.hyperledger.besu.evm.operation.StopOperation;
 import org.hyperledger.besu.evm.operation.SubOperation;
@@ -86,6 +92,7 @@ public class EVM {
   private final Operation endOfScriptStop;
   private final CodeCache codeCache;
   private final EvmSpecVersion evmSpecVersion;
+  private final EvmProfiler profiler;
 
   // Optimized operation flags
   private final boolean enableShanghai;
@@ -108,6 +115,7 @@ public class EVM {
     this.endOfScriptStop = new VirtualOperation(new StopOperation(gasCalculator));
     this.codeCache = new CodeCache(evmConfiguration);
     this.evmSpecVersion = evmSpecVersion;
+    this.profiler = evmConfiguration.getProfiler();
 
     enableShanghai = EvmSpecVersion.SHANGHAI.ordinal() <= evmSpecVersion.ordinal();
   }
@@ -121,6 +129,15 @@ public class EVM {
     return gasCalculator;
   }
 
+  /**
+   * Gets the profiler sampling the execution of frames.
+   *
+   * @return the profiler
+   */
+  public EvmProfiler getProfiler() {
+    return profiler;
+  }
+
   /**
    * Gets max eof version.
    *
@@ -144,12 +161,24 @@ public class EVM {
     evmSpecVersion.maybeWarnVersion();
 
     var operationTracer = tracing == OperationTracer.NO_TRACING ? null : tracing;
+    if (operationTracer == null && profiler.sample()) {
+      operationTracer = profiler.createFrameTracer();
+    }
     byte[] code = frame.getCode().getBytes().toArrayUnsafe();
     Operation[] operationArray = operations.getOperations();
+    // tracers observe every operation, so basic blocks are only used without tracing
+    final BasicBlocks basicBlocks =
+        operationTracer == null ? frame.getCode().getBasicBlocks(operationArray) : null;
     while (frame.getState() == MessageFrame.State.CODE_EXECUTING) {
       Operation currentOperation;
       int opcode;
       int pc = frame.getPC();
+      if (basicBlocks != null) {
+        final int block = basicBlocks.blockAt(pc);
+        if (block >= 0 && runBasicBlock(frame, code, basicBlocks, block)) {
+          continue;
+        }
+      }
       try {
         opcode = code[pc] & 0xff;
         currentOperation = operationArray[opcode];
@@ -290,6 +319,135 @@ public class EVM {
     }
   }
 
+  /**
+   * Run a basic block, charging its gas and checking the stack once for the whole block.
+   *
+   * <p>If the remaining gas or the stack doesn't allow running the whole block, nothing is done and
+   * the block is left to the per operation loop, which halts at the exact failing operation.
+   *
+   * @param frame the frame
+   * @param code the code of the frame
+   * @param basicBlocks the basic blocks of the code
+   * @param block the index of the block starting at the current pc
+   * @return true if the block was run
+   */
+  private boolean runBasicBlock(
+      final MessageFrame frame, final byte[] code, final BasicBlocks basicBlocks, final int block) {
+    final long staticGas = basicBlocks.getStaticGas(block);
+    final int stackSize = frame.stackSize();
+    if (frame.getRemainingGas() < staticGas
+        || stackSize < basicBlocks.getRequiredStackHeight(block)
+        || stackSize + basicBlocks.getMaxStackGrowth(block) > frame.getMaxStackSize()) {
+      return false;
+    }
+    frame.decrementRemainingGas(staticGas);
+
+    final int endPc = basicBlocks.getEndPc(block);
+    int pc = frame.getPC();
+    while (pc < endPc) {
+      final int opcode = code[pc] & 0xff;
+      final OperationResult result =
+          switch (opcode) {
+            case 0x01 -> AddOperation.staticOperation(frame);
+            case 0x02 -> MulOperation.staticOperation(frame);
+            case 0x03 -> SubOperation.staticOperation(frame);
+            case 0x04 -> DivOperation.staticOperation(frame);
+            case 0x05 -> SDivOperation.staticOperation(frame);
+            case 0x06 -> ModOperation.staticOperation(frame);
+            case 0x07 -> SModOperation.staticOperation(frame);
+            case 0x08 -> AddModOperation.staticOperation(frame);
+            case 0x09 -> MulModOperation.staticOperation(frame);
+            case 0x0b -> SignExtendOperation.staticOperation(frame);
+            case 0x10 -> LtOperation.staticOperation(frame);
+            case 0x11 -> GtOperation.staticOperation(frame);
+            case 0x12 -> SLtOperation.staticOperation(frame);
+            case 0x13 -> SGtOperation.staticOperation(frame);
+            case 0x14 -> EqOperation.staticOperation(frame);
+            case 0x15 -> IsZeroOperation.staticOperation(frame);
+            case 0x16 -> AndOperation.staticOperation(frame);
+            case 0x17 -> OrOperation.staticOperation(frame);
+            case 0x18 -> XorOperation.staticOperation(frame);
+            case 0x19 -> NotOperation.staticOperation(frame);
+            case 0x1a -> ByteOperation.staticOperation(frame);
+            case 0x1b -> ShlOperation.staticOperation(frame);
+            case 0x1c -> ShrOperation.staticOperation(frame);
+            case 0x1d -> SarOperation.staticOperation(frame);
+            case 0x50 -> PopOperation.staticOperation(frame);
+            case 0x5b -> JumpDestOperation.JUMPDEST_SUCCESS;
+            case 0x5f -> Push0Operation.staticOperation(frame);
+            case 0x60, // PUSH1-32
+                0x61,
+                0x62,
+                0x63,
+                0x64,
+                0x65,
+                0x66,
+                0x67,
+                0x68,
+                0x69,
+                0x6a,
+                0x6b,
+                0x6c,
+                0x6d,
+                0x6e,
+                0x6f,
+                0x70,
+                0x71,
+                0x72,
+                0x73,
+                0x74,
+                0x75,
+                0x76,
+                0x77,
+                0x78,
+                0x79,
+                0x7a,
+                0x7b,
+                0x7c,
+                0x7d,
+                0x7e,
+                0x7f -> PushOperation.staticOperation(frame, code, pc, opcode - PUSH_BASE);
+            case 0x80, // DUP1-16
+                0x81,
+                0x82,
+                0x83,
+                0x84,
+                0x85,
+                0x86,
+                0x87,
+                0x88,
+                0x89,
+                0x8a,
+                0x8b,
+                0x8c,
+                0x8d,
+                0x8e,
+                0x8f -> DupOperation.staticOperation(frame, opcode - DupOperation.DUP_BASE);
+            case 0x90, // SWAP1-16
+                0x91,
+                0x92,
+                0x93,
+                0x94,
+                0x95,
+                0x96,
+                0x97,
+                0x98,
+                0x99,
+                0x9a,
+                0x9b,
+                0x9c,
+                0x9d,
+                0x9e,
+                0x9f -> SwapOperation.staticOperation(frame, opcode - SWAP_BASE);
+            default ->
+                throw new IllegalStateException("Unexpected opcode in basic block " + opcode);
+          };
+      pc = frame.getPC() + result.getPcIncrement();
+      frame.setPC(pc);
+    }
+    return true;
+  }
+
   /**
    * Get Operations (unsafe)
    *
@@ -309,8 +467,10 @@ public class EVM {
   public Code getCode(final Hash codeHash, final Bytes codeBytes) {
     Code result = codeHash == null ? null : codeCache.getIfPresent(codeHash);
     if (result == null) {
-      result = CodeFactory.createCode(codeBytes, evmSpecVersion.getMaxEofVersion(), false);
-      if (codeHash != null) {
+      if (codeHash == null) {
+        result = CodeFactory.createCode(codeBytes, evmSpecVersion.getMaxEofVersion(), false);
+      } else {
+        result = codeCache.analyze(codeHash, codeBytes, evmSpecVersion.getMaxEofVersion());
         codeCache.put(codeHash, result);
       }
     }
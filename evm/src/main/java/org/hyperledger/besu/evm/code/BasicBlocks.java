@@ -0,0 +1,290 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.code;
+
+import org.hyperledger.besu.evm.operation.AddModOperation;
+import org.hyperledger.besu.evm.operation.AddOperation;
+import org.hyperledger.besu.evm.operation.AndOperation;
+import org.hyperledger.besu.evm.operation.ByteOperation;
+import org.hyperledger.besu.evm.operation.DivOperation;
+import org.hyperledger.besu.evm.operation.DupOperation;
+import org.hyperledger.besu.evm.operation.EqOperation;
+import org.hyperledger.besu.evm.operation.GtOperation;
+import org.hyperledger.besu.evm.operation.IsZeroOperation;
+import org.hyperledger.besu.evm.operation.JumpDestOperation;
+import org.hyperledger.besu.evm.operation.LtOperation;
+import org.hyperledger.besu.evm.operation.ModOperation;
+import org.hyperledger.besu.evm.operation.MulModOperation;
+import org.hyperledger.besu.evm.operation.MulOperation;
+import org.hyperledger.besu.evm.operation.NotOperation;
+import org.hyperledger.besu.evm.operation.Operation;
+import org.hyperledger.besu.evm.operation.OrOperation;
+import org.hyperledger.besu.evm.operation.PopOperation;
+import org.hyperledger.besu.evm.operation.Push0Operation;
+import org.hyperledger.besu.evm.operation.PushOperation;
+import org.hyperledger.besu.evm.operation.SDivOperation;
+import org.hyperledger.besu.evm.operation.SGtOperation;
+import org.hyperledger.besu.evm.operation.SLtOperation;
+import org.hyperledger.besu.evm.operation.SModOperation;
+import org.hyperledger.besu.evm.operation.SarOperation;
+import org.hyperledger.besu.evm.operation.ShlOperation;
+import org.hyperledger.besu.evm.operation.ShrOperation;
+import org.hyperledger.besu.evm.operation.SignExtendOperation;
+import org.hyperledger.besu.evm.operation.SubOperation;
+import org.hyperledger.besu.evm.operation.SwapOperation;
+import org.hyperledger.besu.evm.operation.XorOperation;
+
+import java.util.Arrays;
+
+/**
+ * Basic block analysis of legacy code.
+ *
+ * <p>A basic block is a straight-line run of operations with a fixed gas cost that only work on the
+ * operand stack, such as arithmetic, comparison, PUSH, DUP and SWAP operations. A block starts at a
+ * JUMPDEST or after any other operation, and ends before the next JUMPDEST or the next operation
+ * that isn't straight-line. For each block the sum of the gas costs and the bounds of the stack
+ * height are precomputed, so the interpreter can charge the gas and check the stack once for the
+ * whole block.
+ *
+ * <p>The analysis depends on the operations of the EVM it is computed for, as they define the gas
+ * costs and which opcodes are valid.
+ */
+public final class BasicBlocks {
+
+  /** Blocks with fewer operations gain nothing over the per operation checks. */
+  static final int MIN_BLOCK_OPERATIONS = 2;
+
+  private static final int MAX_BLOCKS = Character.MAX_VALUE - 1;
+
+  private static final Class<?>[] STRAIGHT_LINE_OPERATIONS = new Class<?>[256];
+
+  static {
+    STRAIGHT_LINE_OPERATIONS[0x01] = AddOperation.class;
+    STRAIGHT_LINE_OPERATIONS[0x02] = MulOperation.class;
+    STRAIGHT_LINE_OPERATIONS[0x03] = SubOperation.class;
+    STRAIGHT_LINE_OPERATIONS[0x04] = DivOperation.class;
+    STRAIGHT_LINE_OPERATIONS[0x05] = SDivOperation.class;
+    STRAIGHT_LINE_OPERATIONS[0x06] = ModOperation.class;
+    STRAIGHT_LINE_OPERATIONS[0x07] = SModOperation.class;
+    STRAIGHT_LINE_OPERATIONS[0x08] = AddModOperation.class;
+    STRAIGHT_LINE_OPERATIONS[0x09] = MulModOperation.class;
+    STRAIGHT_LINE_OPERATIONS[0x0b] = SignExtendOperation.class;
+    STRAIGHT_LINE_OPERATIONS[0x10] = LtOperation.class;
+    STRAIGHT_LINE_OPERATIONS[0x11] = GtOperation.class;
+    STRAIGHT_LINE_OPERATIONS[0x12] = SLtOperation.class;
+    STRAIGHT_LINE_OPERATIONS[0x13] = SGtOperation.class;
+    STRAIGHT_LINE_OPERATIONS[0x14] = EqOperation.class;
+    STRAIGHT_LINE_OPERATIONS[0x15] = IsZeroOperation.class;
+    STRAIGHT_LINE_OPERATIONS[0x16] = AndOperation.class;
+    STRAIGHT_LINE_OPERATIONS[0x17] = OrOperation.class;
+    STRAIGHT_LINE_OPERATIONS[0x18] = XorOperation.class;
+    STRAIGHT_LINE_OPERATIONS[0x19] = NotOperation.class;
+    STRAIGHT_LINE_OPERATIONS[0x1a] = ByteOperation.class;
+    STRAIGHT_LINE_OPERATIONS[0x1b] = ShlOperation.class;
+    STRAIGHT_LINE_OPERATIONS[0x1c] = ShrOperation.class;
+    STRAIGHT_LINE_OPERATIONS[0x1d] = SarOperation.class;
+    STRAIGHT_LINE_OPERATIONS[0x50] = PopOperation.class;
+    STRAIGHT_LINE_OPERATIONS[JumpDestOperation.OPCODE] = JumpDestOperation.class;
+    STRAIGHT_LINE_OPERATIONS[PushOperation.PUSH_BASE] = Push0Operation.class;
+    Arrays.fill(
+        STRAIGHT_LINE_OPERATIONS,
+        PushOperation.PUSH_BASE + 1,
+        PushOperation.PUSH_MAX + 1,
+        PushOperation.class);
+    Arrays.fill(
+        STRAIGHT_LINE_OPERATIONS,
+        DupOperation.DUP_BASE + 1,
+        DupOperation.DUP_BASE + 17,
+        DupOperation.class);
+    Arrays.fill(
+        STRAIGHT_LINE_OPERATIONS,
+        SwapOperation.SWAP_BASE + 1,
+        SwapOperation.SWAP_BASE + 17,
+        SwapOperation.class);
+  }
+
+  private final Operation[] operations;
+  // index of the block starting at each pc plus one, zero if no block starts there
+  private final char[] blockByPc;
+  private final int[] endPc;
+  private final long[] staticGas;
+  private final int[] requiredStackHeight;
+  private final int[] maxStackGrowth;
+
+  private BasicBlocks(
+      final Operation[] operations,
+      final char[] blockByPc,
+      final int[] endPc,
+      final long[] staticGas,
+      final int[] requiredStackHeight,
+      final int[] maxStackGrowth) {
+    this.operations = operations;
+    this.blockByPc = blockByPc;
+    this.endPc = endPc;
+    this.staticGas = staticGas;
+    this.requiredStackHeight = requiredStackHeight;
+    this.maxStackGrowth = maxStackGrowth;
+  }
+
+  /**
+   * Split the code into basic blocks.
+   *
+   * @param code the legacy code
+   * @param operations the operations of the EVM, indexed by opcode
+   * @return the basic blocks of the code
+   */
+  public static BasicBlocks analyze(final byte[] code, final Operation[] operations) {
+    final int length = code.length;
+    final char[] blockByPc = new char[length];
+    int blockCount = 0;
+    int[] endPc = new int[16];
+    long[] staticGas = new long[16];
+    int[] requiredStackHeight = new int[16];
+    int[] maxStackGrowth = new int[16];
+
+    int pc = 0;
+    while (pc < length && blockCount < MAX_BLOCKS) {
+      int opcode = code[pc] & 0xff;
+      if (!isStraightLine(opcode, operations)) {
+        pc += instructionSize(opcode);
+        continue;
+      }
+
+      final int start = pc;
+      long gas = 0;
+      int height = 0;
+      int required = 0;
+      int growth = 0;
+      int count = 0;
+      do {
+        final Operation operation = operations[opcode];
+        gas += operation.getFixedGasCost().getAsLong();
+        required = Math.max(required, operation.getStackItemsConsumed() - height);
+        height += operation.getStackItemsProduced() - operation.getStackItemsConsumed();
+        growth = Math.max(growth, height);
+        pc += instructionSize(opcode);
+        count++;
+        if (pc >= length) {
+          break;
+        }
+        opcode = code[pc] & 0xff;
+      } while (opcode != JumpDestOperation.OPCODE && isStraightLine(opcode, operations));
+
+      if (count >= MIN_BLOCK_OPERATIONS) {
+        if (blockCount == endPc.length) {
+          final int newCapacity = blockCount * 2;
+          endPc = Arrays.copyOf(endPc, newCapacity);
+          staticGas = Arrays.copyOf(staticGas, newCapacity);
+          requiredStackHeight = Arrays.copyOf(requiredStackHeight, newCapacity);
+          maxStackGrowth = Arrays.copyOf(maxStackGrowth, newCapacity);
+        }
+        endPc[blockCount] = pc;
+        staticGas[blockCount] = gas;
+        requiredStackHeight[blockCount] = required;
+        maxStackGrowth[blockCount] = growth;
+        blockByPc[start] = (char) ++blockCount;
+      }
+    }
+
+    return new BasicBlocks(
+        operations,
+        blockByPc,
+        Arrays.copyOf(endPc, blockCount),
+        Arrays.copyOf(staticGas, blockCount),
+        Arrays.copyOf(requiredStackHeight, blockCount),
+        Arrays.copyOf(maxStackGrowth, blockCount));
+  }
+
+  private static boolean isStraightLine(final int opcode, final Operation[] operations) {
+    final Class<?> expected = STRAIGHT_LINE_OPERATIONS[opcode];
+    final Operation operation = operations[opcode];
+    return expected != null && operation != null && operation.getClass() == expected;
+  }
+
+  private static int instructionSize(final int opcode) {
+    return opcode > PushOperation.PUSH_BASE && opcode <= PushOperation.PUSH_MAX
+        ? 1 + opcode - PushOperation.PUSH_BASE
+        : 1;
+  }
+
+  /**
+   * Whether this analysis was computed for the given operations.
+   *
+   * @param operations the operations of the EVM
+   * @return true if the analysis can be used with these operations
+   */
+  public boolean isComputedFor(final Operation[] operations) {
+    return this.operations == operations;
+  }
+
+  /**
+   * Gets the block starting at the given pc.
+   *
+   * @param pc the pc
+   * @return the index of the block, or -1 if no block starts at this pc
+   */
+  public int blockAt(final int pc) {
+    return pc >= 0 && pc < blockByPc.length ? blockByPc[pc] - 1 : -1;
+  }
+
+  /**
+   * Gets the number of blocks.
+   *
+   * @return the number of blocks
+   */
+  public int getBlockCount() {
+    return endPc.length;
+  }
+
+  /**
+   * Gets the pc following the last operation of the block.
+   *
+   * @param block the index of the block
+   * @return the end pc, exclusive
+   */
+  public int getEndPc(final int block) {
+    return endPc[block];
+  }
+
+  /**
+   * Gets the total gas cost of the operations of the block.
+   *
+   * @param block the index of the block
+   * @return the static gas cost
+   */
+  public long getStaticGas(final int block) {
+    return staticGas[block];
+  }
+
+  /**
+   * Gets the minimal stack height needed to run the block without underflow.
+   *
+   * @param block the index of the block
+   * @return the required stack height
+   */
+  public int getRequiredStackHeight(final int block) {
+    return requiredStackHeight[block];
+  }
+
+  /**
+   * Gets the maximal stack growth while running the block.
+   *
+   * @param block the index of the block
+   * @return the maximal number of items above the initial stack height
+   */
+  public int getMaxStackGrowth(final int block) {
+    return maxStackGrowth[block];
+  }
+}
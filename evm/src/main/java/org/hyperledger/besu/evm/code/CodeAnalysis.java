@@ -0,0 +1,127 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.code;
+
+import org.hyperledger.besu.evm.Code;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Serializes the result of the analysis of code, so it can be persisted and restored without
+ * analyzing the code again.
+ *
+ * <p>For legacy code this is the bitmap of the valid jump destinations. For EOF code it records
+ * that the container passed the code and stack validation, in which case only the layout is parsed
+ * again, or the reason it did not. The analysis depends on the max EOF version of the fork it was
+ * computed for, an analysis computed for another version is not restored.
+ */
+public final class CodeAnalysis {
+
+  private static final byte FORMAT_VERSION = 1;
+
+  private static final byte LEGACY = 0;
+  private static final byte EOF_VALID = 1;
+  private static final byte INVALID = 2;
+
+  private static final int HEADER_SIZE = 3;
+
+  private CodeAnalysis() {
+    // utility class, no instantiations.
+  }
+
+  /**
+   * Serialize the analysis of the code, computing it if needed.
+   *
+   * @param code the code, as created by {@link CodeFactory} outside of a create operation
+   * @param maxEofVersion the max eof version the code was created for
+   * @return the serialized analysis, empty if the kind of code is not supported
+   */
+  public static Optional<Bytes> serialize(final Code code, final int maxEofVersion) {
+    if (code instanceof CodeV0 codeV0) {
+      final long[] jumpDestinations = codeV0.getValidJumpDestinations();
+      final ByteBuffer buffer = header(LEGACY, maxEofVersion, Long.BYTES * jumpDestinations.length);
+      for (final long jumpDestination : jumpDestinations) {
+        buffer.putLong(jumpDestination);
+      }
+      return Optional.of(Bytes.wrap(buffer.array()));
+    } else if (code instanceof CodeV1) {
+      return Optional.of(Bytes.wrap(header(EOF_VALID, maxEofVersion, 0).array()));
+    } else if (code instanceof CodeInvalid codeInvalid) {
+      final byte[] reason = codeInvalid.getInvalidReason().getBytes(StandardCharsets.UTF_8);
+      return Optional.of(
+          Bytes.wrap(header(INVALID, maxEofVersion, reason.length).put(reason).array()));
+    } else {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Restore the code from its serialized analysis.
+   *
+   * @param bytes the bytes of the code
+   * @param maxEofVersion the max eof version of the fork the code is created for
+   * @param analysis the serialized analysis of the code
+   * @return the analyzed code, empty if the analysis is of another format, was computed for another
+   *     max eof version or does not match the code
+   */
+  public static Optional<Code> restore(
+      final Bytes bytes, final int maxEofVersion, final Bytes analysis) {
+    if (analysis.size() < HEADER_SIZE
+        || analysis.get(0) != FORMAT_VERSION
+        || analysis.get(1) != maxEofVersion) {
+      return Optional.empty();
+    }
+    final Bytes payload = analysis.slice(HEADER_SIZE);
+    return switch (analysis.get(2)) {
+      case LEGACY -> restoreLegacy(bytes, payload);
+      case EOF_VALID -> restoreEof(bytes);
+      case INVALID -> restoreInvalid(bytes, payload);
+      default -> Optional.empty();
+    };
+  }
+
+  private static Optional<Code> restoreLegacy(final Bytes bytes, final Bytes payload) {
+    final long[] jumpDestinations = new long[(bytes.size() >> 6) + 1];
+    if (payload.size() != Long.BYTES * jumpDestinations.length) {
+      return Optional.empty();
+    }
+    final ByteBuffer buffer = ByteBuffer.wrap(payload.toArrayUnsafe());
+    for (int i = 0; i < jumpDestinations.length; i++) {
+      jumpDestinations[i] = buffer.getLong();
+    }
+    return Optional.of(new CodeV0(bytes, jumpDestinations));
+  }
+
+  private static Optional<Code> restoreEof(final Bytes bytes) {
+    final EOFLayout layout = EOFLayout.parseEOF(bytes);
+    return layout.isValid() ? Optional.of(new CodeV1(layout)) : Optional.empty();
+  }
+
+  private static Optional<Code> restoreInvalid(final Bytes bytes, final Bytes payload) {
+    final String reason = new String(payload.toArrayUnsafe(), StandardCharsets.UTF_8);
+    return Optional.of(new CodeInvalid(bytes, reason));
+  }
+
+  private static ByteBuffer header(final byte kind, final int maxEofVersion, final int size) {
+    return ByteBuffer.allocate(HEADER_SIZE + size)
+        .put(FORMAT_VERSION)
+        .put((byte) maxEofVersion)
+        .put(kind);
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.code;
+
+import org.hyperledger.besu.datatypes.Hash;
+
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Persists the analysis of code, so it is not computed again after a restart.
+ *
+ * <p>Entries are keyed by code hash and hold what {@link CodeAnalysis} serializes.
+ */
+public interface CodeAnalysisStorage {
+
+  /**
+   * Get the persisted analysis of the code.
+   *
+   * @param codeHash the hash of the code
+   * @return the serialized analysis, if one was persisted
+   */
+  Optional<Bytes> get(Hash codeHash);
+
+  /**
+   * Persist the analysis of the code.
+   *
+   * @param codeHash the hash of the code
+   * @param analysis the serialized analysis
+   */
+  void put(Hash codeHash, Bytes analysis);
+}
@@ -19,6 +19,7 @@ package org.hyperledger.besu.evm.code;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.evm.Code;
 import org.hyperledger.besu.evm.operation.JumpDestOperation;
+import org.hyperledger.besu.evm.operation.Operation;
 
 import java.util.function.Supplier;
 
@@ -41,6 +42,9 @@ public class CodeV0 implements Code {
   /** Used to cache valid jump destinations. */
   private long[] validJumpDestinations;
 
+  /** Used to cache the basic block analysis. */
+  private BasicBlocks basicBlocks;
+
   /** Code section info for the legacy code */
   private final CodeSection codeSectionZero;
 
@@ -55,6 +59,17 @@ public class CodeV0 implements Code {
     this.codeSectionZero = new CodeSection(bytes.size(), 0, -1, -1, 0);
   }
 
+  /**
+   * Constructor restoring the code with its previously computed jump destinations.
+   *
+   * @param bytes The byte representation of the code.
+   * @param validJumpDestinations The bitmap of the valid jump destinations.
+   */
+  CodeV0(final Bytes bytes, final long[] validJumpDestinations) {
+    this(bytes);
+    this.validJumpDestinations = validJumpDestinations;
+  }
+
   /**
    * Returns true if the object is equal to this; otherwise false.
    *
@@ -106,15 +121,21 @@ public class CodeV0 implements Code {
     if (jumpDestination < 0 || jumpDestination >= getSize()) {
       return true;
     }
-    if (validJumpDestinations == null || validJumpDestinations.length == 0) {
-      validJumpDestinations = calculateJumpDests();
-    }
-
-    final long targetLong = validJumpDestinations[jumpDestination >>> 6];
+    final long targetLong = getValidJumpDestinations()[jumpDestination >>> 6];
     final long targetBit = 1L << (jumpDestination & 0x3F);
     return (targetLong & targetBit) == 0L;
   }
 
+  @Override
+  public BasicBlocks getBasicBlocks(final Operation[] operations) {
+    BasicBlocks result = basicBlocks;
+    if (result == null || !result.isComputedFor(operations)) {
+      result = BasicBlocks.analyze(bytes.toArrayUnsafe(), operations);
+      basicBlocks = result;
+    }
+    return result;
+  }
+
   @Override
   public boolean isValid() {
     return true;
@@ -139,6 +160,18 @@ public class CodeV0 implements Code {
     return 0;
   }
 
+  /**
+   * Gets the bitmap of the valid jump destinations, calculating it on first use.
+   *
+   * @return the bitmap of the valid jump destinations
+   */
+  long[] getValidJumpDestinations() {
+    if (validJumpDestinations == null || validJumpDestinations.length == 0) {
+      validJumpDestinations = calculateJumpDests();
+    }
+    return validJumpDestinations;
+  }
+
   /**
    * Calculate jump destination.
    *
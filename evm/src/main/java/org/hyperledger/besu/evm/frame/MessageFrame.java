@@ -590,6 +590,15 @@ public class MessageFrame {
     return stack.size();
   }
 
+  /**
+   * Returns the operand stack, for operations that work on the stack words in place.
+   *
+   * @return the operand stack
+   */
+  public OperandStack getOperandStack() {
+    return stack;
+  }
+
   /**
    * Return the current return stack size.
    *
@@ -1030,6 +1039,17 @@ public class MessageFrame {
     }
   }
 
+  /**
+   * Whether the storage slot is warm as per EIP-2929, without warming it up.
+   *
+   * @param address the address whose storage is checked
+   * @param slot the slot being checked
+   * @return true if the storage slot was already warmed up by this frame or its parents
+   */
+  public boolean isStorageWarm(final Address address, final Bytes32 slot) {
+    return isWarm(address, slot);
+  }
+
   private boolean isWarm(final Address address, final Bytes32 slot) {
     MessageFrame frame = this;
     while (frame != null) {
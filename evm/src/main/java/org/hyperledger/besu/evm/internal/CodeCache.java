@@ -17,15 +17,29 @@ package org.hyperledger.besu.evm.internal;
 
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.code.CodeAnalysis;
+import org.hyperledger.besu.evm.code.CodeAnalysisStorage;
+import org.hyperledger.besu.evm.code.CodeFactory;
+
+import java.util.Optional;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.tuweni.bytes.Bytes;
 
-/** The Code cache. */
+/**
+ * The Code cache.
+ *
+ * <p>Besides the code itself, the cached entries hold the analysis computed on first execution:
+ * the valid jump destinations and the basic blocks used to charge gas once per block. When a
+ * {@link CodeAnalysisStorage} is configured, the analysis of code missing from the cache is loaded
+ * from it, or persisted to it once computed, so it survives restarts.
+ */
 public class CodeCache {
 
   private final Cache<Hash, Code> cache;
   private final long weightLimit;
+  private final Optional<CodeAnalysisStorage> analysisStorage;
 
   /**
    * Instantiates a new Code cache.
@@ -33,11 +47,13 @@ public class CodeCache {
    * @param config the config
    */
   public CodeCache(final EvmConfiguration config) {
-    this(config.getJumpDestCacheWeightBytes());
+    this(config.getJumpDestCacheWeightBytes(), config.getCodeAnalysisStorage());
   }
 
-  private CodeCache(final long maxWeightBytes) {
+  private CodeCache(
+      final long maxWeightBytes, final Optional<CodeAnalysisStorage> analysisStorage) {
     this.weightLimit = maxWeightBytes;
+    this.analysisStorage = analysisStorage;
     this.cache =
         Caffeine.newBuilder().maximumWeight(maxWeightBytes).weigher(new CodeScale()).build();
   }
@@ -76,6 +92,33 @@ public class CodeCache {
     cache.put(key, value);
   }
 
+  /**
+   * Create the analyzed code, restoring its analysis from the storage if it was persisted, or
+   * persisting it otherwise. The code is not added to the cache.
+   *
+   * @param codeHash the code hash
+   * @param codeBytes the code bytes
+   * @param maxEofVersion the max eof version of the fork the code is created for
+   * @return the code
+   */
+  public Code analyze(final Hash codeHash, final Bytes codeBytes, final int maxEofVersion) {
+    if (analysisStorage.isEmpty()) {
+      return CodeFactory.createCode(codeBytes, maxEofVersion, false);
+    }
+    final CodeAnalysisStorage storage = analysisStorage.get();
+    final Optional<Code> restored =
+        storage
+            .get(codeHash)
+            .flatMap(analysis -> CodeAnalysis.restore(codeBytes, maxEofVersion, analysis));
+    if (restored.isPresent()) {
+      return restored.get();
+    }
+    final Code code = CodeFactory.createCode(codeBytes, maxEofVersion, false);
+    CodeAnalysis.serialize(code, maxEofVersion)
+        .ifPresent(analysis -> storage.put(codeHash, analysis));
+    return code;
+  }
+
   /**
    * Size of cache.
    *
@@ -23,6 +23,7 @@ import com.github.benmanes.caffeine.cache.Weigher;
 class CodeScale implements Weigher<Hash, Code> {
   @Override
   public int weigh(final Hash key, final Code code) {
-    return ((code.getSize() * 9 + 7) / 8) + key.size();
+    // the code, its jump destination bitmap and the two bytes per pc of the basic block index
+    return ((code.getSize() * 25 + 7) / 8) + key.size();
   }
 }
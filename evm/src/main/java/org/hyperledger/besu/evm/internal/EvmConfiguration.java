@@ -15,12 +15,18 @@
 
 package org.hyperledger.besu.evm.internal;
 
+import org.hyperledger.besu.evm.code.CodeAnalysisStorage;
+
+import java.util.Optional;
+
 /** The Evm configuration. */
 public class EvmConfiguration {
   /** The constant DEFAULT. */
   public static final EvmConfiguration DEFAULT = new EvmConfiguration(32_000L);
 
   private final long jumpDestCacheWeightKB;
+  private final EvmProfiler profiler;
+  private final Optional<CodeAnalysisStorage> codeAnalysisStorage;
 
   /**
    * Instantiates a new Evm configuration.
@@ -28,7 +34,46 @@ public class EvmConfiguration {
    * @param jumpDestCacheWeightKB the jump dest cache weight kb
    */
   public EvmConfiguration(final long jumpDestCacheWeightKB) {
+    this(jumpDestCacheWeightKB, EvmProfiler.DISABLED);
+  }
+
+  /**
+   * Instantiates a new Evm configuration.
+   *
+   * @param jumpDestCacheWeightKB the jump dest cache weight kb
+   * @param profiler the profiler sampling the execution of frames
+   */
+  public EvmConfiguration(final long jumpDestCacheWeightKB, final EvmProfiler profiler) {
+    this(jumpDestCacheWeightKB, profiler, Optional.empty());
+  }
+
+  private EvmConfiguration(
+      final long jumpDestCacheWeightKB,
+      final EvmProfiler profiler,
+      final Optional<CodeAnalysisStorage> codeAnalysisStorage) {
     this.jumpDestCacheWeightKB = jumpDestCacheWeightKB;
+    this.profiler = profiler;
+    this.codeAnalysisStorage = codeAnalysisStorage;
+  }
+
+  /**
+   * Copy of this configuration using the given profiler.
+   *
+   * @param profiler the profiler sampling the execution of frames
+   * @return the new evm configuration
+   */
+  public EvmConfiguration withProfiler(final EvmProfiler profiler) {
+    return new EvmConfiguration(jumpDestCacheWeightKB, profiler, codeAnalysisStorage);
+  }
+
+  /**
+   * Copy of this configuration persisting the code analysis in the given storage.
+   *
+   * @param codeAnalysisStorage the storage of the code analysis
+   * @return the new evm configuration
+   */
+  public EvmConfiguration withCodeAnalysisStorage(final CodeAnalysisStorage codeAnalysisStorage) {
+    return new EvmConfiguration(jumpDestCacheWeightKB, profiler, Optional.of(codeAnalysisStorage));
   }
 
   /**
@@ -48,4 +93,22 @@ public class EvmConfiguration {
   public long getJumpDestCacheWeightKB() {
     return jumpDestCacheWeightKB;
   }
+
+  /**
+   * Gets the profiler.
+   *
+   * @return the profiler, {@link EvmProfiler#DISABLED} if profiling is off
+   */
+  public EvmProfiler getProfiler() {
+    return profiler;
+  }
+
+  /**
+   * Gets the storage persisting the code analysis.
+   *
+   * @return the storage of the code analysis, empty if the analysis is only cached in memory
+   */
+  public Optional<CodeAnalysisStorage> getCodeAnalysisStorage() {
+    return codeAnalysisStorage;
+  }
 }
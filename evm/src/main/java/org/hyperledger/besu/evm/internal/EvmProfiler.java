@@ -0,0 +1,160 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.internal;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.operation.Operation;
+import org.hyperledger.besu.evm.operation.Operation.OperationResult;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * A sampling profiler for the EVM.
+ *
+ * <p>One in {@code sampleRate} frames is run with a lightweight tracer which times every operation
+ * and checks whether the slots accessed by SLOAD and SSTORE are already warm, that is served from
+ * the state cached for the transaction, or cold. One in {@code sampleRate} precompile calls is
+ * timed too. Frames which are not sampled only pay for a random draw, so the profiler is cheap
+ * enough to leave on. Measurements are handed to a {@link Recorder}.
+ *
+ * <p>Like any traced frame, a sampled frame runs operation by operation and skips the basic block
+ * fast path of the EVM, which charges the static gas and checks the stack once per block. The
+ * timings reported are therefore somewhat higher than the cost of the operations in frames which
+ * are not sampled.
+ */
+public class EvmProfiler {
+
+  /** The profiler which never samples. */
+  public static final EvmProfiler DISABLED = new EvmProfiler(0, Recorder.NO_OP);
+
+  private static final int SLOAD = 0x54;
+  private static final int SSTORE = 0x55;
+
+  private final int sampleRate;
+  private final Recorder recorder;
+
+  /**
+   * Instantiates a new Evm profiler.
+   *
+   * @param sampleRate one in how many frames are sampled, 0 disables sampling
+   * @param recorder the recorder of the measurements
+   */
+  public EvmProfiler(final int sampleRate, final Recorder recorder) {
+    checkArgument(sampleRate >= 0, "sampleRate must be non-negative");
+    this.sampleRate = sampleRate;
+    this.recorder = recorder;
+  }
+
+  /**
+   * Gets the sample rate.
+   *
+   * @return one in how many frames are sampled, 0 if sampling is disabled
+   */
+  public int getSampleRate() {
+    return sampleRate;
+  }
+
+  /**
+   * Decide whether the frame, or precompile call, about to run is sampled.
+   *
+   * @return true if it has to be measured
+   */
+  public boolean sample() {
+    return sampleRate > 0 && ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+  }
+
+  /**
+   * Create the tracer measuring the operations of a sampled frame.
+   *
+   * @return a new tracer, only to be used for a single frame
+   */
+  public OperationTracer createFrameTracer() {
+    return new SampledFrameTracer(recorder);
+  }
+
+  /**
+   * Record the execution of a sampled precompile call.
+   *
+   * @param name the name of the precompile
+   * @param elapsedNanos how long the precompile took to compute
+   */
+  public void recordPrecompile(final String name, final long elapsedNanos) {
+    recorder.recordPrecompile(name, elapsedNanos);
+  }
+
+  /** Receives the measurements of the sampled frames and precompile calls. */
+  public interface Recorder {
+
+    /** The recorder discarding everything. */
+    Recorder NO_OP = new Recorder() {};
+
+    /**
+     * Record the execution of an operation.
+     *
+     * @param operation the operation
+     * @param elapsedNanos how long the operation took
+     */
+    default void recordOperation(final Operation operation, final long elapsedNanos) {}
+
+    /**
+     * Record the execution of a precompile.
+     *
+     * @param name the name of the precompile
+     * @param elapsedNanos how long the precompile took
+     */
+    default void recordPrecompile(final String name, final long elapsedNanos) {}
+
+    /**
+     * Record a storage access of SLOAD or SSTORE.
+     *
+     * @param operation the operation accessing the storage
+     * @param warm true if the slot was already accessed by the transaction, a cache hit
+     */
+    default void recordStorageAccess(final Operation operation, final boolean warm) {}
+  }
+
+  private static class SampledFrameTracer implements OperationTracer {
+    private final Recorder recorder;
+    private long operationStart;
+
+    private SampledFrameTracer(final Recorder recorder) {
+      this.recorder = recorder;
+    }
+
+    @Override
+    public void tracePreExecution(final MessageFrame frame) {
+      final Operation operation = frame.getCurrentOperation();
+      final int opcode = operation.getOpcode();
+      if ((opcode == SLOAD || opcode == SSTORE) && frame.stackSize() > 0) {
+        recorder.recordStorageAccess(
+            operation,
+            frame.isStorageWarm(
+                frame.getRecipientAddress(), UInt256.fromBytes(frame.getStackItem(0))));
+      }
+      operationStart = System.nanoTime();
+    }
+
+    @Override
+    public void tracePostExecution(
+        final MessageFrame frame, final OperationResult operationResult) {
+      recorder.recordOperation(frame.getCurrentOperation(), System.nanoTime() - operationStart);
+    }
+  }
+}
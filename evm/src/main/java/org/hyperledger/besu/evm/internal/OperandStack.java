@@ -16,10 +16,43 @@
 
 package org.hyperledger.besu.evm.internal;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.evm.internal.FixedStack.OverflowException;
+import org.hyperledger.besu.evm.internal.FixedStack.UnderflowException;
+
+import java.util.Arrays;
+
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.MutableBytes;
+
+/**
+ * The Operand stack.
+ *
+ * <p>Words are stored in a flat {@code long[]} of four limbs per word, most significant limb first.
+ * Arithmetic, bitwise and comparison operations work on the limbs in place, so they don't allocate.
+ * Words pushed or read as {@link Bytes} are converted at the boundary, a word is always read back
+ * as a 32 bytes value. The {@link Bytes} view of a slot is kept until the slot is written by a limb
+ * operation, so a word pushed as 32 bytes, or read more than once, is not converted again.
+ */
+public class OperandStack {
+
+  private static final int LIMBS = 4;
+
+  // most frames use few stack slots, start small and grow up to the max size
+  private static final int INITIAL_CAPACITY = 32;
+
+  private long[] limbs;
 
-/** The Operand stack. */
-public class OperandStack extends FixedStack<Bytes> {
+  // the Bytes view of each slot, null until the slot is read or when it is written as limbs
+  private Bytes[] views;
+
+  private final long[] scratch = new long[LIMBS];
+
+  private final int maxSize;
+
+  private int top;
 
   /**
    * Instantiates a new Operand stack.
@@ -27,6 +60,483 @@ public class OperandStack extends FixedStack<Bytes> {
    * @param maxSize the max size
    */
   public OperandStack(final int maxSize) {
-    super(maxSize, Bytes.class);
+    checkArgument(maxSize >= 0, "max size must be non-negative");
+
+    this.limbs = new long[Math.min(maxSize, INITIAL_CAPACITY) * LIMBS];
+    this.views = new Bytes[Math.min(maxSize, INITIAL_CAPACITY)];
+    this.maxSize = maxSize;
+    this.top = -1;
+  }
+
+  /**
+   * Get operand.
+   *
+   * @param offset the offset
+   * @return the operand
+   */
+  public Bytes get(final int offset) {
+    if (offset < 0 || offset >= size()) {
+      throw new UnderflowException();
+    }
+
+    return toBytes(top - offset);
+  }
+
+  /**
+   * Pop operand.
+   *
+   * @return the operand
+   */
+  public Bytes pop() {
+    if (top < 0) {
+      throw new UnderflowException();
+    }
+
+    return toBytes(top--);
+  }
+
+  /**
+   * Peek the top operand.
+   *
+   * @return the top operand, or null if the stack is empty
+   */
+  public Bytes peek() {
+    if (top < 0) {
+      return null;
+    } else {
+      return toBytes(top);
+    }
+  }
+
+  /**
+   * Pops the specified number of operands from the stack.
+   *
+   * @param items the number of operands to pop off the stack
+   * @throws IllegalArgumentException if the items to pop is negative.
+   * @throws UnderflowException when the items to pop is greater than {@link #size()}
+   */
+  public void bulkPop(final int items) {
+    checkArgument(items > 0, "number of items to pop must be greater than 0");
+    if (items > size()) {
+      throw new UnderflowException();
+    }
+
+    top -= items;
+  }
+
+  /**
+   * Trims the "middle" section of items out of the stack. Items below the cutpoint remains, and of
+   * the items above only the itemsToKeep items remain. All items in the middle are removed.
+   *
+   * @param cutPoint Point at which to start removing items
+   * @param itemsToKeep itemsToKeep Number of items on top to place at the cutPoint
+   * @throws IllegalArgumentException if the cutPoint or items to keep is negative.
+   * @throws UnderflowException If there are less than itemsToKeep above the cutPoint
+   */
+  public void preserveTop(final int cutPoint, final int itemsToKeep) {
+    checkArgument(cutPoint >= 0, "cutPoint must be positive");
+    checkArgument(itemsToKeep >= 0, "itemsToKeep must be positive");
+    if (itemsToKeep == 0) {
+      if (cutPoint < size()) {
+        bulkPop(top - cutPoint);
+      }
+    } else {
+      int targetSize = cutPoint + itemsToKeep;
+      int currentSize = size();
+      if (targetSize > currentSize) {
+        throw new UnderflowException();
+      } else if (targetSize < currentSize) {
+        System.arraycopy(
+            limbs,
+            (currentSize - itemsToKeep) * LIMBS,
+            limbs,
+            cutPoint * LIMBS,
+            itemsToKeep * LIMBS);
+        System.arraycopy(views, currentSize - itemsToKeep, views, cutPoint, itemsToKeep);
+        top = targetSize - 1;
+      }
+    }
+  }
+
+  /**
+   * Push operand. Only the lowest 32 bytes of the operand are kept.
+   *
+   * @param operand the operand
+   */
+  public void push(final Bytes operand) {
+    final int nextTop = top + 1;
+    if (nextTop == maxSize) {
+      throw new OverflowException();
+    }
+    ensureCapacity(nextTop);
+    store(nextTop, operand);
+    top = nextTop;
+  }
+
+  /**
+   * Set operand. Only the lowest 32 bytes of the operand are kept.
+   *
+   * @param offset the offset
+   * @param operand the operand
+   */
+  public void set(final int offset, final Bytes operand) {
+    if (offset < 0) {
+      throw new UnderflowException();
+    } else if (offset >= size()) {
+      throw new OverflowException();
+    }
+
+    store(top - offset, operand);
+  }
+
+  /**
+   * Size of entries.
+   *
+   * @return the size
+   */
+  public int size() {
+    return top + 1;
+  }
+
+  /**
+   * Is stack full.
+   *
+   * @return the boolean
+   */
+  public boolean isFull() {
+    return top + 1 >= maxSize;
+  }
+
+  /**
+   * Is stack empty.
+   *
+   * @return the boolean
+   */
+  public boolean isEmpty() {
+    return top < 0;
+  }
+
+  /**
+   * Push a copy of the operand at the given depth, as DUP1 to DUP16 do.
+   *
+   * @param index the depth of the operand to copy, 1 being the top of the stack
+   */
+  public void dup(final int index) {
+    if (index < 1 || index > size()) {
+      throw new UnderflowException();
+    }
+    final int nextTop = top + 1;
+    if (nextTop == maxSize) {
+      throw new OverflowException();
+    }
+    ensureCapacity(nextTop);
+    System.arraycopy(limbs, (nextTop - index) * LIMBS, limbs, nextTop * LIMBS, LIMBS);
+    views[nextTop] = views[nextTop - index];
+    top = nextTop;
+  }
+
+  /**
+   * Exchange the top operand with the operand at the given depth, as SWAP1 to SWAP16 do.
+   *
+   * @param index the depth of the operand to exchange with the top, 1 being the second operand
+   */
+  public void swap(final int index) {
+    if (index < 1 || index >= size()) {
+      throw new UnderflowException();
+    }
+    final int a = top * LIMBS;
+    final int b = (top - index) * LIMBS;
+    for (int i = 0; i < LIMBS; i++) {
+      final long tmp = limbs[a + i];
+      limbs[a + i] = limbs[b + i];
+      limbs[b + i] = tmp;
+    }
+    final Bytes view = views[top];
+    views[top] = views[top - index];
+    views[top - index] = view;
+  }
+
+  /** Replace the two top operands {@code a, b} by {@code a + b mod 2^256}. */
+  public void add() {
+    final int a = top * LIMBS;
+    final int b = popForBinaryOperation() * LIMBS;
+    views[top] = null;
+    long carry = 0;
+    for (int i = LIMBS - 1; i >= 0; i--) {
+      final long x = limbs[a + i];
+      final long sum = x + limbs[b + i];
+      final long result = sum + carry;
+      carry =
+          (Long.compareUnsigned(sum, x) < 0 || Long.compareUnsigned(result, sum) < 0) ? 1L : 0L;
+      limbs[b + i] = result;
+    }
+  }
+
+  /** Replace the two top operands {@code a, b} by {@code a - b mod 2^256}. */
+  public void sub() {
+    final int a = top * LIMBS;
+    final int b = popForBinaryOperation() * LIMBS;
+    views[top] = null;
+    long borrow = 0;
+    for (int i = LIMBS - 1; i >= 0; i--) {
+      final long x = limbs[a + i];
+      final long y = limbs[b + i];
+      limbs[b + i] = x - y - borrow;
+      borrow = (Long.compareUnsigned(x, y) < 0 || (x == y && borrow != 0)) ? 1L : 0L;
+    }
+  }
+
+  /** Replace the two top operands {@code a, b} by {@code a * b mod 2^256}. */
+  public void mul() {
+    final int a = top * LIMBS;
+    final int b = popForBinaryOperation() * LIMBS;
+    views[top] = null;
+    // schoolbook multiplication on little endian limbs, dropping everything above 256 bits
+    Arrays.fill(scratch, 0L);
+    for (int i = 0; i < LIMBS; i++) {
+      final long x = limbs[a + LIMBS - 1 - i];
+      if (x == 0) {
+        continue;
+      }
+      long carry = 0;
+      for (int j = 0; i + j < LIMBS; j++) {
+        final long y = limbs[b + LIMBS - 1 - j];
+        final long low = x * y;
+        long high = unsignedMultiplyHigh(x, y);
+        final long withPrevious = scratch[i + j] + low;
+        if (Long.compareUnsigned(withPrevious, low) < 0) {
+          high++;
+        }
+        final long withCarry = withPrevious + carry;
+        if (Long.compareUnsigned(withCarry, withPrevious) < 0) {
+          high++;
+        }
+        scratch[i + j] = withCarry;
+        carry = high;
+      }
+    }
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[b + LIMBS - 1 - i] = scratch[i];
+    }
+  }
+
+  /** Replace the two top operands {@code a, b} by {@code a & b}. */
+  public void and() {
+    final int a = top * LIMBS;
+    final int b = popForBinaryOperation() * LIMBS;
+    views[top] = null;
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[b + i] &= limbs[a + i];
+    }
+  }
+
+  /** Replace the two top operands {@code a, b} by {@code a | b}. */
+  public void or() {
+    final int a = top * LIMBS;
+    final int b = popForBinaryOperation() * LIMBS;
+    views[top] = null;
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[b + i] |= limbs[a + i];
+    }
+  }
+
+  /** Replace the two top operands {@code a, b} by {@code a ^ b}. */
+  public void xor() {
+    final int a = top * LIMBS;
+    final int b = popForBinaryOperation() * LIMBS;
+    views[top] = null;
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[b + i] ^= limbs[a + i];
+    }
+  }
+
+  /** Replace the top operand {@code a} by {@code ~a}. */
+  public void not() {
+    if (top < 0) {
+      throw new UnderflowException();
+    }
+    final int a = top * LIMBS;
+    views[top] = null;
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[a + i] = ~limbs[a + i];
+    }
+  }
+
+  /** Replace the two top operands {@code a, b} by 1 if {@code a < b} unsigned, 0 otherwise. */
+  public void lt() {
+    final int a = top * LIMBS;
+    final int b = popForBinaryOperation() * LIMBS;
+    storeBoolean(b, compareUnsigned(a, b) < 0);
+  }
+
+  /** Replace the two top operands {@code a, b} by 1 if {@code a > b} unsigned, 0 otherwise. */
+  public void gt() {
+    final int a = top * LIMBS;
+    final int b = popForBinaryOperation() * LIMBS;
+    storeBoolean(b, compareUnsigned(a, b) > 0);
+  }
+
+  /** Replace the two top operands {@code a, b} by 1 if {@code a < b} signed, 0 otherwise. */
+  public void slt() {
+    final int a = top * LIMBS;
+    final int b = popForBinaryOperation() * LIMBS;
+    storeBoolean(b, compareSigned(a, b) < 0);
+  }
+
+  /** Replace the two top operands {@code a, b} by 1 if {@code a > b} signed, 0 otherwise. */
+  public void sgt() {
+    final int a = top * LIMBS;
+    final int b = popForBinaryOperation() * LIMBS;
+    storeBoolean(b, compareSigned(a, b) > 0);
+  }
+
+  /** Replace the two top operands {@code a, b} by 1 if {@code a == b}, 0 otherwise. */
+  public void eq() {
+    final int a = top * LIMBS;
+    final int b = popForBinaryOperation() * LIMBS;
+    storeBoolean(b, compareUnsigned(a, b) == 0);
+  }
+
+  /** Replace the top operand {@code a} by 1 if {@code a == 0}, 0 otherwise. */
+  public void isZero() {
+    if (top < 0) {
+      throw new UnderflowException();
+    }
+    final int a = top * LIMBS;
+    storeBoolean(a, (limbs[a] | limbs[a + 1] | limbs[a + 2] | limbs[a + 3]) == 0);
+  }
+
+  /**
+   * Replace the two top operands {@code i, x} by the {@code i}th byte of {@code x}, counting from
+   * the most significant byte, or by 0 if {@code i} is 32 or more.
+   */
+  public void extractByte() {
+    final int i = top * LIMBS;
+    final int x = popForBinaryOperation() * LIMBS;
+    final long index = limbs[i + 3];
+    if ((limbs[i] | limbs[i + 1] | limbs[i + 2]) != 0 || Long.compareUnsigned(index, 32) >= 0) {
+      storeLong(x, 0L);
+    } else {
+      final int byteIndex = (int) index;
+      final long limb = limbs[x + byteIndex / Long.BYTES];
+      storeLong(x, (limb >>> (Long.SIZE - Byte.SIZE * (byteIndex % Long.BYTES + 1))) & 0xFFL);
+    }
+  }
+
+  private void ensureCapacity(final int index) {
+    if ((index + 1) * LIMBS > limbs.length) {
+      final int capacity = Math.min(maxSize, Math.max(index + 1, size() * 2));
+      limbs = Arrays.copyOf(limbs, capacity * LIMBS);
+      views = Arrays.copyOf(views, capacity);
+    }
+  }
+
+  private int popForBinaryOperation() {
+    if (top < 1) {
+      throw new UnderflowException();
+    }
+    return --top;
+  }
+
+  private int compareUnsigned(final int a, final int b) {
+    for (int i = 0; i < LIMBS; i++) {
+      final int comparison = Long.compareUnsigned(limbs[a + i], limbs[b + i]);
+      if (comparison != 0) {
+        return comparison;
+      }
+    }
+    return 0;
+  }
+
+  private int compareSigned(final int a, final int b) {
+    final int comparison = Long.compare(limbs[a], limbs[b]);
+    if (comparison != 0) {
+      return comparison;
+    }
+    for (int i = 1; i < LIMBS; i++) {
+      final int lowerComparison = Long.compareUnsigned(limbs[a + i], limbs[b + i]);
+      if (lowerComparison != 0) {
+        return lowerComparison;
+      }
+    }
+    return 0;
+  }
+
+  private void storeBoolean(final int base, final boolean value) {
+    storeLong(base, value ? 1L : 0L);
+  }
+
+  private void storeLong(final int base, final long value) {
+    views[base / LIMBS] = null;
+    limbs[base] = 0L;
+    limbs[base + 1] = 0L;
+    limbs[base + 2] = 0L;
+    limbs[base + 3] = value;
+  }
+
+  private void store(final int index, final Bytes value) {
+    final int base = index * LIMBS;
+    final int size = value.size();
+    // a mutable operand could change after it is pushed, so only its limbs are kept
+    views[index] = size == Bytes32.SIZE && !(value instanceof MutableBytes) ? value : null;
+    if (size >= Bytes32.SIZE) {
+      final int offset = size - Bytes32.SIZE;
+      for (int i = 0; i < LIMBS; i++) {
+        limbs[base + i] = value.getLong(offset + i * Long.BYTES);
+      }
+      return;
+    }
+    storeLong(base, 0L);
+    for (int i = 0; i < size; i++) {
+      final long b = value.get(size - 1 - i) & 0xFFL;
+      limbs[base + LIMBS - 1 - i / Long.BYTES] |= b << (Byte.SIZE * (i % Long.BYTES));
+    }
+  }
+
+  private Bytes toBytes(final int index) {
+    final Bytes view = views[index];
+    if (view != null) {
+      return view;
+    }
+    final int base = index * LIMBS;
+    final byte[] result = new byte[Bytes32.SIZE];
+    for (int i = 0; i < LIMBS; i++) {
+      final long limb = limbs[base + i];
+      for (int j = 0; j < Long.BYTES; j++) {
+        result[i * Long.BYTES + j] = (byte) (limb >>> (Long.SIZE - Byte.SIZE * (j + 1)));
+      }
+    }
+    final Bytes32 materialized = Bytes32.wrap(result);
+    views[index] = materialized;
+    return materialized;
+  }
+
+  private static long unsignedMultiplyHigh(final long x, final long y) {
+    return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; i <= top; ++i) {
+      builder.append(String.format("%n0x%04X ", i)).append(toBytes(i));
+    }
+    return builder.toString();
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(Arrays.copyOf(limbs, size() * LIMBS));
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    if (!(other instanceof OperandStack)) {
+      return false;
+    }
+
+    final OperandStack that = (OperandStack) other;
+    return this.top == that.top
+        && Arrays.equals(this.limbs, 0, size() * LIMBS, that.limbs, 0, size() * LIMBS);
   }
 }
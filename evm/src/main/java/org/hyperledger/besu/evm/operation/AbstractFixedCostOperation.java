@@ -23,6 +23,8 @@ import org.hyperledger.besu.evm.gascalculator.GasCalculator;
 import org.hyperledger.besu.evm.internal.FixedStack.OverflowException;
 import org.hyperledger.besu.evm.internal.FixedStack.UnderflowException;
 
+import java.util.OptionalLong;
+
 /** The Abstract fixed cost operation. */
 abstract class AbstractFixedCostOperation extends AbstractOperation {
 
@@ -77,6 +79,11 @@ abstract class AbstractFixedCostOperation extends AbstractOperation {
     }
   }
 
+  @Override
+  public OptionalLong getFixedGasCost() {
+    return OptionalLong.of(gasCost);
+  }
+
   /**
    * Execute fixed cost operation.
    *
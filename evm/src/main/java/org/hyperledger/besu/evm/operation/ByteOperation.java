@@ -18,8 +18,6 @@ import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
 
-import org.apache.tuweni.bytes.Bytes;
-
 /** The Byte operation. */
 public class ByteOperation extends AbstractFixedCostOperation {
 
@@ -35,23 +33,6 @@ public class ByteOperation extends AbstractFixedCostOperation {
     super(0x1A, "BYTE", 2, 1, gasCalculator, gasCalculator.getVeryLowTierGasCost());
   }
 
-  private static Bytes getByte(final Bytes seq, final Bytes offset) {
-    Bytes trimmedOffset = offset.trimLeadingZeros();
-    if (trimmedOffset.size() > 1) {
-      return Bytes.EMPTY;
-    }
-    final int index = trimmedOffset.toInt();
-
-    int size = seq.size();
-    int pos = index - 32 + size;
-    if (pos >= size || pos < 0) {
-      return Bytes.EMPTY;
-    } else {
-      final byte b = seq.get(pos);
-      return Bytes.of(b);
-    }
-  }
-
   @Override
   public Operation.OperationResult executeFixedCostOperation(
       final MessageFrame frame, final EVM evm) {
@@ -65,13 +46,7 @@ public class ByteOperation extends AbstractFixedCostOperation {
    * @return the operation result
    */
   public static OperationResult staticOperation(final MessageFrame frame) {
-    final Bytes value0 = frame.popStackItem();
-    final Bytes value1 = frame.popStackItem();
-
-    // Stack items are reversed for the BYTE operation.
-    final Bytes result = getByte(value1, value0);
-
-    frame.pushStackItem(result);
+    frame.getOperandStack().extractByte();
 
     return byteSuccess;
   }
@@ -14,6 +14,8 @@
  */
 package org.hyperledger.besu.evm.operation;
 
+import static org.hyperledger.besu.evm.internal.Words.clampedToLong;
+
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.MessageFrame;
@@ -47,12 +49,12 @@ public class DataHashOperation extends AbstractOperation {
 
   @Override
   public OperationResult execute(final MessageFrame frame, final EVM evm) {
-    int blobIndex = frame.popStackItem().toInt();
+    final long blobIndex = clampedToLong(frame.popStackItem());
     final Optional<List<Hash>> maybeHashes = frame.getVersionedHashes();
     if (frame.getVersionedHashes().isPresent()) {
       List<Hash> versionedHashes = maybeHashes.get();
       if (blobIndex < versionedHashes.size()) {
-        Hash requested = versionedHashes.get(blobIndex);
+        Hash requested = versionedHashes.get((int) blobIndex);
         frame.pushStackItem(requested);
       } else {
         frame.pushStackItem(Bytes.EMPTY);
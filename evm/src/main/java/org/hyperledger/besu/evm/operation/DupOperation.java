@@ -64,7 +64,7 @@ public class DupOperation extends AbstractFixedCostOperation {
    * @return the operation result
    */
   public static OperationResult staticOperation(final MessageFrame frame, final int index) {
-    frame.pushStackItem(frame.getStackItem(index - 1));
+    frame.getOperandStack().dup(index);
 
     return dupSuccess;
   }
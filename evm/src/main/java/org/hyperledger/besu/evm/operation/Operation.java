@@ -18,6 +18,8 @@ import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 
+import java.util.OptionalLong;
+
 /** The interface Operation. */
 public interface Operation {
 
@@ -134,4 +136,13 @@ public interface Operation {
   default boolean isVirtualOperation() {
     return false;
   }
+
+  /**
+   * Gets the gas cost of the operation when it does not depend on the operands or the state.
+   *
+   * @return the fixed gas cost, or empty if the gas cost is computed on execution
+   */
+  default OptionalLong getFixedGasCost() {
+    return OptionalLong.empty();
+  }
 }
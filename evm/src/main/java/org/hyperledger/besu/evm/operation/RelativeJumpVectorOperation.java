@@ -43,7 +43,7 @@ public class RelativeJumpVectorOperation extends AbstractFixedCostOperation {
     final Bytes code = frame.getCode().getBytes();
     int offsetCase;
     try {
-      offsetCase = frame.popStackItem().toInt();
+      offsetCase = frame.popStackItem().trimLeadingZeros().toInt();
       if (offsetCase < 0) {
         offsetCase = Integer.MAX_VALUE;
       }
@@ -21,6 +21,7 @@ import org.hyperledger.besu.evm.ModificationNotAllowedException;
 import org.hyperledger.besu.evm.account.EvmAccount;
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
 import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.internal.EvmProfiler;
 import org.hyperledger.besu.evm.precompile.PrecompileContractRegistry;
 import org.hyperledger.besu.evm.precompile.PrecompiledContract;
 import org.hyperledger.besu.evm.tracing.OperationTracer;
@@ -38,6 +39,7 @@ public class MessageCallProcessor extends AbstractMessageProcessor {
   private static final Logger LOG = LoggerFactory.getLogger(MessageCallProcessor.class);
 
   private final PrecompileContractRegistry precompiles;
+  private final EvmProfiler profiler;
 
   /**
    * Instantiates a new Message call processor.
@@ -52,6 +54,7 @@ public class MessageCallProcessor extends AbstractMessageProcessor {
       final Collection<Address> forceCommitAddresses) {
     super(evm, forceCommitAddresses);
     this.precompiles = precompiles;
+    this.profiler = evm.getProfiler();
   }
 
   /**
@@ -63,6 +66,7 @@ public class MessageCallProcessor extends AbstractMessageProcessor {
   public MessageCallProcessor(final EVM evm, final PrecompileContractRegistry precompiles) {
     super(evm, ImmutableSet.of());
     this.precompiles = precompiles;
+    this.profiler = evm.getProfiler();
   }
 
   @Override
@@ -162,8 +166,14 @@ public class MessageCallProcessor extends AbstractMessageProcessor {
       frame.setState(MessageFrame.State.EXCEPTIONAL_HALT);
     } else {
       frame.decrementRemainingGas(gasRequirement);
-      final PrecompiledContract.PrecompileContractResult result =
-          contract.computePrecompile(frame.getInputData(), frame);
+      final PrecompiledContract.PrecompileContractResult result;
+      if (profiler.sample()) {
+        final long start = System.nanoTime();
+        result = contract.computePrecompile(frame.getInputData(), frame);
+        profiler.recordPrecompile(contract.getName(), System.nanoTime() - start);
+      } else {
+        result = contract.computePrecompile(frame.getInputData(), frame);
+      }
       operationTracer.tracePrecompileCall(frame, gasRequirement, result.getOutput());
       if (result.isRefundGas()) {
         frame.incrementRemainingGas(gasRequirement);
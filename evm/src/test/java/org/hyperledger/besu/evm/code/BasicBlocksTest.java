@@ -0,0 +1,107 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.code;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.evm.MainnetEVMs;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.operation.Operation;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+class BasicBlocksTest {
+
+  private static final Operation[] LONDON =
+      MainnetEVMs.london(EvmConfiguration.DEFAULT).getOperationsUnsafe();
+  private static final Operation[] SHANGHAI =
+      MainnetEVMs.shanghai(EvmConfiguration.DEFAULT).getOperationsUnsafe();
+
+  private static BasicBlocks analyze(final String code, final Operation[] operations) {
+    return BasicBlocks.analyze(Bytes.fromHexString(code).toArrayUnsafe(), operations);
+  }
+
+  @Test
+  void splitsBlocksAtJumpDest() {
+    // PUSH1 1, PUSH1 2, ADD, JUMPDEST, PUSH1 3, POP, STOP
+    final BasicBlocks blocks = analyze("0x60016002015b60035000", LONDON);
+
+    assertThat(blocks.getBlockCount()).isEqualTo(2);
+
+    final int first = blocks.blockAt(0);
+    assertThat(first).isGreaterThanOrEqualTo(0);
+    assertThat(blocks.getEndPc(first)).isEqualTo(5);
+    assertThat(blocks.getStaticGas(first)).isEqualTo(9);
+    assertThat(blocks.getRequiredStackHeight(first)).isZero();
+    assertThat(blocks.getMaxStackGrowth(first)).isEqualTo(2);
+
+    final int second = blocks.blockAt(5);
+    assertThat(second).isGreaterThanOrEqualTo(0);
+    assertThat(blocks.getEndPc(second)).isEqualTo(9);
+    assertThat(blocks.getStaticGas(second)).isEqualTo(6);
+    assertThat(blocks.getRequiredStackHeight(second)).isZero();
+    assertThat(blocks.getMaxStackGrowth(second)).isEqualTo(1);
+
+    assertThat(blocks.blockAt(2)).isEqualTo(-1);
+    assertThat(blocks.blockAt(9)).isEqualTo(-1);
+  }
+
+  @Test
+  void computesRequiredStackHeight() {
+    // ADD, MUL, POP, STOP
+    final BasicBlocks blocks = analyze("0x01025000", LONDON);
+
+    final int block = blocks.blockAt(0);
+    assertThat(block).isGreaterThanOrEqualTo(0);
+    assertThat(blocks.getEndPc(block)).isEqualTo(3);
+    assertThat(blocks.getStaticGas(block)).isEqualTo(10);
+    assertThat(blocks.getRequiredStackHeight(block)).isEqualTo(3);
+    assertThat(blocks.getMaxStackGrowth(block)).isZero();
+  }
+
+  @Test
+  void skipsPushData() {
+    // PUSH2 0x5b5b, PUSH1 1, ADD
+    final BasicBlocks blocks = analyze("0x615b5b600101", LONDON);
+
+    assertThat(blocks.getBlockCount()).isEqualTo(1);
+    assertThat(blocks.getEndPc(blocks.blockAt(0))).isEqualTo(6);
+    assertThat(blocks.blockAt(1)).isEqualTo(-1);
+  }
+
+  @Test
+  void ignoresSingleOperationBlocks() {
+    // PUSH1 1, SLOAD, PUSH1 2, STOP
+    final BasicBlocks blocks = analyze("0x600154600200", LONDON);
+
+    assertThat(blocks.getBlockCount()).isZero();
+    assertThat(blocks.blockAt(0)).isEqualTo(-1);
+  }
+
+  @Test
+  void dependsOnOperations() {
+    // PUSH0, PUSH0, ADD
+    final String code = "0x5f5f01";
+
+    assertThat(analyze(code, LONDON).getBlockCount()).isZero();
+
+    final BasicBlocks blocks = analyze(code, SHANGHAI);
+    assertThat(blocks.getBlockCount()).isEqualTo(1);
+    assertThat(blocks.getStaticGas(blocks.blockAt(0))).isEqualTo(7);
+    assertThat(blocks.isComputedFor(SHANGHAI)).isTrue();
+    assertThat(blocks.isComputedFor(LONDON)).isFalse();
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.code;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mockStatic;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.internal.CodeCache;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+class CodeAnalysisTest {
+
+  private static final Bytes LEGACY_CODE = Bytes.fromHexString("0x6003565b00");
+  private static final Bytes VALID_EOF_CODE =
+      Bytes.fromHexString(
+          "0xEF000101000C020003000b000200080300000000000002020100020100000260016002e30001e30002e401e460005360106000f3");
+  private static final Bytes INVALID_EOF_CODE =
+      Bytes.fromHexString(
+          "0xEF000101000C020003000b000200080300000000000000020100020100000260016002b00001b00002b101b160005360106000f3");
+
+  @Test
+  void shouldRestoreJumpDestinationsOfLegacyCode() {
+    final Code restored = roundTrip(LEGACY_CODE, 1);
+
+    assertThat(restored).isInstanceOf(CodeV0.class);
+    assertThat(((CodeV0) restored).getValidJumpDestinations())
+        .isEqualTo(((CodeV0) CodeFactory.createCode(LEGACY_CODE, 1, false)).calculateJumpDests());
+    assertThat(restored.isJumpDestInvalid(3)).isFalse();
+    assertThat(restored.isJumpDestInvalid(1)).isTrue();
+  }
+
+  @Test
+  void shouldRestoreValidEofCode() {
+    final Code restored = roundTrip(VALID_EOF_CODE, 1);
+
+    assertThat(restored).isInstanceOf(CodeV1.class);
+    assertThat(restored).isEqualTo(CodeFactory.createCode(VALID_EOF_CODE, 1, false));
+  }
+
+  @Test
+  void shouldRestoreInvalidEofCodeWithItsReason() {
+    final Code code = CodeFactory.createCode(INVALID_EOF_CODE, 1, false);
+    final Code restored = roundTrip(INVALID_EOF_CODE, 1);
+
+    assertThat(restored).isInstanceOf(CodeInvalid.class);
+    assertThat(((CodeInvalid) restored).getInvalidReason())
+        .isEqualTo(((CodeInvalid) code).getInvalidReason());
+  }
+
+  @Test
+  void shouldNotRestoreAnalysisOfAnotherMaxEofVersion() {
+    final Bytes analysis =
+        CodeAnalysis.serialize(CodeFactory.createCode(VALID_EOF_CODE, 1, false), 1).orElseThrow();
+
+    assertThat(CodeAnalysis.restore(VALID_EOF_CODE, 0, analysis)).isEmpty();
+  }
+
+  @Test
+  void shouldNotRestoreAnalysisNotMatchingTheCode() {
+    final Bytes analysis =
+        CodeAnalysis.serialize(CodeFactory.createCode(LEGACY_CODE, 0, false), 0).orElseThrow();
+
+    assertThat(CodeAnalysis.restore(Bytes.repeat((byte) 0x5b, 100), 0, analysis)).isEmpty();
+  }
+
+  @Test
+  void codeCacheShouldPersistAnalysisAndRestoreItAfterRestart() {
+    final InMemoryCodeAnalysisStorage storage = new InMemoryCodeAnalysisStorage();
+    final EvmConfiguration config = EvmConfiguration.DEFAULT.withCodeAnalysisStorage(storage);
+    final Hash codeHash = Hash.hash(VALID_EOF_CODE);
+
+    new CodeCache(config).analyze(codeHash, VALID_EOF_CODE, 1);
+    assertThat(storage.analyses).containsKey(codeHash);
+
+    final Code restored;
+    try (MockedStatic<CodeFactory> codeFactory =
+            mockStatic(CodeFactory.class, CALLS_REAL_METHODS);
+        MockedStatic<CodeV1Validation> validation =
+            mockStatic(CodeV1Validation.class, CALLS_REAL_METHODS)) {
+      restored = new CodeCache(config).analyze(codeHash, VALID_EOF_CODE, 1);
+
+      // the analysis is restored, the code is neither created nor validated again
+      codeFactory.verifyNoInteractions();
+      validation.verifyNoInteractions();
+    }
+    assertThat(restored).isEqualTo(CodeFactory.createCode(VALID_EOF_CODE, 1, false));
+  }
+
+  @Test
+  void codeCacheShouldRestoreLegacyCodeAfterRestart() {
+    final InMemoryCodeAnalysisStorage storage = new InMemoryCodeAnalysisStorage();
+    final EvmConfiguration config = EvmConfiguration.DEFAULT.withCodeAnalysisStorage(storage);
+    final Hash codeHash = Hash.hash(LEGACY_CODE);
+    new CodeCache(config).analyze(codeHash, LEGACY_CODE, 0);
+
+    try (MockedStatic<CodeFactory> codeFactory =
+        mockStatic(CodeFactory.class, CALLS_REAL_METHODS)) {
+      final CodeV0 restored = (CodeV0) new CodeCache(config).analyze(codeHash, LEGACY_CODE, 0);
+
+      codeFactory.verifyNoInteractions();
+      assertThat(restored.isJumpDestInvalid(3)).isFalse();
+      assertThat(restored.isJumpDestInvalid(1)).isTrue();
+    }
+  }
+
+  private Code roundTrip(final Bytes bytes, final int maxEofVersion) {
+    final Code code = CodeFactory.createCode(bytes, maxEofVersion, false);
+    final Bytes analysis = CodeAnalysis.serialize(code, maxEofVersion).orElseThrow();
+    return CodeAnalysis.restore(bytes, maxEofVersion, analysis).orElseThrow();
+  }
+
+  private static class InMemoryCodeAnalysisStorage implements CodeAnalysisStorage {
+    private final Map<Hash, Bytes> analyses = new HashMap<>();
+
+    @Override
+    public Optional<Bytes> get(final Hash codeHash) {
+      return Optional.ofNullable(analyses.get(codeHash));
+    }
+
+    @Override
+    public void put(final Hash codeHash, final Bytes analysis) {
+      analyses.put(codeHash, analysis);
+    }
+  }
+}
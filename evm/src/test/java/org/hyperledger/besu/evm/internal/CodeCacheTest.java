@@ -36,6 +36,6 @@ class CodeCacheTest {
     final Code contractCode = CodeFactory.createCode(contractBytes, 0, false);
     final int weight = scale.weigh(contractCode.getCodeHash(), contractCode);
     assertThat(weight)
-        .isEqualTo(contractCode.getCodeHash().size() + (contractBytes.size() * 9 + 7) / 8);
+        .isEqualTo(contractCode.getCodeHash().size() + (contractBytes.size() * 25 + 7) / 8);
   }
 }
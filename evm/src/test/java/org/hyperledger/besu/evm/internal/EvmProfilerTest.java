@@ -0,0 +1,91 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.evm.MainnetEVMs;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.operation.Operation;
+import org.hyperledger.besu.evm.testutils.TestCodeExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class EvmProfilerTest {
+
+  // SSTORE 1 to slot 0, SLOAD slot 0, SLOAD slot 1, STOP
+  private static final String CODE = "0x600160005560005460015400";
+
+  private final RecordingRecorder recorder = new RecordingRecorder();
+
+  @Test
+  void shouldRecordEveryOperationOfSampledFrames() {
+    final MessageFrame frame = execute(new EvmProfiler(1, recorder));
+
+    assertThat(frame.getState()).isEqualTo(MessageFrame.State.COMPLETED_SUCCESS);
+    assertThat(recorder.operations)
+        .containsExactly("PUSH1", "PUSH1", "SSTORE", "PUSH1", "SLOAD", "PUSH1", "SLOAD", "STOP");
+    assertThat(recorder.elapsedNanos).allMatch(nanos -> nanos >= 0);
+  }
+
+  @Test
+  void shouldRecordStorageHitsAndMisses() {
+    execute(new EvmProfiler(1, recorder));
+
+    assertThat(recorder.storageAccesses).containsExactly("SSTORE miss", "SLOAD hit", "SLOAD miss");
+  }
+
+  @Test
+  void shouldNotRecordAnythingWhenDisabled() {
+    final MessageFrame frame = execute(new EvmProfiler(0, recorder));
+
+    assertThat(frame.getState()).isEqualTo(MessageFrame.State.COMPLETED_SUCCESS);
+    assertThat(recorder.operations).isEmpty();
+    assertThat(recorder.storageAccesses).isEmpty();
+  }
+
+  @Test
+  void shouldRejectNegativeSampleRate() {
+    assertThatThrownBy(() -> new EvmProfiler(-1, recorder))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private MessageFrame execute(final EvmProfiler profiler) {
+    final TestCodeExecutor codeExecutor =
+        new TestCodeExecutor(MainnetEVMs.london(EvmConfiguration.DEFAULT.withProfiler(profiler)));
+    return codeExecutor.executeCode(CODE, 1_000_000, account -> {});
+  }
+
+  private static class RecordingRecorder implements EvmProfiler.Recorder {
+    private final List<String> operations = new ArrayList<>();
+    private final List<Long> elapsedNanos = new ArrayList<>();
+    private final List<String> storageAccesses = new ArrayList<>();
+
+    @Override
+    public void recordOperation(final Operation operation, final long elapsed) {
+      operations.add(operation.getName());
+      elapsedNanos.add(elapsed);
+    }
+
+    @Override
+    public void recordStorageAccess(final Operation operation, final boolean warm) {
+      storageAccesses.add(operation.getName() + (warm ? " hit" : " miss"));
+    }
+  }
+}
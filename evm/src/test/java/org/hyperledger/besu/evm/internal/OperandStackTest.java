@@ -20,7 +20,9 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import org.hyperledger.besu.evm.internal.FixedStack.OverflowException;
 import org.hyperledger.besu.evm.internal.FixedStack.UnderflowException;
 
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.MutableBytes32;
 import org.apache.tuweni.units.bigints.UInt256;
 import org.junit.jupiter.api.Test;
 
@@ -165,4 +167,125 @@ class OperandStackTest {
     assertThatThrownBy(() -> stack.preserveTop(5, 1)).isInstanceOf(UnderflowException.class);
     assertThatThrownBy(() -> stack.preserveTop(1, 5)).isInstanceOf(UnderflowException.class);
   }
+
+  @Test
+  void pushShortValueIsReadAsWord() {
+    final OperandStack stack = new OperandStack(1);
+    stack.push(Bytes.of(1, 2));
+    assertThat(stack.get(0)).isEqualTo(Bytes32.fromHexString("0x0102"));
+  }
+
+  @Test
+  void add_Wraps() {
+    final OperandStack stack = new OperandStack(2);
+    stack.push(UInt256.valueOf(2));
+    stack.push(UInt256.MAX_VALUE);
+    stack.add();
+    assertThat(stack.size()).isEqualTo(1);
+    assertThat(stack.pop()).isEqualTo(UInt256.ONE);
+  }
+
+  @Test
+  void sub_Wraps() {
+    final OperandStack stack = new OperandStack(2);
+    stack.push(UInt256.valueOf(2));
+    stack.push(UInt256.ONE);
+    stack.sub();
+    assertThat(stack.pop()).isEqualTo(UInt256.MAX_VALUE);
+  }
+
+  @Test
+  void mul() {
+    final UInt256 a = UInt256.fromHexString("0x123456789abcdef0fedcba9876543210aa55aa55aa55aa55");
+    final UInt256 b = UInt256.fromHexString("0xfedcba98765432100123456789abcdef");
+    final OperandStack stack = new OperandStack(2);
+    stack.push(b);
+    stack.push(a);
+    stack.mul();
+    assertThat(stack.pop()).isEqualTo(a.multiply(b));
+  }
+
+  @Test
+  void comparisons() {
+    final OperandStack stack = new OperandStack(2);
+    stack.push(UInt256.ONE);
+    stack.push(UInt256.MAX_VALUE);
+    stack.lt();
+    assertThat(stack.pop()).isEqualTo(UInt256.ZERO);
+
+    stack.push(UInt256.ONE);
+    stack.push(UInt256.MAX_VALUE);
+    stack.slt();
+    assertThat(stack.pop()).isEqualTo(UInt256.ONE);
+
+    stack.push(UInt256.MAX_VALUE);
+    stack.push(UInt256.MAX_VALUE);
+    stack.eq();
+    assertThat(stack.pop()).isEqualTo(UInt256.ONE);
+  }
+
+  @Test
+  void extractByte() {
+    final OperandStack stack = new OperandStack(2);
+    stack.push(UInt256.valueOf(0xab));
+    stack.push(UInt256.valueOf(31));
+    stack.extractByte();
+    assertThat(stack.pop()).isEqualTo(UInt256.valueOf(0xab));
+
+    stack.push(UInt256.MAX_VALUE);
+    stack.push(UInt256.valueOf(32));
+    stack.extractByte();
+    assertThat(stack.pop()).isEqualTo(UInt256.ZERO);
+  }
+
+  @Test
+  void dupAndSwap() {
+    final OperandStack stack = new OperandStack(3);
+    stack.push(UInt256.fromHexString("0x01"));
+    stack.push(UInt256.fromHexString("0x02"));
+    stack.dup(2);
+    assertThat(stack.get(0)).isEqualTo(Bytes32.fromHexString("0x01"));
+    stack.swap(1);
+    assertThat(stack.get(0)).isEqualTo(Bytes32.fromHexString("0x02"));
+    assertThat(stack.get(1)).isEqualTo(Bytes32.fromHexString("0x01"));
+    assertThatThrownBy(() -> stack.dup(1)).isInstanceOf(OverflowException.class);
+    assertThatThrownBy(() -> stack.swap(3)).isInstanceOf(UnderflowException.class);
+  }
+
+  @Test
+  void binaryOperation_StackUnderflow() {
+    final OperandStack stack = new OperandStack(2);
+    stack.push(UInt256.ONE);
+    assertThatThrownBy(stack::add).isInstanceOf(UnderflowException.class);
+  }
+
+  @Test
+  void wordsPushedAs32BytesAreReadBackWithoutConversion() {
+    final OperandStack stack = new OperandStack(3);
+    final Bytes32 operand = Bytes32.fromHexString("0x01");
+    stack.push(operand);
+    stack.dup(1);
+    assertThat(stack.get(0)).isSameAs(operand);
+    assertThat(stack.pop()).isSameAs(operand);
+    assertThat(stack.peek()).isSameAs(operand);
+  }
+
+  @Test
+  void wordsWrittenAsLimbsAreNotReadFromAStaleView() {
+    final OperandStack stack = new OperandStack(3);
+    stack.push(UInt256.ONE);
+    stack.push(UInt256.valueOf(2));
+    stack.add();
+    assertThat(stack.peek()).isEqualTo(UInt256.valueOf(3));
+    stack.not();
+    assertThat(stack.peek()).isEqualTo(UInt256.valueOf(3).not());
+    stack.push(Bytes32.ZERO);
+    stack.isZero();
+    assertThat(stack.pop()).isEqualTo(UInt256.ONE);
+
+    final MutableBytes32 mutable = MutableBytes32.create();
+    stack.push(mutable);
+    mutable.set(Bytes32.SIZE - 1, (byte) 1);
+    assertThat(stack.pop()).isEqualTo(Bytes32.ZERO);
+  }
 }
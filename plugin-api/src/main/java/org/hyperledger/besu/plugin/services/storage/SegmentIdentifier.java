@@ -56,4 +56,26 @@ public interface SegmentIdentifier {
    * @return true if the segment contains only static data
    */
   boolean containsStaticData();
+
+  /**
+   * Define if this segment contains data that is rarely read once written, like the trie logs of
+   * past blocks. This information can be used by the underlying implementation to favor a compact
+   * storage over the read latency of this segment.
+   *
+   * @return true if the segment contains mostly cold data
+   */
+  default boolean containsColdData() {
+    return false;
+  }
+
+  /**
+   * Length of the prefix shared by keys of this segment that are usually accessed together, like
+   * the account hash prefixing the keys of the storage slots of an account. This information can be
+   * used by the underlying implementation to index the keys by prefix.
+   *
+   * @return the length of the common key prefix, or 0 if the keys have no such prefix
+   */
+  default int getKeyPrefixLength() {
+    return 0;
+  }
 }
@@ -19,10 +19,14 @@ import org.hyperledger.besu.metrics.prometheus.PrometheusMetricsSystem;
 import org.hyperledger.besu.metrics.rocksdb.RocksDBStats;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledGauge;
 import org.hyperledger.besu.plugin.services.metrics.MetricCategory;
 import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBConfiguration;
 
+import java.util.Map;
+
+import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.Statistics;
@@ -150,4 +154,54 @@ public class RocksDBMetricsFactory {
     return new RocksDBMetrics(
         readLatency, removeLatency, writeLatency, commitLatency, rollbackCount);
   }
+
+  /**
+   * Create the metrics of the block caches of the tuning profiles.
+   *
+   * @param metricsSystem the metrics system
+   * @param rocksDbConfiguration the rocks db configuration
+   * @param db the db
+   * @param columnHandlesByProfile a column family using the block cache of each profile
+   */
+  public void createBlockCacheMetrics(
+      final MetricsSystem metricsSystem,
+      final RocksDBConfiguration rocksDbConfiguration,
+      final RocksDB db,
+      final Map<String, ColumnFamilyHandle> columnHandlesByProfile) {
+    final LabelledGauge blockCacheUsage =
+        metricsSystem.createLabelledGauge(
+            rocksDbMetricCategory,
+            "rocks_db_block_cache_usage_bytes",
+            "Memory used by the entries of the RocksDB block cache of a profile in bytes",
+            "database",
+            "profile");
+    final LabelledGauge blockCachePinnedUsage =
+        metricsSystem.createLabelledGauge(
+            rocksDbMetricCategory,
+            "rocks_db_block_cache_pinned_usage_bytes",
+            "Memory used by the pinned entries of the RocksDB block cache of a profile in bytes",
+            "database",
+            "profile");
+    columnHandlesByProfile.forEach(
+        (profile, columnHandle) -> {
+          blockCacheUsage.labels(
+              () -> getLongProperty(db, columnHandle, "rocksdb.block-cache-usage"),
+              rocksDbConfiguration.getLabel(),
+              profile);
+          blockCachePinnedUsage.labels(
+              () -> getLongProperty(db, columnHandle, "rocksdb.block-cache-pinned-usage"),
+              rocksDbConfiguration.getLabel(),
+              profile);
+        });
+  }
+
+  private static long getLongProperty(
+      final RocksDB db, final ColumnFamilyHandle columnHandle, final String property) {
+    try {
+      return db.getLongProperty(columnHandle, property);
+    } catch (final RocksDBException e) {
+      LOG.debug("Failed to get RocksDB metric", e);
+      return 0L;
+    }
+  }
 }
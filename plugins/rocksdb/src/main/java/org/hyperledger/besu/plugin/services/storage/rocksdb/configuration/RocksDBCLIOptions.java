@@ -29,6 +29,8 @@ public class RocksDBCLIOptions {
   public static final int DEFAULT_BACKGROUND_THREAD_COUNT = 4;
   /** The constant DEFAULT_IS_HIGH_SPEC. */
   public static final boolean DEFAULT_IS_HIGH_SPEC = false;
+  /** The constant DEFAULT_SEGMENT_PROFILES_ENABLED. */
+  public static final boolean DEFAULT_SEGMENT_PROFILES_ENABLED = false;
 
   /** The constant MAX_OPEN_FILES_FLAG. */
   public static final String MAX_OPEN_FILES_FLAG = "--Xplugin-rocksdb-max-open-files";
@@ -39,6 +41,9 @@ public class RocksDBCLIOptions {
       "--Xplugin-rocksdb-background-thread-count";
   /** The constant IS_HIGH_SPEC. */
   public static final String IS_HIGH_SPEC = "--Xplugin-rocksdb-high-spec-enabled";
+  /** The constant SEGMENT_PROFILES_ENABLED_FLAG. */
+  public static final String SEGMENT_PROFILES_ENABLED_FLAG =
+      "--Xplugin-rocksdb-segment-profiles-enabled";
 
   /** The Max open files. */
   @CommandLine.Option(
@@ -76,6 +81,17 @@ public class RocksDBCLIOptions {
           "Use this flag to boost Besu performance if you have a 16 GiB RAM hardware or more (default: ${DEFAULT-VALUE})")
   boolean isHighSpec;
 
+  /** The Is segment profiles enabled. */
+  @CommandLine.Option(
+      names = {SEGMENT_PROFILES_ENABLED_FLAG},
+      hidden = true,
+      arity = "1",
+      defaultValue = "false",
+      paramLabel = "<BOOLEAN>",
+      description =
+          "Tune each column family for the access pattern of its data, splitting the block cache between hot and cold data (default: ${DEFAULT-VALUE})")
+  boolean isSegmentProfilesEnabled;
+
   private RocksDBCLIOptions() {}
 
   /**
@@ -99,6 +115,7 @@ public class RocksDBCLIOptions {
     options.cacheCapacity = config.getCacheCapacity();
     options.backgroundThreadCount = config.getBackgroundThreadCount();
     options.isHighSpec = config.isHighSpec();
+    options.isSegmentProfilesEnabled = config.isSegmentProfilesEnabled();
     return options;
   }
 
@@ -109,7 +126,7 @@ public class RocksDBCLIOptions {
    */
   public RocksDBFactoryConfiguration toDomainObject() {
     return new RocksDBFactoryConfiguration(
-        maxOpenFiles, backgroundThreadCount, cacheCapacity, isHighSpec);
+        maxOpenFiles, backgroundThreadCount, cacheCapacity, isHighSpec, isSegmentProfilesEnabled);
   }
 
   /**
@@ -128,6 +145,7 @@ public class RocksDBCLIOptions {
         .add("cacheCapacity", cacheCapacity)
         .add("backgroundThreadCount", backgroundThreadCount)
         .add("isHighSpec", isHighSpec)
+        .add("isSegmentProfilesEnabled", isSegmentProfilesEnabled)
         .toString();
   }
 }
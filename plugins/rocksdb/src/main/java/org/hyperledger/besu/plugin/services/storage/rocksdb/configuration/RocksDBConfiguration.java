@@ -25,6 +25,7 @@ public class RocksDBConfiguration {
   private final int backgroundThreadCount;
   private final long cacheCapacity;
   private final boolean isHighSpec;
+  private final boolean isSegmentProfilesEnabled;
 
   /**
    * Instantiates a new RocksDb configuration.
@@ -35,6 +36,7 @@ public class RocksDBConfiguration {
    * @param cacheCapacity the cache capacity
    * @param label the label
    * @param isHighSpec the is high spec
+   * @param isSegmentProfilesEnabled whether the column families are tuned by segment profile
    */
   public RocksDBConfiguration(
       final Path databaseDir,
@@ -42,13 +44,15 @@ public class RocksDBConfiguration {
       final int backgroundThreadCount,
       final long cacheCapacity,
       final String label,
-      final boolean isHighSpec) {
+      final boolean isHighSpec,
+      final boolean isSegmentProfilesEnabled) {
     this.backgroundThreadCount = backgroundThreadCount;
     this.databaseDir = databaseDir;
     this.maxOpenFiles = maxOpenFiles;
     this.cacheCapacity = cacheCapacity;
     this.label = label;
     this.isHighSpec = isHighSpec;
+    this.isSegmentProfilesEnabled = isSegmentProfilesEnabled;
   }
 
   /**
@@ -104,4 +108,13 @@ public class RocksDBConfiguration {
   public boolean isHighSpec() {
     return isHighSpec;
   }
+
+  /**
+   * Is segment profiles enabled.
+   *
+   * @return the boolean
+   */
+  public boolean isSegmentProfilesEnabled() {
+    return isSegmentProfilesEnabled;
+  }
 }
@@ -18,6 +18,7 @@ import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration
 import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_CACHE_CAPACITY;
 import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_IS_HIGH_SPEC;
 import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_MAX_OPEN_FILES;
+import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_SEGMENT_PROFILES_ENABLED;
 
 import java.nio.file.Path;
 
@@ -30,6 +31,7 @@ public class RocksDBConfigurationBuilder {
   private long cacheCapacity = DEFAULT_CACHE_CAPACITY;
   private int backgroundThreadCount = DEFAULT_BACKGROUND_THREAD_COUNT;
   private boolean isHighSpec = DEFAULT_IS_HIGH_SPEC;
+  private boolean isSegmentProfilesEnabled = DEFAULT_SEGMENT_PROFILES_ENABLED;
 
   /**
    * Database dir.
@@ -97,6 +99,18 @@ public class RocksDBConfigurationBuilder {
     return this;
   }
 
+  /**
+   * Is segment profiles enabled.
+   *
+   * @param isSegmentProfilesEnabled whether the column families are tuned by segment profile
+   * @return the rocks db configuration builder
+   */
+  public RocksDBConfigurationBuilder isSegmentProfilesEnabled(
+      final boolean isSegmentProfilesEnabled) {
+    this.isSegmentProfilesEnabled = isSegmentProfilesEnabled;
+    return this;
+  }
+
   /**
    * From.
    *
@@ -108,7 +122,8 @@ public class RocksDBConfigurationBuilder {
         .backgroundThreadCount(configuration.getBackgroundThreadCount())
         .cacheCapacity(configuration.getCacheCapacity())
         .maxOpenFiles(configuration.getMaxOpenFiles())
-        .isHighSpec(configuration.isHighSpec());
+        .isHighSpec(configuration.isHighSpec())
+        .isSegmentProfilesEnabled(configuration.isSegmentProfilesEnabled());
   }
 
   /**
@@ -118,6 +133,12 @@ public class RocksDBConfigurationBuilder {
    */
   public RocksDBConfiguration build() {
     return new RocksDBConfiguration(
-        databaseDir, maxOpenFiles, backgroundThreadCount, cacheCapacity, label, isHighSpec);
+        databaseDir,
+        maxOpenFiles,
+        backgroundThreadCount,
+        cacheCapacity,
+        label,
+        isHighSpec,
+        isSegmentProfilesEnabled);
   }
 }
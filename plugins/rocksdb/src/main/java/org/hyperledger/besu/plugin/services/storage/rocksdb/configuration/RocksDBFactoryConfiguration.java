@@ -21,6 +21,7 @@ public class RocksDBFactoryConfiguration {
   private final int backgroundThreadCount;
   private final long cacheCapacity;
   private final boolean isHighSpec;
+  private final boolean isSegmentProfilesEnabled;
 
   /**
    * Instantiates a new RocksDb factory configuration.
@@ -29,16 +30,19 @@ public class RocksDBFactoryConfiguration {
    * @param backgroundThreadCount the background thread count
    * @param cacheCapacity the cache capacity
    * @param isHighSpec the is high spec
+   * @param isSegmentProfilesEnabled whether the column families are tuned by segment profile
    */
   public RocksDBFactoryConfiguration(
       final int maxOpenFiles,
       final int backgroundThreadCount,
       final long cacheCapacity,
-      final boolean isHighSpec) {
+      final boolean isHighSpec,
+      final boolean isSegmentProfilesEnabled) {
     this.backgroundThreadCount = backgroundThreadCount;
     this.maxOpenFiles = maxOpenFiles;
     this.cacheCapacity = cacheCapacity;
     this.isHighSpec = isHighSpec;
+    this.isSegmentProfilesEnabled = isSegmentProfilesEnabled;
   }
 
   /**
@@ -76,4 +80,13 @@ public class RocksDBFactoryConfiguration {
   public boolean isHighSpec() {
     return isHighSpec;
   }
+
+  /**
+   * Is segment profiles enabled.
+   *
+   * @return the boolean
+   */
+  public boolean isSegmentProfilesEnabled() {
+    return isSegmentProfilesEnabled;
+  }
 }
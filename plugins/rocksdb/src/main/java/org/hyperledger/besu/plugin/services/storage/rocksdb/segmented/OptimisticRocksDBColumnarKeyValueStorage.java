@@ -56,8 +56,8 @@ public class OptimisticRocksDBColumnarKeyValueStorage extends RocksDBColumnarKey
       db =
           OptimisticTransactionDB.open(
               options, configuration.getDatabaseDir().toString(), columnDescriptors, columnHandles);
-      initMetrics();
       initColumnHandler();
+      initMetrics();
 
     } catch (final RocksDBException e) {
       throw new StorageException(e);
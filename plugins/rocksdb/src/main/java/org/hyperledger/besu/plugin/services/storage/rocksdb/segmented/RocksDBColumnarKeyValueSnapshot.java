@@ -24,6 +24,7 @@ import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDBMetrics;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbSegmentIdentifier;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -70,6 +71,12 @@ public class RocksDBColumnarKeyValueSnapshot implements SnappedKeyValueStorage {
     return snapTx.get(key);
   }
 
+  @Override
+  public List<Optional<byte[]>> multiGet(final List<byte[]> keys) throws StorageException {
+    throwIfClosed();
+    return snapTx.multiGet(keys);
+  }
+
   @Override
   public Stream<Pair<byte[], byte[]>> stream() {
     throwIfClosed();
@@ -32,7 +32,11 @@ import org.hyperledger.besu.services.kvstore.SegmentedKeyValueStorage;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -82,6 +86,8 @@ public abstract class RocksDBColumnarKeyValueStorage
   private static final long NUMBER_OF_LOG_FILES_TO_KEEP = 7;
   /** RocksDb Time to roll a log file (1 day = 3600 * 24 seconds) */
   private static final long TIME_TO_ROLL_LOG_FILE = 86_400L;
+  /** Share of the memtable used by the bloom filter of the key prefixes */
+  private static final double MEMTABLE_PREFIX_BLOOM_SIZE_RATIO = 0.1;
 
   static {
     RocksDbUtil.loadNativeLibrary();
@@ -93,10 +99,17 @@ public abstract class RocksDBColumnarKeyValueStorage
   private final WriteOptions tryDeleteOptions =
       new WriteOptions().setNoSlowdown(true).setIgnoreMissingColumnFamilies(true);
   private final ReadOptions readOptions = new ReadOptions().setVerifyChecksums(false);
+  // iterators must not rely on the prefix extractors, scans can cross the key prefixes
+  private final ReadOptions iteratorReadOptions = new ReadOptions().setTotalOrderSeek(true);
   private final MetricsSystem metricsSystem;
   private final RocksDBMetricsFactory rocksDBMetricsFactory;
   private final RocksDBConfiguration configuration;
   private Map<Bytes, String> segmentsById;
+  private final Map<RocksDBSegmentProfile, LRUCache> profileCaches =
+      new EnumMap<>(RocksDBSegmentProfile.class);
+  private final Map<RocksDBSegmentProfile, String> profileSegmentNames =
+      new EnumMap<>(RocksDBSegmentProfile.class);
+  private boolean hasColdSegments;
   /** RocksDB DB options */
   protected DBOptions options;
 
@@ -152,6 +165,7 @@ public abstract class RocksDBColumnarKeyValueStorage
                   existingColumnFamilies.stream()
                       .noneMatch(existed -> Arrays.equals(existed, ignorableSegment.getId())))
           .forEach(trimmedSegments::remove);
+      hasColdSegments = trimmedSegments.stream().anyMatch(SegmentIdentifier::containsColdData);
       columnDescriptors =
           trimmedSegments.stream().map(this::createColumnDescriptor).collect(Collectors.toList());
       columnDescriptors.add(
@@ -160,7 +174,11 @@ public abstract class RocksDBColumnarKeyValueStorage
               columnFamilyOptions
                   .setTtl(0)
                   .setCompressionType(CompressionType.LZ4_COMPRESSION)
-                  .setTableFormatConfig(createBlockBasedTableConfig(configuration))));
+                  .setTableFormatConfig(
+                      configuration.isSegmentProfilesEnabled()
+                          ? RocksDBSegmentProfile.HOT.createBlockBasedTableConfig(
+                              getProfileCache(RocksDBSegmentProfile.HOT))
+                          : createBlockBasedTableConfig(configuration))));
 
       setGlobalOptions(configuration, stats);
 
@@ -172,6 +190,9 @@ public abstract class RocksDBColumnarKeyValueStorage
   }
 
   private ColumnFamilyDescriptor createColumnDescriptor(final SegmentIdentifier segment) {
+    if (configuration.isSegmentProfilesEnabled()) {
+      return createProfiledColumnDescriptor(segment);
+    }
     final var options =
         new ColumnFamilyOptions()
             .setTtl(0)
@@ -189,6 +210,43 @@ public abstract class RocksDBColumnarKeyValueStorage
     return new ColumnFamilyDescriptor(segment.getId(), options);
   }
 
+  private ColumnFamilyDescriptor createProfiledColumnDescriptor(final SegmentIdentifier segment) {
+    final RocksDBSegmentProfile profile = RocksDBSegmentProfile.forSegment(segment);
+    profileSegmentNames.putIfAbsent(profile, segment.getName());
+    final var options =
+        new ColumnFamilyOptions()
+            .setTtl(0)
+            .setCompressionType(profile.getCompressionType())
+            .setTableFormatConfig(profile.createBlockBasedTableConfig(getProfileCache(profile)));
+
+    if (segment.containsStaticData()) {
+      options
+          .setEnableBlobFiles(true)
+          .setEnableBlobGarbageCollection(false)
+          .setMinBlobSize(100)
+          .setBlobCompressionType(profile.getCompressionType());
+    }
+    if (segment.getKeyPrefixLength() > 0) {
+      options
+          .useFixedLengthPrefixExtractor(segment.getKeyPrefixLength())
+          .setMemtablePrefixBloomSizeRatio(MEMTABLE_PREFIX_BLOOM_SIZE_RATIO);
+    }
+
+    return new ColumnFamilyDescriptor(segment.getId(), options);
+  }
+
+  private LRUCache getProfileCache(final RocksDBSegmentProfile profile) {
+    return profileCaches.computeIfAbsent(
+        profile,
+        p ->
+            new LRUCache(
+                p.getCacheCapacity(
+                    configuration.isHighSpec()
+                        ? ROCKSDB_BLOCKCACHE_SIZE_HIGH_SPEC
+                        : configuration.getCacheCapacity(),
+                    hasColdSegments)));
+  }
+
   private void setGlobalOptions(final RocksDBConfiguration configuration, final Statistics stats) {
     options = new DBOptions();
     options
@@ -207,6 +265,19 @@ public abstract class RocksDBColumnarKeyValueStorage
 
   void initMetrics() {
     metrics = rocksDBMetricsFactory.create(metricsSystem, configuration, getDB(), stats);
+    if (configuration.isSegmentProfilesEnabled()) {
+      // the block cache of a profile is shared, so any column family of the profile reports it
+      final Map<String, ColumnFamilyHandle> columnHandlesByProfile = new HashMap<>();
+      profileSegmentNames.forEach(
+          (profile, segmentName) -> {
+            final RocksDbSegmentIdentifier segment = columnHandlesByName.get(segmentName);
+            if (segment != null) {
+              columnHandlesByProfile.put(profile.name().toLowerCase(Locale.ROOT), segment.get());
+            }
+          });
+      rocksDBMetricsFactory.createBlockCacheMetrics(
+          metricsSystem, configuration, getDB(), columnHandlesByProfile);
+    }
   }
 
   void initColumnHandler() throws RocksDBException {
@@ -256,9 +327,29 @@ public abstract class RocksDBColumnarKeyValueStorage
     }
   }
 
+  @Override
+  public List<Optional<byte[]>> multiGet(
+      final RocksDbSegmentIdentifier segment, final List<byte[]> keys) throws StorageException {
+    throwIfClosed();
+    if (keys.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    try (final OperationTimer.TimingContext ignored = metrics.getReadLatency().startTimer()) {
+      return getDB()
+          .multiGetAsList(readOptions, Collections.nCopies(keys.size(), segment.get()), keys)
+          .stream()
+          .map(Optional::ofNullable)
+          .collect(Collectors.toList());
+    } catch (final RocksDBException e) {
+      throw new StorageException(e);
+    }
+  }
+
   @Override
   public Stream<Pair<byte[], byte[]>> stream(final RocksDbSegmentIdentifier segmentHandle) {
-    final RocksIterator rocksIterator = getDB().newIterator(segmentHandle.get());
+    final RocksIterator rocksIterator =
+        getDB().newIterator(segmentHandle.get(), iteratorReadOptions);
     rocksIterator.seekToFirst();
     return RocksDbIterator.create(rocksIterator).toStream();
   }
@@ -266,14 +357,16 @@ public abstract class RocksDBColumnarKeyValueStorage
   @Override
   public Stream<Pair<byte[], byte[]>> streamFromKey(
       final RocksDbSegmentIdentifier segmentHandle, final byte[] startKey) {
-    final RocksIterator rocksIterator = getDB().newIterator(segmentHandle.get());
+    final RocksIterator rocksIterator =
+        getDB().newIterator(segmentHandle.get(), iteratorReadOptions);
     rocksIterator.seek(startKey);
     return RocksDbIterator.create(rocksIterator).toStream();
   }
 
   @Override
   public Stream<byte[]> streamKeys(final RocksDbSegmentIdentifier segmentHandle) {
-    final RocksIterator rocksIterator = getDB().newIterator(segmentHandle.get());
+    final RocksIterator rocksIterator =
+        getDB().newIterator(segmentHandle.get(), iteratorReadOptions);
     rocksIterator.seekToFirst();
     return RocksDbIterator.create(rocksIterator).toStreamKeys();
   }
@@ -0,0 +1,101 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.plugin.services.storage.rocksdb.segmented;
+
+import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
+
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.Cache;
+import org.rocksdb.CompressionType;
+import org.rocksdb.IndexType;
+
+/**
+ * The tuning profiles of the column families, chosen from the access pattern of their segment.
+ *
+ * <p>Index and filter blocks are partitioned and charged to the block cache of the profile, so the
+ * memory they use is bounded by the cache budget instead of growing with the database.
+ */
+public enum RocksDBSegmentProfile {
+  /** Frequently read and updated state, mostly accessed by point lookups. */
+  HOT(16 * 1024, CompressionType.LZ4_COMPRESSION),
+  /** Data rarely read once written, stored in larger blocks with a stronger compression. */
+  COLD(64 * 1024, CompressionType.ZSTD_COMPRESSION);
+
+  private static final int ROCKSDB_FORMAT_VERSION = 5;
+  private static final double BLOOM_FILTER_BITS_PER_KEY = 10;
+  private static final int COLD_CACHE_CAPACITY_DIVISOR = 4;
+
+  private final long blockSize;
+  private final CompressionType compressionType;
+
+  RocksDBSegmentProfile(final long blockSize, final CompressionType compressionType) {
+    this.blockSize = blockSize;
+    this.compressionType = compressionType;
+  }
+
+  /**
+   * Choose the profile of a segment.
+   *
+   * @param segment the segment
+   * @return the profile of the segment
+   */
+  public static RocksDBSegmentProfile forSegment(final SegmentIdentifier segment) {
+    return segment.containsColdData() ? COLD : HOT;
+  }
+
+  /**
+   * Gets the compression type of the profile.
+   *
+   * @return the compression type
+   */
+  public CompressionType getCompressionType() {
+    return compressionType;
+  }
+
+  /**
+   * Gets the block cache capacity of the profile. The cold cache takes a quarter of the configured
+   * capacity, and the hot cache the rest, so both caches together stay within the configured
+   * capacity.
+   *
+   * @param cacheCapacity the configured block cache capacity
+   * @param hasColdSegments whether some column families use the cold profile
+   * @return the share of the capacity given to the column families of the profile
+   */
+  public long getCacheCapacity(final long cacheCapacity, final boolean hasColdSegments) {
+    final long coldCacheCapacity =
+        hasColdSegments ? cacheCapacity / COLD_CACHE_CAPACITY_DIVISOR : 0;
+    return this == COLD ? coldCacheCapacity : cacheCapacity - coldCacheCapacity;
+  }
+
+  /**
+   * Create the table config of the profile.
+   *
+   * @param cache the block cache shared by the column families of the profile
+   * @return the table config
+   */
+  public BlockBasedTableConfig createBlockBasedTableConfig(final Cache cache) {
+    return new BlockBasedTableConfig()
+        .setFormatVersion(ROCKSDB_FORMAT_VERSION)
+        .setBlockCache(cache)
+        .setFilterPolicy(new BloomFilter(BLOOM_FILTER_BITS_PER_KEY, false))
+        .setIndexType(IndexType.kTwoLevelIndexSearch)
+        .setPartitionFilters(true)
+        .setCacheIndexAndFilterBlocks(true)
+        .setPinTopLevelIndexAndFilter(true)
+        .setPinL0FilterAndIndexBlocksInCache(true)
+        .setBlockSize(blockSize);
+  }
+}
@@ -21,8 +21,12 @@ import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDBMetrics;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbIterator;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang3.tuple.Pair;
@@ -66,8 +70,12 @@ public class RocksDBSnapshotTransaction implements KeyValueStorageTransaction, A
     this.snapshot = new RocksDBSnapshot(db);
     this.writeOptions = new WriteOptions();
     this.snapTx = db.beginTransaction(writeOptions);
+    // iterators must not rely on the prefix extractors, scans can cross the key prefixes
     this.readOptions =
-        new ReadOptions().setVerifyChecksums(false).setSnapshot(snapshot.markAndUseSnapshot());
+        new ReadOptions()
+            .setVerifyChecksums(false)
+            .setTotalOrderSeek(true)
+            .setSnapshot(snapshot.markAndUseSnapshot());
   }
 
   private RocksDBSnapshotTransaction(
@@ -102,6 +110,29 @@ public class RocksDBSnapshotTransaction implements KeyValueStorageTransaction, A
     }
   }
 
+  /**
+   * Get the values of several keys with a single batched read.
+   *
+   * @param keys the keys
+   * @return the values, in the order of the keys
+   */
+  public List<Optional<byte[]>> multiGet(final List<byte[]> keys) {
+    throwIfClosed();
+    if (keys.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    try (final OperationTimer.TimingContext ignored = metrics.getReadLatency().startTimer()) {
+      return snapTx
+          .multiGetAsList(readOptions, Collections.nCopies(keys.size(), columnFamilyHandle), keys)
+          .stream()
+          .map(Optional::ofNullable)
+          .collect(Collectors.toList());
+    } catch (final RocksDBException e) {
+      throw new StorageException(e);
+    }
+  }
+
   @Override
   public void put(final byte[] key, final byte[] value) {
     throwIfClosed();
@@ -189,7 +220,8 @@ public class RocksDBSnapshotTransaction implements KeyValueStorageTransaction, A
   public RocksDBSnapshotTransaction copy() {
     throwIfClosed();
     try {
-      var copyReadOptions = new ReadOptions().setSnapshot(snapshot.markAndUseSnapshot());
+      var copyReadOptions =
+          new ReadOptions().setTotalOrderSeek(true).setSnapshot(snapshot.markAndUseSnapshot());
       var copySnapTx = db.beginTransaction(writeOptions);
       copySnapTx.rebuildFromWriteBatch(snapTx.getWriteBatch().getWriteBatch());
       return new RocksDBSnapshotTransaction(
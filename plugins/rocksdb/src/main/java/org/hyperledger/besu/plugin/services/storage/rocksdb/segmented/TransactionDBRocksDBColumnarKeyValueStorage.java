@@ -61,8 +61,8 @@ public class TransactionDBRocksDBColumnarKeyValueStorage extends RocksDBColumnar
               configuration.getDatabaseDir().toString(),
               columnDescriptors,
               columnHandles);
-      initMetrics();
       initColumnHandler();
+      initMetrics();
 
     } catch (final RocksDBException e) {
       throw new StorageException(e);
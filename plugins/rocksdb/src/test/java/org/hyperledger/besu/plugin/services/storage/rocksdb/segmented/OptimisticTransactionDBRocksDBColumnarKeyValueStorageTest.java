@@ -40,6 +40,7 @@ public class OptimisticTransactionDBRocksDBColumnarKeyValueStorageTest
     return new OptimisticRocksDBColumnarKeyValueStorage(
         new RocksDBConfigurationBuilder()
             .databaseDir(Files.createTempDirectory("segmentedStore"))
+            .isSegmentProfilesEnabled(true)
             .build(),
         Arrays.asList(TestSegment.FOO, TestSegment.BAR),
         List.of(),
@@ -53,7 +54,7 @@ public class OptimisticTransactionDBRocksDBColumnarKeyValueStorageTest
       final List<SegmentIdentifier> segments,
       final List<SegmentIdentifier> ignorableSegments) {
     return new OptimisticRocksDBColumnarKeyValueStorage(
-        new RocksDBConfigurationBuilder().databaseDir(path).build(),
+        new RocksDBConfigurationBuilder().databaseDir(path).isSegmentProfilesEnabled(true).build(),
         segments,
         ignorableSegments,
         new NoOpMetricsSystem(),
@@ -67,7 +68,7 @@ public class OptimisticTransactionDBRocksDBColumnarKeyValueStorageTest
       final List<SegmentIdentifier> segments,
       final List<SegmentIdentifier> ignorableSegments) {
     return new OptimisticRocksDBColumnarKeyValueStorage(
-        new RocksDBConfigurationBuilder().databaseDir(path).build(),
+        new RocksDBConfigurationBuilder().databaseDir(path).isSegmentProfilesEnabled(true).build(),
         segments,
         ignorableSegments,
         metricsSystem,
@@ -29,6 +29,7 @@ import org.hyperledger.besu.metrics.ObservableMetricsSystem;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.exception.StorageException;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledGauge;
 import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
@@ -59,6 +60,7 @@ public abstract class RocksDBColumnarKeyValueStorageTest extends AbstractKeyValu
   @Mock private LabelledMetric<OperationTimer> labelledMetricOperationTimerMock;
   @Mock private LabelledMetric<Counter> labelledMetricCounterMock;
   @Mock private OperationTimer operationTimerMock;
+  @Mock private LabelledGauge labelledGaugeMock;
 
   @TempDir public Path folder;
 
@@ -288,6 +290,9 @@ public abstract class RocksDBColumnarKeyValueStorageTest extends AbstractKeyValu
     when(metricsSystemMock.createLabelledCounter(
             eq(BesuMetricCategory.KVSTORE_ROCKSDB), anyString(), anyString(), any()))
         .thenReturn(labelledMetricCounterMock);
+    when(metricsSystemMock.createLabelledGauge(
+            eq(BesuMetricCategory.KVSTORE_ROCKSDB), anyString(), anyString(), any()))
+        .thenReturn(labelledGaugeMock);
     // Prepare argument captors
     final ArgumentCaptor<String> labelledTimersMetricsNameArgs =
         ArgumentCaptor.forClass(String.class);
@@ -297,6 +302,8 @@ public abstract class RocksDBColumnarKeyValueStorageTest extends AbstractKeyValu
     final ArgumentCaptor<String> labelledCountersHelpArgs = ArgumentCaptor.forClass(String.class);
     final ArgumentCaptor<String> longGaugesMetricsNameArgs = ArgumentCaptor.forClass(String.class);
     final ArgumentCaptor<String> longGaugesHelpArgs = ArgumentCaptor.forClass(String.class);
+    final ArgumentCaptor<String> labelledGaugesMetricsNameArgs =
+        ArgumentCaptor.forClass(String.class);
 
     // Actual call
 
@@ -350,6 +357,62 @@ public abstract class RocksDBColumnarKeyValueStorageTest extends AbstractKeyValu
     assertThat(labelledCountersMetricsNameArgs.getValue()).isEqualTo("rollback_count");
     assertThat(labelledCountersHelpArgs.getValue())
         .isEqualTo("Number of RocksDB transactions rolled back.");
+
+    verify(metricsSystemMock, times(2))
+        .createLabelledGauge(
+            eq(BesuMetricCategory.KVSTORE_ROCKSDB),
+            labelledGaugesMetricsNameArgs.capture(),
+            anyString(),
+            any());
+    assertThat(labelledGaugesMetricsNameArgs.getAllValues())
+        .containsExactly(
+            "rocks_db_block_cache_usage_bytes", "rocks_db_block_cache_pinned_usage_bytes");
+    verify(labelledGaugeMock, times(2)).labels(any(), eq("blockchain"), eq("hot"));
+  }
+
+  @Test
+  public void profiledSegmentsCanBeReadAndIterated() throws Exception {
+    final SegmentedKeyValueStorage<RocksDbSegmentIdentifier> store =
+        createSegmentedStore(
+            folder, List.of(TestSegment.FOO, TestSegment.COLD, TestSegment.PREFIXED), List.of());
+    final RocksDbSegmentIdentifier coldSegment =
+        store.getSegmentIdentifierByName(TestSegment.COLD);
+    final RocksDbSegmentIdentifier prefixedSegment =
+        store.getSegmentIdentifierByName(TestSegment.PREFIXED);
+
+    final Transaction<RocksDbSegmentIdentifier> tx = store.startTransaction();
+    tx.put(coldSegment, bytesOf(1), bytesOf(1));
+    tx.put(prefixedSegment, bytesOf(1, 1, 1), bytesOf(1));
+    tx.put(prefixedSegment, bytesOf(1, 1, 2), bytesOf(2));
+    tx.put(prefixedSegment, bytesOf(1, 2, 1), bytesOf(3));
+    tx.put(prefixedSegment, bytesOf(2, 1, 1), bytesOf(4));
+    tx.commit();
+
+    assertThat(store.get(coldSegment, bytesOf(1))).contains(bytesOf(1));
+    assertThat(store.get(prefixedSegment, bytesOf(1, 2, 1))).contains(bytesOf(3));
+    assertThat(store.get(prefixedSegment, bytesOf(1, 2, 2))).isEmpty();
+    // scans are not limited to the prefix of the first key
+    assertThat(store.stream(prefixedSegment).map(Pair::getValue))
+        .containsExactly(bytesOf(1), bytesOf(2), bytesOf(3), bytesOf(4));
+
+    store.close();
+  }
+
+  @Test
+  public void segmentsAreProfiledFromTheirAccessPattern() {
+    assertThat(RocksDBSegmentProfile.forSegment(TestSegment.FOO))
+        .isEqualTo(RocksDBSegmentProfile.HOT);
+    assertThat(RocksDBSegmentProfile.forSegment(TestSegment.PREFIXED))
+        .isEqualTo(RocksDBSegmentProfile.HOT);
+    assertThat(RocksDBSegmentProfile.forSegment(TestSegment.COLD))
+        .isEqualTo(RocksDBSegmentProfile.COLD);
+  }
+
+  @Test
+  public void profileCachesShareTheConfiguredCacheCapacity() {
+    assertThat(RocksDBSegmentProfile.HOT.getCacheCapacity(1024, true)).isEqualTo(768);
+    assertThat(RocksDBSegmentProfile.COLD.getCacheCapacity(1024, true)).isEqualTo(256);
+    assertThat(RocksDBSegmentProfile.HOT.getCacheCapacity(1024, false)).isEqualTo(1024);
   }
 
   public enum TestSegment implements SegmentIdentifier {
@@ -357,20 +420,34 @@ public abstract class RocksDBColumnarKeyValueStorageTest extends AbstractKeyValu
     BAR(new byte[] {2}),
     EXPERIMENTAL(new byte[] {3}),
 
-    STATIC_DATA(new byte[] {4}, true);
+    STATIC_DATA(new byte[] {4}, true),
+    COLD(new byte[] {5}, true, true, 0),
+    PREFIXED(new byte[] {6}, false, false, 2);
 
     private final byte[] id;
     private final String nameAsUtf8;
     private final boolean containsStaticData;
+    private final boolean containsColdData;
+    private final int keyPrefixLength;
 
     TestSegment(final byte[] id) {
       this(id, false);
     }
 
     TestSegment(final byte[] id, final boolean containsStaticData) {
+      this(id, containsStaticData, false, 0);
+    }
+
+    TestSegment(
+        final byte[] id,
+        final boolean containsStaticData,
+        final boolean containsColdData,
+        final int keyPrefixLength) {
       this.id = id;
       this.nameAsUtf8 = new String(id, StandardCharsets.UTF_8);
       this.containsStaticData = containsStaticData;
+      this.containsColdData = containsColdData;
+      this.keyPrefixLength = keyPrefixLength;
     }
 
     @Override
@@ -387,6 +464,16 @@ public abstract class RocksDBColumnarKeyValueStorageTest extends AbstractKeyValu
     public boolean containsStaticData() {
       return containsStaticData;
     }
+
+    @Override
+    public boolean containsColdData() {
+      return containsColdData;
+    }
+
+    @Override
+    public int getKeyPrefixLength() {
+      return keyPrefixLength;
+    }
   }
 
   protected abstract SegmentedKeyValueStorage<RocksDbSegmentIdentifier> createSegmentedStore()
@@ -37,7 +37,10 @@ public class TransactionDBRocksDBColumnarKeyValueStorageTest
   protected SegmentedKeyValueStorage<RocksDbSegmentIdentifier> createSegmentedStore()
       throws Exception {
     return new TransactionDBRocksDBColumnarKeyValueStorage(
-        new RocksDBConfigurationBuilder().databaseDir(getTempSubFolder(folder)).build(),
+        new RocksDBConfigurationBuilder()
+            .databaseDir(getTempSubFolder(folder))
+            .isSegmentProfilesEnabled(true)
+            .build(),
         Arrays.asList(TestSegment.FOO, TestSegment.BAR),
         List.of(),
         new NoOpMetricsSystem(),
@@ -50,7 +53,10 @@ public class TransactionDBRocksDBColumnarKeyValueStorageTest
       final List<SegmentIdentifier> segments,
       final List<SegmentIdentifier> ignorableSegments) {
     return new TransactionDBRocksDBColumnarKeyValueStorage(
-        new RocksDBConfigurationBuilder().databaseDir(folder).build(),
+        new RocksDBConfigurationBuilder()
+            .databaseDir(folder)
+            .isSegmentProfilesEnabled(true)
+            .build(),
         segments,
         ignorableSegments,
         new NoOpMetricsSystem(),
@@ -64,7 +70,7 @@ public class TransactionDBRocksDBColumnarKeyValueStorageTest
       final List<SegmentIdentifier> segments,
       final List<SegmentIdentifier> ignorableSegments) {
     return new TransactionDBRocksDBColumnarKeyValueStorage(
-        new RocksDBConfigurationBuilder().databaseDir(path).build(),
+        new RocksDBConfigurationBuilder().databaseDir(path).isSegmentProfilesEnabled(true).build(),
         segments,
         ignorableSegments,
         metricsSystem,
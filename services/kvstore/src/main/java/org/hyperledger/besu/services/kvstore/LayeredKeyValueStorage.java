@@ -20,6 +20,8 @@ import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 import org.hyperledger.besu.plugin.services.storage.SnappedKeyValueStorage;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
@@ -86,6 +88,36 @@ public class LayeredKeyValueStorage extends InMemoryKeyValueStorage
     }
   }
 
+  @Override
+  public List<Optional<byte[]>> multiGet(final List<byte[]> keys) throws StorageException {
+    throwIfClosed();
+
+    final List<Optional<byte[]>> values = new ArrayList<>(keys.size());
+    final List<Integer> missingIndexes = new ArrayList<>();
+    final List<byte[]> missingKeys = new ArrayList<>();
+    final Lock lock = rwLock.readLock();
+    lock.lock();
+    try {
+      for (final byte[] key : keys) {
+        final Optional<byte[]> foundKey = hashValueStore.get(Bytes.wrap(key));
+        if (foundKey == null) {
+          missingIndexes.add(values.size());
+          missingKeys.add(key);
+        }
+        values.add(foundKey);
+      }
+      if (!missingKeys.isEmpty()) {
+        final List<Optional<byte[]>> parentValues = parent.multiGet(missingKeys);
+        for (int i = 0; i < missingIndexes.size(); i++) {
+          values.set(missingIndexes.get(i), parentValues.get(i));
+        }
+      }
+      return values;
+    } finally {
+      lock.unlock();
+    }
+  }
+
   @Override
   public Stream<Pair<byte[], byte[]>> stream() {
     throwIfClosed();
@@ -0,0 +1,130 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.pipeline;
+
+import static org.hyperledger.besu.metrics.noop.NoOpMetricsSystem.NO_OP_COUNTER;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the blocking queue pipe with the lock-free pipe and its wait strategies, for the
+ * throughput of items moved from concurrent producers to a consumer and for the latency of a round
+ * trip through a pair of pipes.
+ */
+@State(Scope.Thread)
+@Fork(value = 1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PipeBenchmark {
+  private static final int ITEMS = 100_000;
+  private static final int CAPACITY = 200;
+
+  @Param({"BLOCKING", "SPIN", "YIELD", "PARK"})
+  public String pipeType;
+
+  @Param({"1", "4"})
+  public int producers;
+
+  private ExecutorService executor;
+  private Pipe<Integer> requests;
+  private Pipe<Integer> responses;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    executor = Executors.newCachedThreadPool();
+    requests = createPipe();
+    responses = createPipe();
+    // echoes every request back, for the round trip benchmark
+    executor.submit(
+        () -> {
+          while (requests.hasMore()) {
+            final Integer request = requests.get();
+            if (request != null) {
+              responses.put(request);
+            }
+          }
+        });
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    requests.abort();
+    responses.abort();
+    executor.shutdownNow();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  @OperationsPerInvocation(ITEMS)
+  public void transfer(final Blackhole blackhole) throws Exception {
+    final Pipe<Integer> pipe = createPipe();
+    final int itemsPerProducer = ITEMS / producers;
+    final List<Future<?>> running = new ArrayList<>(producers);
+    for (int i = 0; i < producers; i++) {
+      running.add(
+          executor.submit(
+              () -> {
+                for (int item = 0; item < itemsPerProducer; item++) {
+                  pipe.put(item);
+                }
+              }));
+    }
+    for (int i = 0; i < itemsPerProducer * producers; i++) {
+      blackhole.consume(pipe.get());
+    }
+    for (final Future<?> producer : running) {
+      producer.get();
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public Integer roundTrip() {
+    requests.put(next++);
+    return responses.get();
+  }
+
+  private Pipe<Integer> createPipe() {
+    if (pipeType.equals("BLOCKING")) {
+      return new Pipe<>(CAPACITY, NO_OP_COUNTER, NO_OP_COUNTER, NO_OP_COUNTER);
+    }
+    return new Pipe<>(
+        CAPACITY, WaitStrategy.valueOf(pipeType), NO_OP_COUNTER, NO_OP_COUNTER, NO_OP_COUNTER);
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.pipeline;
+
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A {@link PipeBuffer} backed by an {@link ArrayBlockingQueue}. Waiting threads block on the queue
+ * lock and re-check whether they should keep waiting every second.
+ *
+ * @param <T> the type of item stored.
+ */
+class BlockingQueuePipeBuffer<T> implements PipeBuffer<T> {
+  private final BlockingQueue<T> queue;
+
+  BlockingQueuePipeBuffer(final int capacity) {
+    queue = new ArrayBlockingQueue<>(capacity);
+  }
+
+  @Override
+  public int size() {
+    return queue.size();
+  }
+
+  @Override
+  public int remainingCapacity() {
+    return queue.remainingCapacity();
+  }
+
+  @Override
+  public T poll() {
+    return queue.poll();
+  }
+
+  @Override
+  public int drainTo(final Collection<T> output, final int maxElements) {
+    return queue.drainTo(output, maxElements);
+  }
+
+  @Override
+  public T take(final BooleanSupplier keepWaiting) throws InterruptedException {
+    while (keepWaiting.getAsBoolean()) {
+      final T value = queue.poll(1, TimeUnit.SECONDS);
+      if (value != null) {
+        return value;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public boolean put(final T value, final BooleanSupplier keepWaiting)
+      throws InterruptedException {
+    while (keepWaiting.getAsBoolean()) {
+      if (queue.offer(value, 1, TimeUnit.SECONDS)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
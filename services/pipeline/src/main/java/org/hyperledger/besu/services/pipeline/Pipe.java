@@ -17,9 +17,6 @@ package org.hyperledger.besu.services.pipeline;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 
 import java.util.Collection;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
@@ -34,11 +31,15 @@ import org.slf4j.LoggerFactory;
  * ReadPipe}* and {@link WritePipe}. These are designed to expose only the operations relevant to
  * objects either reading from or publishing to the pipe respectively.
  *
+ * <p>By default the items are queued in an {@link java.util.concurrent.ArrayBlockingQueue}. A pipe
+ * created with a {@link WaitStrategy} uses a lock-free ring buffer instead, which avoids the lock
+ * handoff on every item at the cost of the waiting threads spinning, yielding or parking.
+ *
  * @param <T> the type of item that flows through the pipe.
  */
 public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
   private static final Logger LOG = LoggerFactory.getLogger(Pipe.class);
-  private final BlockingQueue<T> queue;
+  private final PipeBuffer<T> buffer;
   private final Counter inputCounter;
   private final Counter outputCounter;
   private final Counter abortedItemCounter;
@@ -58,7 +59,37 @@ public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
       final Counter inputCounter,
       final Counter outputCounter,
       final Counter abortedItemCounter) {
-    queue = new ArrayBlockingQueue<>(capacity);
+    this(new BlockingQueuePipeBuffer<>(capacity), inputCounter, outputCounter, abortedItemCounter);
+  }
+
+  /**
+   * Instantiates a new Pipe backed by a lock-free ring buffer.
+   *
+   * @param capacity the capacity
+   * @param waitStrategy how threads wait while the pipe is empty or full
+   * @param inputCounter the input counter
+   * @param outputCounter the output counter
+   * @param abortedItemCounter the aborted item counter
+   */
+  public Pipe(
+      final int capacity,
+      final WaitStrategy waitStrategy,
+      final Counter inputCounter,
+      final Counter outputCounter,
+      final Counter abortedItemCounter) {
+    this(
+        new RingBufferPipeBuffer<>(capacity, waitStrategy),
+        inputCounter,
+        outputCounter,
+        abortedItemCounter);
+  }
+
+  private Pipe(
+      final PipeBuffer<T> buffer,
+      final Counter inputCounter,
+      final Counter outputCounter,
+      final Counter abortedItemCounter) {
+    this.buffer = buffer;
     this.inputCounter = inputCounter;
     this.outputCounter = outputCounter;
     this.abortedItemCounter = abortedItemCounter;
@@ -76,7 +107,7 @@ public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
 
   @Override
   public boolean hasRemainingCapacity() {
-    return queue.remainingCapacity() > 0 && isOpen();
+    return buffer.remainingCapacity() > 0 && isOpen();
   }
 
   @Override
@@ -87,7 +118,7 @@ public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
   @Override
   public void abort() {
     if (aborted.compareAndSet(false, true)) {
-      abortedItemCounter.inc(queue.size());
+      abortedItemCounter.inc(buffer.size());
     }
   }
 
@@ -96,19 +127,17 @@ public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
     if (aborted.get()) {
       return false;
     }
-    return !closed.get() || !queue.isEmpty();
+    return !closed.get() || buffer.size() > 0;
   }
 
   @Override
   public T get() {
     try {
-      while (hasMore()) {
-        final T value = queue.poll(1, TimeUnit.SECONDS);
-        if (value != null) {
-          outputCounter.inc();
-          return value;
-        }
+      final T value = buffer.take(this::hasMore);
+      if (value != null) {
+        outputCounter.inc();
       }
+      return value;
     } catch (final InterruptedException e) {
       LOG.trace("Interrupted while waiting for next item", e);
     }
@@ -117,7 +146,7 @@ public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
 
   @Override
   public T poll() {
-    final T item = queue.poll();
+    final T item = buffer.poll();
     if (item != null) {
       outputCounter.inc();
     }
@@ -126,7 +155,7 @@ public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
 
   @Override
   public int drainTo(final Collection<T> output, final int maxElements) {
-    final int count = queue.drainTo(output, maxElements);
+    final int count = buffer.drainTo(output, maxElements);
     outputCounter.inc(count);
     return count;
   }
@@ -135,10 +164,10 @@ public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
   public void put(final T value) {
     while (isOpen()) {
       try {
-        if (queue.offer(value, 1, TimeUnit.SECONDS)) {
+        if (buffer.put(value, this::isOpen)) {
           inputCounter.inc();
-          return;
         }
+        return;
       } catch (final InterruptedException e) {
         LOG.trace("Interrupted while waiting to add to output", e);
       }
@@ -0,0 +1,66 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.pipeline;
+
+import java.util.Collection;
+import java.util.function.BooleanSupplier;
+
+/**
+ * The bounded storage behind a {@link Pipe}. Implementations are safe to use from multiple
+ * producers and multiple consumers, the closing and aborting of the pipe is handled by the pipe.
+ *
+ * @param <T> the type of item stored.
+ */
+interface PipeBuffer<T> {
+
+  int size();
+
+  int remainingCapacity();
+
+  /**
+   * Remove the next item without waiting.
+   *
+   * @return the next item or <code>null</code> if the buffer is empty.
+   */
+  T poll();
+
+  /**
+   * Remove at most the given number of available items without waiting.
+   *
+   * @param output the collection to transfer items into
+   * @param maxElements the maximum number of items to transfer
+   * @return the number of items transferred
+   */
+  int drainTo(Collection<T> output, int maxElements);
+
+  /**
+   * Remove the next item, waiting for one to be available for as long as <i>keepWaiting</i> holds.
+   *
+   * @param keepWaiting checked while waiting, waiting stops once it returns false
+   * @return the next item or <code>null</code> if <i>keepWaiting</i> returned false first.
+   * @throws InterruptedException if the thread is interrupted while waiting
+   */
+  T take(BooleanSupplier keepWaiting) throws InterruptedException;
+
+  /**
+   * Add an item, waiting for capacity to be available for as long as <i>keepWaiting</i> holds.
+   *
+   * @param value the item to add
+   * @param keepWaiting checked while waiting, waiting stops once it returns false
+   * @return true if the item was added, false if <i>keepWaiting</i> returned false first.
+   * @throws InterruptedException if the thread is interrupted while waiting
+   */
+  boolean put(T value, BooleanSupplier keepWaiting) throws InterruptedException;
+}
@@ -25,6 +25,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -35,6 +36,9 @@ import java.util.stream.Stream;
  * Supports building a new pipeline. Pipelines are comprised of a source, various processing stages
  * and a consumer, each of which run in their own thread.
  *
+ * <p>The pipes between stages are blocking queues unless {@link #withLockFreePipes(WaitStrategy)}
+ * selects lock-free pipes for the stages added after it.
+ *
  * <p>The pipeline completes when all items from the source have passed through each stage and are
  * received by the consumer. The pipeline will halt immediately if an exception is thrown from any
  * processing stage.
@@ -53,6 +57,7 @@ public class PipelineBuilder<I, T> {
   private final LabelledMetric<Counter> outputCounter;
   private final boolean tracingEnabled;
   private final String pipelineName;
+  private final Optional<WaitStrategy> lockFreeWaitStrategy;
 
   /**
    * Instantiates a new Pipeline builder.
@@ -66,6 +71,8 @@ public class PipelineBuilder<I, T> {
    * @param outputCounter the output counter
    * @param tracingEnabled the tracing enabled
    * @param pipelineName the pipeline name
+   * @param lockFreeWaitStrategy the wait strategy of the lock-free pipes to create for the next
+   *     stages, or empty to create blocking pipes
    */
   public PipelineBuilder(
       final Pipe<I> inputPipe,
@@ -76,7 +83,8 @@ public class PipelineBuilder<I, T> {
       final int bufferSize,
       final LabelledMetric<Counter> outputCounter,
       final boolean tracingEnabled,
-      final String pipelineName) {
+      final String pipelineName,
+      final Optional<WaitStrategy> lockFreeWaitStrategy) {
     checkArgument(!pipes.isEmpty(), "Must have at least one pipe in a pipeline");
     this.lastStageName = lastStageName;
     this.outputCounter = outputCounter;
@@ -87,6 +95,7 @@ public class PipelineBuilder<I, T> {
     this.bufferSize = bufferSize;
     this.tracingEnabled = tracingEnabled;
     this.pipelineName = pipelineName;
+    this.lockFreeWaitStrategy = lockFreeWaitStrategy;
   }
 
   /**
@@ -111,7 +120,7 @@ public class PipelineBuilder<I, T> {
       final LabelledMetric<Counter> itemCounter,
       final boolean tracingEnabled,
       final String pipelineName) {
-    final Pipe<T> pipe = createPipe(bufferSize, sourceName, itemCounter);
+    final Pipe<T> pipe = createPipe(bufferSize, sourceName, itemCounter, Optional.empty());
     final IteratorSourceStage<T> sourceStage = new IteratorSourceStage<>(sourceName, source, pipe);
     return new PipelineBuilder<>(
         pipe,
@@ -122,7 +131,8 @@ public class PipelineBuilder<I, T> {
         bufferSize,
         itemCounter,
         tracingEnabled,
-        pipelineName);
+        pipelineName,
+        Optional.empty());
   }
 
   /**
@@ -144,7 +154,7 @@ public class PipelineBuilder<I, T> {
       final LabelledMetric<Counter> outputCounter,
       final boolean tracingEnabled,
       final String pipelineName) {
-    final Pipe<T> pipe = createPipe(bufferSize, sourceName, outputCounter);
+    final Pipe<T> pipe = createPipe(bufferSize, sourceName, outputCounter, Optional.empty());
     return new PipelineBuilder<>(
         pipe,
         emptyList(),
@@ -154,7 +164,49 @@ public class PipelineBuilder<I, T> {
         bufferSize,
         outputCounter,
         tracingEnabled,
-        pipelineName);
+        pipelineName,
+        Optional.empty());
+  }
+
+  /**
+   * Use lock-free pipes between the stages added from now on, instead of blocking queues. Lock-free
+   * pipes avoid a lock handoff for every item, which pays off for stages exchanging many cheap
+   * items, but the threads waiting on them spin, yield or park according to <i>waitStrategy</i>.
+   *
+   * @param waitStrategy how threads wait on an empty or full lock-free pipe.
+   * @return a {@link PipelineBuilder} ready to extend the pipeline with additional stages.
+   */
+  public PipelineBuilder<I, T> withLockFreePipes(final WaitStrategy waitStrategy) {
+    return new PipelineBuilder<>(
+        inputPipe,
+        stages,
+        pipes,
+        lastStageName,
+        pipeEnd,
+        bufferSize,
+        outputCounter,
+        tracingEnabled,
+        pipelineName,
+        Optional.of(waitStrategy));
+  }
+
+  /**
+   * Use blocking queues between the stages added from now on, which is the default.
+   *
+   * @return a {@link PipelineBuilder} ready to extend the pipeline with additional stages.
+   */
+  public PipelineBuilder<I, T> withBlockingPipes() {
+    return new PipelineBuilder<>(
+        inputPipe,
+        stages,
+        pipes,
+        lastStageName,
+        pipeEnd,
+        bufferSize,
+        outputCounter,
+        tracingEnabled,
+        pipelineName,
+        Optional.empty());
   }
 
   /**
@@ -263,7 +315,8 @@ public class PipelineBuilder<I, T> {
         (int) Math.ceil(((double) bufferSize) / maximumBatchSize),
         outputCounter,
         tracingEnabled,
-        pipelineName);
+        pipelineName,
+        lockFreeWaitStrategy);
   }
 
   /**
@@ -293,7 +346,8 @@ public class PipelineBuilder<I, T> {
         (int) Math.ceil(((double) bufferSize) / maximumBatchSize),
         outputCounter,
         tracingEnabled,
-        pipelineName);
+        pipelineName,
+        lockFreeWaitStrategy);
   }
 
   /**
@@ -364,7 +418,8 @@ public class PipelineBuilder<I, T> {
       final Supplier<Processor<T, O>> createProcessor,
       final int numberOfThreads,
       final int newBufferSize) {
-    final Pipe<O> newPipeEnd = createPipe(newBufferSize, stageName, outputCounter);
+    final Pipe<O> newPipeEnd =
+        createPipe(newBufferSize, stageName, outputCounter, lockFreeWaitStrategy);
     final WritePipe<O> outputPipe = new SharedWritePipe<>(newPipeEnd, numberOfThreads);
     final ArrayList<Stage> newStages = new ArrayList<>(stages);
     for (int i = 0; i < numberOfThreads; i++) {
@@ -381,7 +436,8 @@ public class PipelineBuilder<I, T> {
         newBufferSize,
         outputCounter,
         tracingEnabled,
-        pipelineName);
+        pipelineName,
+        lockFreeWaitStrategy);
   }
 
   private <O> PipelineBuilder<I, O> addStage(
@@ -391,7 +447,8 @@ public class PipelineBuilder<I, T> {
 
   private <O> PipelineBuilder<I, O> addStage(
       final Processor<T, O> processor, final int newBufferSize, final String stageName) {
-    final Pipe<O> outputPipe = createPipe(newBufferSize, stageName, outputCounter);
+    final Pipe<O> outputPipe =
+        createPipe(newBufferSize, stageName, outputCounter, lockFreeWaitStrategy);
     final Stage processStage = new ProcessingStage<>(stageName, pipeEnd, outputPipe, processor);
     final List<Stage> newStages = concat(stages, processStage);
     return new PipelineBuilder<>(
@@ -403,7 +460,8 @@ public class PipelineBuilder<I, T> {
         newBufferSize,
         outputCounter,
         tracingEnabled,
-        pipelineName);
+        pipelineName,
+        lockFreeWaitStrategy);
   }
 
   private <X> List<X> concat(final Collection<X> existing, final X newItem) {
@@ -415,12 +473,17 @@ public class PipelineBuilder<I, T> {
   private static <O> Pipe<O> createPipe(
       final int newBufferSize,
       final String stageName,
-      final LabelledMetric<Counter> outputCounter) {
+      final LabelledMetric<Counter> outputCounter,
+      final Optional<WaitStrategy> lockFreeWaitStrategy) {
     final String labelName = stageName + "_outputPipe";
-    return new Pipe<>(
-        newBufferSize,
-        outputCounter.labels(labelName, "added"),
-        outputCounter.labels(labelName, "removed"),
-        outputCounter.labels(labelName, "aborted"));
+    final Counter inputCounter = outputCounter.labels(labelName, "added");
+    final Counter removedCounter = outputCounter.labels(labelName, "removed");
+    final Counter abortedCounter = outputCounter.labels(labelName, "aborted");
+    return lockFreeWaitStrategy
+        .map(
+            waitStrategy ->
+                new Pipe<O>(
+                    newBufferSize, waitStrategy, inputCounter, removedCounter, abortedCounter))
+        .orElseGet(() -> new Pipe<>(newBufferSize, inputCounter, removedCounter, abortedCounter));
   }
 }
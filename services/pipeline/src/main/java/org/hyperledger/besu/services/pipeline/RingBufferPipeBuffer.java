@@ -0,0 +1,173 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.pipeline;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A lock-free {@link PipeBuffer} for multiple producers and multiple consumers, based on Dmitry
+ * Vyukov's bounded MPMC queue.
+ *
+ * <p>Each slot of the ring has a sequence number telling whether it is ready to be written or read
+ * for a given position, so producers and consumers only contend on a CAS of the tail or the head
+ * position. Threads finding the buffer full or empty wait using the configured {@link
+ * WaitStrategy}, checking on every attempt whether they should keep waiting so closing or
+ * aborting the pipe is noticed straight away.
+ *
+ * @param <T> the type of item stored.
+ */
+class RingBufferPipeBuffer<T> implements PipeBuffer<T> {
+  private final int capacity;
+  private final AtomicReferenceArray<T> items;
+  private final AtomicLongArray sequences;
+  private final AtomicLong head = new AtomicLong();
+  private final AtomicLong tail = new AtomicLong();
+  private final WaitStrategy waitStrategy;
+
+  RingBufferPipeBuffer(final int capacity, final WaitStrategy waitStrategy) {
+    checkArgument(capacity > 0, "Capacity must be greater than 0");
+    this.capacity = capacity;
+    this.items = new AtomicReferenceArray<>(capacity);
+    this.sequences = new AtomicLongArray(capacity);
+    for (int i = 0; i < capacity; i++) {
+      sequences.set(i, i);
+    }
+    this.waitStrategy = waitStrategy;
+  }
+
+  @Override
+  public int size() {
+    final long currentHead = head.get();
+    final long size = tail.get() - currentHead;
+    return (int) Math.max(0, Math.min(capacity, size));
+  }
+
+  @Override
+  public int remainingCapacity() {
+    return capacity - size();
+  }
+
+  /**
+   * Add an item without waiting.
+   *
+   * @param value the item to add
+   * @return true if the item was added, false if the buffer is full
+   */
+  boolean offer(final T value) {
+    long position = tail.get();
+    while (true) {
+      final int index = index(position);
+      final long difference = sequences.get(index) - position;
+      if (difference == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          items.setPlain(index, value);
+          // publishes the item to the consumers
+          sequences.set(index, position + 1);
+          return true;
+        }
+        position = tail.get();
+      } else if (difference < 0) {
+        // the slot still holds the item written one lap ago
+        return false;
+      } else {
+        // another producer claimed this position
+        position = tail.get();
+      }
+    }
+  }
+
+  @Override
+  public T poll() {
+    long position = head.get();
+    while (true) {
+      final int index = index(position);
+      final long difference = sequences.get(index) - (position + 1);
+      if (difference == 0) {
+        if (head.compareAndSet(position, position + 1)) {
+          final T value = items.getPlain(index);
+          items.setPlain(index, null);
+          // hands the slot over to the producer of the next lap
+          sequences.set(index, position + capacity);
+          return value;
+        }
+        position = head.get();
+      } else if (difference < 0) {
+        // nothing published yet at this position
+        return null;
+      } else {
+        // another consumer claimed this position
+        position = head.get();
+      }
+    }
+  }
+
+  @Override
+  public int drainTo(final Collection<T> output, final int maxElements) {
+    int count = 0;
+    while (count < maxElements) {
+      final T value = poll();
+      if (value == null) {
+        break;
+      }
+      output.add(value);
+      count++;
+    }
+    return count;
+  }
+
+  @Override
+  public T take(final BooleanSupplier keepWaiting) throws InterruptedException {
+    int attempt = 0;
+    while (keepWaiting.getAsBoolean()) {
+      final T value = poll();
+      if (value != null) {
+        return value;
+      }
+      attempt = idle(attempt);
+    }
+    return null;
+  }
+
+  @Override
+  public boolean put(final T value, final BooleanSupplier keepWaiting)
+      throws InterruptedException {
+    int attempt = 0;
+    while (keepWaiting.getAsBoolean()) {
+      if (offer(value)) {
+        return true;
+      }
+      attempt = idle(attempt);
+    }
+    return false;
+  }
+
+  private int idle(final int attempt) throws InterruptedException {
+    if (Thread.interrupted()) {
+      throw new InterruptedException();
+    }
+    waitStrategy.idle(attempt);
+    return attempt == Integer.MAX_VALUE ? attempt : attempt + 1;
+  }
+
+  private int index(final long position) {
+    return (int) (position % capacity);
+  }
+}
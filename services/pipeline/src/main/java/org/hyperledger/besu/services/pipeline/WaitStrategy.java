@@ -0,0 +1,70 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.pipeline;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * How a thread waits on a lock-free pipe that is empty when reading or full when writing. The
+ * strategies trade CPU usage for latency, from {@link #SPIN} which never gives up the core to
+ * {@link #PARK} which sleeps briefly once spinning and yielding did not help.
+ */
+public enum WaitStrategy {
+  /** Busy spin. Lowest latency, but keeps a core busy for as long as the thread waits. */
+  SPIN {
+    @Override
+    void idle(final int attempt) {
+      Thread.onSpinWait();
+    }
+  },
+
+  /** Spin for a few attempts, then yield the core to other threads. */
+  YIELD {
+    @Override
+    void idle(final int attempt) {
+      if (attempt < SPIN_ATTEMPTS) {
+        Thread.onSpinWait();
+      } else {
+        Thread.yield();
+      }
+    }
+  },
+
+  /** Spin, then yield, then park for a short time. Suited to stages that are not latency bound. */
+  PARK {
+    @Override
+    void idle(final int attempt) {
+      if (attempt < SPIN_ATTEMPTS) {
+        Thread.onSpinWait();
+      } else if (attempt < SPIN_ATTEMPTS + YIELD_ATTEMPTS) {
+        Thread.yield();
+      } else {
+        LockSupport.parkNanos(PARK_NANOS);
+      }
+    }
+  };
+
+  private static final int SPIN_ATTEMPTS = 100;
+  private static final int YIELD_ATTEMPTS = 100;
+  private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+  /**
+   * Wait once before the next attempt to read from or write to the pipe.
+   *
+   * @param attempt the number of attempts already made, saturating at {@link Integer#MAX_VALUE}
+   */
+  abstract void idle(int attempt);
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.pipeline;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+public class LockFreePipeTest {
+  private final Counter inputCounter = mock(Counter.class);
+  private final Counter outputCounter = mock(Counter.class);
+  private final Counter abortedItemCounter = mock(Counter.class);
+  private final Pipe<String> pipe =
+      new Pipe<>(5, WaitStrategy.PARK, inputCounter, outputCounter, abortedItemCounter);
+
+  @Test
+  public void shouldReturnItemsInOrder() {
+    pipe.put("a");
+    pipe.put("b");
+    pipe.put("c");
+
+    assertThat(pipe.get()).isEqualTo("a");
+    assertThat(pipe.poll()).isEqualTo("b");
+    assertThat(pipe.get()).isEqualTo("c");
+    assertThat(pipe.poll()).isNull();
+  }
+
+  @Test
+  public void shouldWrapAroundTheRing() {
+    for (int i = 0; i < 23; i++) {
+      pipe.put("item" + i);
+      pipe.put("next" + i);
+      assertThat(pipe.poll()).isEqualTo("item" + i);
+      assertThat(pipe.poll()).isEqualTo("next" + i);
+    }
+    assertThat(pipe.poll()).isNull();
+  }
+
+  @Test
+  public void shouldHaveNoRemainingCapacityWhenFull() {
+    for (int i = 0; i < 5; i++) {
+      assertThat(pipe.hasRemainingCapacity()).isTrue();
+      pipe.put("item" + i);
+    }
+    assertThat(pipe.hasRemainingCapacity()).isFalse();
+
+    pipe.poll();
+    assertThat(pipe.hasRemainingCapacity()).isTrue();
+  }
+
+  @Test
+  public void shouldHaveMoreWhenNotEmptyAndClosed() {
+    pipe.put("A");
+    pipe.close();
+
+    assertThat(pipe.hasMore()).isTrue();
+    assertThat(pipe.get()).isEqualTo("A");
+    assertThat(pipe.hasMore()).isFalse();
+    assertThat(pipe.get()).isNull();
+  }
+
+  @Test
+  public void shouldLimitNumberOfItemsDrained() {
+    pipe.put("a");
+    pipe.put("b");
+    pipe.put("c");
+    pipe.put("d");
+
+    final List<String> output = new ArrayList<>();
+    assertThat(pipe.drainTo(output, 3)).isEqualTo(3);
+    assertThat(output).containsExactly("a", "b", "c");
+    verify(outputCounter).inc(3);
+  }
+
+  @Test
+  public void shouldIncrementAbortedItemCounterForItemsDiscardedDueToAborting() {
+    pipe.put("A");
+    pipe.put("B");
+    pipe.abort();
+
+    assertThat(pipe.hasMore()).isFalse();
+    verify(inputCounter, times(2)).inc();
+    verify(abortedItemCounter).inc(2);
+  }
+
+  @Test
+  public void shouldReturnNullFromGetImmediatelyIfThreadIsInterrupted() {
+    Thread.currentThread().interrupt();
+    assertThat(pipe.get()).isNull();
+  }
+
+  @Test
+  public void shouldStopWaitingToGetWhenClosed() throws Exception {
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final Future<String> result = executor.submit(pipe::get);
+      pipe.close();
+      assertThat(result.get(10, SECONDS)).isNull();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void shouldDiscardItemWaitingForCapacityWhenAborted() throws Exception {
+    for (int i = 0; i < 5; i++) {
+      pipe.put("item" + i);
+    }
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final Future<?> result = executor.submit(() -> pipe.put("discarded"));
+      pipe.abort();
+      result.get(10, SECONDS);
+      verify(inputCounter, times(5)).inc();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void shouldDeliverEveryItemOnceWithConcurrentProducersAndConsumers() throws Exception {
+    final int threads = 4;
+    final int itemsPerProducer = 10_000;
+    final Pipe<Integer> sharedPipe =
+        new Pipe<>(16, WaitStrategy.YIELD, inputCounter, outputCounter, abortedItemCounter);
+    final Set<Integer> received = ConcurrentHashMap.newKeySet();
+    final CountDownLatch producersDone = new CountDownLatch(threads);
+    final ExecutorService executor = Executors.newFixedThreadPool(threads * 2);
+    try {
+      final List<Future<?>> consumers = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        final int producer = i;
+        executor.submit(
+            () -> {
+              for (int item = 0; item < itemsPerProducer; item++) {
+                sharedPipe.put(producer * itemsPerProducer + item);
+              }
+              producersDone.countDown();
+            });
+        consumers.add(
+            executor.submit(
+                () -> {
+                  while (sharedPipe.hasMore()) {
+                    final Integer item = sharedPipe.get();
+                    if (item != null) {
+                      assertThat(received.add(item)).isTrue();
+                    }
+                  }
+                }));
+      }
+      assertThat(producersDone.await(30, SECONDS)).isTrue();
+      sharedPipe.close();
+      for (final Future<?> consumer : consumers) {
+        consumer.get(30, SECONDS);
+      }
+      assertThat(received).hasSize(threads * itemsPerProducer);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
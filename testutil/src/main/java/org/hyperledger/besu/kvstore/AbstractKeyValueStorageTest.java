@@ -93,6 +93,29 @@ public abstract class AbstractKeyValueStorageTest {
     assertThat(store.get(key)).contains(secondValue);
   }
 
+  /**
+   * Multi get.
+   *
+   * @throws Exception the exception
+   */
+  @Test
+  public void multiGet() throws Exception {
+    final KeyValueStorage store = createStore();
+    final KeyValueStorageTransaction tx = store.startTransaction();
+    tx.put(bytesOf(1), bytesOf(11));
+    tx.put(bytesOf(3), bytesOf(33));
+    tx.commit();
+
+    final List<Optional<byte[]>> values =
+        store.multiGet(List.of(bytesOf(3), bytesOf(2), bytesOf(1), bytesOf(3)));
+    assertThat(values).hasSize(4);
+    assertThat(values.get(0)).contains(bytesOf(33));
+    assertThat(values.get(1)).isEmpty();
+    assertThat(values.get(2)).contains(bytesOf(11));
+    assertThat(values.get(3)).contains(bytesOf(33));
+    assertThat(store.multiGet(List.of())).isEmpty();
+  }
+
   /**
    * Stream keys.
    *
@@ -0,0 +1,93 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Optional;
+import java.util.concurrent.ThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates virtual threads when the running JVM supports them.
+ *
+ * <p>Besu is compiled for Java 17, where virtual threads do not exist, so the Java 21 API is looked
+ * up at runtime. On older JVMs, or when virtual threads are a preview feature that is not enabled,
+ * no factory is returned and the callers keep using platform threads.
+ */
+public final class VirtualThreads {
+  private static final Logger LOG = LoggerFactory.getLogger(VirtualThreads.class);
+  private static final Optional<MethodHandle> CREATE_FACTORY = lookupFactoryCreator();
+
+  private VirtualThreads() {}
+
+  /**
+   * Whether virtual threads are available in the running JVM.
+   *
+   * @return true if virtual threads can be created
+   */
+  public static boolean isSupported() {
+    return CREATE_FACTORY.isPresent();
+  }
+
+  /**
+   * Create a factory of virtual threads.
+   *
+   * @param namePrefix the prefix of the thread names, followed by a counter
+   * @return the thread factory, or empty if virtual threads are not supported
+   */
+  public static Optional<ThreadFactory> createThreadFactory(final String namePrefix) {
+    return CREATE_FACTORY.map(
+        createFactory -> {
+          try {
+            return (ThreadFactory) createFactory.invoke(namePrefix, 0L);
+          } catch (final Throwable t) {
+            throw new IllegalStateException("Unable to create a virtual thread factory", t);
+          }
+        });
+  }
+
+  private static Optional<MethodHandle> lookupFactoryCreator() {
+    try {
+      final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+      final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      final Class<?> virtualBuilderClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+      final MethodHandle ofVirtual =
+          lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(virtualBuilderClass));
+      final MethodHandle name =
+          lookup.findVirtual(
+              virtualBuilderClass,
+              "name",
+              MethodType.methodType(virtualBuilderClass, String.class, long.class));
+      final MethodHandle factory =
+          lookup.findVirtual(builderClass, "factory", MethodType.methodType(ThreadFactory.class));
+      // (namePrefix, start) -> Thread.ofVirtual().name(namePrefix, start).factory()
+      final MethodHandle createFactory =
+          MethodHandles.filterReturnValue(
+              MethodHandles.foldArguments(
+                  name, MethodHandles.dropArguments(ofVirtual, 0, String.class, long.class)),
+              factory.asType(MethodType.methodType(ThreadFactory.class, virtualBuilderClass)));
+      // fails on JVMs where virtual threads are a preview feature that is not enabled
+      ((ThreadFactory) createFactory.invoke("probe", 0L)).newThread(() -> {});
+      return Optional.of(createFactory);
+    } catch (final Throwable t) {
+      LOG.debug("Virtual threads are not supported by this JVM", t);
+      return Optional.empty();
+    }
+  }
+}